@@ -0,0 +1,102 @@
+package gdabski.training.datetime.benchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import gdabski.training.datetime.AsyncTemporalRowStore;
+import gdabski.training.datetime.TemporalRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@link AsyncTemporalRowStore}: a burst of concurrent reads, from 10 to 10k, each taking
+ * at least {@value #LATENCY_MILLIS} ms in an in-memory H2 database standing in for a remote one, with
+ * at most {@value #MAX_CONCURRENCY} at a time. Requests per second are the burst size divided by the
+ * time per burst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncTemporalRowStoreBenchmark {
+
+    private static final int LATENCY_MILLIS = 1;
+    private static final int MAX_CONCURRENCY = 100;
+    private static final LocalDate DATE = LocalDate.of(2020, 12, 30);
+
+    @Param({"10", "100", "1000", "10000"})
+    private int requests;
+
+    private HikariDataSource pool;
+    private Connection keepAlive;
+    private AsyncTemporalRowStore store;
+
+    /**
+     * Called by the database for every row read, to simulate a network round trip.
+     */
+    public static boolean pause(int millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return true;
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:async");
+        pool.setMaximumPoolSize(MAX_CONCURRENCY);
+        keepAlive = pool.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE ALIAS pause FOR \"" + getClass().getName() + ".pause\"");
+            statement.execute("CREATE TABLE rows (timestamp timestamp, timestamptz timestamp with time zone, " +
+                    "date date)");
+            statement.execute("CREATE VIEW datetime AS SELECT * FROM rows WHERE pause(" + LATENCY_MILLIS + ")");
+        }
+        store = new AsyncTemporalRowStore(pool, "rows", MAX_CONCURRENCY);
+        LocalDateTime timestamp = DATE.atTime(14, 25, 31);
+        store.insert(List.of(new TemporalRow(timestamp, timestamp.atOffset(ZoneOffset.UTC), DATE))).join();
+        store.close();
+        store = new AsyncTemporalRowStore(pool, "datetime", MAX_CONCURRENCY);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        store.close();
+        keepAlive.close();
+        pool.close();
+    }
+
+    @Benchmark
+    public int readBurst() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<List<TemporalRow>>[] futures = new CompletableFuture[requests];
+        for (int i = 0; i < requests; i++) {
+            futures[i] = store.readByDate(DATE);
+        }
+        int rows = 0;
+        for (CompletableFuture<List<TemporalRow>> future : futures) {
+            rows += future.join().size();
+        }
+        return rows;
+    }
+
+}
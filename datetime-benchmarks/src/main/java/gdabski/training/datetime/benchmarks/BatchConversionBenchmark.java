@@ -0,0 +1,80 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.DateTimeTypesUtils;
+import gdabski.training.datetime.OrderedBatchConverter;
+import gdabski.training.datetime.improved.ImprovedBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToJson;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+
+/**
+ * Converting 10k XML documents to JSON one after another with {@code deserializeFromXml} and
+ * {@code serializeToJson}, and with an {@link OrderedBatchConverter} of 1 to 8 workers. Gains stop at the
+ * number of cores; run with {@code -p parallelism=...} to go further.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchConversionBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private List<String> documents;
+    private OrderedBatchConverter<String, String> converter;
+
+    @Setup
+    public void setUp() {
+        ImprovedBean bean = deserializeFromXml(serializeToXml(Samples.bean()), ImprovedBean.class);
+        documents = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ImprovedBean copy = new ImprovedBean();
+            copy.setDate(bean.getDate().plusDays(i));
+            copy.setTime(bean.getTime().plusSeconds(i));
+            copy.setDatetime(bean.getDatetime().plusMinutes(i));
+            documents.add(serializeToXml(copy));
+        }
+        converter = new OrderedBatchConverter<>(() -> DateTimeTypesUtils.xmlToJsonConverter(ImprovedBean.class),
+                parallelism, OrderedBatchConverter.DEFAULT_CHUNK_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        converter.close();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        for (String document : documents) {
+            blackhole.consume(serializeToJson(deserializeFromXml(document, ImprovedBean.class)));
+        }
+    }
+
+    @Benchmark
+    public long ordered(Blackhole blackhole) {
+        return converter.convert(documents.iterator(), blackhole::consume);
+    }
+
+}
@@ -0,0 +1,74 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.improved.ImprovedBeanBinaryCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+
+/**
+ * Encoding and decoding the sample bean with the codec generated from {@code demo.xsd} versus the pooled
+ * JAXB path of {@code DateTimeTypesUtils}. Setup prints the size of both forms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryCodecBenchmark {
+
+    private final ImprovedBeanBinaryCodec codec = ImprovedBeanBinaryCodec.INSTANCE;
+
+    private ImprovedBean bean;
+    private String xml;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        xml = serializeToXml(Samples.bean());
+        bean = deserializeFromXml(xml, ImprovedBean.class);
+        buffer = ByteBuffer.allocate(codec.encodedLength(bean));
+        codec.encode(bean, buffer);
+        System.out.printf("%nbinary: %d bytes, xml: %d bytes%n", buffer.position(),
+                xml.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Benchmark
+    public ByteBuffer binaryEncode() {
+        buffer.clear();
+        codec.encode(bean, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public ImprovedBean binaryDecode() {
+        buffer.rewind();
+        return codec.decode(buffer);
+    }
+
+    @Benchmark
+    public String xmlSerialize() {
+        return serializeToXml(bean);
+    }
+
+    @Benchmark
+    public ImprovedBean xmlDeserialize() {
+        return deserializeFromXml(xml, ImprovedBean.class);
+    }
+
+}
@@ -0,0 +1,82 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.BulkTemporalArithmetic;
+import gdabski.training.datetime.ZoneOffsetCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding {@code P1M1D} and {@code PT1H} to 10M instants in {@code Europe/Warsaw}, with
+ * {@link BulkTemporalArithmetic} at increasing parallelism versus one {@link java.time.ZonedDateTime} per
+ * element. Scaling needs as many cores as the highest parallelism.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkTemporalArithmeticBenchmark {
+
+    private static final int COUNT = 10_000_000;
+    private static final ZoneId ZONE = ZoneId.of("Europe/Warsaw");
+    private static final Period PERIOD = Period.of(0, 1, 1);
+    private static final Duration DURATION = Duration.ofHours(1);
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private long[] epochSeconds;
+    private long[] result;
+    private ForkJoinPool pool;
+    private BulkTemporalArithmetic arithmetic;
+
+    @Setup
+    public void setUp() {
+        long from = Instant.parse("2000-01-01T00:00:00Z").getEpochSecond();
+        long to = Instant.parse("2040-01-01T00:00:00Z").getEpochSecond();
+        epochSeconds = new SplittableRandom(14).longs(COUNT, from, to).toArray();
+        result = new long[COUNT];
+        pool = new ForkJoinPool(parallelism);
+        arithmetic = new BulkTemporalArithmetic(pool, new ZoneOffsetCache(ZoneOffsetCache.DEFAULT_FROM_YEAR,
+                ZoneOffsetCache.DEFAULT_TO_YEAR));
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long[] bulk() {
+        arithmetic.addToEpochSeconds(epochSeconds, result, ZONE, PERIOD, DURATION);
+        return result;
+    }
+
+    @Benchmark
+    public long[] scalar() {
+        for (int i = 0; i < COUNT; i++) {
+            result[i] = Instant.ofEpochSecond(epochSeconds[i]).atZone(ZONE).plus(PERIOD).plus(DURATION).toEpochSecond();
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,90 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.CalendarBucketAggregator;
+import gdabski.training.datetime.CalendarBucketAggregator.Unit;
+import gdabski.training.datetime.ZoneOffsetCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Events per second on one thread: 1M events over a year in {@code Europe/Warsaw}, arriving up to a
+ * minute out of order, aggregated per hour or day with {@link CalendarBucketAggregator} versus grouping
+ * by a truncated {@link ZonedDateTime} in a map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendarBucketAggregatorBenchmark {
+
+    private static final int COUNT = 1_000_000;
+    private static final ZoneId ZONE = ZoneId.of("Europe/Warsaw");
+    private static final long JITTER_NANOS = 60_000_000_000L;
+
+    @Param({"HOUR", "DAY"})
+    private Unit unit;
+
+    private final ZoneOffsetCache zoneOffsetCache = new ZoneOffsetCache(ZoneOffsetCache.DEFAULT_FROM_YEAR,
+            ZoneOffsetCache.DEFAULT_TO_YEAR);
+    private long[] epochNanos;
+    private long[] values;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(15);
+        long start = Instant.parse("2021-01-01T00:00:00Z").getEpochSecond() * 1_000_000_000L;
+        long step = 365L * 86_400 * 1_000_000_000L / COUNT;
+        epochNanos = new long[COUNT];
+        values = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            epochNanos[i] = start + i * step - random.nextLong(JITTER_NANOS);
+            values[i] = random.nextLong(1000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void aggregator(Blackhole blackhole) {
+        CalendarBucketAggregator aggregator = new CalendarBucketAggregator(zoneOffsetCache, ZONE, unit,
+                Duration.ofNanos(JITTER_NANOS), blackhole::consume);
+        for (int i = 0; i < COUNT; i++) {
+            aggregator.accept(epochNanos[i], values[i]);
+        }
+        aggregator.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public Map<ZonedDateTime, long[]> zonedDateTimeMap() {
+        ChronoUnit truncation = unit == Unit.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        Map<ZonedDateTime, long[]> buckets = new HashMap<>();
+        for (int i = 0; i < COUNT; i++) {
+            ZonedDateTime key = Instant.ofEpochSecond(0, epochNanos[i]).atZone(ZONE).truncatedTo(truncation);
+            long[] bucket = buckets.computeIfAbsent(key, k -> new long[2]);
+            bucket[0]++;
+            bucket[1] += values[i];
+        }
+        return buckets;
+    }
+
+}
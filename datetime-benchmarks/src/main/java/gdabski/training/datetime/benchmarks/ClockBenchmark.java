@@ -0,0 +1,114 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.CoarseClock;
+import gdabski.training.datetime.LocalNow;
+import gdabski.training.datetime.MonotonicClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Telling the time with the system clock and with {@link CoarseClock} and {@link MonotonicClock}, and the
+ * current date and date-time in a zone with {@code now(zone)} and with {@link LocalNow} over the system
+ * clock and over the coarse one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClockBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Warsaw");
+
+    private CoarseClock coarseClock;
+    private MonotonicClock monotonicClock;
+    private LocalNow localNow;
+    private LocalNow coarseLocalNow;
+
+    @Setup
+    public void setUp() {
+        coarseClock = new CoarseClock(Clock.system(ZONE), CoarseClock.DEFAULT_RESOLUTION);
+        monotonicClock = new MonotonicClock(Clock.system(ZONE));
+        localNow = new LocalNow(Clock.system(ZONE));
+        coarseLocalNow = new LocalNow(coarseClock);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        coarseClock.close();
+    }
+
+    @Benchmark
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public long coarseMillis() {
+        return coarseClock.millis();
+    }
+
+    @Benchmark
+    public Instant instantNow() {
+        return Instant.now();
+    }
+
+    @Benchmark
+    public Instant coarseInstant() {
+        return coarseClock.instant();
+    }
+
+    @Benchmark
+    public Instant monotonicInstant() {
+        return monotonicClock.instant();
+    }
+
+    @Benchmark
+    public LocalDate localDateNow() {
+        return LocalDate.now(ZONE);
+    }
+
+    @Benchmark
+    public LocalDate localNowDate() {
+        return localNow.date();
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTimeNow() {
+        return LocalDateTime.now(ZONE);
+    }
+
+    @Benchmark
+    public LocalDateTime localNowDateTime() {
+        return localNow.dateTime();
+    }
+
+    @Benchmark
+    public LocalDate coarseLocalNowDate() {
+        return coarseLocalNow.date();
+    }
+
+    @Benchmark
+    public LocalDateTime coarseLocalNowDateTime() {
+        return coarseLocalNow.dateTime();
+    }
+
+}
@@ -0,0 +1,66 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.InstantColumn;
+import gdabski.training.datetime.LocalDateColumn;
+import gdabski.training.datetime.LocalDateTimeColumn;
+import gdabski.training.datetime.OffsetDateTimeColumn;
+import gdabski.training.datetime.TemporalColumn;
+import gdabski.training.datetime.ZonedDateTimeColumn;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Prints retained bytes per value of {@link TemporalColumn}s versus {@code ArrayList}s of the boxed
+ * JSR-310 objects, as measured by JOL. Run with
+ * {@code java -cp datetime-benchmarks/target/benchmarks.jar gdabski.training.datetime.benchmarks.ColumnFootprintReport [count]}.
+ */
+public final class ColumnFootprintReport {
+
+    private static final Instant START = Instant.parse("2020-12-30T10:15:30.123456789Z");
+    private static final ZoneId ZONE = ZoneId.of("Europe/Warsaw");
+
+    private ColumnFootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        IntFunction<Instant> instants = i -> START.plus(Duration.ofSeconds(i, i));
+
+        System.out.printf("%-16s %12s %12s %12s%n", "type", "list B/value", "heap B/value", "record B");
+        report("Instant", count, instants, InstantColumn::onHeap);
+        report("LocalDateTime", count, i -> LocalDateTime.ofInstant(instants.apply(i), ZoneOffset.UTC),
+                LocalDateTimeColumn::onHeap);
+        report("LocalDate", count, i -> LocalDate.ofEpochDay(i), LocalDateColumn::onHeap);
+        report("OffsetDateTime", count, i -> OffsetDateTime.ofInstant(instants.apply(i), ZONE),
+                OffsetDateTimeColumn::onHeap);
+        report("ZonedDateTime", count, i -> ZonedDateTime.ofInstant(instants.apply(i), ZONE),
+                ZonedDateTimeColumn::onHeap);
+    }
+
+    private static <T> void report(String name, int count, IntFunction<T> values,
+                                   Function<Integer, ? extends TemporalColumn<T>> columnFactory) {
+        List<T> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(values.apply(i));
+        }
+        TemporalColumn<T> column = columnFactory.apply(count);
+        column.appendAll(list);
+        System.out.printf("%-16s %12.1f %12.1f %12d%n", name,
+                (double) GraphLayout.parseInstance(list).totalSize() / count,
+                (double) GraphLayout.parseInstance(column).totalSize() / count,
+                column.bytesPerValue());
+    }
+
+}
@@ -0,0 +1,87 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.CompactTimestampCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.formatDate;
+
+/**
+ * {@link CompactTimestampCodec} versus the {@link DateTimeFormatter} it replaces in {@code formatDate}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactTimestampBenchmark {
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter
+            .ofPattern("yyyyMMddHHmmssSSSSSSSSS", Locale.US);
+
+    private LocalDateTime value;
+    private long epochNanos;
+    private String text;
+    private final byte[] buffer = new byte[CompactTimestampCodec.LENGTH];
+
+    @Setup
+    public void setUp() {
+        value = (LocalDateTime) TemporalType.LOCAL_DATE_TIME.sample();
+        epochNanos = value.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + value.getNano();
+        text = formatter.format(value);
+        CompactTimestampCodec.format(value, buffer, 0);
+    }
+
+    @Benchmark
+    public String formatterFormat() {
+        return formatter.format(value);
+    }
+
+    @Benchmark
+    public String formatDateString() {
+        return formatDate(value);
+    }
+
+    @Benchmark
+    public byte[] encodeIntoBuffer() {
+        CompactTimestampCodec.format(value, buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public byte[] encodeEpochNanosIntoBuffer() {
+        CompactTimestampCodec.formatEpochNanos(epochNanos, buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public LocalDateTime formatterParse() {
+        return LocalDateTime.parse(text, formatter);
+    }
+
+    @Benchmark
+    public LocalDateTime decodeLocalDateTime() {
+        return CompactTimestampCodec.parseLocalDateTime(buffer, 0);
+    }
+
+    @Benchmark
+    public long decodeEpochNanos() {
+        return CompactTimestampCodec.parseEpochNanos(buffer, 0);
+    }
+
+}
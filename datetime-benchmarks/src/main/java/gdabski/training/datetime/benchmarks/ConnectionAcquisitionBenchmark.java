@@ -0,0 +1,98 @@
+package gdabski.training.datetime.benchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import gdabski.training.datetime.ConnectionPoolMetrics;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acquiring a connection and running a trivial query: a new physical connection per call versus a
+ * HikariCP pool. Runs against an H2 TCP server started in-process, so that every physical connection
+ * pays a network handshake, unless {@code datetime.benchmark.jdbc.url} (with {@code .user} and
+ * {@code .password}) points elsewhere. Pool metrics are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ConnectionAcquisitionBenchmark {
+
+    private Server server;
+    private String url;
+    private String user;
+    private String password;
+    private ConnectionPoolMetrics metrics;
+    private HikariDataSource pool;
+
+    @Setup
+    public void setUp() throws SQLException {
+        url = System.getProperty("datetime.benchmark.jdbc.url");
+        user = System.getProperty("datetime.benchmark.jdbc.user");
+        password = System.getProperty("datetime.benchmark.jdbc.password");
+        if (url == null) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:acquisition;DB_CLOSE_DELAY=-1";
+        }
+        metrics = new ConnectionPoolMetrics();
+        pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(user);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(4);
+        pool.setMetricsTrackerFactory(metrics);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        System.out.println("Pool: " + metrics);
+        pool.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private static int query(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT 1");
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    @Benchmark
+    public int raw() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            return query(connection);
+        }
+    }
+
+    @Benchmark
+    public int pooled() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            return query(connection);
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.DateTimeMetrics;
+import gdabski.training.datetime.DateTimeTypesUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a {@link DateTimeMetrics.Timer} around nothing, with recording off and on, and of
+ * {@link DateTimeTypesUtils#formatDate} with the library's metrics off and on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateTimeMetricsBenchmark {
+
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2021, 1, 31, 12, 30, 15, 123_456_789);
+
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    private DateTimeMetrics.Timer timer;
+
+    @Setup
+    public void setUp() {
+        DateTimeMetrics metrics = new DateTimeMetrics(enabled);
+        timer = metrics.timer("benchmark");
+        DateTimeTypesUtils.getMetrics().setEnabled(enabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        DateTimeTypesUtils.getMetrics().setEnabled(false);
+    }
+
+    @Benchmark
+    public void timer() {
+        timer.stop(timer.start(), true);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateTimeTypesUtils.formatDate(DATE_TIME);
+    }
+
+}
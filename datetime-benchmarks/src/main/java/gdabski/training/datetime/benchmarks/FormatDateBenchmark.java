@@ -0,0 +1,46 @@
+package gdabski.training.datetime.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.formatDate;
+
+/**
+ * {@code formatDate} needs all fields down to the nano-of-second, so only the date-time types are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatDateBenchmark {
+
+    @Param({"ZONED_DATE_TIME", "OFFSET_DATE_TIME", "LOCAL_DATE_TIME"})
+    private TemporalType type;
+
+    private TemporalAccessor value;
+
+    @Setup
+    public void setUp() {
+        value = (TemporalAccessor) type.sample();
+    }
+
+    @Benchmark
+    public String format() {
+        return formatDate(value);
+    }
+
+}
@@ -0,0 +1,159 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.InstantIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.threeten.extra.Interval;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records about a millisecond apart, mostly in order: scanning those within a second with
+ * {@link InstantIndex} versus {@code TreeMap} and {@code ConcurrentSkipListMap} sub-maps, and adding
+ * them all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class InstantIndexBenchmark {
+
+    private static final long START = Instant.parse("2021-01-01T00:00:00Z").getEpochSecond();
+
+    @Param({"100000", "10000000"})
+    private int count;
+
+    private Instant[] instants;
+    private Long[] records;
+    private InstantIndex<Long> index;
+    private TreeMap<Instant, Long> treeMap;
+    private ConcurrentSkipListMap<Instant, Long> skipListMap;
+    private Interval[] queries;
+    private final KeySum sum = new KeySum();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        instants = mostlyOrdered(count, new SplittableRandom(25));
+        records = new Long[count];
+        index = new InstantIndex<>();
+        treeMap = new TreeMap<>();
+        skipListMap = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < count; i++) {
+            records[i] = (long) i;
+            index.add(instants[i], records[i]);
+            treeMap.put(instants[i], records[i]);
+            skipListMap.put(instants[i], records[i]);
+        }
+        SplittableRandom random = new SplittableRandom(26);
+        queries = new Interval[1024];
+        for (int i = 0; i < queries.length; i++) {
+            Instant start = instants[random.nextInt(count)];
+            queries[i] = Interval.of(start, start.plusSeconds(1));
+        }
+    }
+
+    /**
+     * Instants a millisecond apart on average, one in ten up to a second late.
+     */
+    static Instant[] mostlyOrdered(int count, SplittableRandom random) {
+        Instant[] instants = new Instant[count];
+        long nanos = 0;
+        for (int i = 0; i < count; i++) {
+            nanos += 1 + random.nextLong(2_000_000);
+            long late = random.nextInt(10) == 0 ? random.nextLong(Math.min(nanos, 1_000_000_000)) : 0;
+            instants[i] = Instant.ofEpochSecond(START).plusNanos(nanos - late);
+        }
+        return instants;
+    }
+
+    private Interval nextQuery() {
+        return queries[next++ & queries.length - 1];
+    }
+
+    @Benchmark
+    public long scanIndex() {
+        sum.total = 0;
+        index.forEach(nextQuery(), sum);
+        return sum.total;
+    }
+
+    @Benchmark
+    public long scanTreeMap() {
+        return scan(treeMap, nextQuery());
+    }
+
+    @Benchmark
+    public long scanSkipListMap() {
+        return scan(skipListMap, nextQuery());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public InstantIndex<Long> addIndex() {
+        InstantIndex<Long> index = new InstantIndex<>();
+        for (int i = 0; i < count; i++) {
+            index.add(instants[i], records[i]);
+        }
+        return index;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TreeMap<Instant, Long> addTreeMap() {
+        TreeMap<Instant, Long> map = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            map.put(instants[i], records[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ConcurrentSkipListMap<Instant, Long> addSkipListMap() {
+        ConcurrentSkipListMap<Instant, Long> map = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < count; i++) {
+            map.put(instants[i], records[i]);
+        }
+        return map;
+    }
+
+    private static long scan(NavigableMap<Instant, Long> map, Interval interval) {
+        long total = 0;
+        for (Map.Entry<Instant, Long> entry : map.subMap(interval.getStart(), true, interval.getEnd(), false)
+                .entrySet()) {
+            Instant instant = entry.getKey();
+            total += instant.getEpochSecond() * 1_000_000_000L + instant.getNano() + entry.getValue();
+        }
+        return total;
+    }
+
+    private static final class KeySum implements InstantIndex.EntryConsumer<Long> {
+
+        long total;
+
+        @Override
+        public void accept(long epochNanos, Long value) {
+            total += epochNanos + value;
+        }
+
+    }
+
+}
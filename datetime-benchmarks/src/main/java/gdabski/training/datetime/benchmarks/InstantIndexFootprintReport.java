@@ -0,0 +1,62 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.InstantIndex;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Prints retained bytes per entry of an {@link InstantIndex} versus a {@code TreeMap} and a
+ * {@code ConcurrentSkipListMap} keyed by {@link Instant}, filled in order and mostly in order, as measured
+ * by JOL. All entries share one value, so that only the structure and its keys are counted. Run with
+ * {@code java -cp datetime-benchmarks/target/benchmarks.jar gdabski.training.datetime.benchmarks.InstantIndexFootprintReport [count]}.
+ */
+public final class InstantIndexFootprintReport {
+
+    private static final Object VALUE = new Object();
+
+    private InstantIndexFootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Instant[] mostlyOrdered = InstantIndexBenchmark.mostlyOrdered(count, new SplittableRandom(25));
+        Instant[] ordered = mostlyOrdered.clone();
+        Arrays.sort(ordered);
+
+        System.out.printf("%-24s %16s %24s%n", "structure", "ordered B/entry", "mostly ordered B/entry");
+        System.out.printf("%-24s %16.1f %24.1f%n", "InstantIndex", index(ordered), index(mostlyOrdered));
+        System.out.printf("%-24s %16.1f %24.1f%n", "TreeMap",
+                map(ordered, TreeMap::new), map(mostlyOrdered, TreeMap::new));
+        System.out.printf("%-24s %16.1f %24.1f%n", "ConcurrentSkipListMap",
+                map(ordered, ConcurrentSkipListMap::new), map(mostlyOrdered, ConcurrentSkipListMap::new));
+    }
+
+    private static double index(Instant[] instants) {
+        InstantIndex<Object> index = new InstantIndex<>();
+        for (Instant instant : instants) {
+            index.add(instant, VALUE);
+        }
+        return bytesPerEntry(index, instants.length);
+    }
+
+    private static double map(Instant[] instants, Supplier<Map<Instant, Object>> mapFactory) {
+        Map<Instant, Object> map = mapFactory.get();
+        for (Instant instant : instants) {
+            map.put(instant, VALUE);
+        }
+        return bytesPerEntry(map, instants.length);
+    }
+
+    private static double bytesPerEntry(Object structure, int count) {
+        return (double) (GraphLayout.parseInstance(structure).totalSize()
+                - GraphLayout.parseInstance(VALUE).totalSize()) / count;
+    }
+
+}
@@ -0,0 +1,94 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.IntervalIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.threeten.extra.Interval;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validity periods, up to a week long and starting within 30 years: finding those containing an instant
+ * or overlapping a day with {@link IntervalIndex} versus testing each {@link Interval}, and building the
+ * index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class IntervalIndexBenchmark {
+
+    private static final long START = Instant.parse("2000-01-01T00:00:00Z").getEpochSecond();
+    private static final int SPAN_SECONDS = 30 * 365 * 86_400;
+
+    @Param({"1000", "100000", "10000000"})
+    private int count;
+
+    private List<Interval> intervals;
+    private IntervalIndex<Interval> index;
+    private Instant[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(13);
+        intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant start = Instant.ofEpochSecond(START + random.nextInt(SPAN_SECONDS));
+            intervals.add(Interval.of(start, start.plusSeconds(random.nextInt(7 * 86_400))));
+        }
+        index = IntervalIndex.of(intervals);
+        queries = new Instant[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = Instant.ofEpochSecond(START + random.nextInt(SPAN_SECONDS));
+        }
+    }
+
+    private Instant nextQuery() {
+        return queries[next++ & queries.length - 1];
+    }
+
+    @Benchmark
+    public void containingIndex(Blackhole blackhole) {
+        index.forEachContaining(nextQuery(), blackhole::consume);
+    }
+
+    @Benchmark
+    public void containingLinear(Blackhole blackhole) {
+        Instant instant = nextQuery();
+        for (Interval interval : intervals) {
+            if (interval.contains(instant)) {
+                blackhole.consume(interval);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Interval> overlappingIndex() {
+        Instant instant = nextQuery();
+        return index.overlapping(Interval.of(instant, instant.plusSeconds(86_400)));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntervalIndex<Interval> build() {
+        return IntervalIndex.of(intervals);
+    }
+
+}
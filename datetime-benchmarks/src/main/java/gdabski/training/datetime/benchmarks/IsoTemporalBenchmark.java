@@ -0,0 +1,114 @@
+package gdabski.training.datetime.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import gdabski.training.datetime.IsoTemporalModule;
+import gdabski.training.datetime.ZoneRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading arrays of 100 date-times of each type with the {@code JavaTimeModule} alone and
+ * with {@link IsoTemporalModule} added, configured as in {@code DateTimeTypesUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IsoTemporalBenchmark {
+
+    public enum TemporalType {
+        INSTANT(Instant[].class), OFFSET_DATE_TIME(OffsetDateTime[].class), ZONED_DATE_TIME(ZonedDateTime[].class);
+
+        private final Class<?> arrayClass;
+
+        TemporalType(Class<?> arrayClass) {
+            this.arrayClass = arrayClass;
+        }
+    }
+
+    private static final String[] ZONES = {"Europe/Warsaw", "America/Chicago", "Asia/Kolkata", "UTC", "+04:00"};
+
+    @Param({"INSTANT", "OFFSET_DATE_TIME", "ZONED_DATE_TIME"})
+    private TemporalType type;
+
+    private ObjectMapper plain;
+    private ObjectMapper iso;
+    private Object values;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        plain = mapper();
+        iso = mapper().registerModule(new IsoTemporalModule(new ZoneRegistry()));
+        SplittableRandom random = new SplittableRandom(21);
+        ZonedDateTime[] zoned = new ZonedDateTime[100];
+        for (int i = 0; i < zoned.length; i++) {
+            zoned[i] = Instant.ofEpochSecond(random.nextLong(1_500_000_000L, 1_700_000_000L), random.nextInt(1_000_000_000))
+                    .atZone(ZoneId.of(ZONES[random.nextInt(ZONES.length)]));
+        }
+        switch (type) {
+            case INSTANT:
+                values = Arrays.stream(zoned).map(ZonedDateTime::toInstant).toArray(Instant[]::new);
+                break;
+            case OFFSET_DATE_TIME:
+                values = Arrays.stream(zoned).map(ZonedDateTime::toOffsetDateTime).toArray(OffsetDateTime[]::new);
+                break;
+            default:
+                values = zoned;
+        }
+        json = plain.writeValueAsString(values);
+    }
+
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+        mapper.enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID);
+        return mapper;
+    }
+
+    @Benchmark
+    public String writeJavaTimeModule() throws JsonProcessingException {
+        return plain.writeValueAsString(values);
+    }
+
+    @Benchmark
+    public String writeIso() throws JsonProcessingException {
+        return iso.writeValueAsString(values);
+    }
+
+    @Benchmark
+    public Object readJavaTimeModule() throws JsonProcessingException {
+        return plain.readValue(json, type.arrayClass);
+    }
+
+    @Benchmark
+    public Object readIso() throws JsonProcessingException {
+        return iso.readValue(json, type.arrayClass);
+    }
+
+}
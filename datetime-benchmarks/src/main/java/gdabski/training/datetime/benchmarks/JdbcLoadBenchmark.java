@@ -0,0 +1,123 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.TemporalRow;
+import gdabski.training.datetime.TemporalRowWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second loaded into a {@code datetime} table: one {@code executeUpdate} per row, JDBC batches
+ * and PostgreSQL binary {@code COPY}. Runs against in-memory H2 unless {@code datetime.benchmark.jdbc.url}
+ * (with {@code .user} and {@code .password}) points elsewhere; {@code -p method=copy} needs PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(JdbcLoadBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcLoadBenchmark {
+
+    static final int ROWS = 10_000;
+
+    private static final String URL = System.getProperty("datetime.benchmark.jdbc.url", "jdbc:h2:mem:");
+
+    @Param({"single", "batch"})
+    private String method;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private Connection connection;
+    private TemporalRowWriter writer;
+    private List<TemporalRow> rows;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL, System.getProperty("datetime.benchmark.jdbc.user"),
+                System.getProperty("datetime.benchmark.jdbc.password"));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE datetime_load (timestamp timestamp, " +
+                    "timestamptz timestamp with time zone, date date)");
+        }
+        writer = new TemporalRowWriter("datetime_load", batchSize);
+        LocalDateTime start = LocalDateTime.of(2020, 12, 30, 14, 25, 31, 123456000);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime timestamp = start.plusSeconds(i);
+            rows.add(new TemporalRow(timestamp, timestamp.atOffset(ZoneOffset.ofHours(4)), timestamp.toLocalDate()));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE datetime_load");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long load() throws SQLException {
+        long count;
+        switch (method) {
+            case "single":
+                count = insertOneByOne();
+                break;
+            case "batch":
+                count = writer.insert(connection, rows.stream());
+                break;
+            case "copy":
+                count = writer.copy(connection, rows.stream());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown method: " + method);
+        }
+        connection.commit();
+        return count;
+    }
+
+    private long insertOneByOne() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO datetime_load " +
+                "(timestamp, timestamptz, date) VALUES (?, ?, ?)")) {
+            for (TemporalRow row : rows) {
+                statement.setObject(1, row.getTimestamp());
+                statement.setObject(2, row.getTimestamptz());
+                statement.setObject(3, row.getDate());
+                statement.executeUpdate();
+            }
+        }
+        return rows.size();
+    }
+
+}
@@ -0,0 +1,50 @@
+package gdabski.training.datetime.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromJson;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToJson;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    @Param({"INSTANT", "ZONED_DATE_TIME", "OFFSET_DATE_TIME", "LOCAL_DATE", "XML_GREGORIAN_CALENDAR"})
+    private TemporalType type;
+
+    private Object value;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        value = type.sample();
+        json = serializeToJson(value);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return serializeToJson(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return deserializeFromJson(json, type.getJavaType());
+    }
+
+}
@@ -0,0 +1,81 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.JsonArrayWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.*;
+
+/**
+ * Arrays of {@link ZonedDateTime}s: the streaming codec versus binding the whole array at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonStreamingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int count;
+
+    private List<ZonedDateTime> values;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        ZonedDateTime start = (ZonedDateTime) TemporalType.ZONED_DATE_TIME.sample();
+        values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(start.plusMinutes(i));
+        }
+        json = serializeToJson(values).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream streamingWrite() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonArrayWriter writer = serializeToJsonArray(output)) {
+            values.forEach(writer);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public String wholeWrite() {
+        return serializeToJson(values);
+    }
+
+    @Benchmark
+    public void streamingRead(Blackhole blackhole) {
+        try (Stream<ZonedDateTime> stream = deserializeFromJsonArray(new ByteArrayInputStream(json), ZonedDateTime.class)) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public ZonedDateTime[] wholeRead() {
+        return deserializeFromJson(new String(json, StandardCharsets.UTF_8), ZonedDateTime[].class);
+    }
+
+}
@@ -0,0 +1,94 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.XmlBeanWriter;
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.lazy.LazyImprovedBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXmlStream;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXmlStream;
+
+/**
+ * Streaming 10k beans and counting those of one month, reading only their dates, as {@link ImprovedBean}s
+ * parsed eagerly and as {@link LazyImprovedBean}s; the {@code *ReadAll} benchmarks read every field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LazyTemporalBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2021, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2021, 4, 1);
+
+    private byte[] batch;
+
+    @Setup
+    public void setUp() {
+        ImprovedBean bean = deserializeFromXml(serializeToXml(Samples.bean()), ImprovedBean.class);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (XmlBeanWriter writer = serializeToXmlStream(output)) {
+            for (int i = 0; i < 10_000; i++) {
+                ImprovedBean copy = new ImprovedBean();
+                copy.setDate(bean.getDate().plusDays(i));
+                copy.setTime(bean.getTime().plusSeconds(i));
+                copy.setDatetime(bean.getDatetime().plusMinutes(i));
+                writer.write(copy);
+            }
+        }
+        batch = output.toByteArray();
+    }
+
+    @Benchmark
+    public long eagerFilterByDate() {
+        try (Stream<ImprovedBean> stream = deserializeFromXmlStream(new ByteArrayInputStream(batch), ImprovedBean.class)) {
+            return stream.filter(bean -> !bean.getDate().isBefore(FROM) && bean.getDate().isBefore(TO)).count();
+        }
+    }
+
+    @Benchmark
+    public long lazyFilterByDate() {
+        try (Stream<LazyImprovedBean> stream = deserializeFromXmlStream(new ByteArrayInputStream(batch),
+                LazyImprovedBean.class)) {
+            return stream.filter(bean -> !bean.getDate().get().isBefore(FROM) && bean.getDate().get().isBefore(TO))
+                    .count();
+        }
+    }
+
+    @Benchmark
+    public long eagerReadAll() {
+        try (Stream<ImprovedBean> stream = deserializeFromXmlStream(new ByteArrayInputStream(batch), ImprovedBean.class)) {
+            return stream.mapToLong(bean -> bean.getDate().toEpochDay() + bean.getTime().toNanoOfDay()
+                    + bean.getDatetime().toEpochSecond()).sum();
+        }
+    }
+
+    @Benchmark
+    public long lazyReadAll() {
+        try (Stream<LazyImprovedBean> stream = deserializeFromXmlStream(new ByteArrayInputStream(batch),
+                LazyImprovedBean.class)) {
+            return stream.mapToLong(bean -> bean.getDate().get().toEpochDay() + bean.getTime().get().toNanoOfDay()
+                    + bean.getDatetime().get().toEpochSecond()).sum();
+        }
+    }
+
+}
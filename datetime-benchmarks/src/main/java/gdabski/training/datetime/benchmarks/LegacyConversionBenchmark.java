@@ -0,0 +1,118 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.LegacyDateTimeConversions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.getXmlDatatypeFactory;
+
+/**
+ * {@link LegacyDateTimeConversions} versus the conversion methods of the legacy types, in the
+ * {@code Europe/Warsaw} default time zone. Run with {@code -t 4} to see lock contention in
+ * {@link TimeZone#getTimeZone(ZoneId)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Europe/Warsaw")
+public class LegacyConversionBenchmark {
+
+    private LocalDateTime localDateTime;
+    private LocalDate localDate;
+    private Timestamp timestamp;
+    private ZonedDateTime zonedDateTime;
+    private XMLGregorianCalendar xmlCalendar;
+    private ZoneId zone;
+
+    @Setup
+    public void setUp() {
+        localDateTime = (LocalDateTime) TemporalType.LOCAL_DATE_TIME.sample();
+        localDate = localDateTime.toLocalDate();
+        timestamp = Timestamp.valueOf(localDateTime);
+        zonedDateTime = (ZonedDateTime) TemporalType.ZONED_DATE_TIME.sample();
+        xmlCalendar = getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29T20:00:21.123456789+02:00");
+        zone = zonedDateTime.getZone();
+    }
+
+    @Benchmark
+    public Timestamp naiveTimestampValueOf() {
+        return Timestamp.valueOf(localDateTime);
+    }
+
+    @Benchmark
+    public Timestamp toTimestamp() {
+        return LegacyDateTimeConversions.toTimestamp(localDateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime naiveTimestampToLocalDateTime() {
+        return timestamp.toLocalDateTime();
+    }
+
+    @Benchmark
+    public LocalDateTime toLocalDateTime() {
+        return LegacyDateTimeConversions.toLocalDateTime(timestamp);
+    }
+
+    @Benchmark
+    public java.sql.Date naiveSqlDateValueOf() {
+        return java.sql.Date.valueOf(localDate);
+    }
+
+    @Benchmark
+    public java.sql.Date toSqlDate() {
+        return LegacyDateTimeConversions.toSqlDate(localDate);
+    }
+
+    @Benchmark
+    public GregorianCalendar naiveGregorianCalendarFrom() {
+        return GregorianCalendar.from(zonedDateTime);
+    }
+
+    @Benchmark
+    public GregorianCalendar toCalendar() {
+        return LegacyDateTimeConversions.toCalendar(zonedDateTime);
+    }
+
+    @Benchmark
+    public OffsetDateTime naiveXmlViaGregorianCalendar() {
+        return xmlCalendar.toGregorianCalendar().toZonedDateTime().toOffsetDateTime();
+    }
+
+    @Benchmark
+    public OffsetDateTime toOffsetDateTime() {
+        return LegacyDateTimeConversions.toOffsetDateTime(xmlCalendar);
+    }
+
+    @Benchmark
+    public TimeZone naiveGetTimeZone() {
+        return TimeZone.getTimeZone(zone);
+    }
+
+    @Benchmark
+    public TimeZone toTimeZone() {
+        return LegacyDateTimeConversions.toTimeZone(zone);
+    }
+
+}
@@ -0,0 +1,74 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+
+/**
+ * Values compared between text and binary encodings: single date-times, the sample bean, and a message
+ * bus event alone and in batches of 100.
+ */
+public enum RecordShape {
+
+    INSTANT(Instant.class, () -> TemporalType.INSTANT.sample()),
+    ZONED_DATE_TIME(ZonedDateTime.class, () -> TemporalType.ZONED_DATE_TIME.sample()),
+    IMPROVED_BEAN(ImprovedBean.class, () -> deserializeFromXml(serializeToXml(Samples.bean()), ImprovedBean.class)),
+    EVENT(Event.class, () -> Event.random(new SplittableRandom(23))),
+    EVENT_BATCH(Event[].class, () -> {
+        SplittableRandom random = new SplittableRandom(23);
+        Event[] events = new Event[100];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = Event.random(random);
+        }
+        return events;
+    });
+
+    private final Class<?> javaType;
+    private final Supplier<Object> sample;
+
+    RecordShape(Class<?> javaType, Supplier<Object> sample) {
+        this.javaType = javaType;
+        this.sample = sample;
+    }
+
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    public Object sample() {
+        return sample.get();
+    }
+
+    public static final class Event {
+
+        private static final String[] ZONES = {"Europe/Warsaw", "Europe/London", "America/New_York", "Asia/Tokyo"};
+
+        public long id;
+        public String type;
+        public Instant occurredAt;
+        public ZonedDateTime scheduledAt;
+        public LocalDate businessDay;
+
+        static Event random(SplittableRandom random) {
+            Event event = new Event();
+            event.id = random.nextLong(1_000_000_000L);
+            event.type = random.nextBoolean() ? "ORDER_PLACED" : "ORDER_SHIPPED";
+            event.occurredAt = Instant.ofEpochSecond(random.nextLong(1_600_000_000L, 1_700_000_000L),
+                    random.nextInt(1_000) * 1_000_000);
+            event.scheduledAt = event.occurredAt.plusSeconds(random.nextInt(86_400 * 30))
+                    .atZone(ZoneId.of(ZONES[random.nextInt(ZONES.length)]));
+            event.businessDay = event.scheduledAt.toLocalDate();
+            return event;
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.standard.Bean;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.getXmlDatatypeFactory;
+
+/**
+ * Fixtures shared by the benchmarks, mirroring the values used in {@code DateTimeTypesTest}.
+ */
+public final class Samples {
+
+    private Samples() {}
+
+    public static Bean bean() {
+        Bean bean = new Bean();
+        bean.setDate(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29"));
+        bean.setTime(getXmlDatatypeFactory().newXMLGregorianCalendar("20:00:21.123456789"));
+        bean.setDatetime(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29T20:00:21.123456789+02:00"));
+        return bean;
+    }
+
+}
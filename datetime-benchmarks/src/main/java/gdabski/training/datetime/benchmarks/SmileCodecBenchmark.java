@@ -0,0 +1,68 @@
+package gdabski.training.datetime.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromJson;
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromSmile;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToJson;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToSmile;
+
+/**
+ * Writing and reading records as JSON text and as Smile with packed dates and times. Sizes are printed
+ * by {@link SmileSizeReport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmileCodecBenchmark {
+
+    @Param({"INSTANT", "ZONED_DATE_TIME", "IMPROVED_BEAN", "EVENT", "EVENT_BATCH"})
+    private RecordShape shape;
+
+    private Object value;
+    private String json;
+    private byte[] smile;
+
+    @Setup
+    public void setUp() {
+        value = shape.sample();
+        json = serializeToJson(value);
+        smile = serializeToSmile(value);
+    }
+
+    @Benchmark
+    public String serializeJson() {
+        return serializeToJson(value);
+    }
+
+    @Benchmark
+    public byte[] serializeSmile() {
+        return serializeToSmile(value);
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return deserializeFromJson(json, shape.getJavaType());
+    }
+
+    @Benchmark
+    public Object deserializeSmile() {
+        return deserializeFromSmile(smile, shape.getJavaType());
+    }
+
+}
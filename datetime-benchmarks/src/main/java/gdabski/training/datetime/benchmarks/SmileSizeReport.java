@@ -0,0 +1,28 @@
+package gdabski.training.datetime.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToJson;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToSmile;
+
+/**
+ * Prints the encoded size of each {@link RecordShape} as UTF-8 JSON and as Smile with packed dates and
+ * times. Run with
+ * {@code java -cp datetime-benchmarks/target/benchmarks.jar gdabski.training.datetime.benchmarks.SmileSizeReport}.
+ */
+public final class SmileSizeReport {
+
+    private SmileSizeReport() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-16s %10s %10s %8s%n", "shape", "json B", "smile B", "ratio");
+        for (RecordShape shape : RecordShape.values()) {
+            Object value = shape.sample();
+            int json = serializeToJson(value).getBytes(StandardCharsets.UTF_8).length;
+            int smile = serializeToSmile(value).length;
+            System.out.printf("%-16s %10d %10d %8.2f%n", shape, json, smile, (double) smile / json);
+        }
+    }
+
+}
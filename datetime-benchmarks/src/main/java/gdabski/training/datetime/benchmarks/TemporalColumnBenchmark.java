@@ -0,0 +1,80 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.InstantColumn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range scan over a sorted {@link InstantColumn} versus a sorted {@code ArrayList<Instant>}: binary search
+ * for the range start, then sum epoch-seconds up to its end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemporalColumnBenchmark {
+
+    private static final Instant START = Instant.parse("2020-12-30T10:15:30Z");
+
+    @Param({"1000000"})
+    private int count;
+
+    @Param({"false", "true"})
+    private boolean offHeap;
+
+    private InstantColumn column;
+    private List<Instant> list;
+    private Instant from;
+    private Instant to;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(START.plus(Duration.ofSeconds(i, i)));
+        }
+        column = offHeap ? InstantColumn.offHeap(count) : InstantColumn.onHeap(count);
+        column.appendAll(list);
+        from = list.get(count / 2);
+        to = list.get(count / 2 + 10_000);
+    }
+
+    @Benchmark
+    public long scanColumn() {
+        long sum = 0;
+        for (long i = column.lowerBound(from), end = column.upperBound(to); i < end; i++) {
+            sum += column.getEpochSecond(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long scanList() {
+        long sum = 0;
+        int start = Collections.binarySearch(list, from);
+        int end = Collections.binarySearch(list, to) + 1;
+        for (int i = start; i < end; i++) {
+            sum += list.get(i).getEpochSecond();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,47 @@
+package gdabski.training.datetime.benchmarks;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.function.Supplier;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.getXmlDatatypeFactory;
+
+/**
+ * Temporal types used as the {@code type} parameter of the benchmarks, each with one representative value.
+ */
+public enum TemporalType {
+
+    INSTANT(Instant.class, () -> Instant.parse("2020-12-29T19:00:21.123456789Z")),
+    ZONED_DATE_TIME(ZonedDateTime.class, () -> LocalDateTime.of(2020, Month.DECEMBER, 29, 20, 0, 21, 123456789)
+            .atZone(ZoneId.of("Europe/Warsaw"))),
+    OFFSET_DATE_TIME(OffsetDateTime.class, () -> LocalDateTime.of(2020, Month.DECEMBER, 29, 20, 0, 21, 123456789)
+            .atOffset(ZoneOffset.of("+02:00"))),
+    LOCAL_DATE_TIME(LocalDateTime.class, () -> LocalDateTime.of(2020, Month.DECEMBER, 29, 20, 0, 21, 123456789)),
+    LOCAL_DATE(LocalDate.class, () -> LocalDate.of(2020, Month.DECEMBER, 29)),
+    XML_GREGORIAN_CALENDAR(XMLGregorianCalendar.class, () -> getXmlDatatypeFactory()
+            .newXMLGregorianCalendar("2020-12-29T20:00:21.123+02:00"));
+
+    private final Class<?> javaType;
+    private final Supplier<Object> sample;
+
+    TemporalType(Class<?> javaType, Supplier<Object> sample) {
+        this.javaType = javaType;
+        this.sample = sample;
+    }
+
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    public Object sample() {
+        return sample.get();
+    }
+
+}
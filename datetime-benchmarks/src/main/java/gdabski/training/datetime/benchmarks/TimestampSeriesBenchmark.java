@@ -0,0 +1,146 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.JsonArrayWriter;
+import gdabski.training.datetime.TimestampSeriesReader;
+import gdabski.training.datetime.TimestampSeriesWriter;
+import gdabski.training.datetime.XmlBeanWriter;
+import gdabski.training.datetime.improved.ImprovedBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.*;
+
+/**
+ * Writing and reading files of {@link ImprovedBean}s as a memory-mapped timestamp series versus streamed
+ * JSON arrays and XML documents. {@code scanSeries} sums primitive fields without materialising beans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimestampSeriesBenchmark {
+
+    @Param({"100000"})
+    private int count;
+
+    private Path directory;
+    private List<ImprovedBean> beans;
+    private Path series;
+    private Path json;
+    private Path xml;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("timestamp-series");
+        beans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ImprovedBean bean = new ImprovedBean();
+            bean.setDate(LocalDate.of(2020, 12, 29).plusDays(i % 1000));
+            bean.setTime(LocalTime.of(20, 0, 21, 123456789).plusSeconds(i));
+            bean.setDatetime(OffsetDateTime.of(2020, 12, 29, 20, 0, 21, 123456789, ZoneOffset.ofHours(2)).plusSeconds(i));
+            beans.add(bean);
+        }
+        series = writeSeries();
+        json = writeJson();
+        xml = writeXml();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (Path file : List.of(series, json, xml, directory)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public Path writeSeries() {
+        Path file = directory.resolve("beans.bin");
+        try (TimestampSeriesWriter writer = TimestampSeriesWriter.create(file)) {
+            beans.forEach(writer::append);
+        }
+        return file;
+    }
+
+    @Benchmark
+    public Path writeJson() throws IOException {
+        Path file = directory.resolve("beans.json");
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file));
+             JsonArrayWriter writer = serializeToJsonArray(output)) {
+            beans.forEach(writer);
+        }
+        return file;
+    }
+
+    @Benchmark
+    public Path writeXml() throws IOException {
+        Path file = directory.resolve("beans.xml");
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file));
+             XmlBeanWriter writer = serializeToXmlStream(output)) {
+            beans.forEach(writer::write);
+        }
+        return file;
+    }
+
+    @Benchmark
+    public long scanSeries() {
+        TimestampSeriesReader reader = TimestampSeriesReader.open(series);
+        long sum = 0;
+        for (int i = 0; i < reader.size(); i++) {
+            sum += reader.getEpochNanos(i) + reader.getNanoOfDay(i) + reader.getEpochDay(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void readSeries(Blackhole blackhole) {
+        TimestampSeriesReader reader = TimestampSeriesReader.open(series);
+        for (int i = 0; i < reader.size(); i++) {
+            blackhole.consume(reader.getImprovedBean(i));
+        }
+    }
+
+    @Benchmark
+    public void readJson(Blackhole blackhole) throws IOException {
+        try (InputStream input = Files.newInputStream(json);
+             Stream<ImprovedBean> stream = deserializeFromJsonArray(input, ImprovedBean.class)) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void readXml(Blackhole blackhole) throws IOException {
+        try (InputStream input = Files.newInputStream(xml);
+             Stream<ImprovedBean> stream = deserializeFromXmlStream(input, ImprovedBean.class)) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+
+/**
+ * {@link ImprovedBean} bound with the scanner-based adapters of this project versus the same schema bound
+ * with the threeten-jaxb adapters, both through reused (un)marshallers, plus the bare {@code xs:dateTime}
+ * adapters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlAdapterBenchmark {
+
+    public enum Adapters {
+        SCANNER(ImprovedBean.class, new gdabski.training.datetime.OffsetDateTimeXmlAdapter()),
+        THREETEN(gdabski.training.datetime.threeten.ImprovedBean.class,
+                new io.github.threetenjaxb.core.OffsetDateTimeXmlAdapter());
+
+        private final Class<?> beanClass;
+        private final XmlAdapter<String, OffsetDateTime> dateTimeAdapter;
+
+        Adapters(Class<?> beanClass, XmlAdapter<String, OffsetDateTime> dateTimeAdapter) {
+            this.beanClass = beanClass;
+            this.dateTimeAdapter = dateTimeAdapter;
+        }
+    }
+
+    @Param({"SCANNER", "THREETEN"})
+    private Adapters adapters;
+
+    private String xml;
+    private String dateTime;
+    private OffsetDateTime dateTimeValue;
+    private Object bean;
+    private Unmarshaller unmarshaller;
+    private Marshaller marshaller;
+
+    @Setup
+    public void setUp() throws Exception {
+        xml = serializeToXml(Samples.bean());
+        JAXBContext jaxbContext = JAXBContext.newInstance(adapters.beanClass);
+        unmarshaller = jaxbContext.createUnmarshaller();
+        marshaller = jaxbContext.createMarshaller();
+        bean = unmarshal();
+        dateTime = Samples.bean().getDatetime().toXMLFormat();
+        dateTimeValue = adapters.dateTimeAdapter.unmarshal(dateTime);
+    }
+
+    @Benchmark
+    public Object unmarshal() throws JAXBException {
+        return unmarshaller.unmarshal(new StreamSource(new StringReader(xml)), adapters.beanClass).getValue();
+    }
+
+    @Benchmark
+    public String marshal() throws JAXBException {
+        StringWriter writer = new StringWriter();
+        marshaller.marshal(bean, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public OffsetDateTime parseDateTime() throws Exception {
+        return adapters.dateTimeAdapter.unmarshal(dateTime);
+    }
+
+    @Benchmark
+    public String printDateTime() throws Exception {
+        return adapters.dateTimeAdapter.marshal(dateTimeValue);
+    }
+
+}
@@ -0,0 +1,91 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.standard.Bean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.helpers.DefaultValidationEventHandler;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+
+/**
+ * The {@code fresh*} benchmarks reproduce the original code path, creating a {@link Marshaller} or
+ * {@link Unmarshaller} per message, as a baseline for the pooled ones in {@code DateTimeTypesUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlCodecBenchmark {
+
+    public enum BeanType {
+        STANDARD(Bean.class), IMPROVED(ImprovedBean.class);
+
+        private final Class<?> beanClass;
+
+        BeanType(Class<?> beanClass) {
+            this.beanClass = beanClass;
+        }
+    }
+
+    @Param({"STANDARD", "IMPROVED"})
+    private BeanType beanType;
+
+    private Object bean;
+    private String xml;
+    private JAXBContext jaxbContext;
+
+    @Setup
+    public void setUp() throws JAXBException {
+        jaxbContext = JAXBContext.newInstance(Bean.class, ImprovedBean.class);
+        xml = serializeToXml(Samples.bean());
+        bean = deserializeFromXml(xml, beanType.beanClass);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return serializeToXml(bean);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return deserializeFromXml(xml, beanType.beanClass);
+    }
+
+    @Benchmark
+    public String freshSerialize() throws JAXBException {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        StringWriter writer = new StringWriter();
+        marshaller.marshal(bean, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public Object freshDeserialize() throws JAXBException {
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setEventHandler(new DefaultValidationEventHandler());
+        return unmarshaller.unmarshal(new StreamSource(new StringReader(xml)), beanType.beanClass).getValue();
+    }
+
+}
@@ -0,0 +1,92 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.XmlBeanWriter;
+import gdabski.training.datetime.improved.ImprovedBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.*;
+
+/**
+ * Whole batches of {@code bean} elements: the StAX based streaming API versus one
+ * {@code serializeToXml}/{@code deserializeFromXml} call per bean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlStreamingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int count;
+
+    private List<ImprovedBean> beans;
+    private List<String> documents;
+    private byte[] batch;
+
+    @Setup
+    public void setUp() {
+        ImprovedBean bean = deserializeFromXml(serializeToXml(Samples.bean()), ImprovedBean.class);
+        beans = new ArrayList<>(count);
+        documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ImprovedBean copy = new ImprovedBean();
+            copy.setDate(bean.getDate().plusDays(i));
+            copy.setTime(bean.getTime().plusSeconds(i));
+            copy.setDatetime(bean.getDatetime().plusMinutes(i));
+            beans.add(copy);
+            documents.add(serializeToXml(copy));
+        }
+        batch = streamingWrite().toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream streamingWrite() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (XmlBeanWriter writer = serializeToXmlStream(output)) {
+            beans.forEach(writer::write);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public void stringWrite(Blackhole blackhole) {
+        for (ImprovedBean bean : beans) {
+            blackhole.consume(serializeToXml(bean));
+        }
+    }
+
+    @Benchmark
+    public void streamingRead(Blackhole blackhole) {
+        try (Stream<ImprovedBean> stream = deserializeFromXmlStream(new ByteArrayInputStream(batch), ImprovedBean.class)) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void stringRead(Blackhole blackhole) {
+        for (String document : documents) {
+            blackhole.consume(deserializeFromXml(document, ImprovedBean.class));
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package gdabski.training.datetime.benchmarks;
+
+import gdabski.training.datetime.ZoneOffsetCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.getZoneOffsetCache;
+
+/**
+ * A mixed-zone workload, from zone ids as strings, through {@link ZoneOffsetCache} versus {@link ZoneId#of}
+ * and {@link java.time.ZonedDateTime}. Dates range over 1990-2060, so most fall past the last explicit
+ * transition of their zone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(ZoneOffsetCacheBenchmark.COUNT)
+public class ZoneOffsetCacheBenchmark {
+
+    static final int COUNT = 1024;
+
+    private static final String[] ZONES = {"Europe/Warsaw", "America/New_York", "America/Sao_Paulo",
+            "Australia/Sydney", "Asia/Tokyo", "Asia/Kolkata", "Europe/London", "UTC"};
+
+    private final String[] zones = new String[COUNT];
+    private final LocalDateTime[] localDateTimes = new LocalDateTime[COUNT];
+    private final LocalDate[] localDates = new LocalDate[COUNT];
+    private final Instant[] instants = new Instant[COUNT];
+    private ZoneOffsetCache cache;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(12);
+        long from = LocalDate.of(1990, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long to = LocalDate.of(2060, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        for (int i = 0; i < COUNT; i++) {
+            zones[i] = ZONES[random.nextInt(ZONES.length)];
+            localDateTimes[i] = LocalDateTime.ofEpochSecond(random.nextLong(from, to), 0, ZoneOffset.UTC);
+            localDates[i] = localDateTimes[i].toLocalDate();
+            instants[i] = Instant.ofEpochSecond(random.nextLong(from, to));
+        }
+        cache = getZoneOffsetCache();
+    }
+
+    @Benchmark
+    public void localToInstantRules(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(localDateTimes[i].atZone(ZoneId.of(zones[i])).toInstant());
+        }
+    }
+
+    @Benchmark
+    public void localToInstantCache(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(cache.toInstant(localDateTimes[i], cache.zoneId(zones[i])));
+        }
+    }
+
+    @Benchmark
+    public void startOfDayRules(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(localDates[i].atStartOfDay(ZoneId.of(zones[i])).toOffsetDateTime());
+        }
+    }
+
+    @Benchmark
+    public void startOfDayCache(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(cache.atStartOfDay(localDates[i], cache.zoneId(zones[i])));
+        }
+    }
+
+    @Benchmark
+    public void instantToOffsetRules(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(ZoneId.of(zones[i]).getRules().getOffset(instants[i]));
+        }
+    }
+
+    @Benchmark
+    public void instantToOffsetCache(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(cache.getOffset(cache.zoneId(zones[i]), instants[i]));
+        }
+    }
+
+}
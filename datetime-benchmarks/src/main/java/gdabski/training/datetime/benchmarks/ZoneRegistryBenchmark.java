@@ -0,0 +1,100 @@
+package gdabski.training.datetime.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import gdabski.training.datetime.IsoTemporalModule;
+import gdabski.training.datetime.ZoneRegistry;
+import gdabski.training.datetime.ZoneRegistryModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializing 100 zoned date-times in a mix of zones from JSON written with
+ * {@code WRITE_DATES_WITH_ZONE_ID}, with the {@code JavaTimeModule} alone and with {@link ZoneRegistryModule}
+ * and {@link IsoTemporalModule} added, and resolving a zone id with {@link ZoneId#of} versus {@link ZoneRegistry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZoneRegistryBenchmark {
+
+    private static final String[] ZONES = {"Europe/Warsaw", "America/Chicago", "Asia/Kolkata", "Australia/Lord_Howe",
+            "UTC", "+04:00", "America/Argentina/ComodRivadavia"};
+
+    private ObjectMapper plain;
+    private ObjectMapper interned;
+    private ZoneRegistry registry;
+    private String json;
+    private int next;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        plain = mapper();
+        registry = new ZoneRegistry();
+        interned = mapper().registerModule(new ZoneRegistryModule(registry))
+                .registerModule(new IsoTemporalModule(registry));
+        SplittableRandom random = new SplittableRandom(18);
+        ZonedDateTime[] values = new ZonedDateTime[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Instant.ofEpochSecond(random.nextLong(1_500_000_000L, 1_700_000_000L), random.nextInt(1_000_000_000))
+                    .atZone(ZoneId.of(ZONES[random.nextInt(ZONES.length)]));
+        }
+        json = plain.writeValueAsString(values);
+    }
+
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+        mapper.enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID);
+        return mapper;
+    }
+
+    private String nextZone() {
+        return ZONES[next++ % ZONES.length];
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ZonedDateTime[] jsonJavaTimeModule() throws JsonProcessingException {
+        return plain.readValue(json, ZonedDateTime[].class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ZonedDateTime[] jsonZoneRegistry() throws JsonProcessingException {
+        return interned.readValue(json, ZonedDateTime[].class);
+    }
+
+    @Benchmark
+    public ZoneId zoneIdOf() {
+        return ZoneId.of(nextZone());
+    }
+
+    @Benchmark
+    public ZoneId zoneIdRegistry() {
+        return registry.zoneId(nextZone());
+    }
+
+}
@@ -0,0 +1,458 @@
+package gdabski.training.datetime.codegen;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates a {@code BinaryCodec} for the JAXB class of each given top-level element of an XSD, bound
+ * with the improved bindings ({@code java.time} types). Elements must be sequences of simple elements of
+ * the types in {@link FieldType}; anything else fails the generation rather than the round trip.
+ * <p>
+ * Arguments: the XSD, the output source directory, then {@code element=fully.qualified.Class} pairs.
+ * Codecs are named after their classes with a {@code BinaryCodec} suffix, in the same package. Files
+ * are only rewritten when their content changes.
+ */
+public final class BinaryCodecGenerator {
+
+    private static final String CODEC_PACKAGE = "gdabski.training.datetime";
+
+    private BinaryCodecGenerator() {}
+
+    public static void main(String[] args) throws IOException, ParserConfigurationException, SAXException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: BinaryCodecGenerator <xsd> <output directory> " +
+                    "<element>=<class>...");
+        }
+        Path xsd = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        Document schema = parse(xsd);
+        for (String mapping : Arrays.copyOfRange(args, 2, args.length)) {
+            int separator = mapping.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected <element>=<class>: " + mapping);
+            }
+            String element = mapping.substring(0, separator);
+            String className = mapping.substring(separator + 1);
+            List<Field> fields = fields(schema, element);
+            write(output, className + "BinaryCodec",
+                    generate(xsd.getFileName().toString(), element, className, fields));
+        }
+    }
+
+    private static Document parse(Path xsd) throws ParserConfigurationException, IOException, SAXException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        return factory.newDocumentBuilder().parse(xsd.toFile());
+    }
+
+    static List<Field> fields(Document schema, String elementName) {
+        Element element = child(schema.getDocumentElement(), "element", elementName);
+        if (element == null) {
+            throw new IllegalArgumentException("No top-level element " + elementName);
+        }
+        Element complexType = child(element, "complexType", null);
+        if (complexType == null && element.hasAttribute("type")) {
+            complexType = child(schema.getDocumentElement(), "complexType", localName(element.getAttribute("type")));
+        }
+        Element sequence = complexType == null ? null : child(complexType, "sequence", null);
+        if (sequence == null) {
+            throw new IllegalArgumentException("Element " + elementName + " is not a sequence");
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Node node = sequence.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element) {
+                Element field = (Element) node;
+                String name = field.getAttribute("name");
+                if (!"element".equals(field.getLocalName()) || name.isEmpty()
+                        || !"1".equals(attribute(field, "maxOccurs", "1"))) {
+                    throw new IllegalArgumentException("Unsupported particle in " + elementName + ": " + name);
+                }
+                boolean optional = "0".equals(attribute(field, "minOccurs", "1"))
+                        || "true".equals(field.getAttribute("nillable"));
+                fields.add(new Field(name, FieldType.of(field), optional));
+            }
+        }
+        return fields;
+    }
+
+    private static Element child(Element parent, String localName, String name) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(node.getNamespaceURI())
+                    && localName.equals(node.getLocalName())
+                    && (name == null || name.equals(((Element) node).getAttribute("name")))) {
+                return (Element) node;
+            }
+        }
+        return null;
+    }
+
+    private static String attribute(Element element, String name, String defaultValue) {
+        return element.hasAttribute(name) ? element.getAttribute(name) : defaultValue;
+    }
+
+    private static String localName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.indexOf(':') + 1);
+    }
+
+    static String generate(String source, String element, String className, List<Field> fields) {
+        int dot = className.lastIndexOf('.');
+        String packageName = className.substring(0, dot);
+        String bean = className.substring(dot + 1);
+        String codec = bean + "BinaryCodec";
+        int nullable = (int) fields.stream().filter(Field::nullable).count();
+        int presenceBytes = (nullable + 7) / 8;
+
+        Source out = new Source();
+        out.line("// Generated by " + BinaryCodecGenerator.class.getName() + " from " + source + "; do not edit.");
+        out.line("package " + packageName + ";");
+        out.line();
+        out.line("import " + CODEC_PACKAGE + ".BinaryCodec;");
+        out.line("import " + CODEC_PACKAGE + ".BinaryCodecs;");
+        out.line();
+        out.line("import java.nio.ByteBuffer;");
+        out.line();
+        out.line("/**");
+        out.line(" * Binary codec of {@code <" + element + ">}: " + (presenceBytes == 0 ? ""
+                : presenceBytes + " byte(s) flagging which of the " + nullable + " nullable fields are present,"));
+        out.line(" * " + (presenceBytes == 0 ? "" : "then ") + "the fields present, in schema order.");
+        out.line(" */");
+        out.line("public final class " + codec + " implements BinaryCodec<" + bean + "> {");
+        out.line();
+        out.line("    public static final " + codec + " INSTANCE = new " + codec + "();");
+        out.line();
+        out.line("    private " + codec + "() {}");
+        out.line();
+
+        out.line("    @Override");
+        out.line("    public int encodedLength(" + bean + " value) {");
+        out.line("        int length = " + presenceBytes + ";");
+        for (Field field : fields) {
+            String getter = "value." + field.getter() + "()";
+            String length = field.type.length(getter);
+            if (field.nullable()) {
+                out.line("        if (" + getter + " != null) {");
+                out.line("            length += " + length + ";");
+                out.line("        }");
+            } else {
+                out.line("        length += " + length + ";");
+            }
+        }
+        out.line("        return length;");
+        out.line("    }");
+        out.line();
+
+        out.line("    @Override");
+        out.line("    public void encode(" + bean + " value, ByteBuffer output) {");
+        int bit = 0;
+        for (Field field : fields) {
+            if (field.nullable()) {
+                if (bit % 8 == 0) {
+                    out.line("        int presence" + bit / 8 + " = 0;");
+                }
+                out.line("        if (value." + field.getter() + "() != null) {");
+                out.line("            presence" + bit / 8 + " |= " + (1 << bit % 8) + ";");
+                out.line("        }");
+                bit++;
+            }
+        }
+        for (int i = 0; i < presenceBytes; i++) {
+            out.line("        output.put((byte) presence" + i + ");");
+        }
+        bit = 0;
+        for (Field field : fields) {
+            String getter = "value." + field.getter() + "()";
+            if (field.nullable()) {
+                out.line("        if ((presence" + bit / 8 + " & " + (1 << bit % 8) + ") != 0) {");
+                out.line("            " + field.type.write(getter) + ";");
+                out.line("        }");
+                bit++;
+            } else {
+                out.line("        " + field.type.write(getter) + ";");
+            }
+        }
+        out.line("    }");
+        out.line();
+
+        out.line("    @Override");
+        out.line("    public " + bean + " decode(ByteBuffer input) {");
+        for (int i = 0; i < presenceBytes; i++) {
+            out.line("        int presence" + i + " = input.get();");
+        }
+        out.line("        " + bean + " value = new " + bean + "();");
+        bit = 0;
+        for (Field field : fields) {
+            String set = "value." + field.setter() + "(" + field.type.read() + ");";
+            if (field.nullable()) {
+                out.line("        if ((presence" + bit / 8 + " & " + (1 << bit % 8) + ") != 0) {");
+                out.line("            " + set);
+                out.line("        }");
+                bit++;
+            } else {
+                out.line("        " + set);
+            }
+        }
+        out.line("        return value;");
+        out.line("    }");
+        out.line();
+        out.line("}");
+        return out.toString();
+    }
+
+    private static void write(Path output, String className, String content) throws IOException {
+        Path file = output.resolve(className.replace('.', '/') + ".java");
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (Files.exists(file) && Arrays.equals(Files.readAllBytes(file), bytes)) {
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes);
+    }
+
+    /**
+     * Schema types, with the code that sizes, writes and reads the Java types they are bound to.
+     */
+    enum FieldType {
+
+        DATE("date", false) {
+            @Override
+            String length(String value) {
+                return "BinaryCodecs.dateLength(" + value + ")";
+            }
+
+            @Override
+            String write(String value) {
+                return "BinaryCodecs.writeDate(output, " + value + ")";
+            }
+
+            @Override
+            String read() {
+                return "BinaryCodecs.readDate(input)";
+            }
+        },
+        TIME("time", false) {
+            @Override
+            String length(String value) {
+                return "BinaryCodecs.timeLength(" + value + ")";
+            }
+
+            @Override
+            String write(String value) {
+                return "BinaryCodecs.writeTime(output, " + value + ")";
+            }
+
+            @Override
+            String read() {
+                return "BinaryCodecs.readTime(input)";
+            }
+        },
+        DATE_TIME("dateTime", false) {
+            @Override
+            String length(String value) {
+                return "BinaryCodecs.dateTimeLength(" + value + ")";
+            }
+
+            @Override
+            String write(String value) {
+                return "BinaryCodecs.writeDateTime(output, " + value + ")";
+            }
+
+            @Override
+            String read() {
+                return "BinaryCodecs.readDateTime(input)";
+            }
+        },
+        STRING("string", false) {
+            @Override
+            String length(String value) {
+                return "BinaryCodecs.stringLength(" + value + ")";
+            }
+
+            @Override
+            String write(String value) {
+                return "BinaryCodecs.writeString(output, " + value + ")";
+            }
+
+            @Override
+            String read() {
+                return "BinaryCodecs.readString(input)";
+            }
+        },
+        INT("int", true) {
+            @Override
+            String length(String value) {
+                return "BinaryCodecs.varLongLength(BinaryCodecs.zigzag(" + value + "))";
+            }
+
+            @Override
+            String write(String value) {
+                return "BinaryCodecs.writeVarLong(output, BinaryCodecs.zigzag(" + value + "))";
+            }
+
+            @Override
+            String read() {
+                return "(int) BinaryCodecs.unzigzag(BinaryCodecs.readVarLong(input))";
+            }
+        },
+        LONG("long", true) {
+            @Override
+            String length(String value) {
+                return INT.length(value);
+            }
+
+            @Override
+            String write(String value) {
+                return INT.write(value);
+            }
+
+            @Override
+            String read() {
+                return "BinaryCodecs.unzigzag(BinaryCodecs.readVarLong(input))";
+            }
+        },
+        BOOLEAN("boolean", true) {
+            @Override
+            String length(String value) {
+                return "1";
+            }
+
+            @Override
+            String write(String value) {
+                return "output.put((byte) (" + value + " ? 1 : 0))";
+            }
+
+            @Override
+            String read() {
+                return "input.get() != 0";
+            }
+        },
+        DOUBLE("double", true) {
+            @Override
+            String length(String value) {
+                return "Double.BYTES";
+            }
+
+            @Override
+            String write(String value) {
+                return "output.putDouble(" + value + ")";
+            }
+
+            @Override
+            String read() {
+                return "input.getDouble()";
+            }
+        };
+
+        private final String schemaType;
+        final boolean primitive;
+
+        FieldType(String schemaType, boolean primitive) {
+            this.schemaType = schemaType;
+            this.primitive = primitive;
+        }
+
+        /**
+         * The type of a schema element, whose {@code type} attribute must name a built-in XML Schema type
+         * under whatever prefix the schema binds to its namespace.
+         */
+        static FieldType of(Element field) {
+            String qualifiedName = field.getAttribute("type");
+            int colon = qualifiedName.indexOf(':');
+            String namespace = field.lookupNamespaceURI(colon < 0 ? null : qualifiedName.substring(0, colon));
+            if (XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(namespace)) {
+                String name = localName(qualifiedName);
+                for (FieldType type : values()) {
+                    if (type.schemaType.equals(name)) {
+                        return type;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Unsupported type of " + field.getAttribute("name") + ": "
+                    + qualifiedName);
+        }
+
+        abstract String length(String value);
+
+        abstract String write(String value);
+
+        abstract String read();
+
+    }
+
+    static final class Field {
+
+        final String name;
+        final FieldType type;
+        final boolean optional;
+
+        Field(String name, FieldType type, boolean optional) {
+            this.name = name;
+            this.type = type;
+            this.optional = optional;
+        }
+
+        /**
+         * Optional primitives are bound to wrappers, which may be {@code null}, as are all objects.
+         */
+        boolean nullable() {
+            return !type.primitive || optional;
+        }
+
+        String getter() {
+            return (type == FieldType.BOOLEAN ? "is" : "get") + property();
+        }
+
+        String setter() {
+            return "set" + property();
+        }
+
+        /**
+         * The JAXB property name: words split at punctuation, each capitalized.
+         */
+        private String property() {
+            StringBuilder property = new StringBuilder();
+            for (String word : name.split("[-_.]")) {
+                if (!word.isEmpty()) {
+                    property.append(word.substring(0, 1).toUpperCase(Locale.ROOT)).append(word.substring(1));
+                }
+            }
+            return property.toString();
+        }
+
+    }
+
+    private static final class Source {
+
+        private final StringBuilder text = new StringBuilder();
+
+        void line(String line) {
+            text.append(line).append('\n');
+        }
+
+        void line() {
+            text.append('\n');
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+package gdabski.training.datetime;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads and writes {@link TemporalRow}s of a table with {@code timestamp}, {@code timestamptz} and
+ * {@code date} columns off the caller's thread, completing {@link CompletableFuture}s. At most
+ * {@code maxConcurrency} operations hold a connection at a time; keep it within the pool size so that
+ * waiting happens here rather than in the pool's connection timeout.
+ * <p>
+ * By default operations run on a virtual thread each where the JVM has them (Java 21), found
+ * reflectively so that the project still builds for Java 11, and otherwise on {@code maxConcurrency}
+ * platform threads. Blocking inside {@code synchronized} JDBC driver code pins the carrier of a virtual
+ * thread, which the concurrency bound keeps to a handful of carriers.
+ */
+public final class AsyncTemporalRowStore implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+    private final DataSource dataSource;
+    private final String table;
+    private final TemporalRowWriter writer;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final boolean virtualThreads;
+
+    /**
+     * Runs operations on virtual threads or, where there are none, on a pool of its own, shut down by
+     * {@link #close()}.
+     */
+    public AsyncTemporalRowStore(DataSource dataSource, String table, int maxConcurrency) {
+        this(dataSource, table, maxConcurrency, null);
+    }
+
+    public AsyncTemporalRowStore(DataSource dataSource, String table, int maxConcurrency, Executor executor) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + maxConcurrency);
+        }
+        this.dataSource = dataSource;
+        this.table = table;
+        this.writer = new TemporalRowWriter(table, TemporalRowWriter.DEFAULT_BATCH_SIZE);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        if (executor == null) {
+            ExecutorService virtualThreadExecutor = virtualThreadExecutor();
+            this.virtualThreads = virtualThreadExecutor != null;
+            this.ownedExecutor = virtualThreads ? virtualThreadExecutor : platformThreadExecutor(maxConcurrency);
+            this.executor = ownedExecutor;
+        } else {
+            this.virtualThreads = false;
+            this.ownedExecutor = null;
+            this.executor = executor;
+        }
+    }
+
+    /**
+     * @return {@code Executors.newVirtualThreadPerTaskExecutor()}, or {@code null} before Java 21
+     */
+    static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService platformThreadExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "datetime-jdbc-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @FunctionalInterface
+    public interface SqlFunction<R> {
+        R apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs the function with a connection of its own, closed afterwards, once fewer than
+     * {@code maxConcurrency} operations are running. The future fails with what the function throws,
+     * and errors are rethrown to the executor as well.
+     */
+    public <R> CompletableFuture<R> withConnection(SqlFunction<R> function) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(function, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <R> void run(SqlFunction<R> function, CompletableFuture<R> future) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return;
+        }
+        R result;
+        try {
+            try (Connection connection = dataSource.getConnection()) {
+                result = function.apply(connection);
+            } finally {
+                permits.release();
+            }
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            return;
+        }
+        future.complete(result);
+    }
+
+    /**
+     * Inserts the rows in JDBC batches, committed as the connection's auto-commit mode says.
+     *
+     * @return a future of the number of rows inserted
+     */
+    public CompletableFuture<Long> insert(Collection<TemporalRow> rows) {
+        return withConnection(connection -> writer.insert(connection, rows.stream()));
+    }
+
+    public CompletableFuture<List<TemporalRow>> readAll() {
+        return withConnection(connection -> read(connection, "SELECT timestamp, timestamptz, date FROM " + table,
+                null));
+    }
+
+    public CompletableFuture<List<TemporalRow>> readByDate(LocalDate date) {
+        return withConnection(connection -> read(connection, "SELECT timestamp, timestamptz, date FROM " + table +
+                " WHERE date = ?", date));
+    }
+
+    private static List<TemporalRow> read(Connection connection, String sql, LocalDate date) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (date != null) {
+                statement.setObject(1, date);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<TemporalRow> rows = new ArrayList<>();
+                while (resultSet.next()) {
+                    rows.add(new TemporalRow(resultSet.getObject(1, LocalDateTime.class),
+                            resultSet.getObject(2, OffsetDateTime.class), resultSet.getObject(3, LocalDate.class)));
+                }
+                return rows;
+            }
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return operations holding or opening a connection
+     */
+    public int getActive() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Shuts down the executor created by this store, if any, letting submitted operations finish.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package gdabski.training.datetime;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncTemporalRowStoreTest {
+
+    private static final AtomicInteger databases = new AtomicInteger();
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+    private Connection keepAlive;
+    private AsyncTemporalRowStore store;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource.setURL("jdbc:h2:mem:async" + databases.incrementAndGet());
+        keepAlive = dataSource.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE datetime (timestamp timestamp, timestamptz timestamp with time zone, " +
+                    "date date)");
+        }
+        store = new AsyncTemporalRowStore(dataSource, "datetime", 3);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        store.close();
+        keepAlive.close();
+    }
+
+    @Test
+    void roundTripsRows() throws ExecutionException, InterruptedException {
+        LocalDateTime timestamp = LocalDateTime.of(2020, 12, 30, 14, 25, 31, 123_456_000);
+        List<TemporalRow> rows = List.of(
+                new TemporalRow(timestamp, timestamp.atOffset(ZoneOffset.ofHours(4)), timestamp.toLocalDate()),
+                new TemporalRow(timestamp.plusDays(1), null, timestamp.toLocalDate().plusDays(1)),
+                new TemporalRow(null, null, null));
+
+        assertEquals(3, store.insert(rows).get());
+        List<TemporalRow> read = store.readAll().get();
+        assertEquals(rows.get(0).getTimestamp(), read.get(0).getTimestamp());
+        assertEquals(rows.get(0).getTimestamptz().toInstant(), read.get(0).getTimestamptz().toInstant());
+        assertEquals(rows.subList(1, 3), read.subList(1, 3));
+        assertEquals(List.of(rows.get(1)), store.readByDate(LocalDate.of(2020, 12, 31)).get());
+    }
+
+    @Test
+    void boundsConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        LongAccumulator maxRunning = new LongAccumulator(Math::max, 0);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(store.withConnection(connection -> {
+                maxRunning.accumulate(running.incrementAndGet());
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return 1;
+            }));
+        }
+
+        assertEquals(200, futures.stream().mapToInt(CompletableFuture::join).sum());
+        assertTrue(maxRunning.get() <= 3, () -> Long.toString(maxRunning.get()));
+        assertEquals(0, store.getActive());
+    }
+
+    @Test
+    void failsFuturesWithSqlExceptions() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> store.withConnection(connection -> connection.prepareStatement("SELECT nothing FROM nowhere")).get());
+        assertTrue(e.getCause() instanceof SQLException, e::toString);
+        assertEquals(0, store.getActive());
+    }
+
+    @Test
+    void failsFuturesWithErrors() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> store.withConnection(connection -> {
+                    throw new AssertionError("expected");
+                }).get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof AssertionError, e::toString);
+        assertEquals(0, store.getActive());
+    }
+
+    @Test
+    void fallsBackToPlatformThreadsBeforeJava21() {
+        assertEquals(Runtime.version().feature() >= 21, store.isVirtualThreads());
+        assertEquals(Runtime.version().feature() >= 21, AsyncTemporalRowStore.virtualThreadExecutor() != null);
+    }
+
+}
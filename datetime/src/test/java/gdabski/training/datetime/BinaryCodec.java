@@ -0,0 +1,31 @@
+package gdabski.training.datetime;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary form of a bean, for service hops that need not be XML. Codecs for schema element types
+ * are generated from the XSD by {@code gdabski.training.datetime.codegen.BinaryCodecGenerator}; the format
+ * is versioned by its generator, not self-describing, so both sides must share the codec.
+ */
+public interface BinaryCodec<T> {
+
+    /**
+     * @return the exact number of bytes {@link #encode} writes for the value
+     */
+    int encodedLength(T value);
+
+    /**
+     * Writes the value at the buffer's position, allocating nothing.
+     *
+     * @throws BufferOverflowException if fewer than {@link #encodedLength} bytes remain
+     */
+    void encode(T value, ByteBuffer output);
+
+    /**
+     * @throws BufferUnderflowException if the buffer ends inside the value
+     */
+    T decode(ByteBuffer input);
+
+}
@@ -0,0 +1,140 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.codegen.BinaryCodecGenerator;
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.improved.ImprovedBeanBinaryCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryCodecTest {
+
+    private final BinaryCodec<ImprovedBean> codec = ImprovedBeanBinaryCodec.INSTANCE;
+
+    @Test
+    void roundTripsLikeJaxb() {
+        SplittableRandom random = new SplittableRandom(19);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (int i = 0; i < 10_000; i++) {
+            ImprovedBean bean = randomBean(random);
+            buffer.clear();
+            codec.encode(bean, buffer);
+            assertEquals(codec.encodedLength(bean), buffer.position(), bean.toString());
+            buffer.flip();
+            ImprovedBean decoded = codec.decode(buffer);
+            assertEquals(0, buffer.remaining());
+
+            ImprovedBean unmarshalled = DateTimeTypesUtils.deserializeFromXml(DateTimeTypesUtils.serializeToXml(bean),
+                    ImprovedBean.class);
+            assertEquals(unmarshalled, decoded);
+            assertEquals(bean, decoded);
+        }
+    }
+
+    @Test
+    void encodesAbsentFieldsAsPresenceBits() {
+        ImprovedBean bean = new ImprovedBean();
+        assertEquals(1, codec.encodedLength(bean));
+        bean.setTime(LocalTime.MIDNIGHT);
+        ByteBuffer buffer = ByteBuffer.allocate(codec.encodedLength(bean));
+        codec.encode(bean, buffer);
+        assertArrayEquals(new byte[]{2, 0}, buffer.array());
+        buffer.flip();
+        assertEquals(bean, codec.decode(buffer));
+
+        assertThrows(BufferUnderflowException.class, () -> codec.decode(ByteBuffer.wrap(new byte[]{7, 1})));
+    }
+
+    @Test
+    void writesVariableLengthIntegers() {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        for (long value : new long[]{0, 1, -1, 63, -64, 64, 127, 128, 16_383, 16_384, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            buffer.clear();
+            BinaryCodecs.writeVarLong(buffer, BinaryCodecs.zigzag(value));
+            assertEquals(BinaryCodecs.varLongLength(BinaryCodecs.zigzag(value)), buffer.position());
+            buffer.flip();
+            assertEquals(value, BinaryCodecs.unzigzag(BinaryCodecs.readVarLong(buffer)));
+        }
+        assertEquals(1, BinaryCodecs.varLongLength(BinaryCodecs.zigzag(-64)));
+        assertEquals(10, BinaryCodecs.varLongLength(-1));
+    }
+
+    @Test
+    void writesStringsAsUtf8() {
+        for (String value : new String[]{"", "bean", "żółć", "€ 😀", "\uD83D", "a\uDE00b\uD83D"}) {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodecs.stringLength(value));
+            BinaryCodecs.writeString(buffer, value);
+            assertEquals(0, buffer.remaining(), value);
+            buffer.flip();
+            byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            assertEquals(expected.length, BinaryCodecs.readVarLong(buffer.duplicate()));
+            assertEquals(new String(expected, StandardCharsets.UTF_8), BinaryCodecs.readString(buffer));
+            assertEquals(new String(expected, StandardCharsets.UTF_8),
+                    BinaryCodecs.readString(ByteBuffer.allocateDirect(buffer.capacity()).put(buffer.flip()).flip()));
+        }
+    }
+
+    @Test
+    void generatesPrimitivesAndRejectsUnsupportedTypes(@TempDir Path directory) throws Exception {
+        Path xsd = directory.resolve("types.xsd");
+        write(xsd, "<xs:element name=\"event\"><xs:complexType><xs:sequence>"
+                + "<xs:element name=\"event-id\" type=\"xs:long\"/>"
+                + "<xs:element name=\"retries\" type=\"xs:int\" minOccurs=\"0\"/>"
+                + "<xs:element name=\"urgent\" type=\"xs:boolean\"/>"
+                + "<xs:element name=\"label\" type=\"xs:string\"/>"
+                + "</xs:sequence></xs:complexType></xs:element>"
+                + "<xs:element name=\"other\"><xs:complexType><xs:sequence>"
+                + "<xs:element name=\"amount\" type=\"xs:decimal\"/>"
+                + "</xs:sequence></xs:complexType></xs:element>");
+
+        BinaryCodecGenerator.main(new String[]{xsd.toString(), directory.toString(), "event=com.example.Event"});
+        String source = new String(Files.readAllBytes(directory.resolve("com/example/EventBinaryCodec.java")),
+                StandardCharsets.UTF_8);
+        assertTrue(source.contains("length += BinaryCodecs.varLongLength(BinaryCodecs.zigzag(value.getEventId()));"));
+        assertTrue(source.contains("value.setRetries((int) BinaryCodecs.unzigzag(BinaryCodecs.readVarLong(input)));"));
+        assertTrue(source.contains("output.put((byte) (value.isUrgent() ? 1 : 0));"));
+        assertTrue(source.contains("if ((presence0 & 2) != 0) {\n            BinaryCodecs.writeString(output, value.getLabel());"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BinaryCodecGenerator.main(
+                new String[]{xsd.toString(), directory.toString(), "other=com.example.Other"}));
+        assertEquals("Unsupported type of amount: xs:decimal", e.getMessage());
+    }
+
+    private static void write(Path xsd, String elements) throws IOException {
+        Files.write(xsd, ("<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">" + elements + "</xs:schema>")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ImprovedBean randomBean(SplittableRandom random) {
+        ImprovedBean bean = new ImprovedBean();
+        if (random.nextInt(8) != 0) {
+            bean.setDate(LocalDate.ofEpochDay(random.nextLong(-1_000_000, 1_000_000)));
+        }
+        if (random.nextInt(8) != 0) {
+            bean.setTime(LocalTime.ofNanoOfDay(random.nextLong(LocalTime.MAX.toNanoOfDay() + 1)));
+        }
+        if (random.nextInt(8) != 0) {
+            bean.setDatetime(OffsetDateTime.of(LocalDate.ofEpochDay(random.nextLong(-1_000_000, 1_000_000))
+                            .atTime(LocalTime.ofNanoOfDay(random.nextLong(LocalTime.MAX.toNanoOfDay() + 1))),
+                    ZoneOffset.ofTotalSeconds(random.nextInt(-18 * 60, 18 * 60 + 1) * 60)));
+        }
+        return bean;
+    }
+
+}
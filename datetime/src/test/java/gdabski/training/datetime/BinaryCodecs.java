@@ -0,0 +1,159 @@
+package gdabski.training.datetime;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Primitives of the format written by generated {@link BinaryCodec}s: LEB128 variable-length integers,
+ * zigzag-encoded where they may be negative, and temporals packed into them. A date is its epoch day; a
+ * time its nano of day; a date-time the epoch second of its local date-time, its nano of second and its
+ * offset in seconds, so the offset survives the round trip.
+ */
+public final class BinaryCodecs {
+
+    private BinaryCodecs() {}
+
+    public static int varLongLength(long value) {
+        return value == 0 ? 1 : (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7;
+    }
+
+    public static void writeVarLong(ByteBuffer output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        output.put((byte) value);
+    }
+
+    public static long readVarLong(ByteBuffer input) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = input.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new DateTimeException("Malformed variable-length integer");
+    }
+
+    public static long zigzag(long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    public static long unzigzag(long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    public static int dateLength(LocalDate date) {
+        return varLongLength(zigzag(date.toEpochDay()));
+    }
+
+    public static void writeDate(ByteBuffer output, LocalDate date) {
+        writeVarLong(output, zigzag(date.toEpochDay()));
+    }
+
+    public static LocalDate readDate(ByteBuffer input) {
+        return LocalDate.ofEpochDay(unzigzag(readVarLong(input)));
+    }
+
+    public static int timeLength(LocalTime time) {
+        return varLongLength(time.toNanoOfDay());
+    }
+
+    public static void writeTime(ByteBuffer output, LocalTime time) {
+        writeVarLong(output, time.toNanoOfDay());
+    }
+
+    public static LocalTime readTime(ByteBuffer input) {
+        return LocalTime.ofNanoOfDay(readVarLong(input));
+    }
+
+    public static int dateTimeLength(OffsetDateTime dateTime) {
+        return varLongLength(zigzag(dateTime.toLocalDateTime().toEpochSecond(ZoneOffset.UTC)))
+                + varLongLength(dateTime.getNano())
+                + varLongLength(zigzag(dateTime.getOffset().getTotalSeconds()));
+    }
+
+    public static void writeDateTime(ByteBuffer output, OffsetDateTime dateTime) {
+        writeVarLong(output, zigzag(dateTime.toLocalDateTime().toEpochSecond(ZoneOffset.UTC)));
+        writeVarLong(output, dateTime.getNano());
+        writeVarLong(output, zigzag(dateTime.getOffset().getTotalSeconds()));
+    }
+
+    public static OffsetDateTime readDateTime(ByteBuffer input) {
+        long localEpochSecond = unzigzag(readVarLong(input));
+        int nano = (int) readVarLong(input);
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) unzigzag(readVarLong(input)));
+        return OffsetDateTime.of(LocalDateTime.ofEpochSecond(localEpochSecond, nano, ZoneOffset.UTC), offset);
+    }
+
+    public static int stringLength(String value) {
+        int bytes = utf8Length(value);
+        return varLongLength(bytes) + bytes;
+    }
+
+    public static void writeString(ByteBuffer output, String value) {
+        writeVarLong(output, utf8Length(value));
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                output.put((byte) c);
+            } else if (c < 0x800) {
+                output.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                output.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                output.put((byte) '?');
+            } else {
+                output.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    public static String readString(ByteBuffer input) {
+        int length = (int) readVarLong(input);
+        if (input.hasArray()) {
+            String value = new String(input.array(), input.arrayOffset() + input.position(), length,
+                    StandardCharsets.UTF_8);
+            input.position(input.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the length of the value in UTF-8, with unpaired surrogates replaced by {@code ?} as
+     * {@link String#getBytes} does
+     */
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+}
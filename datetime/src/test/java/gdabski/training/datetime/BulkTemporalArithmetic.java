@@ -0,0 +1,178 @@
+package gdabski.training.datetime;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Adds a {@link Period} and a {@link Duration} to arrays of epoch seconds in a zone, or a {@link Period} to
+ * arrays of epoch days, in chunks split across a {@link ForkJoinPool}. Results equal those of
+ * {@code ZonedDateTime.plus(period).plus(duration)} and {@code LocalDate.plus(period)}: months (including
+ * years) are added to the local date, clamping the day of month, then days, and the local date-time is
+ * resolved in the zone once, preferring the previous offset in an overlap and moving forward in a gap;
+ * the duration is then added to the instant.
+ * <p>
+ * Durations must be whole seconds, which is all the arrays can hold. Zone offsets come from a
+ * {@link ZoneOffsetCache}.
+ */
+public final class BulkTemporalArithmetic {
+
+    /** Elements below which a chunk is not split further. */
+    static final int MIN_CHUNK = 4096;
+
+    private static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+    private final ForkJoinPool pool;
+    private final ZoneOffsetCache zoneOffsetCache;
+
+    public BulkTemporalArithmetic(ForkJoinPool pool, ZoneOffsetCache zoneOffsetCache) {
+        this.pool = pool;
+        this.zoneOffsetCache = zoneOffsetCache;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public long[] addToEpochSeconds(long[] epochSeconds, ZoneId zone, Period period, Duration duration) {
+        long[] result = new long[epochSeconds.length];
+        addToEpochSeconds(epochSeconds, result, zone, period, duration);
+        return result;
+    }
+
+    /**
+     * Writes {@code source[i]} plus the amounts to {@code target[i]}; the arrays may be the same.
+     *
+     * @throws DateTimeException if a result is out of the range of {@link ZonedDateTime}
+     */
+    public void addToEpochSeconds(long[] source, long[] target, ZoneId zone, Period period, Duration duration) {
+        checkLengths(source, target);
+        if (duration.getNano() != 0) {
+            throw new IllegalArgumentException("Duration with a fraction of a second: " + duration);
+        }
+        long months = period.toTotalMonths();
+        long days = period.getDays();
+        long seconds = duration.getSeconds();
+        run(source.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long epochSecond = source[i];
+                if (months != 0 || days != 0) {
+                    ZoneOffset offset = zoneOffsetCache.getOffset(zone, epochSecond);
+                    long local = epochSecond + offset.getTotalSeconds();
+                    if (months != 0) {
+                        local = plusMonths(local, months);
+                    }
+                    local += days * CalendarMath.SECONDS_PER_DAY;
+                    epochSecond = zoneOffsetCache.toEpochSecond(local, zone, offset);
+                }
+                target[i] = checkEpochSecond(Math.addExact(epochSecond, seconds));
+            }
+        });
+    }
+
+    public long[] addToEpochDays(long[] epochDays, Period period) {
+        long[] result = new long[epochDays.length];
+        addToEpochDays(epochDays, result, period);
+        return result;
+    }
+
+    /**
+     * Writes {@code source[i]} plus the period to {@code target[i]}; the arrays may be the same.
+     *
+     * @throws DateTimeException if a result is out of the range of {@link LocalDate}
+     */
+    public void addToEpochDays(long[] source, long[] target, Period period) {
+        checkLengths(source, target);
+        long months = period.toTotalMonths();
+        long days = period.getDays();
+        run(source.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long epochDay = months == 0 ? source[i] : plusMonthsToEpochDay(source[i], months);
+                target[i] = checkEpochDay(epochDay + days);
+            }
+        });
+    }
+
+    private static long plusMonths(long localEpochSecond, long months) {
+        long epochDay = Math.floorDiv(localEpochSecond, CalendarMath.SECONDS_PER_DAY);
+        long secondOfDay = Math.floorMod(localEpochSecond, CalendarMath.SECONDS_PER_DAY);
+        return plusMonthsToEpochDay(epochDay, months) * CalendarMath.SECONDS_PER_DAY + secondOfDay;
+    }
+
+    private static long plusMonthsToEpochDay(long epochDay, long months) {
+        long packedDate = CalendarMath.packedDate(epochDay);
+        long month = CalendarMath.year(packedDate) * 12L + CalendarMath.month(packedDate) - 1 + months;
+        long year = Math.floorDiv(month, 12);
+        int monthOfYear = Math.floorMod(month, 12) + 1;
+        if (year < LocalDate.MIN.getYear() || year > LocalDate.MAX.getYear()) {
+            throw new DateTimeException("Year out of range: " + year);
+        }
+        int day = Math.min(CalendarMath.day(packedDate), CalendarMath.lengthOfMonth(year, monthOfYear));
+        return CalendarMath.epochDay((int) year, monthOfYear, day);
+    }
+
+    private static long checkEpochDay(long epochDay) {
+        if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            throw new DateTimeException("Epoch day out of range: " + epochDay);
+        }
+        return epochDay;
+    }
+
+    private static long checkEpochSecond(long epochSecond) {
+        checkEpochDay(Math.floorDiv(epochSecond, CalendarMath.SECONDS_PER_DAY));
+        return epochSecond;
+    }
+
+    private static void checkLengths(long[] source, long[] target) {
+        if (source.length != target.length) {
+            throw new IllegalArgumentException("Arrays of different lengths: " + source.length + ", " + target.length);
+        }
+    }
+
+    private void run(int length, RangeOperation operation) {
+        int chunk = Math.max(MIN_CHUNK, length / (pool.getParallelism() * 4));
+        if (length <= chunk || pool.getParallelism() == 1) {
+            operation.apply(0, length);
+        } else {
+            pool.invoke(new Chunk(operation, 0, length, chunk));
+        }
+    }
+
+    private interface RangeOperation {
+        void apply(int from, int to);
+    }
+
+    private static final class Chunk extends RecursiveAction {
+
+        private final RangeOperation operation;
+        private final int from;
+        private final int to;
+        private final int size;
+
+        Chunk(RangeOperation operation, int from, int to, int size) {
+            this.operation = operation;
+            this.from = from;
+            this.to = to;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= size) {
+                operation.apply(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Chunk(operation, from, middle, size), new Chunk(operation, middle, to, size));
+            }
+        }
+
+    }
+
+}
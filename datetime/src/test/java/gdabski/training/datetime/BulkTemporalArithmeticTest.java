@@ -0,0 +1,136 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkTemporalArithmeticTest {
+
+    private static final List<ZoneId> ZONES = List.of(ZoneId.of("Europe/Warsaw"), ZoneId.of("America/Sao_Paulo"),
+            ZoneId.of("Australia/Lord_Howe"), ZoneId.of("Pacific/Apia"), ZoneId.of("UTC"));
+    private static final List<Period> PERIODS = List.of(Period.ZERO, Period.ofDays(1), Period.ofDays(-1),
+            Period.ofMonths(1), Period.of(1, 1, 1), Period.ofYears(-4), Period.of(0, 13, -40));
+    private static final List<Duration> DURATIONS = List.of(Duration.ZERO, Duration.ofDays(1), Duration.ofMinutes(-90));
+
+    private static ForkJoinPool pool;
+    private static BulkTemporalArithmetic arithmetic;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(4);
+        arithmetic = new BulkTemporalArithmetic(pool, new ZoneOffsetCache(1970, 2100));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void addsLikeZonedDateTime() {
+        for (ZoneId zone : ZONES) {
+            long[] epochSeconds = sample(zone);
+            for (Period period : PERIODS) {
+                for (Duration duration : DURATIONS) {
+                    long[] result = arithmetic.addToEpochSeconds(epochSeconds, zone, period, duration);
+                    for (int i = 0; i < epochSeconds.length; i++) {
+                        ZonedDateTime dateTime = Instant.ofEpochSecond(epochSeconds[i]).atZone(zone);
+                        long expected = dateTime.plus(period).plus(duration).toEpochSecond();
+                        int index = i;
+                        assertEquals(expected, result[i], () -> dateTime + " + " + period + " + " + duration + " at " + index);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Instants around every transition, at the same local time around a month and a day later and earlier,
+     * and at random.
+     */
+    private static long[] sample(ZoneId zone) {
+        SplittableRandom random = new SplittableRandom(14);
+        long[] epochSeconds = new long[3 * BulkTemporalArithmetic.MIN_CHUNK];
+        int count = 0;
+        for (ZoneOffsetTransition transition : zone.getRules().getTransitions()) {
+            if (transition.getInstant().getEpochSecond() < 0 || count + 64 > epochSeconds.length) {
+                continue;
+            }
+            for (long shift : new long[]{0, 86_400, -86_400, 30 * 86_400, -31 * 86_400, 365 * 86_400}) {
+                for (long delta = -7200; delta <= 7200; delta += 1800) {
+                    epochSeconds[count++] = transition.toEpochSecond() + shift + delta;
+                    if (count == epochSeconds.length) {
+                        break;
+                    }
+                }
+            }
+        }
+        long from = Instant.parse("1970-01-01T00:00:00Z").getEpochSecond();
+        long to = Instant.parse("2100-01-01T00:00:00Z").getEpochSecond();
+        while (count < epochSeconds.length) {
+            epochSeconds[count++] = random.nextLong(from, to);
+        }
+        return epochSeconds;
+    }
+
+    @Test
+    void reproducesDemonstratedDifference() {
+        ZoneId warsaw = ZoneId.of("Europe/Warsaw");
+        long[] saturdayNoon = {LocalDateTime.of(2021, Month.MARCH, 27, 12, 0).atZone(warsaw).toEpochSecond()};
+
+        assertEquals(Instant.parse("2021-03-28T11:00:00Z").getEpochSecond(),
+                arithmetic.addToEpochSeconds(saturdayNoon, warsaw, Period.ZERO, Duration.ofDays(1))[0]);
+        assertEquals(Instant.parse("2021-03-28T10:00:00Z").getEpochSecond(),
+                arithmetic.addToEpochSeconds(saturdayNoon, warsaw, Period.ofDays(1), Duration.ZERO)[0]);
+    }
+
+    @Test
+    void addsLikeLocalDate() {
+        SplittableRandom random = new SplittableRandom(14);
+        long[] epochDays = random.longs(20_000, -800_000, 800_000).toArray();
+        for (Period period : PERIODS) {
+            long[] result = arithmetic.addToEpochDays(epochDays, period);
+            for (int i = 0; i < epochDays.length; i++) {
+                assertEquals(LocalDate.ofEpochDay(epochDays[i]).plus(period).toEpochDay(), result[i]);
+            }
+        }
+    }
+
+    @Test
+    void writesInPlace() {
+        long[] epochDays = {LocalDate.of(2020, 1, 31).toEpochDay(), LocalDate.of(2020, 2, 29).toEpochDay()};
+        arithmetic.addToEpochDays(epochDays, epochDays, Period.ofMonths(1));
+        assertArrayEquals(new long[]{LocalDate.of(2020, 2, 29).toEpochDay(), LocalDate.of(2020, 3, 29).toEpochDay()},
+                epochDays);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        long[] epochSeconds = {0};
+        assertThrows(IllegalArgumentException.class, () ->
+                arithmetic.addToEpochSeconds(epochSeconds, ZoneId.of("UTC"), Period.ZERO, Duration.ofMillis(1)));
+        assertThrows(IllegalArgumentException.class, () ->
+                arithmetic.addToEpochDays(epochSeconds, new long[2], Period.ZERO));
+        assertThrows(DateTimeException.class, () ->
+                arithmetic.addToEpochDays(new long[]{LocalDate.MAX.toEpochDay()}, Period.ofDays(1)));
+    }
+
+}
@@ -0,0 +1,300 @@
+package gdabski.training.datetime;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Streaming aggregation of timestamped values into calendar buckets of a zone: count, sum, minimum and
+ * maximum per bucket, emitted to a consumer once the bucket is closed. Days, weeks and months start when
+ * {@link java.time.LocalDate#atStartOfDay(ZoneId)} says, so days across a DST change last 23 or 25 hours;
+ * hours are local hours at one offset, so the repeated hour of an overlap gives two buckets, and hours
+ * cut by a transition off the whole hour (as in {@code Australia/Lord_Howe}) are shorter.
+ * <p>
+ * Events may arrive out of order by up to the allowed lateness: a bucket is closed once an event later
+ * than its end by the lateness has been seen, and events for closed buckets are dropped and counted.
+ * Buckets are emitted in order. Memory is constant per open bucket. Not thread-safe.
+ */
+public final class CalendarBucketAggregator {
+
+    public enum Unit {
+        HOUR, DAY, WEEK, MONTH
+    }
+
+    private static final int SECONDS_PER_HOUR = 3600;
+
+    private final ZoneOffsetCache zoneOffsetCache;
+    private final ZoneId zone;
+    private final Unit unit;
+    private final long latenessNanos;
+    private final Consumer<? super Aggregate> consumer;
+
+    /**
+     * Open buckets, by start: closed from the head, and opened at the tail unless an event is late enough
+     * to open a bucket before others, which are set aside in {@code later} meanwhile.
+     */
+    private final ArrayDeque<OpenBucket> open = new ArrayDeque<>();
+    private final ArrayDeque<OpenBucket> later = new ArrayDeque<>();
+    private final ArrayDeque<OpenBucket> free = new ArrayDeque<>();
+    private OpenBucket last;
+    private long watermark = Long.MIN_VALUE;
+    private long dropped;
+
+    public CalendarBucketAggregator(ZoneOffsetCache zoneOffsetCache, ZoneId zone, Unit unit, Duration allowedLateness,
+                                    Consumer<? super Aggregate> consumer) {
+        if (allowedLateness.isNegative()) {
+            throw new IllegalArgumentException("Negative lateness: " + allowedLateness);
+        }
+        this.zoneOffsetCache = zoneOffsetCache;
+        this.zone = zone;
+        this.unit = unit;
+        this.latenessNanos = allowedLateness.toNanos();
+        this.consumer = consumer;
+    }
+
+    public void accept(Instant instant, long value) {
+        accept(TimestampSeries.toEpochNanos(instant.getEpochSecond(), instant.getNano()), value);
+    }
+
+    public void accept(long epochNanos, long value) {
+        OpenBucket bucket = last;
+        if (bucket == null || epochNanos < bucket.start || epochNanos >= bucket.end) {
+            bucket = find(epochNanos);
+            if (bucket == null) {
+                dropped++;
+                return;
+            }
+            last = bucket;
+        }
+        bucket.add(value);
+        advanceTo(epochNanos);
+    }
+
+    /**
+     * Closes the buckets that end more than the allowed lateness before {@code epochNanos}, as an event at
+     * that time would, for streams that go quiet.
+     */
+    public void advanceTo(long epochNanos) {
+        long candidate = epochNanos - latenessNanos;
+        if (candidate > watermark) {
+            watermark = candidate;
+            while (!open.isEmpty() && open.peekFirst().end <= watermark) {
+                emit(open.pollFirst());
+            }
+        }
+    }
+
+    /**
+     * Emits all open buckets, as at the end of the stream.
+     */
+    public void flush() {
+        while (!open.isEmpty()) {
+            emit(open.pollFirst());
+        }
+    }
+
+    /**
+     * @return the number of events dropped for arriving after their bucket was closed
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    public int getOpenBucketCount() {
+        return open.size();
+    }
+
+    private OpenBucket find(long epochNanos) {
+        for (Iterator<OpenBucket> buckets = open.descendingIterator(); buckets.hasNext(); ) {
+            OpenBucket bucket = buckets.next();
+            if (bucket.start <= epochNanos) {
+                if (epochNanos < bucket.end) {
+                    return bucket;
+                }
+                break;
+            }
+        }
+        long epochSecond = Math.floorDiv(epochNanos, CalendarMath.NANOS_PER_SECOND);
+        long start = startSecond(epochSecond);
+        long end = endSecond(epochSecond, start);
+        if (end * CalendarMath.NANOS_PER_SECOND <= watermark) {
+            return null;
+        }
+        OpenBucket bucket = free.isEmpty() ? new OpenBucket() : free.pop();
+        bucket.reset(start * CalendarMath.NANOS_PER_SECOND, end * CalendarMath.NANOS_PER_SECOND);
+        while (!open.isEmpty() && open.peekLast().start > bucket.start) {
+            later.push(open.pollLast());
+        }
+        open.addLast(bucket);
+        while (!later.isEmpty()) {
+            open.addLast(later.pop());
+        }
+        return bucket;
+    }
+
+    private long startSecond(long epochSecond) {
+        ZoneOffset offset = zoneOffsetCache.getOffset(zone, epochSecond);
+        long local = epochSecond + offset.getTotalSeconds();
+        if (unit == Unit.HOUR) {
+            long start = Math.floorDiv(local, SECONDS_PER_HOUR) * SECONDS_PER_HOUR - offset.getTotalSeconds();
+            return Math.max(start, zoneOffsetCache.floorTransition(zone, epochSecond));
+        }
+        long epochDay = Math.floorDiv(local, CalendarMath.SECONDS_PER_DAY);
+        return startOfDay(firstDay(epochDay));
+    }
+
+    private long endSecond(long epochSecond, long start) {
+        if (unit == Unit.HOUR) {
+            ZoneOffset offset = zoneOffsetCache.getOffset(zone, epochSecond);
+            long local = epochSecond + offset.getTotalSeconds();
+            long end = (Math.floorDiv(local, SECONDS_PER_HOUR) + 1) * SECONDS_PER_HOUR - offset.getTotalSeconds();
+            return Math.min(end, zoneOffsetCache.higherTransition(zone, epochSecond));
+        }
+        long local = start + zoneOffsetCache.getOffset(zone, start).getTotalSeconds();
+        long firstDay = firstDay(Math.floorDiv(local, CalendarMath.SECONDS_PER_DAY));
+        return startOfDay(nextFirstDay(firstDay));
+    }
+
+    private long firstDay(long epochDay) {
+        switch (unit) {
+            case WEEK:
+                return epochDay - Math.floorMod(epochDay + 3, 7);
+            case MONTH:
+                return epochDay - CalendarMath.day(CalendarMath.packedDate(epochDay)) + 1;
+            default:
+                return epochDay;
+        }
+    }
+
+    private long nextFirstDay(long firstDay) {
+        switch (unit) {
+            case WEEK:
+                return firstDay + 7;
+            case MONTH:
+                long packedDate = CalendarMath.packedDate(firstDay);
+                return firstDay + CalendarMath.lengthOfMonth(CalendarMath.year(packedDate), CalendarMath.month(packedDate));
+            default:
+                return firstDay + 1;
+        }
+    }
+
+    private long startOfDay(long epochDay) {
+        return zoneOffsetCache.toEpochSecond(epochDay * CalendarMath.SECONDS_PER_DAY, zone, null);
+    }
+
+    private void emit(OpenBucket bucket) {
+        if (bucket == last) {
+            last = null;
+        }
+        consumer.accept(new Aggregate(bucket));
+        free.push(bucket);
+    }
+
+    private static final class OpenBucket {
+
+        long start;
+        long end;
+        long count;
+        long sum;
+        long min;
+        long max;
+
+        void reset(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.count = 0;
+            this.sum = 0;
+            this.min = Long.MAX_VALUE;
+            this.max = Long.MIN_VALUE;
+        }
+
+        void add(long value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+    }
+
+    /**
+     * A closed bucket: {@code [start, end)} with the count, sum, minimum and maximum of its values.
+     */
+    public static final class Aggregate {
+
+        private final long startEpochNanos;
+        private final long endEpochNanos;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        private Aggregate(OpenBucket bucket) {
+            this.startEpochNanos = bucket.start;
+            this.endEpochNanos = bucket.end;
+            this.count = bucket.count;
+            this.sum = bucket.sum;
+            this.min = bucket.min;
+            this.max = bucket.max;
+        }
+
+        public Instant getStart() {
+            return Instant.ofEpochSecond(0, startEpochNanos);
+        }
+
+        public Instant getEnd() {
+            return Instant.ofEpochSecond(0, endEpochNanos);
+        }
+
+        public Duration getLength() {
+            return Duration.ofNanos(endEpochNanos - startEpochNanos);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Aggregate)) {
+                return false;
+            }
+            Aggregate that = (Aggregate) object;
+            return startEpochNanos == that.startEpochNanos && endEpochNanos == that.endEpochNanos
+                    && count == that.count && sum == that.sum && min == that.min && max == that.max;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(startEpochNanos, endEpochNanos, count, sum, min, max);
+        }
+
+        @Override
+        public String toString() {
+            return "Aggregate[start=" + getStart() + ", end=" + getEnd() + ", count=" + count + ", sum=" + sum
+                    + ", min=" + min + ", max=" + max + "]";
+        }
+
+    }
+
+}
@@ -0,0 +1,176 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.CalendarBucketAggregator.Aggregate;
+import gdabski.training.datetime.CalendarBucketAggregator.Unit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CalendarBucketAggregatorTest {
+
+    private static final ZoneId WARSAW = ZoneId.of("Europe/Warsaw");
+    private static final ZoneOffsetCache CACHE = new ZoneOffsetCache(ZoneOffsetCache.DEFAULT_FROM_YEAR,
+            ZoneOffsetCache.DEFAULT_TO_YEAR);
+
+    private final List<Aggregate> aggregates = new ArrayList<>();
+
+    @Test
+    void aggregatesDaysOfTwentyThreeAndTwentyFiveHours() {
+        CalendarBucketAggregator aggregator = new CalendarBucketAggregator(CACHE, WARSAW, Unit.DAY,
+                Duration.ZERO, aggregates::add);
+        aggregator.accept(Instant.parse("2021-03-27T23:00:00Z"), 1);
+        aggregator.accept(Instant.parse("2021-03-28T21:59:59Z"), 2);
+        aggregator.accept(Instant.parse("2021-10-30T22:00:00Z"), 3);
+        aggregator.accept(Instant.parse("2021-10-31T22:59:59Z"), 4);
+        aggregator.flush();
+
+        assertEquals(2, aggregates.size());
+        assertEquals(Instant.parse("2021-03-27T23:00:00Z"), aggregates.get(0).getStart());
+        assertEquals(Duration.ofHours(23), aggregates.get(0).getLength());
+        assertEquals(3, aggregates.get(0).getSum());
+        assertEquals(Instant.parse("2021-10-30T22:00:00Z"), aggregates.get(1).getStart());
+        assertEquals(Duration.ofHours(25), aggregates.get(1).getLength());
+        assertEquals(7, aggregates.get(1).getSum());
+    }
+
+    @Test
+    void splitsRepeatedHourOfOverlap() {
+        CalendarBucketAggregator aggregator = new CalendarBucketAggregator(CACHE, WARSAW, Unit.HOUR,
+                Duration.ZERO, aggregates::add);
+        aggregator.accept(Instant.parse("2021-10-31T00:30:00Z"), 1);
+        aggregator.accept(Instant.parse("2021-10-31T01:30:00Z"), 2);
+        aggregator.flush();
+
+        assertEquals(2, aggregates.size());
+        assertEquals(Instant.parse("2021-10-31T00:00:00Z"), aggregates.get(0).getStart());
+        assertEquals(Instant.parse("2021-10-31T01:00:00Z"), aggregates.get(1).getStart());
+        assertEquals(Duration.ofHours(1), aggregates.get(1).getLength());
+    }
+
+    @Test
+    void cutsHoursAtTransitionsOffTheWholeHour() {
+        ZoneId lordHowe = ZoneId.of("Australia/Lord_Howe");
+        CalendarBucketAggregator aggregator = new CalendarBucketAggregator(CACHE, lordHowe, Unit.HOUR,
+                Duration.ZERO, aggregates::add);
+        aggregator.accept(Instant.parse("2021-04-03T14:45:00Z"), 1);
+        aggregator.accept(Instant.parse("2021-04-03T15:00:00Z"), 2);
+        aggregator.flush();
+
+        // 02:00+11:00 falls back to 01:30+10:30 at 15:00Z
+        assertEquals(2, aggregates.size());
+        assertEquals(Instant.parse("2021-04-03T14:00:00Z"), aggregates.get(0).getStart());
+        assertEquals(Instant.parse("2021-04-03T15:00:00Z"), aggregates.get(0).getEnd());
+        assertEquals(Instant.parse("2021-04-03T15:00:00Z"), aggregates.get(1).getStart());
+        assertEquals(Duration.ofMinutes(30), aggregates.get(1).getLength());
+    }
+
+    @Test
+    void closesBucketsAfterLatenessAndDropsLaterEvents() {
+        CalendarBucketAggregator aggregator = new CalendarBucketAggregator(CACHE, ZoneOffset.UTC, Unit.HOUR,
+                Duration.ofMinutes(10), aggregates::add);
+        aggregator.accept(Instant.parse("2021-01-01T00:50:00Z"), 1);
+        aggregator.accept(Instant.parse("2021-01-01T01:05:00Z"), 2);
+        aggregator.accept(Instant.parse("2021-01-01T00:59:00Z"), 3);
+        assertEquals(List.of(), aggregates);
+        assertEquals(2, aggregator.getOpenBucketCount());
+
+        aggregator.accept(Instant.parse("2021-01-01T01:10:00Z"), 4);
+        assertEquals(1, aggregates.size());
+        assertEquals(4, aggregates.get(0).getSum());
+        assertEquals(1, aggregates.get(0).getMin());
+        assertEquals(3, aggregates.get(0).getMax());
+
+        aggregator.accept(Instant.parse("2021-01-01T00:58:00Z"), 5);
+        assertEquals(1, aggregator.getDroppedCount());
+        aggregator.advanceTo(TimestampSeries.toEpochNanos(Instant.parse("2021-01-01T02:10:00Z").getEpochSecond(), 0));
+        assertEquals(2, aggregates.size());
+        assertEquals(6, aggregates.get(1).getSum());
+        assertEquals(0, aggregator.getOpenBucketCount());
+    }
+
+    @Test
+    void rejectsNegativeLateness() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CalendarBucketAggregator(CACHE, WARSAW, Unit.DAY, Duration.ofSeconds(-1), aggregates::add));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Unit.class)
+    void matchesGroupingByZonedDateTime(Unit unit) {
+        SplittableRandom random = new SplittableRandom(15);
+        ZoneId zone = unit == Unit.HOUR ? ZoneId.of("Australia/Lord_Howe") : WARSAW;
+        long lateness = unit == Unit.HOUR ? 600 : 86_400;
+        long span = unit == Unit.HOUR ? 3 * 365 * 86_400L : 30 * 365 * 86_400L;
+        long second = Instant.parse("1995-01-01T00:00:00Z").getEpochSecond();
+        CalendarBucketAggregator aggregator = new CalendarBucketAggregator(CACHE, zone, unit,
+                Duration.ofSeconds(lateness), aggregates::add);
+        TreeMap<Instant, long[]> expected = new TreeMap<>();
+        long step = span / 100_000;
+        for (int i = 0; i < 100_000; i++) {
+            second += random.nextLong(2 * step);
+            long eventSecond = second - random.nextLong(lateness);
+            int nano = random.nextInt(1_000_000_000);
+            long value = random.nextLong(-1000, 1000);
+            aggregator.accept(Instant.ofEpochSecond(eventSecond, nano), value);
+            Instant start = start(Instant.ofEpochSecond(eventSecond, nano).atZone(zone), unit);
+            long[] bucket = expected.computeIfAbsent(start, s -> new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+            bucket[0]++;
+            bucket[1] += value;
+            bucket[2] = Math.min(bucket[2], value);
+            bucket[3] = Math.max(bucket[3], value);
+        }
+        aggregator.flush();
+
+        assertEquals(0, aggregator.getDroppedCount());
+        assertEquals(expected.size(), aggregates.size());
+        int i = 0;
+        for (Map.Entry<Instant, long[]> entry : expected.entrySet()) {
+            Aggregate aggregate = aggregates.get(i++);
+            assertEquals(entry.getKey(), aggregate.getStart());
+            assertEquals(entry.getValue()[0], aggregate.getCount());
+            assertEquals(entry.getValue()[1], aggregate.getSum());
+            assertEquals(entry.getValue()[2], aggregate.getMin());
+            assertEquals(entry.getValue()[3], aggregate.getMax());
+        }
+    }
+
+    private static Instant start(ZonedDateTime dateTime, Unit unit) {
+        switch (unit) {
+            case HOUR:
+                Instant hour = dateTime.toLocalDateTime().truncatedTo(ChronoUnit.HOURS).toInstant(dateTime.getOffset());
+                ZoneOffsetTransition previous = dateTime.getZone().getRules()
+                        .previousTransition(dateTime.toInstant().plusNanos(1));
+                return previous == null || hour.isAfter(previous.getInstant()) ? hour : previous.getInstant();
+            case WEEK:
+                return startOfDay(dateTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), dateTime);
+            case MONTH:
+                return startOfDay(dateTime.toLocalDate().withDayOfMonth(1), dateTime);
+            default:
+                return startOfDay(dateTime.toLocalDate(), dateTime);
+        }
+    }
+
+    private static Instant startOfDay(LocalDate date, ZonedDateTime dateTime) {
+        return date.atStartOfDay(dateTime.getZone()).toInstant();
+    }
+
+}
@@ -0,0 +1,105 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.Test;
+import org.threeten.extra.MutableClock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClocksTest {
+
+    private static final Instant START = Instant.parse("2021-01-01T00:00:00Z");
+
+    @Test
+    void coarseClockStandsStillBetweenTicks() {
+        MutableClock source = MutableClock.of(START, ZoneId.of("Europe/Warsaw"));
+        try (CoarseClock clock = new CoarseClock(source, Duration.ofDays(1))) {
+            source.add(Duration.ofMillis(5));
+            assertEquals(START, clock.instant());
+            clock.tick();
+            assertEquals(START.plusMillis(5), clock.instant());
+            assertEquals(START.toEpochMilli() + 5, clock.millis());
+
+            Clock utc = clock.withZone(ZoneOffset.UTC);
+            assertSame(clock, clock.withZone(ZoneId.of("Europe/Warsaw")));
+            assertEquals(ZoneOffset.UTC, utc.getZone());
+            source.add(Duration.ofMillis(5));
+            clock.tick();
+            assertEquals(START.plusMillis(10), utc.instant());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CoarseClock(source(), Duration.ZERO));
+    }
+
+    @Test
+    void coarseClockTicksInBackground() throws InterruptedException {
+        MutableClock source = source();
+        try (CoarseClock clock = new CoarseClock(source, Duration.ofMillis(1))) {
+            source.add(Duration.ofHours(1));
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (!clock.instant().equals(START.plus(Duration.ofHours(1))) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(START.plus(Duration.ofHours(1)), clock.instant());
+        }
+    }
+
+    @Test
+    void monotonicClockIgnoresWallClockSteps() {
+        MutableClock wall = source();
+        AtomicLong nanoTime = new AtomicLong(-5_000);
+        MonotonicClock clock = new MonotonicClock(wall, nanoTime::get);
+        assertEquals(START, clock.instant());
+
+        nanoTime.addAndGet(1_234_567);
+        wall.add(Duration.ofMinutes(-10));
+        assertEquals(START.plusNanos(1_234_567), clock.instant());
+        assertEquals(START.toEpochMilli() + 1, clock.millis());
+        assertEquals(START.plusNanos(1_234_567), clock.withZone(ZoneId.of("Asia/Tokyo")).instant());
+        assertEquals(ZoneId.of("Asia/Tokyo"), clock.withZone(ZoneId.of("Asia/Tokyo")).getZone());
+
+        MonotonicClock system = new MonotonicClock(Clock.systemUTC());
+        Instant previous = system.instant();
+        for (int i = 0; i < 10_000; i++) {
+            Instant next = system.instant();
+            assertTrue(!next.isBefore(previous));
+            previous = next;
+        }
+    }
+
+    /**
+     * Walks the clock back and forth over a few years in uneven steps, across midnights and transitions,
+     * including one at midnight, half-hour ones, and a skipped day.
+     */
+    @Test
+    void localNowMatchesNowOfClock() {
+        SplittableRandom random = new SplittableRandom(24);
+        for (String id : new String[]{"Europe/Warsaw", "America/Sao_Paulo", "Australia/Lord_Howe", "Pacific/Apia",
+                "Asia/Kolkata", "UTC"}) {
+            MutableClock clock = MutableClock.of(Instant.parse("2011-01-01T00:00:00Z"), ZoneId.of(id));
+            LocalNow now = new LocalNow(clock);
+            for (int i = 0; i < 50_000; i++) {
+                clock.add(Duration.ofSeconds(random.nextLong(-600, 7_200), random.nextInt(1_000_000_000)));
+                assertEquals(LocalDate.now(clock), now.date(), id + " " + clock.instant());
+                assertEquals(LocalDateTime.now(clock), now.dateTime(), id + " " + clock.instant());
+                assertEquals(clock.getZone().getRules().getOffset(clock.instant()), now.offset());
+            }
+        }
+    }
+
+    private static MutableClock source() {
+        return MutableClock.of(START, ZoneOffset.UTC);
+    }
+
+}
@@ -0,0 +1,123 @@
+package gdabski.training.datetime;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A clock that reads another one only on a background thread, every {@code resolution}, and answers with
+ * the last instant read, so that telling the time is a volatile read. It lags behind the source by up to
+ * the resolution and stands still in between; it goes backwards only if the source does.
+ * {@link #withZone} views share the ticker, stopped by {@link #close()}.
+ */
+public final class CoarseClock extends Clock implements AutoCloseable {
+
+    public static final Duration DEFAULT_RESOLUTION = Duration.ofMillis(1);
+
+    private final Clock source;
+    private final Duration resolution;
+    private final ScheduledExecutorService ticker;
+    private volatile Instant instant;
+
+    public CoarseClock(Clock source, Duration resolution) {
+        if (resolution.isNegative() || resolution.isZero()) {
+            throw new IllegalArgumentException("Resolution must be positive: " + resolution);
+        }
+        this.source = source;
+        this.resolution = resolution;
+        this.instant = source.instant();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "datetime-clock-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long nanos = resolution.toNanos();
+        ticker.scheduleAtFixedRate(this::tick, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reads the source now, as the ticker does.
+     */
+    void tick() {
+        instant = source.instant();
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+
+    @Override
+    public long millis() {
+        return instant.toEpochMilli();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return source.getZone();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(getZone()) ? this : new ZoneView(this, zone);
+    }
+
+    public Duration getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Stops the ticker; the clock, and its views, stand still from then on.
+     */
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "CoarseClock[" + source + "," + resolution + "]";
+    }
+
+    private static final class ZoneView extends Clock {
+
+        private final CoarseClock clock;
+        private final ZoneId zone;
+
+        ZoneView(CoarseClock clock, ZoneId zone) {
+            this.clock = clock;
+            this.zone = zone;
+        }
+
+        @Override
+        public Instant instant() {
+            return clock.instant;
+        }
+
+        @Override
+        public long millis() {
+            return clock.millis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return clock.withZone(zone);
+        }
+
+        @Override
+        public String toString() {
+            return clock + "[" + zone + "]";
+        }
+
+    }
+
+}
@@ -0,0 +1,224 @@
+package gdabski.training.datetime;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+import static gdabski.training.datetime.CalendarMath.NANOS_PER_DAY;
+import static gdabski.training.datetime.CalendarMath.NANOS_PER_SECOND;
+import static gdabski.training.datetime.CalendarMath.SECONDS_PER_DAY;
+
+/**
+ * Encoder and decoder of the fixed-width {@code yyyyMMddHHmmssSSSSSSSSS} key format produced by
+ * {@link DateTimeTypesUtils#formatDate}, writing ASCII digits straight into caller-supplied buffers.
+ * Output is byte-identical to the {@link java.time.format.DateTimeFormatter} for years 1 to 9999; other
+ * years are rejected, as the formatter prints them as year-of-era or with a sign.
+ * <br><br>
+ * Epoch-nanos variants interpret the local date-time as if it were in UTC, so they cover years 1677 to 2262.
+ */
+public final class CompactTimestampCodec {
+
+    public static final int LENGTH = 23;
+
+    private static final int MIN_YEAR = 1;
+    private static final int MAX_YEAR = 9999;
+
+    private CompactTimestampCodec() {}
+
+    public static boolean isSupported(LocalDateTime localDateTime) {
+        return localDateTime.getYear() >= MIN_YEAR && localDateTime.getYear() <= MAX_YEAR;
+    }
+
+    public static String format(LocalDateTime localDateTime) {
+        byte[] bytes = new byte[LENGTH];
+        format(localDateTime, bytes, 0);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    public static void format(LocalDateTime localDateTime, byte[] destination, int offset) {
+        checkYear(localDateTime.getYear());
+        write(destination, offset, localDateTime.getYear(), localDateTime.getMonthValue(), localDateTime.getDayOfMonth(),
+                localDateTime.getHour() * 3600 + localDateTime.getMinute() * 60 + localDateTime.getSecond(),
+                localDateTime.getNano());
+    }
+
+    public static void format(LocalDateTime localDateTime, char[] destination, int offset) {
+        checkYear(localDateTime.getYear());
+        write(destination, offset, localDateTime.getYear(), localDateTime.getMonthValue(), localDateTime.getDayOfMonth(),
+                localDateTime.getHour() * 3600 + localDateTime.getMinute() * 60 + localDateTime.getSecond(),
+                localDateTime.getNano());
+    }
+
+    /**
+     * Writes at the buffer's position and advances it.
+     */
+    public static void format(LocalDateTime localDateTime, ByteBuffer destination) {
+        checkYear(localDateTime.getYear());
+        write(destination, localDateTime.getYear(), localDateTime.getMonthValue(), localDateTime.getDayOfMonth(),
+                localDateTime.getHour() * 3600 + localDateTime.getMinute() * 60 + localDateTime.getSecond(),
+                localDateTime.getNano());
+    }
+
+    public static void formatEpochNanos(long epochNanos, byte[] destination, int offset) {
+        long epochDay = Math.floorDiv(epochNanos, NANOS_PER_DAY);
+        long nanoOfDay = epochNanos - epochDay * NANOS_PER_DAY;
+        long date = CalendarMath.packedDate(epochDay);
+        write(destination, offset, CalendarMath.year(date), CalendarMath.month(date), CalendarMath.day(date),
+                (int) (nanoOfDay / NANOS_PER_SECOND), (int) (nanoOfDay % NANOS_PER_SECOND));
+    }
+
+    public static void formatEpochNanos(long epochNanos, char[] destination, int offset) {
+        long epochDay = Math.floorDiv(epochNanos, NANOS_PER_DAY);
+        long nanoOfDay = epochNanos - epochDay * NANOS_PER_DAY;
+        long date = CalendarMath.packedDate(epochDay);
+        write(destination, offset, CalendarMath.year(date), CalendarMath.month(date), CalendarMath.day(date),
+                (int) (nanoOfDay / NANOS_PER_SECOND), (int) (nanoOfDay % NANOS_PER_SECOND));
+    }
+
+    public static void formatEpochNanos(long epochNanos, ByteBuffer destination) {
+        long epochDay = Math.floorDiv(epochNanos, NANOS_PER_DAY);
+        long nanoOfDay = epochNanos - epochDay * NANOS_PER_DAY;
+        long date = CalendarMath.packedDate(epochDay);
+        write(destination, CalendarMath.year(date), CalendarMath.month(date), CalendarMath.day(date),
+                (int) (nanoOfDay / NANOS_PER_SECOND), (int) (nanoOfDay % NANOS_PER_SECOND));
+    }
+
+    public static long parseEpochNanos(byte[] source, int offset) {
+        int year = digits(source, offset, 4);
+        int month = digits(source, offset + 4, 2);
+        int day = digits(source, offset + 6, 2);
+        int secondOfDay = secondOfDay(digits(source, offset + 8, 2), digits(source, offset + 10, 2),
+                digits(source, offset + 12, 2));
+        return epochNanos(year, month, day, secondOfDay, digits(source, offset + 14, 9));
+    }
+
+    public static long parseEpochNanos(CharSequence source, int offset) {
+        int year = digits(source, offset, 4);
+        int month = digits(source, offset + 4, 2);
+        int day = digits(source, offset + 6, 2);
+        int secondOfDay = secondOfDay(digits(source, offset + 8, 2), digits(source, offset + 10, 2),
+                digits(source, offset + 12, 2));
+        return epochNanos(year, month, day, secondOfDay, digits(source, offset + 14, 9));
+    }
+
+    public static LocalDateTime parseLocalDateTime(byte[] source, int offset) {
+        return LocalDateTime.of(digits(source, offset, 4), digits(source, offset + 4, 2),
+                digits(source, offset + 6, 2), digits(source, offset + 8, 2), digits(source, offset + 10, 2),
+                digits(source, offset + 12, 2), digits(source, offset + 14, 9));
+    }
+
+    public static LocalDateTime parseLocalDateTime(CharSequence source, int offset) {
+        return LocalDateTime.of(digits(source, offset, 4), digits(source, offset + 4, 2),
+                digits(source, offset + 6, 2), digits(source, offset + 8, 2), digits(source, offset + 10, 2),
+                digits(source, offset + 12, 2), digits(source, offset + 14, 9));
+    }
+
+    private static void checkYear(int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Year outside of compact timestamp range: " + year);
+        }
+    }
+
+    private static int secondOfDay(int hour, int minute, int second) {
+        if (hour > 23 || minute > 59 || second > 59) {
+            throw new DateTimeException("Invalid time of compact timestamp");
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    private static long epochNanos(int year, int month, int day, int secondOfDay, int nano) {
+        if (month < 1 || month > 12 || day < 1 || day > CalendarMath.lengthOfMonth(year, month)) {
+            throw new DateTimeException("Invalid date of compact timestamp");
+        }
+        long epochSecond = CalendarMath.epochDay(year, month, day) * SECONDS_PER_DAY + secondOfDay;
+        return Math.addExact(Math.multiplyExact(epochSecond, NANOS_PER_SECOND), nano);
+    }
+
+    private static void write(byte[] destination, int offset, int year, int month, int day, int secondOfDay, int nano) {
+        if (offset < 0 || offset > destination.length - LENGTH) {
+            throw new IndexOutOfBoundsException("No room for compact timestamp at " + offset);
+        }
+        writeDigits(destination, offset, year, 4);
+        writeDigits(destination, offset + 4, month, 2);
+        writeDigits(destination, offset + 6, day, 2);
+        writeDigits(destination, offset + 8, secondOfDay / 3600, 2);
+        writeDigits(destination, offset + 10, secondOfDay / 60 % 60, 2);
+        writeDigits(destination, offset + 12, secondOfDay % 60, 2);
+        writeDigits(destination, offset + 14, nano, 9);
+    }
+
+    private static void write(char[] destination, int offset, int year, int month, int day, int secondOfDay, int nano) {
+        if (offset < 0 || offset > destination.length - LENGTH) {
+            throw new IndexOutOfBoundsException("No room for compact timestamp at " + offset);
+        }
+        writeDigits(destination, offset, year, 4);
+        writeDigits(destination, offset + 4, month, 2);
+        writeDigits(destination, offset + 6, day, 2);
+        writeDigits(destination, offset + 8, secondOfDay / 3600, 2);
+        writeDigits(destination, offset + 10, secondOfDay / 60 % 60, 2);
+        writeDigits(destination, offset + 12, secondOfDay % 60, 2);
+        writeDigits(destination, offset + 14, nano, 9);
+    }
+
+    private static void write(ByteBuffer destination, int year, int month, int day, int secondOfDay, int nano) {
+        int offset = destination.position();
+        if (destination.remaining() < LENGTH) {
+            throw new IndexOutOfBoundsException("No room for compact timestamp at " + offset);
+        }
+        writeDigits(destination, offset, year, 4);
+        writeDigits(destination, offset + 4, month, 2);
+        writeDigits(destination, offset + 6, day, 2);
+        writeDigits(destination, offset + 8, secondOfDay / 3600, 2);
+        writeDigits(destination, offset + 10, secondOfDay / 60 % 60, 2);
+        writeDigits(destination, offset + 12, secondOfDay % 60, 2);
+        writeDigits(destination, offset + 14, nano, 9);
+        destination.position(offset + LENGTH);
+    }
+
+    private static void writeDigits(byte[] destination, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            destination[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static void writeDigits(char[] destination, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            destination[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static void writeDigits(ByteBuffer destination, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            destination.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+    }
+
+    private static int digits(byte[] source, int offset, int width) {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            int digit = source[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DateTimeException("Non-digit in compact timestamp at " + i);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int digits(CharSequence source, int offset, int width) {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            int digit = source.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DateTimeException("Non-digit in compact timestamp at " + i);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+}
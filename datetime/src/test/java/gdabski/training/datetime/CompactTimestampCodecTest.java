@@ -0,0 +1,101 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.formatDate;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactTimestampCodecTest {
+
+    private static final DateTimeFormatter reference = DateTimeFormatter
+            .ofPattern("yyyyMMddHHmmssSSSSSSSSS", Locale.US);
+
+    private static final long MIN_EPOCH_DAY = LocalDate.of(1, 1, 1).toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    private final SplittableRandom random = new SplittableRandom(20201229);
+
+    private LocalDateTime randomLocalDateTime() {
+        return LocalDateTime.of(LocalDate.ofEpochDay(random.nextLong(MIN_EPOCH_DAY, MAX_EPOCH_DAY + 1)),
+                LocalTime.ofNanoOfDay(random.nextLong(CalendarMath.NANOS_PER_DAY)));
+    }
+
+    @Test
+    void matchesDateTimeFormatter() {
+        byte[] bytes = new byte[CompactTimestampCodec.LENGTH + 3];
+        char[] chars = new char[CompactTimestampCodec.LENGTH];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CompactTimestampCodec.LENGTH);
+        for (int i = 0; i < 200_000; i++) {
+            LocalDateTime value = randomLocalDateTime();
+            String expected = reference.format(value);
+
+            CompactTimestampCodec.format(value, bytes, 3);
+            assertEquals(expected, new String(bytes, 3, CompactTimestampCodec.LENGTH, StandardCharsets.US_ASCII));
+            CompactTimestampCodec.format(value, chars, 0);
+            assertEquals(expected, new String(chars));
+            buffer.clear();
+            CompactTimestampCodec.format(value, buffer);
+            buffer.flip();
+            assertEquals(expected, StandardCharsets.US_ASCII.decode(buffer).toString());
+            assertEquals(value, CompactTimestampCodec.parseLocalDateTime(bytes, 3));
+            assertEquals(value, CompactTimestampCodec.parseLocalDateTime(expected, 0));
+        }
+    }
+
+    @Test
+    void roundTripsEpochNanos() {
+        byte[] bytes = new byte[CompactTimestampCodec.LENGTH];
+        char[] chars = new char[CompactTimestampCodec.LENGTH];
+        for (int i = 0; i < 200_000; i++) {
+            long epochNanos = random.nextLong();
+            LocalDateTime value = LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, CalendarMath.NANOS_PER_SECOND),
+                    (int) Math.floorMod(epochNanos, CalendarMath.NANOS_PER_SECOND), ZoneOffset.UTC);
+
+            CompactTimestampCodec.formatEpochNanos(epochNanos, bytes, 0);
+            assertEquals(reference.format(value), new String(bytes, StandardCharsets.US_ASCII));
+            CompactTimestampCodec.formatEpochNanos(epochNanos, chars, 0);
+            assertArrayEquals(reference.format(value).toCharArray(), chars);
+            assertEquals(epochNanos, CompactTimestampCodec.parseEpochNanos(bytes, 0));
+            assertEquals(epochNanos, CompactTimestampCodec.parseEpochNanos(new String(chars), 0));
+        }
+    }
+
+    @Test
+    void formatDateKeepsFormatterOutput() {
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime value = randomLocalDateTime();
+            assertEquals(reference.format(value), formatDate(value));
+            assertEquals(reference.format(value.atZone(ZoneId.of("Europe/Warsaw"))), formatDate(value.atZone(ZoneId.of("Europe/Warsaw"))));
+            assertEquals(reference.format(value.atOffset(ZoneOffset.ofHours(-6))), formatDate(value.atOffset(ZoneOffset.ofHours(-6))));
+        }
+        LocalDateTime outOfRange = LocalDateTime.of(12021, 1, 1, 0, 0);
+        assertEquals(reference.format(outOfRange), formatDate(outOfRange));
+        assertEquals(reference.format(outOfRange.withYear(-5)), formatDate(outOfRange.withYear(-5)));
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThrows(DateTimeException.class, () -> CompactTimestampCodec.parseEpochNanos("20201229x00000000000000000", 0));
+        assertThrows(DateTimeException.class, () -> CompactTimestampCodec.parseEpochNanos("20210229000000000000000", 0));
+        assertThrows(DateTimeException.class, () -> CompactTimestampCodec.parseEpochNanos("20201229240000000000000", 0));
+        assertThrows(DateTimeException.class, () -> CompactTimestampCodec.parseLocalDateTime("20201329000000000000000", 0));
+        assertThrows(ArithmeticException.class, () -> CompactTimestampCodec.parseEpochNanos("23001229000000000000000", 0));
+        assertThrows(DateTimeException.class, () -> CompactTimestampCodec.format(LocalDateTime.of(10000, 1, 1, 0, 0), new byte[23], 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> CompactTimestampCodec.format(LocalDateTime.of(2020, 1, 1, 0, 0), new byte[23], 1));
+    }
+
+}
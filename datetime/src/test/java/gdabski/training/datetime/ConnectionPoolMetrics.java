@@ -0,0 +1,109 @@
+package gdabski.training.datetime;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acquire latency and saturation of a HikariCP pool. Pool sizes come from the pool's own statistics,
+ * which HikariCP refreshes at most once a second.
+ */
+public final class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                created.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquired.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+
+        };
+    }
+
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    public double getMeanAcquireMicros() {
+        long count = acquired.sum();
+        return count == 0 ? 0 : (double) acquireNanos.sum() / count / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    public double getMaxAcquireMicros() {
+        return (double) maxAcquireNanos.get() / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * @return acquisitions that failed because no connection became available in time
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return physical connections opened
+     */
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public int getActiveConnections() {
+        return poolStats == null ? 0 : poolStats.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        return poolStats == null ? 0 : poolStats.getIdleConnections();
+    }
+
+    /**
+     * @return threads waiting for a connection
+     */
+    public int getPendingThreads() {
+        return poolStats == null ? 0 : poolStats.getPendingThreads();
+    }
+
+    /**
+     * @return share of the maximum pool size in use, from 0 to 1
+     */
+    public double getSaturation() {
+        PoolStats stats = poolStats;
+        return stats == null || stats.getMaxConnections() == 0 ? 0
+                : (double) stats.getActiveConnections() / stats.getMaxConnections();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "acquired=%d meanAcquire=%.1fus maxAcquire=%.1fus timeouts=%d created=%d " +
+                        "active=%d idle=%d pending=%d saturation=%.2f", getAcquired(), getMeanAcquireMicros(),
+                getMaxAcquireMicros(), getTimeouts(), getCreated(), getActiveConnections(), getIdleConnections(),
+                getPendingThreads(), getSaturation());
+    }
+
+}
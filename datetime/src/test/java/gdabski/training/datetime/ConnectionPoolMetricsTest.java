@@ -0,0 +1,75 @@
+package gdabski.training.datetime;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolMetricsTest {
+
+    private final ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+    private HikariDataSource pool;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:");
+        pool = DateTimeTypesUtils.pooled(dataSource, metrics);
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(250);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void reusesPhysicalConnections() throws SQLException {
+        Connection first;
+        try (Connection connection = pool.getConnection()) {
+            first = connection.unwrap(Connection.class);
+        }
+        for (int i = 0; i < 9; i++) {
+            try (Connection connection = pool.getConnection()) {
+                assertSame(first, connection.unwrap(Connection.class));
+            }
+        }
+
+        assertEquals(10, metrics.getAcquired());
+        assertEquals(1, metrics.getCreated());
+        assertTrue(metrics.getMaxAcquireMicros() >= metrics.getMeanAcquireMicros());
+    }
+
+    @Test
+    void reportsSaturationAndTimeouts() throws SQLException, InterruptedException {
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            borrowed.add(pool.getConnection());
+            borrowed.add(pool.getConnection());
+            assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+
+            assertEquals(1, metrics.getTimeouts());
+            Thread.sleep(1100); // pool statistics are cached for a second
+            assertEquals(2, metrics.getActiveConnections());
+            assertEquals(1.0, metrics.getSaturation());
+        } finally {
+            for (Connection connection : borrowed) {
+                connection.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,277 @@
+package gdabski.training.datetime;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, call and error counts, and optionally bytes allocated, of named operations. Latencies go
+ * into log-linear buckets, as in HdrHistogram: exact up to {@value #LINEAR_LIMIT} ns, then 16 buckets per
+ * power of two, within 1/16 of the value.
+ * <p>
+ * Recording is switched on and off at runtime; when off, a timed call costs a volatile read and a branch
+ * on each side. Allocated bytes come from {@link com.sun.management.ThreadMXBean} where the JVM supports it,
+ * and cost far more, so they have their own switch.
+ */
+public final class DateTimeMetrics {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int LINEAR_LIMIT = 2 << SUB_BUCKET_BITS;
+    static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 1 - (SUB_BUCKET_BITS + 1)) * (1 << SUB_BUCKET_BITS);
+
+    /** Returned by {@link Timer#start()} when recording is off. */
+    static final long NOT_RECORDING = Long.MIN_VALUE;
+
+    private static final com.sun.management.ThreadMXBean allocationBean = allocationBean();
+
+    private final Map<String, Timer> timers = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile boolean enabled;
+    private volatile boolean allocationTracking;
+
+    public DateTimeMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the timer of the given name, created on first use
+     */
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    public Collection<Timer> getTimers() {
+        synchronized (timers) {
+            return new ArrayList<>(timers.values());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isAllocationTracking() {
+        return allocationTracking;
+    }
+
+    /**
+     * Records bytes allocated by the calling thread during each timed call, if the JVM can tell.
+     */
+    public void setAllocationTracking(boolean allocationTracking) {
+        this.allocationTracking = allocationTracking && allocationBean != null;
+    }
+
+    public void export(MetricsSink sink) {
+        sink.export(this);
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < LINEAR_LIMIT) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+        return LINEAR_LIMIT + ((exponent - SUB_BUCKET_BITS - 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * @return the highest value that falls into the bucket
+     */
+    static long highestValue(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = ((bucket - LINEAR_LIMIT) >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS + 1;
+        long subBucket = (bucket - LINEAR_LIMIT) & ((1 << SUB_BUCKET_BITS) - 1);
+        long lowest = (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Operations are timed as
+     * <pre>{@code
+     * long start = timer.start();
+     * boolean completed = false;
+     * try {
+     *     ...
+     *     completed = true;
+     * } finally {
+     *     timer.stop(start, completed);
+     * }
+     * }</pre>
+     * Calls that throw count as errors, and their latency is recorded too.
+     */
+    public final class Timer implements TimerMXBean {
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final ThreadLocal<long[]> allocationStart = ThreadLocal.withInitial(() -> new long[1]);
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return a token to pass to {@link #stop(long, boolean)}
+         */
+        public long start() {
+            if (!enabled) {
+                return NOT_RECORDING;
+            }
+            if (allocationTracking) {
+                allocationStart.get()[0] = allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+            return System.nanoTime();
+        }
+
+        public void stop(long start, boolean completed) {
+            if (start == NOT_RECORDING) {
+                return;
+            }
+            long nanos = System.nanoTime() - start;
+            count.increment();
+            if (!completed) {
+                errors.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.incrementAndGet(bucket(nanos));
+            if (allocationTracking) {
+                long bytes = allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId())
+                        - allocationStart.get()[0];
+                allocatedBytes.add(Math.max(bytes, 0));
+            }
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        @Override
+        public double getMeanNanos() {
+            long calls = count.sum();
+            return calls == 0 ? 0 : (double) totalNanos.sum() / calls;
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        @Override
+        public long getP50Nanos() {
+            return getPercentileNanos(50);
+        }
+
+        @Override
+        public long getP99Nanos() {
+            return getPercentileNanos(99);
+        }
+
+        @Override
+        public long getP999Nanos() {
+            return getPercentileNanos(99.9);
+        }
+
+        /**
+         * @return bytes allocated by timed calls while allocation tracking was on
+         */
+        @Override
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        /**
+         * @return the latency that the given percentage of recorded calls did not exceed, rounded up to its
+         * bucket, or 0 if nothing was recorded
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), getMaxNanos());
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return name + " count=" + getCount() + " errors=" + getErrors() + " mean=" + Math.round(getMeanNanos())
+                    + "ns p50=" + getP50Nanos() + "ns p99=" + getP99Nanos() + "ns p999=" + getP999Nanos()
+                    + "ns max=" + getMaxNanos() + "ns allocated=" + getAllocatedBytes() + "B";
+        }
+
+    }
+
+    /**
+     * What {@link JmxMetricsSink} exposes of each timer.
+     */
+    public interface TimerMXBean {
+
+        String getName();
+
+        long getCount();
+
+        long getErrors();
+
+        double getMeanNanos();
+
+        long getMaxNanos();
+
+        long getP50Nanos();
+
+        long getP99Nanos();
+
+        long getP999Nanos();
+
+        long getAllocatedBytes();
+
+    }
+
+}
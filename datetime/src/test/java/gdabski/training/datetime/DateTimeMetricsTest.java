@@ -0,0 +1,110 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DateTimeMetricsTest {
+
+    private final DateTimeMetrics metrics = new DateTimeMetrics(true);
+
+    @Test
+    void bucketsValuesWithinOneSixteenth() {
+        SplittableRandom random = new SplittableRandom(16);
+        for (int i = 0; i < 100_000; i++) {
+            long nanos = random.nextLong(Long.MAX_VALUE >>> random.nextInt(63));
+            int bucket = DateTimeMetrics.bucket(nanos);
+            long highest = DateTimeMetrics.highestValue(bucket);
+            assertTrue(bucket >= 0 && bucket < DateTimeMetrics.BUCKETS, () -> Long.toString(nanos));
+            assertTrue(nanos <= highest && highest - nanos <= nanos / 16, () -> nanos + " " + highest);
+            assertTrue(bucket == 0 || DateTimeMetrics.highestValue(bucket - 1) < nanos, () -> Long.toString(nanos));
+        }
+        assertEquals(DateTimeMetrics.BUCKETS - 1, DateTimeMetrics.bucket(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, DateTimeMetrics.highestValue(DateTimeMetrics.BUCKETS - 1));
+    }
+
+    @Test
+    void recordsCallsErrorsAndPercentiles() {
+        DateTimeMetrics.Timer timer = metrics.timer("test");
+        for (int i = 0; i < 10; i++) {
+            timer.stop(timer.start(), i != 0);
+        }
+
+        assertEquals(10, timer.getCount());
+        assertEquals(1, timer.getErrors());
+        assertTrue(timer.getP50Nanos() <= timer.getP99Nanos());
+        assertTrue(timer.getP999Nanos() <= timer.getMaxNanos());
+        assertTrue(timer.getMeanNanos() > 0);
+    }
+
+    @Test
+    void recordsNothingWhenDisabled() {
+        DateTimeMetrics.Timer timer = metrics.timer("test");
+        metrics.setEnabled(false);
+        long start = timer.start();
+        metrics.setEnabled(true);
+        timer.stop(start, true);
+
+        assertEquals(DateTimeMetrics.NOT_RECORDING, start);
+        assertEquals(0, timer.getCount());
+        assertEquals(0, timer.getPercentileNanos(50));
+    }
+
+    @Test
+    void tracksAllocatedBytes() {
+        metrics.setAllocationTracking(true);
+        assumeTrue(metrics.isAllocationTracking(), "The JVM does not report allocated bytes");
+        DateTimeMetrics.Timer timer = metrics.timer("test");
+        long start = timer.start();
+        long[] allocated = new long[1024];
+        timer.stop(start, allocated.length > 0);
+
+        assertTrue(timer.getAllocatedBytes() >= 8 * 1024, () -> Long.toString(timer.getAllocatedBytes()));
+    }
+
+    @Test
+    void timesDateTimeTypesUtils() {
+        DateTimeMetrics utilsMetrics = DateTimeTypesUtils.getMetrics();
+        DateTimeMetrics.Timer timer = utilsMetrics.timer("formatDate");
+        boolean enabled = utilsMetrics.isEnabled();
+        long count = timer.getCount();
+        long errors = timer.getErrors();
+        utilsMetrics.setEnabled(true);
+        try {
+            DateTimeTypesUtils.formatDate(LocalDateTime.of(2021, 1, 1, 0, 0));
+            assertThrows(RuntimeException.class, () -> DateTimeTypesUtils.formatDate(LocalDate.of(2021, 1, 1)));
+        } finally {
+            utilsMetrics.setEnabled(enabled);
+        }
+
+        assertEquals(count + 2, timer.getCount());
+        assertEquals(errors + 1, timer.getErrors());
+    }
+
+    @Test
+    void exportsToTextAndJmx() throws Exception {
+        DateTimeMetrics.Timer timer = metrics.timer("formatDate");
+        timer.stop(timer.start(), true);
+
+        StringBuilder text = new StringBuilder();
+        metrics.export(new TextMetricsSink(text));
+        assertTrue(text.toString().startsWith("formatDate count=1 errors=0 mean="), text::toString);
+
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        metrics.export(new JmxMetricsSink(server));
+        metrics.export(new JmxMetricsSink(server));
+        timer.stop(timer.start(), false);
+        assertEquals(2L, server.getAttribute(JmxMetricsSink.objectName("formatDate"), "Count"));
+        assertEquals(1L, server.getAttribute(JmxMetricsSink.objectName("formatDate"), "Errors"));
+    }
+
+}
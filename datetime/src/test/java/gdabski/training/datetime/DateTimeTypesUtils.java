@@ -1,46 +1,77 @@
 package gdabski.training.datetime;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.postgresql.ds.PGSimpleDataSource;
 
+import javax.sql.DataSource;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.helpers.DefaultValidationEventHandler;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static java.lang.String.join;
 
 public final class DateTimeTypesUtils {
 
+    private static final ZoneRegistry zoneRegistry = new ZoneRegistry();
+
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     static {
         objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.registerModule(new ZoneRegistryModule(zoneRegistry));
+        objectMapper.registerModule(new IsoTemporalModule(zoneRegistry));
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         objectMapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
         objectMapper.enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID);
     }
 
+    private static final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    static {
+        smileMapper.registerModule(new JavaTimeModule());
+        smileMapper.registerModule(new ZoneRegistryModule(zoneRegistry));
+        smileMapper.registerModule(new PackedTemporalModule(zoneRegistry));
+        smileMapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+    }
+
     private static final PGSimpleDataSource dataSource = new PGSimpleDataSource();
 
     static {
@@ -49,8 +80,16 @@ public final class DateTimeTypesUtils {
         dataSource.setUser("");
         dataSource.setPassword("");
         dataSource.setPortNumbers(new int[]{5432});
+        dataSource.setPrepareThreshold(Integer.getInteger("datetime.pool.prepareThreshold", 5));
+        dataSource.setPreparedStatementCacheQueries(Integer.getInteger("datetime.pool.statementCacheQueries", 256));
     }
 
+    private static final ConnectionPoolMetrics connectionPoolMetrics = new ConnectionPoolMetrics();
+
+    private static final HikariDataSource pooledDataSource = pooled(dataSource, connectionPoolMetrics);
+
+    private static volatile String pooledTimeZone = TimeZone.getDefault().getID();
+
     private static final DatatypeFactory xmlDatatypeFactory;
 
     static {
@@ -67,12 +106,44 @@ public final class DateTimeTypesUtils {
         try {
              jaxbContext = JAXBContext.newInstance(join(":",
                      "gdabski.training.datetime.standard",
-                     "gdabski.training.datetime.improved"));
+                     "gdabski.training.datetime.improved",
+                     "gdabski.training.datetime.lazy"));
         } catch (JAXBException e) {
             throw new ExceptionInInitializerError(e);
         }
     }
 
+    private static final JaxbCodecPool jaxbCodecPool = new JaxbCodecPool(jaxbContext,
+            Integer.getInteger("datetime.jaxb.pool.maxPerClass", JaxbCodecPool.DEFAULT_MAX_PER_CLASS));
+
+    private static final TemporalRowWriter temporalRowWriter = new TemporalRowWriter("datetime",
+            Integer.getInteger("datetime.jdbc.batchSize", TemporalRowWriter.DEFAULT_BATCH_SIZE));
+
+    private static final ZoneOffsetCache zoneOffsetCache = new ZoneOffsetCache(
+            Integer.getInteger("datetime.zoneCache.fromYear", ZoneOffsetCache.DEFAULT_FROM_YEAR),
+            Integer.getInteger("datetime.zoneCache.toYear", ZoneOffsetCache.DEFAULT_TO_YEAR));
+
+    private static final BulkTemporalArithmetic bulkTemporalArithmetic = new BulkTemporalArithmetic(
+            new ForkJoinPool(Integer.getInteger("datetime.bulk.parallelism", Runtime.getRuntime().availableProcessors())),
+            zoneOffsetCache);
+
+    private static final DateTimeMetrics metrics = new DateTimeMetrics(Boolean.getBoolean("datetime.metrics.enabled"));
+
+    static {
+        metrics.setAllocationTracking(Boolean.getBoolean("datetime.metrics.allocatedBytes"));
+    }
+
+    private static final DateTimeMetrics.Timer serializeToJsonTimer = metrics.timer("serializeToJson");
+    private static final DateTimeMetrics.Timer deserializeFromJsonTimer = metrics.timer("deserializeFromJson");
+    private static final DateTimeMetrics.Timer serializeToSmileTimer = metrics.timer("serializeToSmile");
+    private static final DateTimeMetrics.Timer deserializeFromSmileTimer = metrics.timer("deserializeFromSmile");
+    private static final DateTimeMetrics.Timer serializeToXmlTimer = metrics.timer("serializeToXml");
+    private static final DateTimeMetrics.Timer deserializeFromXmlTimer = metrics.timer("deserializeFromXml");
+    private static final DateTimeMetrics.Timer getConnectionTimer = metrics.timer("getConnection");
+    private static final DateTimeMetrics.Timer insertRowsTimer = metrics.timer("insertRows");
+    private static final DateTimeMetrics.Timer copyRowsTimer = metrics.timer("copyRows");
+    private static final DateTimeMetrics.Timer formatDateTimer = metrics.timer("formatDate");
+
     private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter
             .ofPattern("yyyyMMddHHmmssSSSSSSSSS", Locale.US); // DateTimeFormatter is thread-safe
 
@@ -103,50 +174,298 @@ public final class DateTimeTypesUtils {
     }
 
     public static String serializeToJson(Object object) {
+        long start = serializeToJsonTimer.start();
+        boolean completed = false;
         try {
-            return objectMapper.writeValueAsString(object);
+            String json = objectMapper.writeValueAsString(object);
+            completed = true;
+            return json;
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException(e);
+        } finally {
+            serializeToJsonTimer.stop(start, completed);
         }
     }
 
     public static <T> T deserializeFromJson(String json, Class<T> clazz) {
+        long start = deserializeFromJsonTimer.start();
+        boolean completed = false;
         try {
-            return objectMapper.readValue(json, clazz);
+            T value = objectMapper.readValue(json, clazz);
+            completed = true;
+            return value;
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException(e);
+        } finally {
+            deserializeFromJsonTimer.stop(start, completed);
+        }
+    }
+
+    /**
+     * Same as {@link #serializeToJson} in Smile, the binary JSON, with dates and times packed into numbers
+     * by {@link PackedTemporalModule}.
+     */
+    public static byte[] serializeToSmile(Object object) {
+        long start = serializeToSmileTimer.start();
+        boolean completed = false;
+        try {
+            byte[] smile = smileMapper.writeValueAsBytes(object);
+            completed = true;
+            return smile;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            serializeToSmileTimer.stop(start, completed);
+        }
+    }
+
+    public static <T> T deserializeFromSmile(byte[] smile, Class<T> clazz) {
+        long start = deserializeFromSmileTimer.start();
+        boolean completed = false;
+        try {
+            T value = smileMapper.readValue(smile, clazz);
+            completed = true;
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deserializeFromSmileTimer.stop(start, completed);
+        }
+    }
+
+    /**
+     * Lazily reads the elements of a top-level JSON array; closing the stream releases the parser.
+     */
+    public static <T> Stream<T> deserializeFromJsonArray(InputStream input, Class<T> clazz) {
+        try {
+            return new JsonArrayReader<T>(objectMapper.getFactory().createParser(input), objectMapper.readerFor(clazz))
+                    .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static <T> Stream<T> deserializeFromJsonArray(Reader input, Class<T> clazz) {
+        try {
+            return new JsonArrayReader<T>(objectMapper.getFactory().createParser(input), objectMapper.readerFor(clazz))
+                    .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static JsonArrayWriter serializeToJsonArray(OutputStream output) {
+        try {
+            return new JsonArrayWriter(objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8),
+                    objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static JsonArrayWriter serializeToJsonArray(Writer output) {
+        try {
+            return new JsonArrayWriter(objectMapper.getFactory().createGenerator(output),
+                    objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
     public static String serializeToXml(Object object) {
+        long start = serializeToXmlTimer.start();
+        boolean completed = false;
         try {
-            Marshaller marshaller = jaxbContext.createMarshaller();
-            StringWriter writer = new StringWriter();
-            marshaller.marshal(object, writer);
-            return writer.toString();
+            String xml = jaxbCodecPool.withMarshaller(object.getClass(), marshaller -> {
+                StringWriter writer = new StringWriter();
+                marshaller.marshal(object, writer);
+                return writer.toString();
+            });
+            completed = true;
+            return xml;
         } catch (JAXBException e) {
             throw new IllegalStateException(e);
+        } finally {
+            serializeToXmlTimer.stop(start, completed);
         }
     }
 
     public static <T> T deserializeFromXml(String xml, Class<T> clazz) {
+        long start = deserializeFromXmlTimer.start();
+        boolean completed = false;
+        try {
+            T value = jaxbCodecPool.withUnmarshaller(clazz, unmarshaller -> {
+                JAXBElement<T> jaxbElement = unmarshaller.unmarshal(new StreamSource(new StringReader(xml)), clazz);
+                return jaxbElement.getValue();
+            });
+            completed = true;
+            return value;
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deserializeFromXmlTimer.stop(start, completed);
+        }
+    }
+
+    /**
+     * Lazily reads every element of the given class from the input; closing the stream releases the parser.
+     */
+    public static <T> Stream<T> deserializeFromXmlStream(InputStream input, Class<T> clazz) {
         try {
             Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
             unmarshaller.setEventHandler(new DefaultValidationEventHandler());
-            JAXBElement<T> jaxbElement = unmarshaller.unmarshal(new StreamSource(new StringReader(xml)), clazz);
-            return jaxbElement.getValue();
+            return new XmlBeanReader<>(unmarshaller, input, clazz).stream();
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static XmlBeanWriter serializeToXmlStream(OutputStream output) {
+        try {
+            return new XmlBeanWriter(jaxbContext.createMarshaller(), output, XmlBeanWriter.DEFAULT_ROOT_ELEMENT);
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Converts single XML documents of the given class to JSON as {@link #deserializeFromXml} followed by
+     * {@link #serializeToJson} does, but with an unmarshaller of its own rather than one borrowed from the
+     * pool. For one thread at a time, e.g. as a converter of an {@link OrderedBatchConverter}.
+     */
+    public static Function<String, String> xmlToJsonConverter(Class<?> clazz) {
+        Unmarshaller unmarshaller;
+        try {
+            unmarshaller = jaxbContext.createUnmarshaller();
+            unmarshaller.setEventHandler(new DefaultValidationEventHandler());
         } catch (JAXBException e) {
             throw new IllegalStateException(e);
         }
+        ObjectWriter writer = objectMapper.writer();
+        return xml -> {
+            Object value;
+            long start = deserializeFromXmlTimer.start();
+            boolean completed = false;
+            try {
+                value = unmarshaller.unmarshal(new StreamSource(new StringReader(xml)), clazz).getValue();
+                completed = true;
+            } catch (JAXBException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                deserializeFromXmlTimer.stop(start, completed);
+            }
+            start = serializeToJsonTimer.start();
+            completed = false;
+            try {
+                String json = writer.writeValueAsString(value);
+                completed = true;
+                return json;
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                serializeToJsonTimer.stop(start, completed);
+            }
+        };
+    }
+
+    public static JaxbCodecPool getJaxbCodecPool() {
+        return jaxbCodecPool;
+    }
+
+    public static ZoneOffsetCache getZoneOffsetCache() {
+        return zoneOffsetCache;
+    }
+
+    /**
+     * Zone ids resolved by the JSON mapper and {@link ZoneIdXmlAdapter}, with their codes.
+     */
+    public static ZoneRegistry getZoneRegistry() {
+        return zoneRegistry;
+    }
+
+    public static BulkTemporalArithmetic getBulkTemporalArithmetic() {
+        return bulkTemporalArithmetic;
+    }
+
+    /**
+     * Timers of the serialization, connection, row loading and formatting operations of this class,
+     * recording when {@code datetime.metrics.enabled} is set or once switched on.
+     */
+    public static DateTimeMetrics getMetrics() {
+        return metrics;
     }
 
+    /**
+     * Builds a pool around the data source, configured with {@code datetime.pool.*} system properties.
+     * The pool starts on first use and fails fast if the database is unreachable then.
+     */
+    static HikariDataSource pooled(DataSource dataSource, ConnectionPoolMetrics metrics) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setDataSource(dataSource);
+        pool.setPoolName("datetime");
+        pool.setMinimumIdle(Integer.getInteger("datetime.pool.minIdle", 0));
+        pool.setMaximumPoolSize(Integer.getInteger("datetime.pool.maxSize", 10));
+        pool.setIdleTimeout(Long.getLong("datetime.pool.idleTimeoutMillis", TimeUnit.MINUTES.toMillis(10)));
+        pool.setMaxLifetime(Long.getLong("datetime.pool.maxLifetimeMillis", TimeUnit.MINUTES.toMillis(30)));
+        pool.setConnectionTimeout(Long.getLong("datetime.pool.connectionTimeoutMillis", TimeUnit.SECONDS.toMillis(30)));
+        pool.setValidationTimeout(Long.getLong("datetime.pool.validationTimeoutMillis", TimeUnit.SECONDS.toMillis(5)));
+        pool.setLeakDetectionThreshold(Long.getLong("datetime.pool.leakDetectionThresholdMillis", 0));
+        pool.setMetricsTrackerFactory(metrics);
+        return pool;
+    }
+
+    /**
+     * Borrows a connection from the pool; closing it returns the connection, together with its session
+     * state such as temporary tables and server-side prepared statements.
+     * <p>
+     * pgjdbc sets the session {@code TimeZone} from {@link TimeZone#getDefault()} once, when it opens a
+     * connection. So that borrowers see the session zone a fresh connection would have, pooled connections
+     * are evicted when the default zone has changed since the last call, idle ones at once and borrowed
+     * ones when returned.
+     */
     public static Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        evictOnTimeZoneChange();
+        long start = getConnectionTimer.start();
+        boolean completed = false;
+        try {
+            Connection connection = pooledDataSource.getConnection();
+            completed = true;
+            return connection;
+        } finally {
+            getConnectionTimer.stop(start, completed);
+        }
     }
 
+    private static void evictOnTimeZoneChange() {
+        String zone = TimeZone.getDefault().getID();
+        if (zone.equals(pooledTimeZone)) {
+            return;
+        }
+        synchronized (pooledDataSource) {
+            if (!zone.equals(pooledTimeZone)) {
+                HikariPoolMXBean pool = pooledDataSource.getHikariPoolMXBean();
+                if (pool != null) {
+                    pool.softEvictConnections();
+                }
+                pooledTimeZone = zone;
+            }
+        }
+    }
+
+    public static ConnectionPoolMetrics getConnectionPoolMetrics() {
+        return connectionPoolMetrics;
+    }
+
+    /**
+     * Creates the {@code datetime} temporary table with a single row of nulls, reusing and emptying the
+     * table if a previous borrower of the pooled connection already created it.
+     */
     public static void createTemporaryTable(Connection connection) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement("CREATE TEMPORARY TABLE datetime (" +
-                "timestamp timestamp, timestamptz timestamptz, date date)")) {
+        try (PreparedStatement statement = connection.prepareStatement("CREATE TEMPORARY TABLE IF NOT EXISTS " +
+                "datetime (timestamp timestamp, timestamptz timestamptz, date date)")) {
+            statement.execute();
+        }
+        try (PreparedStatement statement = connection.prepareStatement("TRUNCATE datetime")) {
             statement.execute();
         }
         try (PreparedStatement statement = connection.prepareStatement("INSERT INTO datetime " +
@@ -155,11 +474,60 @@ public final class DateTimeTypesUtils {
         }
     }
 
+    /**
+     * Inserts rows into the {@code datetime} table in JDBC batches of {@code datetime.jdbc.batchSize} rows.
+     */
+    public static long insertRows(Connection connection, Stream<TemporalRow> rows) throws SQLException {
+        long start = insertRowsTimer.start();
+        boolean completed = false;
+        try {
+            long inserted = temporalRowWriter.insert(connection, rows);
+            completed = true;
+            return inserted;
+        } finally {
+            insertRowsTimer.stop(start, completed);
+        }
+    }
+
+    /**
+     * Loads rows into the {@code datetime} table with PostgreSQL binary {@code COPY}.
+     */
+    public static long copyRows(Connection connection, Stream<TemporalRow> rows) throws SQLException {
+        long start = copyRowsTimer.start();
+        boolean completed = false;
+        try {
+            long copied = temporalRowWriter.copy(connection, rows);
+            completed = true;
+            return copied;
+        } finally {
+            copyRowsTimer.stop(start, completed);
+        }
+    }
+
     public static DatatypeFactory getXmlDatatypeFactory() {
         return xmlDatatypeFactory;
     }
 
     public static String formatDate(TemporalAccessor date) {
+        long start = formatDateTimer.start();
+        boolean completed = false;
+        try {
+            String formatted = format(date);
+            completed = true;
+            return formatted;
+        } finally {
+            formatDateTimer.stop(start, completed);
+        }
+    }
+
+    private static String format(TemporalAccessor date) {
+        LocalDateTime localDateTime = date instanceof LocalDateTime ? (LocalDateTime) date
+                : date instanceof ZonedDateTime ? ((ZonedDateTime) date).toLocalDateTime()
+                : date instanceof OffsetDateTime ? ((OffsetDateTime) date).toLocalDateTime()
+                : null;
+        if (localDateTime != null && CompactTimestampCodec.isSupported(localDateTime)) {
+            return CompactTimestampCodec.format(localDateTime);
+        }
         return dateTimeFormatter.format(date);
     }
 
@@ -0,0 +1,135 @@
+package gdabski.training.datetime;
+
+import org.threeten.extra.Interval;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Mutable counterpart of {@link IntervalIndex}, for indexes updated between queries. Additions go into a
+ * tree of their own, merged with the last one while it is no more than twice as large, which keeps
+ * O(log n) trees and an amortized O(log n) cost per addition. Removals are marked until half of a tree is
+ * removed, when it is rebuilt. Values are reported in no particular order.
+ * <p>
+ * Not thread-safe; {@link #snapshot()} gives an immutable index for concurrent readers.
+ */
+public final class IncrementalIntervalIndex<V> {
+
+    private final List<LongIntervalTree<V>> trees = new ArrayList<>();
+    private final List<BitSet> removed = new ArrayList<>();
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @throws ArithmeticException if the interval has bounds out of the range of {@link IntervalIndex}
+     */
+    public void add(Interval interval, V value) {
+        LongIntervalTree<V> tree = LongIntervalTree.build(new long[]{IntervalIndex.key(interval.getStart())},
+                new long[]{IntervalIndex.key(interval.getEnd())}, new Object[]{value});
+        trees.add(tree);
+        removed.add(new BitSet());
+        size++;
+        for (int last = trees.size() - 1; last > 0 && live(last - 1) <= 2 * live(last); last--) {
+            trees.set(last - 1, LongIntervalTree.merge(trees.get(last - 1), removed.get(last - 1),
+                    trees.remove(last), removed.remove(last)));
+            removed.set(last - 1, new BitSet());
+        }
+    }
+
+    /**
+     * Removes one occurrence of the given interval with a value equal to the given one.
+     *
+     * @return whether there was one
+     */
+    public boolean remove(Interval interval, V value) {
+        long start = IntervalIndex.queryKey(interval.getStart());
+        long end = IntervalIndex.queryKey(interval.getEnd());
+        for (int i = 0; i < trees.size(); i++) {
+            LongIntervalTree<V> tree = trees.get(i);
+            BitSet treeRemoved = removed.get(i);
+            int position = tree.indexOf(start, end, value, 0);
+            while (position >= 0 && treeRemoved.get(position)) {
+                position = tree.indexOf(start, end, value, position + 1);
+            }
+            if (position >= 0) {
+                treeRemoved.set(position);
+                size--;
+                if (2 * treeRemoved.cardinality() > tree.size()) {
+                    trees.set(i, LongIntervalTree.merge(tree, treeRemoved, empty(), new BitSet()));
+                    removed.set(i, new BitSet());
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<V> containing(Instant instant) {
+        List<V> values = new ArrayList<>();
+        forEachContaining(instant, values::add);
+        return values;
+    }
+
+    public void forEachContaining(Instant instant, Consumer<? super V> action) {
+        long key = IntervalIndex.queryKey(instant);
+        for (int i = 0; i < trees.size(); i++) {
+            LongIntervalTree<V> tree = trees.get(i);
+            tree.stab(key, live(tree, removed.get(i), action));
+        }
+    }
+
+    public List<V> overlapping(Interval interval) {
+        List<V> values = new ArrayList<>();
+        long start = IntervalIndex.queryKey(interval.getStart());
+        long end = IntervalIndex.queryKey(interval.getEnd());
+        for (int i = 0; i < trees.size(); i++) {
+            LongIntervalTree<V> tree = trees.get(i);
+            tree.overlapping(start, end, live(tree, removed.get(i), values::add));
+        }
+        return values;
+    }
+
+    public List<V> enclosing(Interval interval) {
+        List<V> values = new ArrayList<>();
+        long start = IntervalIndex.queryKey(interval.getStart());
+        long end = IntervalIndex.queryKey(interval.getEnd());
+        for (int i = 0; i < trees.size(); i++) {
+            LongIntervalTree<V> tree = trees.get(i);
+            tree.enclosing(start, end, live(tree, removed.get(i), values::add));
+        }
+        return values;
+    }
+
+    public IntervalIndex<V> snapshot() {
+        LongIntervalTree<V> merged = empty();
+        BitSet mergedRemoved = new BitSet();
+        for (int i = 0; i < trees.size(); i++) {
+            merged = LongIntervalTree.merge(merged, mergedRemoved, trees.get(i), removed.get(i));
+        }
+        return new IntervalIndex<>(merged);
+    }
+
+    private int live(int index) {
+        return trees.get(index).size() - removed.get(index).cardinality();
+    }
+
+    private static <V> IntConsumer live(LongIntervalTree<V> tree, BitSet removed, Consumer<? super V> action) {
+        return position -> {
+            if (!removed.get(position)) {
+                action.accept(tree.value(position));
+            }
+        };
+    }
+
+    private static <V> LongIntervalTree<V> empty() {
+        return LongIntervalTree.build(new long[0], new long[0], new Object[0]);
+    }
+
+}
@@ -0,0 +1,47 @@
+package gdabski.training.datetime;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * {@link Instant}s as epoch-second and nano-of-second, 12 bytes per value.
+ */
+public final class InstantColumn extends TemporalColumn<Instant> {
+
+    private InstantColumn(int initialCapacity, boolean offHeap) {
+        super(Long.BYTES + Integer.BYTES, initialCapacity, offHeap);
+    }
+
+    public static InstantColumn onHeap(int initialCapacity) {
+        return new InstantColumn(initialCapacity, false);
+    }
+
+    public static InstantColumn offHeap(int initialCapacity) {
+        return new InstantColumn(initialCapacity, true);
+    }
+
+    public long getEpochSecond(long index) {
+        return segment(index).getLong(offset(index));
+    }
+
+    public int getNano(long index) {
+        return segment(index).getInt(offset(index) + Long.BYTES);
+    }
+
+    @Override
+    protected void write(ByteBuffer buffer, int offset, Instant value) {
+        buffer.putLong(offset, value.getEpochSecond());
+        buffer.putInt(offset + Long.BYTES, value.getNano());
+    }
+
+    @Override
+    protected Instant read(ByteBuffer buffer, int offset) {
+        return Instant.ofEpochSecond(buffer.getLong(offset), buffer.getInt(offset + Long.BYTES));
+    }
+
+    @Override
+    protected int compare(ByteBuffer buffer, int offset, Instant value) {
+        return compareSecondsAndNanos(buffer, offset, value.getEpochSecond(), value.getNano());
+    }
+
+}
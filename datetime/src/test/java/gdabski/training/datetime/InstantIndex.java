@@ -0,0 +1,272 @@
+package gdabski.training.datetime;
+
+import org.threeten.extra.Interval;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted index of values by {@link Instant}, kept as epoch nanoseconds in blocks of up to
+ * {@value #BLOCK_SIZE} sorted {@code long}s with the values alongside, about 12 bytes per entry when
+ * filled in order. An instant no earlier than the last one is appended to the last block, or to a new one
+ * once that is full; any other is inserted into its block. A full block passes its greatest entry on to
+ * the next one if that has room, or else is split: in halves, or after the new entry if it is the last
+ * block, which keeps blocks nearly full when instants come mostly in order. Several values may share an
+ * instant and are reported in the order they were added; otherwise values are reported in order of
+ * instant.
+ * <p>
+ * Range scans take {@link Interval}s, with the semantics of {@link Interval#contains(Instant)}, and find
+ * their first block by binary search; they allocate nothing. Instants must lie within about 1677-2262,
+ * queries accept any. Not thread-safe.
+ */
+public final class InstantIndex<V> {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private static final Instant MIN_INSTANT = Instant.ofEpochSecond(0, Long.MIN_VALUE);
+    private static final Instant MAX_INSTANT = Instant.ofEpochSecond(0, Long.MAX_VALUE);
+
+    private final int blockSize;
+    private long[][] keys = new long[0][];
+    private Object[][] values = new Object[0][];
+    private int[] sizes = new int[0];
+    private int blocks;
+    private int size;
+
+    public InstantIndex() {
+        this(BLOCK_SIZE);
+    }
+
+    InstantIndex(int blockSize) {
+        if (blockSize < 2) {
+            throw new IllegalArgumentException("Block size must be at least 2: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Receives the entries of a scan, with instants as epoch nanoseconds.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        void accept(long epochNanos, V value);
+
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @throws ArithmeticException if the instant is out of the range of epoch nanoseconds
+     */
+    public void add(Instant instant, V value) {
+        add(epochNanos(instant), value);
+    }
+
+    public void add(long epochNanos, V value) {
+        int last = blocks - 1;
+        if (last < 0 || epochNanos >= keys[last][sizes[last] - 1]) {
+            if (last < 0 || sizes[last] == blockSize) {
+                insertBlock(++last, new long[blockSize], new Object[blockSize], 0);
+            }
+            keys[last][sizes[last]] = epochNanos;
+            values[last][sizes[last]++] = value;
+        } else {
+            int block = lastBlockStartingBefore(epochNanos, true);
+            int position = upperBound(keys[block], sizes[block], epochNanos);
+            if (sizes[block] == blockSize && block + 1 < blocks && sizes[block + 1] < blockSize) {
+                if (position == blockSize) {
+                    position = 0;
+                    block++;
+                } else {
+                    int greatest = blockSize - 1;
+                    insert(block + 1, 0, keys[block][greatest], values[block][greatest]);
+                    values[block][greatest] = null;
+                    sizes[block]--;
+                }
+            } else if (sizes[block] == blockSize) {
+                split(block, block == blocks - 1 ? position : blockSize / 2);
+                if (position > sizes[block]) {
+                    position -= sizes[block++];
+                }
+            }
+            insert(block, position, epochNanos, value);
+        }
+        size++;
+    }
+
+    public List<V> between(Interval interval) {
+        List<V> values = new ArrayList<>();
+        forEach(interval, (epochNanos, value) -> values.add(value));
+        return values;
+    }
+
+    public int count(Interval interval) {
+        return reaches(interval) ? count(firstKey(interval.getStart()), lastKey(interval.getEnd())) : 0;
+    }
+
+    public void forEach(Interval interval, EntryConsumer<? super V> action) {
+        if (reaches(interval)) {
+            forEach(firstKey(interval.getStart()), lastKey(interval.getEnd()), action);
+        }
+    }
+
+    /**
+     * Scans the entries from {@code fromEpochNanos} inclusive to {@code toEpochNanos} exclusive.
+     */
+    public void forEachBetween(long fromEpochNanos, long toEpochNanos, EntryConsumer<? super V> action) {
+        if (toEpochNanos != Long.MIN_VALUE) {
+            forEach(fromEpochNanos, toEpochNanos - 1, action);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEach(long first, long last, EntryConsumer<? super V> action) {
+        if (blocks == 0 || first > last) {
+            return;
+        }
+        int block = lastBlockStartingBefore(first, false);
+        int position = lowerBound(keys[block], sizes[block], first);
+        for (; block < blocks; block++, position = 0) {
+            long[] blockKeys = keys[block];
+            Object[] blockValues = values[block];
+            for (int end = sizes[block]; position < end; position++) {
+                if (blockKeys[position] > last) {
+                    return;
+                }
+                action.accept(blockKeys[position], (V) blockValues[position]);
+            }
+        }
+    }
+
+    private int count(long first, long last) {
+        if (blocks == 0 || first > last) {
+            return 0;
+        }
+        int firstBlock = lastBlockStartingBefore(first, false);
+        int lastBlock = lastBlockStartingBefore(last, true);
+        int count = upperBound(keys[lastBlock], sizes[lastBlock], last)
+                - lowerBound(keys[firstBlock], sizes[firstBlock], first);
+        for (int block = firstBlock; block < lastBlock; block++) {
+            count += sizes[block];
+        }
+        return count;
+    }
+
+    /**
+     * The last block whose first key is less than, or also equal to if {@code inclusive}, the key; the
+     * first block if there is none.
+     */
+    private int lastBlockStartingBefore(long key, boolean inclusive) {
+        int low = 1;
+        int high = blocks - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long first = keys[middle][0];
+            if (first < key || inclusive && first == key) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    private void split(int block, int at) {
+        int rest = sizes[block] - at;
+        long[] splitKeys = new long[blockSize];
+        Object[] splitValues = new Object[blockSize];
+        System.arraycopy(keys[block], at, splitKeys, 0, rest);
+        System.arraycopy(values[block], at, splitValues, 0, rest);
+        Arrays.fill(values[block], at, sizes[block], null);
+        sizes[block] = at;
+        insertBlock(block + 1, splitKeys, splitValues, rest);
+    }
+
+    private void insertBlock(int block, long[] blockKeys, Object[] blockValues, int length) {
+        if (blocks == keys.length) {
+            int capacity = Math.max(8, blocks * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        System.arraycopy(keys, block, keys, block + 1, blocks - block);
+        System.arraycopy(values, block, values, block + 1, blocks - block);
+        System.arraycopy(sizes, block, sizes, block + 1, blocks - block);
+        keys[block] = blockKeys;
+        values[block] = blockValues;
+        sizes[block] = length;
+        blocks++;
+    }
+
+    private void insert(int block, int position, long key, Object value) {
+        int moved = sizes[block] - position;
+        System.arraycopy(keys[block], position, keys[block], position + 1, moved);
+        System.arraycopy(values[block], position, values[block], position + 1, moved);
+        keys[block][position] = key;
+        values[block][position] = value;
+        sizes[block]++;
+    }
+
+    private static int lowerBound(long[] keys, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] keys, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Whether the interval may hold keys: it is not empty and overlaps their range.
+     */
+    private static boolean reaches(Interval interval) {
+        return !interval.isEmpty() && interval.getEnd().isAfter(MIN_INSTANT)
+                && !interval.getStart().isAfter(MAX_INSTANT);
+    }
+
+    private static long firstKey(Instant start) {
+        return start.isBefore(MIN_INSTANT) ? Long.MIN_VALUE : epochNanos(start);
+    }
+
+    private static long lastKey(Instant end) {
+        return end.isAfter(MAX_INSTANT) ? Long.MAX_VALUE : epochNanos(end) - 1;
+    }
+
+    /**
+     * Like {@link TimestampSeries#toEpochNanos}, but reaching down to {@code Long.MIN_VALUE}, whose
+     * instant has an epoch second just out of range.
+     */
+    private static long epochNanos(Instant instant) {
+        long epochSecond = instant.getEpochSecond();
+        if (epochSecond < 0) {
+            return Math.addExact(Math.multiplyExact(epochSecond + 1, CalendarMath.NANOS_PER_SECOND),
+                    instant.getNano() - CalendarMath.NANOS_PER_SECOND);
+        }
+        return TimestampSeries.toEpochNanos(epochSecond, instant.getNano());
+    }
+
+}
@@ -0,0 +1,87 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.Test;
+import org.threeten.extra.Interval;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InstantIndexTest {
+
+    private static final long START = Instant.parse("2021-01-01T00:00:00Z").getEpochSecond();
+
+    /**
+     * Mostly ordered instants with some late ones and repeats, into blocks small enough to split often,
+     * scanned against a {@link TreeMap} of lists.
+     */
+    @Test
+    void matchesTreeMap() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (int blockSize : new int[]{2, 7, 64, InstantIndex.BLOCK_SIZE}) {
+            InstantIndex<Integer> index = new InstantIndex<>(blockSize);
+            TreeMap<Instant, List<Integer>> expected = new TreeMap<>();
+            Instant latest = Instant.ofEpochSecond(START);
+            for (int i = 0; i < 20_000; i++) {
+                Instant instant = random.nextInt(10) == 0 ? latest.minusMillis(random.nextInt(60_000))
+                        : random.nextInt(10) == 0 ? latest : latest.plusNanos(random.nextLong(1_000_000_000));
+                latest = instant.isAfter(latest) ? instant : latest;
+                index.add(instant, i);
+                expected.computeIfAbsent(instant, key -> new ArrayList<>()).add(i);
+            }
+            assertEquals(20_000, index.size());
+            assertEquals(values(expected, Interval.ALL), index.between(Interval.ALL));
+
+            for (int i = 0; i < 2_000; i++) {
+                Instant start = Instant.ofEpochSecond(START - 60 + random.nextInt(11_000), random.nextInt(1_000_000_000));
+                Interval interval = Interval.of(start, start.plusMillis(random.nextInt(5_000)));
+                List<Integer> values = values(expected, interval);
+                assertEquals(values, index.between(interval), interval + " in blocks of " + blockSize);
+                assertEquals(values.size(), index.count(interval), interval + " in blocks of " + blockSize);
+            }
+        }
+    }
+
+    @Test
+    void scansBounds() {
+        InstantIndex<String> index = new InstantIndex<>(2);
+        Instant min = Instant.ofEpochSecond(0, Long.MIN_VALUE);
+        Instant max = Instant.ofEpochSecond(0, Long.MAX_VALUE);
+        index.add(max, "max");
+        index.add(Instant.EPOCH, "epoch");
+        index.add(min, "min");
+        index.add(Instant.EPOCH, "epoch again");
+        assertThrows(ArithmeticException.class, () -> index.add(max.plusNanos(1), "beyond"));
+
+        assertEquals(List.of("min", "epoch", "epoch again", "max"), index.between(Interval.ALL));
+        assertEquals(List.of("min"), index.between(Interval.of(Instant.MIN, Instant.EPOCH)));
+        assertEquals(List.of(), index.between(Interval.of(Instant.MIN, min)));
+        assertEquals(List.of(), index.between(Interval.of(min, min)));
+        assertEquals(List.of("epoch", "epoch again"), index.between(Interval.of(Instant.EPOCH, max)));
+        assertEquals(List.of("max"), index.between(Interval.of(max, Instant.MAX)));
+        assertEquals(List.of(), index.between(Interval.of(max.plusNanos(1), Instant.MAX)));
+        assertEquals(0, index.count(Interval.of(max.plusNanos(1), Instant.MAX)));
+        assertEquals(4, index.count(Interval.ALL));
+
+        List<String> values = new ArrayList<>();
+        index.forEachBetween(Long.MIN_VALUE, 1, (epochNanos, value) -> values.add(epochNanos + " " + value));
+        assertEquals(List.of(Long.MIN_VALUE + " min", "0 epoch", "0 epoch again"), values);
+        values.clear();
+        index.forEachBetween(Long.MIN_VALUE, Long.MIN_VALUE, (epochNanos, value) -> values.add(value));
+        assertEquals(List.of(), values);
+    }
+
+    private static List<Integer> values(TreeMap<Instant, List<Integer>> map, Interval interval) {
+        List<Integer> values = new ArrayList<>();
+        map.entrySet().stream()
+                .filter(entry -> interval.contains(entry.getKey()))
+                .forEach(entry -> values.addAll(entry.getValue()));
+        return values;
+    }
+
+}
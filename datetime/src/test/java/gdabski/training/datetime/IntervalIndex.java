@@ -0,0 +1,114 @@
+package gdabski.training.datetime;
+
+import org.threeten.extra.Interval;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Immutable index of values by {@link Interval}, answering containment, overlap and enclosure queries in
+ * logarithmic time plus the number of results, with the semantics of {@link Interval#contains(Instant)},
+ * {@link Interval#overlaps(Interval)} and {@link Interval#encloses(Interval)}. Values are reported in order
+ * of interval start, then end.
+ * <p>
+ * Intervals are indexed by epoch nanoseconds, so their bounds must lie within about 1677-2262, or be
+ * {@link Instant#MIN} or {@link Instant#MAX}; queries accept any instant.
+ */
+public final class IntervalIndex<V> {
+
+    private static final long MIN_KEY = Long.MIN_VALUE + 2;
+    private static final long MAX_KEY = Long.MAX_VALUE - 2;
+
+    private final LongIntervalTree<V> tree;
+
+    IntervalIndex(LongIntervalTree<V> tree) {
+        this.tree = tree;
+    }
+
+    public static IntervalIndex<Interval> of(Collection<Interval> intervals) {
+        return of(intervals, Function.identity());
+    }
+
+    /**
+     * @throws ArithmeticException if an interval has bounds out of range
+     */
+    public static <V> IntervalIndex<V> of(Collection<? extends V> values, Function<? super V, Interval> intervalOf) {
+        long[] starts = new long[values.size()];
+        long[] ends = new long[values.size()];
+        Object[] array = values.toArray();
+        for (int i = 0; i < array.length; i++) {
+            @SuppressWarnings("unchecked")
+            Interval interval = intervalOf.apply((V) array[i]);
+            starts[i] = key(interval.getStart());
+            ends[i] = key(interval.getEnd());
+        }
+        return new IntervalIndex<>(LongIntervalTree.build(starts, ends, array));
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    public List<V> containing(Instant instant) {
+        List<V> values = new ArrayList<>();
+        forEachContaining(instant, values::add);
+        return values;
+    }
+
+    public void forEachContaining(Instant instant, Consumer<? super V> action) {
+        tree.stab(queryKey(instant), position -> action.accept(tree.value(position)));
+    }
+
+    public List<V> overlapping(Interval interval) {
+        List<V> values = new ArrayList<>();
+        tree.overlapping(queryKey(interval.getStart()), queryKey(interval.getEnd()),
+                position -> values.add(tree.value(position)));
+        return values;
+    }
+
+    public List<V> enclosing(Interval interval) {
+        List<V> values = new ArrayList<>();
+        tree.enclosing(queryKey(interval.getStart()), queryKey(interval.getEnd()),
+                position -> values.add(tree.value(position)));
+        return values;
+    }
+
+    /**
+     * Maps an interval bound to epoch nanoseconds, with {@link Instant#MIN} and {@link Instant#MAX} to the
+     * extremes of {@code long}, which bounded intervals keep clear of.
+     */
+    static long key(Instant instant) {
+        if (instant.equals(Instant.MIN)) {
+            return Long.MIN_VALUE;
+        }
+        if (instant.equals(Instant.MAX)) {
+            return Long.MAX_VALUE;
+        }
+        long key = TimestampSeries.toEpochNanos(instant.getEpochSecond(), instant.getNano());
+        if (key < MIN_KEY || key > MAX_KEY) {
+            throw new ArithmeticException("Instant out of range: " + instant);
+        }
+        return key;
+    }
+
+    /**
+     * Like {@link #key(Instant)}, but maps instants out of range to keys just beyond those of bounded
+     * intervals, which compare to these the same way.
+     */
+    static long queryKey(Instant instant) {
+        long epochSecond = instant.getEpochSecond();
+        if (Math.abs(epochSecond) < Long.MAX_VALUE / CalendarMath.NANOS_PER_SECOND) {
+            return epochSecond * CalendarMath.NANOS_PER_SECOND + instant.getNano();
+        }
+        try {
+            return key(instant);
+        } catch (ArithmeticException e) {
+            return epochSecond < 0 ? MIN_KEY - 1 : MAX_KEY + 1;
+        }
+    }
+
+}
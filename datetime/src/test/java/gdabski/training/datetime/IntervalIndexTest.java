@@ -0,0 +1,188 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.Test;
+import org.threeten.extra.Interval;
+import org.threeten.extra.LocalDateRange;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalIndexTest {
+
+    private static final Comparator<Interval> BY_START_AND_END = Comparator.comparing(Interval::getStart)
+            .thenComparing(Interval::getEnd);
+    private static final Comparator<LocalDateRange> RANGES_BY_START_AND_END = Comparator
+            .comparing(LocalDateRange::getStart).thenComparing(LocalDateRange::getEnd);
+
+    private final SplittableRandom random = new SplittableRandom(13);
+
+    @Test
+    void matchesIntervalSemantics() {
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            intervals.add(randomInterval());
+        }
+        IntervalIndex<Interval> index = IntervalIndex.of(intervals);
+        assertEquals(intervals.size(), index.size());
+
+        for (int i = 0; i < 2000; i++) {
+            Instant instant = randomInstant();
+            assertEquals(expected(intervals, interval -> interval.contains(instant)), index.containing(instant));
+            Interval query = randomInterval();
+            assertEquals(expected(intervals, interval -> interval.overlaps(query)), index.overlapping(query));
+            assertEquals(expected(intervals, interval -> interval.encloses(query)), index.enclosing(query));
+        }
+        for (Instant instant : new Instant[]{Instant.MIN, Instant.MAX, Instant.ofEpochSecond(-220_000_000_000L),
+                Instant.ofEpochSecond(95_000_000_000L)}) {
+            assertEquals(expected(intervals, interval -> interval.contains(instant)), index.containing(instant));
+        }
+    }
+
+    @Test
+    void matchesLocalDateRangeSemantics() {
+        List<LocalDateRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            ranges.add(randomRange());
+        }
+        LocalDateRangeIndex<LocalDateRange> index = LocalDateRangeIndex.of(ranges);
+
+        for (int i = 0; i < 2000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(random.nextInt(18000, 19000));
+            assertEquals(expectedRanges(ranges, range -> range.contains(date)), index.containing(date));
+            LocalDateRange query = randomRange();
+            assertEquals(expectedRanges(ranges, range -> range.overlaps(query)), index.overlapping(query));
+            assertEquals(expectedRanges(ranges, range -> range.encloses(query)), index.enclosing(query));
+        }
+    }
+
+    @Test
+    void respectsEndInclusiveRanges() {
+        LocalDate validFrom = LocalDate.of(2021, Month.JANUARY, 6);
+        LocalDate validTo = LocalDate.of(2021, Month.JULY, 23);
+        LocalDateRangeIndex<String> index = LocalDateRangeIndex.of(List.of("closed", "open"),
+                name -> name.equals("closed") ? LocalDateRange.ofClosed(validFrom, validTo) : LocalDateRange.of(validFrom, validTo));
+
+        assertEquals(List.of("open", "closed"), index.containing(LocalDate.of(2021, Month.MARCH, 15)));
+        assertEquals(List.of("closed"), index.containing(validTo));
+        assertEquals(List.of(), index.containing(validTo.plusDays(1)));
+    }
+
+    @Test
+    void rejectsBoundsOutOfRange() {
+        Interval tooLate = Interval.of(Instant.parse("2000-01-01T00:00:00Z"), Instant.parse("2300-01-01T00:00:00Z"));
+        assertThrows(ArithmeticException.class, () -> IntervalIndex.of(List.of(tooLate)));
+    }
+
+    @Test
+    void tracksAdditionsAndRemovals() {
+        IncrementalIntervalIndex<Integer> index = new IncrementalIntervalIndex<>();
+        List<Interval> intervals = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            if (!intervals.isEmpty() && random.nextInt(3) == 0) {
+                int victim = random.nextInt(intervals.size());
+                assertTrue(index.remove(intervals.remove(victim), values.remove(victim)));
+            } else {
+                Interval interval = randomInterval();
+                int value = random.nextInt(100);
+                index.add(interval, value);
+                intervals.add(interval);
+                values.add(value);
+            }
+            if (i % 50 == 0) {
+                Instant instant = randomInstant();
+                Interval query = randomInterval();
+                assertEquals(intervals.size(), index.size());
+                assertEquals(expectedValues(intervals, values, interval -> interval.contains(instant)),
+                        sorted(index.containing(instant)));
+                assertEquals(expectedValues(intervals, values, interval -> interval.overlaps(query)),
+                        sorted(index.overlapping(query)));
+                assertEquals(expectedValues(intervals, values, interval -> interval.encloses(query)),
+                        sorted(index.enclosing(query)));
+                assertEquals(expectedValues(intervals, values, interval -> interval.contains(instant)),
+                        sorted(index.snapshot().containing(instant)));
+            }
+        }
+        assertFalse(index.remove(Interval.of(Instant.EPOCH, Instant.EPOCH), -1));
+    }
+
+    private Interval randomInterval() {
+        switch (random.nextInt(10)) {
+            case 0:
+                return Interval.of(Instant.MIN, randomInstant(0));
+            case 1:
+                return Interval.of(randomInstant(0), Instant.MAX);
+            case 2:
+                Instant instant = randomInstant(0);
+                return Interval.of(instant, instant);
+            default:
+                Instant start = randomInstant(0);
+                return Interval.of(start, start.plusSeconds(random.nextInt(100_000_000)));
+        }
+    }
+
+    private Instant randomInstant() {
+        return randomInstant(random.nextInt(5) == 0 ? 1 : 0);
+    }
+
+    /**
+     * Instants within 2000-2030, on whole minutes if {@code precision} is 0 to make equal bounds likely.
+     */
+    private Instant randomInstant(int precision) {
+        long minute = random.nextLong(15_778_800, 31_557_600);
+        return Instant.ofEpochSecond(minute * 60, precision == 0 ? 0 : random.nextInt(1_000_000_000));
+    }
+
+    private LocalDateRange randomRange() {
+        LocalDate start = LocalDate.ofEpochDay(random.nextInt(18000, 19000));
+        switch (random.nextInt(10)) {
+            case 0:
+                return LocalDateRange.of(LocalDate.MIN, start);
+            case 1:
+                return LocalDateRange.of(start, LocalDate.MAX);
+            case 2:
+                return LocalDateRange.of(start, start);
+            case 3:
+                return LocalDateRange.ofClosed(start, start.plusDays(random.nextInt(100)));
+            default:
+                return LocalDateRange.of(start, start.plusDays(random.nextInt(100)));
+        }
+    }
+
+    private static List<Interval> expected(List<Interval> intervals, Predicate<Interval> filter) {
+        return intervals.stream().filter(filter).sorted(BY_START_AND_END).collect(Collectors.toList());
+    }
+
+    private static List<LocalDateRange> expectedRanges(List<LocalDateRange> ranges, Predicate<LocalDateRange> filter) {
+        return ranges.stream().filter(filter).sorted(RANGES_BY_START_AND_END).collect(Collectors.toList());
+    }
+
+    private static List<Integer> expectedValues(List<Interval> intervals, List<Integer> values, Predicate<Interval> filter) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < intervals.size(); i++) {
+            if (filter.test(intervals.get(i))) {
+                expected.add(values.get(i));
+            }
+        }
+        return sorted(expected);
+    }
+
+    private static List<Integer> sorted(List<Integer> values) {
+        Collections.sort(values);
+        return values;
+    }
+
+}
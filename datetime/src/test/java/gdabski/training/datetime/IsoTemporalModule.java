@@ -0,0 +1,208 @@
+package gdabski.training.datetime;
+
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.InstantDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.InstantSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.OffsetDateTimeSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.ZonedDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+
+/**
+ * Serializers and deserializers of {@link Instant}, {@link OffsetDateTime} and {@link ZonedDateTime} that
+ * print and scan the default ISO-8601 forms of the {@code JavaTimeModule} with {@link IsoTemporals},
+ * directly from and to the characters of the parser and generator, resolving zone id suffixes with a
+ * {@link ZoneRegistry}. They extend the module's own, which still handle timestamps, {@code @JsonFormat}
+ * patterns and text outside the common form, so values and errors are the same as with the module alone.
+ * Register after the {@code JavaTimeModule}.
+ */
+public final class IsoTemporalModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public IsoTemporalModule(ZoneRegistry registry) {
+        super(IsoTemporalModule.class.getSimpleName());
+        addSerializer(Instant.class, new IsoInstantSerializer());
+        addSerializer(OffsetDateTime.class, new IsoOffsetDateTimeSerializer());
+        addSerializer(ZonedDateTime.class, new IsoZonedDateTimeSerializer());
+        addDeserializer(Instant.class, new IsoDeserializer<>(InstantDeserializer.INSTANT, registry));
+        addDeserializer(OffsetDateTime.class, new IsoDeserializer<>(InstantDeserializer.OFFSET_DATE_TIME, registry));
+        addDeserializer(ZonedDateTime.class, new IsoDeserializer<>(InstantDeserializer.ZONED_DATE_TIME, registry));
+    }
+
+    private static final class IsoDeserializer<T extends Temporal> extends InstantDeserializer<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ZoneRegistry registry;
+
+        IsoDeserializer(InstantDeserializer<T> base, ZoneRegistry registry) {
+            super(base, (Boolean) null);
+            this.registry = registry;
+        }
+
+        @Override
+        public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.getCurrentToken() != JsonToken.VALUE_STRING) {
+                return super.deserialize(parser, context);
+            }
+            char[] chars = parser.getTextCharacters();
+            int start = parser.getTextOffset();
+            int end = start + parser.getTextLength();
+            while (start < end && chars[start] <= ' ') {
+                start++;
+            }
+            while (end > start && chars[end - 1] <= ' ') {
+                end--;
+            }
+            T value = parse(chars, start, end);
+            if (value == null) {
+                return super.deserialize(parser, context);
+            }
+            if (adjust != null && shouldAdjustToContextTimezone(context)) {
+                value = adjust.apply(value, context.getTimeZone().toZoneId());
+            }
+            return value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T parse(char[] chars, int start, int end) {
+            Class<?> type = handledType();
+            if (type == OffsetDateTime.class) {
+                return (T) IsoTemporals.parseOffsetDateTime(chars, start, end);
+            } else if (type == ZonedDateTime.class) {
+                return (T) IsoTemporals.parseZonedDateTime(chars, start, end, registry);
+            } else {
+                return (T) IsoTemporals.parseInstant(chars, start, end);
+            }
+        }
+
+    }
+
+    /*
+     * The module's serializers are copied with their settings for each property, including those without
+     * a @JsonFormat, so the copies must stay of these classes.
+     */
+
+    private static final class IsoInstantSerializer extends InstantSerializer {
+
+        private static final long serialVersionUID = 1L;
+
+        IsoInstantSerializer() {}
+
+        private IsoInstantSerializer(IsoInstantSerializer base, Boolean useTimestamp, Boolean useNanoseconds,
+                DateTimeFormatter formatter) {
+            super(base, useTimestamp, useNanoseconds, formatter);
+        }
+
+        @Override
+        protected InstantSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, Shape shape) {
+            return new IsoInstantSerializer(this, useTimestamp, null, formatter);
+        }
+
+        @Override
+        protected InstantSerializer withFeatures(Boolean writeZoneId, Boolean writeNanoseconds) {
+            return new IsoInstantSerializer(this, _useTimestamp, writeNanoseconds, _formatter);
+        }
+
+        @Override
+        public void serialize(Instant value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (_formatter == null && !useTimestamp(provider)) {
+                char[] chars = new char[IsoTemporals.MAX_LENGTH];
+                int length = IsoTemporals.printInstant(value, chars);
+                if (length >= 0) {
+                    generator.writeString(chars, 0, length);
+                    return;
+                }
+            }
+            super.serialize(value, generator, provider);
+        }
+
+    }
+
+    private static final class IsoOffsetDateTimeSerializer extends OffsetDateTimeSerializer {
+
+        private static final long serialVersionUID = 1L;
+
+        IsoOffsetDateTimeSerializer() {}
+
+        private IsoOffsetDateTimeSerializer(IsoOffsetDateTimeSerializer base, Boolean useTimestamp,
+                Boolean useNanoseconds, DateTimeFormatter formatter) {
+            super(base, useTimestamp, useNanoseconds, formatter);
+        }
+
+        @Override
+        protected OffsetDateTimeSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, Shape shape) {
+            return new IsoOffsetDateTimeSerializer(this, useTimestamp, null, formatter);
+        }
+
+        @Override
+        protected OffsetDateTimeSerializer withFeatures(Boolean writeZoneId, Boolean writeNanoseconds) {
+            return new IsoOffsetDateTimeSerializer(this, _useTimestamp, writeNanoseconds, _formatter);
+        }
+
+        @Override
+        public void serialize(OffsetDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (_formatter == null && !useTimestamp(provider)) {
+                char[] chars = new char[IsoTemporals.MAX_LENGTH];
+                int length = IsoTemporals.printOffsetDateTime(value.toLocalDateTime(), value.getOffset(), chars);
+                if (length >= 0) {
+                    generator.writeString(chars, 0, length);
+                    return;
+                }
+            }
+            super.serialize(value, generator, provider);
+        }
+
+    }
+
+    private static final class IsoZonedDateTimeSerializer extends ZonedDateTimeSerializer {
+
+        private static final long serialVersionUID = 1L;
+
+        IsoZonedDateTimeSerializer() {}
+
+        private IsoZonedDateTimeSerializer(IsoZonedDateTimeSerializer base, Boolean useTimestamp,
+                Boolean useNanoseconds, DateTimeFormatter formatter, Boolean writeZoneId) {
+            super(base, useTimestamp, useNanoseconds, formatter, writeZoneId);
+        }
+
+        @Override
+        protected ZonedDateTimeSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, Shape shape) {
+            return new IsoZonedDateTimeSerializer(this, useTimestamp, null, formatter, _writeZoneId);
+        }
+
+        @Override
+        protected ZonedDateTimeSerializer withFeatures(Boolean writeZoneId, Boolean writeNanoseconds) {
+            return new IsoZonedDateTimeSerializer(this, _useTimestamp, writeNanoseconds, _formatter, writeZoneId);
+        }
+
+        @Override
+        public void serialize(ZonedDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (_formatter == null && !useTimestamp(provider)) {
+                char[] chars = new char[IsoTemporals.MAX_LENGTH + 2 + value.getZone().getId().length()];
+                int length = IsoTemporals.printZonedDateTime(value, shouldWriteWithZoneId(provider), chars);
+                if (length >= 0) {
+                    generator.writeString(chars, 0, length);
+                    return;
+                }
+            }
+            super.serialize(value, generator, provider);
+        }
+
+    }
+
+}
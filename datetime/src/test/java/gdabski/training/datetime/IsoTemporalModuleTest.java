@@ -0,0 +1,204 @@
+package gdabski.training.datetime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IsoTemporalModuleTest {
+
+    private static final ZoneId[] ZONES = {ZoneId.of("Europe/Warsaw"), ZoneId.of("America/New_York"),
+            ZoneId.of("Australia/Lord_Howe"), ZoneId.of("America/St_Johns"), ZoneId.of("Asia/Kolkata"),
+            ZoneId.of("Pacific/Chatham"), ZoneId.of("Europe/Dublin"), ZoneId.of("UTC"), ZoneId.of("Etc/GMT+5"),
+            ZoneOffset.UTC, ZoneOffset.ofHours(-6), ZoneOffset.ofHoursMinutesSeconds(5, 30, 15),
+            ZoneOffset.ofHoursMinutes(-3, -30), ZoneOffset.MAX, ZoneOffset.MIN};
+
+    private static final String[] TEXTS = {"2021-03-28T02:30:00+01:00[Europe/Warsaw]",
+            "2021-03-28T02:30:00+02:00[Europe/Warsaw]", "2021-10-31T02:30:00+01:00[Europe/Warsaw]",
+            "2021-10-31T02:30:00+02:00[Europe/Warsaw]", "2021-10-31T02:30:00.5+02:00[Europe/Warsaw]",
+            "2021-04-04T01:45:00+11:00[Australia/Lord_Howe]", "2021-04-04T01:45:00+10:30[Australia/Lord_Howe]",
+            "2021-01-01T00:00:00Z", "2021-01-01T00:00:00+00:00", "2021-01-01T00:00:00-00:00",
+            "2021-01-01T00:00:00+0000", "2021-01-01T00:00:00+00", "2021-01-01T00:00:00+01:00",
+            "2021-01-01T00:00:00+05:30:15", "2021-01-01T00:00:00+18:00", "2021-01-01T00:00:00-18:00",
+            "2021-01-01T00:00:00+18:01", "2021-01-01T00:00:00+01:60", "2021-01-01T00:00:00z",
+            "2021-01-01t00:00:00Z", " 2021-01-01T00:00:00Z\t", "2021-01-01T00:00Z", "2021-01-01T00:00+01:00",
+            "2021-01-01T24:00:00Z", "2021-12-31T23:59:60Z", "2021-02-29T00:00:00Z", "2020-02-29T00:00:00Z",
+            "2021-04-31T00:00:00Z", "2021-00-01T00:00:00Z", "0000-01-01T00:00:00Z", "9999-12-31T23:59:59.999999999Z",
+            "+10000-01-01T00:00:00Z", "-0001-01-01T00:00:00Z", "2021-01-01T00:00:00.Z",
+            "2021-01-01T00:00:00.1234567891Z", "2021-01-01T00:00:00.000Z", "2021-01-01T00:00:00,5Z",
+            "2021-01-01T00:00:00Z[UTC]", "2021-01-01T00:00:00Z[GMT]", "2021-01-01T00:00:00Z[GMT0]",
+            "2021-01-01T00:00:00Z[UT]", "2021-01-01T00:00:00Z[UTC+01:00]", "2021-01-01T00:00:00Z[Etc/GMT+1]",
+            "2021-01-01T00:00:00+01:00[+01:00]", "2021-01-01T00:00:00Z[Z]", "2021-01-01T00:00:00Z[Europe/Nowhere]",
+            "2021-01-01T00:00:00Z[europe/warsaw]", "2021-01-01T00:00:00Z[]", "2021-01-01T00:00:00Z]",
+            "2021-01-01T00:00:00Z[Europe/Warsaw", "2021-01-01T00:00:00[Europe/Warsaw]",
+            "2021-01-01T00:00:00Z[America/Argentina/ComodRivadavia]", "2021-01-01T00:00:00+01:00junk",
+            "2021-01-01X00:00:00Z", "1609339531", "1609339531.5", "1.2.3", "", " ", "now"};
+
+    private final ZoneRegistry registry = new ZoneRegistry();
+
+    @Test
+    void matchesJavaTimeModuleAsConfiguredInUtils() throws JsonProcessingException {
+        verify(mapper -> {
+            mapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+            mapper.enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID);
+        });
+    }
+
+    @Test
+    void matchesJavaTimeModuleAdjustingToContextTimeZone() throws JsonProcessingException {
+        verify(mapper -> mapper.setTimeZone(TimeZone.getTimeZone("Europe/Warsaw")));
+        verify(mapper -> {});
+    }
+
+    @Test
+    void leavesTimestampsToJavaTimeModule() throws JsonProcessingException {
+        verify(mapper -> mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
+    @Test
+    void keepsFormatsOfProperties() throws JsonProcessingException {
+        ObjectMapper plain = mapper(mapper -> {});
+        ObjectMapper fast = mapper(mapper -> {}).registerModule(new IsoTemporalModule(registry));
+        Event event = new Event();
+        event.at = ZonedDateTime.parse("2021-10-31T02:30:00.5+01:00[Europe/Warsaw]");
+        event.logged = event.at.toInstant();
+        event.loggedDay = event.at.toOffsetDateTime().withNano(0);
+        String json = plain.writeValueAsString(event);
+        assertEquals(json, fast.writeValueAsString(event));
+        assertEquals(plain.readValue(json, Event.class), fast.readValue(json, Event.class));
+    }
+
+    @Test
+    void scansOnlyTheCommonForm() {
+        assertEquals(OffsetDateTime.parse("2021-10-31T02:30:00.5+02:00"),
+                IsoTemporals.parseOffsetDateTime("2021-10-31T02:30:00.5+02:00".toCharArray(), 0, 27));
+        assertEquals(ZonedDateTime.parse("2021-10-31T02:30:00+01:00[Europe/Warsaw]"), IsoTemporals.parseZonedDateTime(
+                "2021-10-31T02:30:00+01:00[Europe/Warsaw]".toCharArray(), 0, 40, registry));
+        assertEquals(Instant.parse("2021-01-01T00:00:00.123Z"),
+                IsoTemporals.parseInstant(" 2021-01-01T00:00:00.123+00:00 ".toCharArray(), 1, 30));
+        assertNull(IsoTemporals.parseOffsetDateTime("2021-01-01T00:00+01:00".toCharArray(), 0, 22));
+        assertNull(IsoTemporals.parseInstant("2021-01-01T00:00:00-00:00".toCharArray(), 0, 25));
+        assertNull(IsoTemporals.parseZonedDateTime("2021-01-01T00:00:00Z[UTC]".toCharArray(), 0, 25, registry));
+    }
+
+    private void verify(Consumer<ObjectMapper> configuration) throws JsonProcessingException {
+        ObjectMapper plain = mapper(configuration);
+        ObjectMapper fast = mapper(configuration).registerModule(new ZoneRegistryModule(registry))
+                .registerModule(new IsoTemporalModule(registry));
+        for (ZonedDateTime value : corpus()) {
+            verify(plain, fast, value, ZonedDateTime.class);
+            verify(plain, fast, value.toOffsetDateTime(), OffsetDateTime.class);
+            verify(plain, fast, value.toInstant(), Instant.class);
+        }
+        for (String text : TEXTS) {
+            String json = plain.writeValueAsString(text);
+            for (Class<?> type : new Class<?>[]{ZonedDateTime.class, OffsetDateTime.class, Instant.class}) {
+                assertEquals(read(plain, json, type), read(fast, json, type), json + " as " + type.getSimpleName());
+            }
+        }
+    }
+
+    private static <T> void verify(ObjectMapper plain, ObjectMapper fast, T value, Class<T> type)
+            throws JsonProcessingException {
+        String json = plain.writeValueAsString(value);
+        assertEquals(json, fast.writeValueAsString(value));
+        assertEquals(read(plain, json, type), read(fast, json, type), json);
+    }
+
+    /**
+     * @return the value read, or the exception thrown
+     */
+    private static Object read(ObjectMapper mapper, String json, Class<?> type) {
+        try {
+            return mapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            return e.getClass().getName() + ": " + e.getOriginalMessage();
+        }
+    }
+
+    /**
+     * Random date-times over ten millennia, and around offset transitions, with fractions of whole
+     * milliseconds, microseconds or nanoseconds.
+     */
+    static List<ZonedDateTime> corpus() {
+        SplittableRandom random = new SplittableRandom(21);
+        List<ZonedDateTime> corpus = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ZoneId zone = ZONES[random.nextInt(ZONES.length)];
+            long epochSecond = random.nextLong(-62_000_000_000L, 253_000_000_000L);
+            ZoneOffsetTransition transition = zone.getRules().nextTransition(
+                    Instant.ofEpochSecond(random.nextLong(0, 2_000_000_000L)));
+            if (i % 2 == 0 && transition != null) {
+                epochSecond = transition.toEpochSecond() + random.nextLong(-7_200, 7_200);
+            }
+            int nano;
+            switch (random.nextInt(4)) {
+                case 0:
+                    nano = 0;
+                    break;
+                case 1:
+                    nano = random.nextInt(1_000) * 1_000_000;
+                    break;
+                case 2:
+                    nano = random.nextInt(1_000_000) * 1_000;
+                    break;
+                default:
+                    nano = random.nextInt(1_000_000_000);
+            }
+            corpus.add(Instant.ofEpochSecond(epochSecond, nano).atZone(zone));
+        }
+        corpus.add(LocalDateTime.of(-5000, 1, 1, 0, 0).atZone(ZoneOffset.UTC));
+        corpus.add(LocalDateTime.of(12000, 6, 1, 12, 0).atZone(ZoneId.of("Europe/Warsaw")));
+        corpus.add(LocalDateTime.of(0, 1, 1, 0, 0).atZone(ZoneOffset.ofHours(1)));
+        corpus.add(LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999).atZone(ZoneOffset.ofHours(-1)));
+        return corpus;
+    }
+
+    static final class Event {
+
+        public ZonedDateTime at;
+        public Instant logged;
+        @JsonFormat(pattern = "dd.MM.yyyy HH:mm:ss XXX")
+        public OffsetDateTime loggedDay;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Event && at.equals(((Event) o).at) && logged.equals(((Event) o).logged)
+                    && loggedDay.equals(((Event) o).loggedDay);
+        }
+
+        @Override
+        public int hashCode() {
+            return at.hashCode();
+        }
+
+    }
+
+    private static ObjectMapper mapper(Consumer<ObjectMapper> configuration) {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        configuration.accept(mapper);
+        return mapper;
+    }
+
+}
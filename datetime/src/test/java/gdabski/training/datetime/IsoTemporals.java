@@ -0,0 +1,275 @@
+package gdabski.training.datetime;
+
+import java.nio.CharBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Scanners and printers of the ISO-8601 forms of {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME},
+ * {@link DateTimeFormatter#ISO_ZONED_DATE_TIME} and {@link DateTimeFormatter#ISO_INSTANT} working directly
+ * on characters. Both cover only the common form, {@code yyyy-MM-ddTHH:mm:ss[.n]} with a four-digit year
+ * and an offset of {@code Z}, {@code ±HH:MM} or {@code ±HH:MM:SS}, and give up on anything else, leaving
+ * it to the formatters: scanning returns {@code null}, printing a negative length. What they do accept
+ * they read and write exactly as the formatters do.
+ */
+final class IsoTemporals {
+
+    /**
+     * Length of the longest form printed without a zone id.
+     */
+    static final int MAX_LENGTH = 38;
+
+    private static final int[] SCALE = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000,
+            1_000_000_000};
+
+    private IsoTemporals() {}
+
+    static OffsetDateTime parseOffsetDateTime(char[] chars, int start, int end) {
+        Scanner scanner = new Scanner();
+        if (!scanner.scan(chars, start, end)) {
+            return null;
+        }
+        return OffsetDateTime.of(scanner.year, scanner.month, scanner.day, scanner.hour, scanner.minute,
+                scanner.second, scanner.nano, ZoneOffset.ofTotalSeconds(scanner.offsetSeconds));
+    }
+
+    /**
+     * Reads {@code Z} or {@code +00:00} offsets only, the two forms every Java version's
+     * {@link DateTimeFormatter#ISO_INSTANT} accepts once the {@code JavaTimeModule} has rewritten the latter.
+     */
+    static Instant parseInstant(char[] chars, int start, int end) {
+        Scanner scanner = new Scanner();
+        if (!scanner.scan(chars, start, end) || scanner.offsetSeconds != 0
+                || chars[end - 1] != 'Z' && chars[end - 6] != '+') {
+            return null;
+        }
+        long epochDay = LocalDate.of(scanner.year, scanner.month, scanner.day).toEpochDay();
+        return Instant.ofEpochSecond(epochDay * 86_400 + scanner.hour * 3_600 + scanner.minute * 60 + scanner.second,
+                scanner.nano);
+    }
+
+    /**
+     * Resolves a zone id suffix with the registry, declining ids the formatter reads differently from
+     * {@link ZoneId#of}: offsets and ids with a {@code UTC}, {@code GMT} or {@code UT} prefix.
+     */
+    static ZonedDateTime parseZonedDateTime(char[] chars, int start, int end, ZoneRegistry registry) {
+        if (end - start < 2 || chars[end - 1] != ']') {
+            OffsetDateTime dateTime = parseOffsetDateTime(chars, start, end);
+            return dateTime == null ? null : dateTime.toZonedDateTime();
+        }
+        int bracket = end - 2;
+        while (bracket > start && chars[bracket] != '[') {
+            bracket--;
+        }
+        if (bracket == start || bracket + 1 == end - 1 || startsWith(chars, bracket + 1, end, "UT")
+                || startsWith(chars, bracket + 1, end, "GMT")) {
+            return null;
+        }
+        OffsetDateTime dateTime = parseOffsetDateTime(chars, start, bracket);
+        if (dateTime == null) {
+            return null;
+        }
+        ZoneId zone;
+        try {
+            zone = registry.zoneId(CharBuffer.wrap(chars), bracket + 1, end - 1);
+        } catch (DateTimeException e) {
+            return null;
+        }
+        if (zone instanceof ZoneOffset) {
+            return null;
+        }
+        return ZonedDateTime.ofInstant(dateTime.toLocalDateTime(), dateTime.getOffset(), zone);
+    }
+
+    private static boolean startsWith(char[] chars, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (chars[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints as {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} does.
+     *
+     * @return the number of characters printed, or -1 for years outside 0-9999
+     */
+    static int printOffsetDateTime(LocalDateTime local, ZoneOffset offset, char[] chars) {
+        if (local.getYear() < 0 || local.getYear() > 9999) {
+            return -1;
+        }
+        XmlSchemaTemporals.printDate(local.toLocalDate(), chars);
+        chars[10] = 'T';
+        int position = XmlSchemaTemporals.printTime(local.toLocalTime(), chars, 11);
+        int offsetSeconds = offset.getTotalSeconds();
+        if (offsetSeconds == 0) {
+            chars[position] = 'Z';
+            return position + 1;
+        }
+        int seconds = Math.abs(offsetSeconds);
+        chars[position] = offsetSeconds < 0 ? '-' : '+';
+        XmlSchemaTemporals.printTwoDigits(seconds / 3_600, chars, position + 1);
+        chars[position + 3] = ':';
+        XmlSchemaTemporals.printTwoDigits(seconds / 60 % 60, chars, position + 4);
+        position += 6;
+        if (seconds % 60 != 0) {
+            chars[position] = ':';
+            XmlSchemaTemporals.printTwoDigits(seconds % 60, chars, position + 1);
+            position += 3;
+        }
+        return position;
+    }
+
+    /**
+     * Prints as {@link DateTimeFormatter#ISO_ZONED_DATE_TIME} does when {@code withZoneId}, as
+     * {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} does otherwise, into a buffer of {@link #MAX_LENGTH} plus
+     * the length of the zone id and two.
+     */
+    static int printZonedDateTime(ZonedDateTime dateTime, boolean withZoneId, char[] chars) {
+        int position = printOffsetDateTime(dateTime.toLocalDateTime(), dateTime.getOffset(), chars);
+        if (position < 0 || !withZoneId || dateTime.getZone() instanceof ZoneOffset) {
+            return position;
+        }
+        String id = dateTime.getZone().getId();
+        chars[position++] = '[';
+        id.getChars(0, id.length(), chars, position);
+        position += id.length();
+        chars[position++] = ']';
+        return position;
+    }
+
+    /**
+     * Prints as {@link Instant#toString()} does, with fractions in groups of three digits.
+     *
+     * @return the number of characters printed, or -1 for years outside 0-9999
+     */
+    static int printInstant(Instant instant, char[] chars) {
+        long epochSecond = instant.getEpochSecond();
+        if (epochSecond < -62_167_219_200L || epochSecond >= 253_402_300_800L) {
+            return -1;
+        }
+        long epochDay = Math.floorDiv(epochSecond, 86_400);
+        int secondOfDay = Math.floorMod(epochSecond, 86_400);
+        XmlSchemaTemporals.printDate(LocalDate.ofEpochDay(epochDay), chars);
+        chars[10] = 'T';
+        XmlSchemaTemporals.printTwoDigits(secondOfDay / 3_600, chars, 11);
+        chars[13] = ':';
+        XmlSchemaTemporals.printTwoDigits(secondOfDay / 60 % 60, chars, 14);
+        chars[16] = ':';
+        XmlSchemaTemporals.printTwoDigits(secondOfDay % 60, chars, 17);
+        int position = 19;
+        int nano = instant.getNano();
+        if (nano != 0) {
+            int digits = nano % 1_000_000 == 0 ? 3 : nano % 1_000 == 0 ? 6 : 9;
+            int value = nano / SCALE[9 - digits];
+            chars[position] = '.';
+            for (int i = digits; i > 0; i--) {
+                chars[position + i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            position += digits + 1;
+        }
+        chars[position] = 'Z';
+        return position + 1;
+    }
+
+    private static final class Scanner {
+
+        int year;
+        int month;
+        int day;
+        int hour;
+        int minute;
+        int second;
+        int nano;
+        int offsetSeconds;
+
+        boolean scan(char[] chars, int start, int end) {
+            if (end - start < 20 || chars[start + 4] != '-' || chars[start + 7] != '-' || chars[start + 10] != 'T'
+                    || chars[start + 13] != ':' || chars[start + 16] != ':') {
+                return false;
+            }
+            year = digits(chars, start, 4);
+            month = digits(chars, start + 5, 2);
+            day = digits(chars, start + 8, 2);
+            hour = digits(chars, start + 11, 2);
+            minute = digits(chars, start + 14, 2);
+            second = digits(chars, start + 17, 2);
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                    || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                return false;
+            }
+            int position = start + 19;
+            nano = 0;
+            if (chars[position] == '.') {
+                int fractionStart = ++position;
+                while (position < end && chars[position] >= '0' && chars[position] <= '9') {
+                    nano = nano * 10 + chars[position++] - '0';
+                    if (position - fractionStart > 9) {
+                        return false;
+                    }
+                }
+                if (position == fractionStart) {
+                    return false;
+                }
+                nano *= SCALE[9 - (position - fractionStart)];
+            }
+            return offset(chars, position, end);
+        }
+
+        private boolean offset(char[] chars, int start, int end) {
+            int length = end - start;
+            if (length == 1) {
+                offsetSeconds = 0;
+                return chars[start] == 'Z';
+            }
+            char sign = chars[start];
+            if (length != 6 && length != 9 || sign != '+' && sign != '-' || chars[start + 3] != ':'
+                    || length == 9 && chars[start + 6] != ':') {
+                return false;
+            }
+            int hours = digits(chars, start + 1, 2);
+            int minutes = digits(chars, start + 4, 2);
+            int seconds = length == 9 ? digits(chars, start + 7, 2) : 0;
+            if (hours < 0 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59) {
+                return false;
+            }
+            int total = hours * 3_600 + minutes * 60 + seconds;
+            if (total > 18 * 3_600) {
+                return false;
+            }
+            offsetSeconds = sign == '-' ? -total : total;
+            return true;
+        }
+
+        /**
+         * @return the value of the digits, or -1 if any is not a digit
+         */
+        private static int digits(char[] chars, int start, int count) {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                int digit = chars[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+package gdabski.training.datetime;
+
+import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.helpers.DefaultValidationEventHandler;
+
+/**
+ * Bounded, thread-safe pools of {@link Marshaller}s and {@link Unmarshaller}s of a single {@link JAXBContext},
+ * keyed by the class being (un)marshalled. Neither is thread-safe, but both are reusable and expensive
+ * to create. Callers block when all instances for a class are in use.
+ */
+public final class JaxbCodecPool {
+
+    public static final int DEFAULT_MAX_PER_CLASS = 8;
+
+    private final GenericKeyedObjectPool<Class<?>, Marshaller> marshallers;
+    private final GenericKeyedObjectPool<Class<?>, Unmarshaller> unmarshallers;
+
+    public JaxbCodecPool(JAXBContext context, int maxPerClass) {
+        marshallers = new GenericKeyedObjectPool<>(new BaseKeyedPooledObjectFactory<>() {
+            @Override
+            public Marshaller create(Class<?> key) throws JAXBException {
+                return context.createMarshaller();
+            }
+
+            @Override
+            public PooledObject<Marshaller> wrap(Marshaller value) {
+                return new DefaultPooledObject<>(value);
+            }
+        }, config(maxPerClass));
+        unmarshallers = new GenericKeyedObjectPool<>(new BaseKeyedPooledObjectFactory<>() {
+            @Override
+            public Unmarshaller create(Class<?> key) throws JAXBException {
+                Unmarshaller unmarshaller = context.createUnmarshaller();
+                unmarshaller.setEventHandler(new DefaultValidationEventHandler());
+                return unmarshaller;
+            }
+
+            @Override
+            public PooledObject<Unmarshaller> wrap(Unmarshaller value) {
+                return new DefaultPooledObject<>(value);
+            }
+        }, config(maxPerClass));
+    }
+
+    private static <T> GenericKeyedObjectPoolConfig<T> config(int maxPerClass) {
+        GenericKeyedObjectPoolConfig<T> config = new GenericKeyedObjectPoolConfig<>();
+        config.setMaxTotalPerKey(maxPerClass);
+        config.setMaxIdlePerKey(maxPerClass);
+        config.setBlockWhenExhausted(true);
+        config.setJmxEnabled(false);
+        return config;
+    }
+
+    @FunctionalInterface
+    public interface JaxbFunction<C, R> {
+        R apply(C codec) throws JAXBException;
+    }
+
+    public <R> R withMarshaller(Class<?> clazz, JaxbFunction<Marshaller, R> function) throws JAXBException {
+        return with(marshallers, clazz, function);
+    }
+
+    public <R> R withUnmarshaller(Class<?> clazz, JaxbFunction<Unmarshaller, R> function) throws JAXBException {
+        return with(unmarshallers, clazz, function);
+    }
+
+    private static <C, R> R with(GenericKeyedObjectPool<Class<?>, C> pool, Class<?> clazz,
+                                 JaxbFunction<C, R> function) throws JAXBException {
+        C codec = borrow(pool, clazz);
+        R result;
+        try {
+            result = function.apply(codec);
+        } catch (Throwable e) {
+            invalidate(pool, clazz, codec); // state after a failure is unspecified
+            throw e;
+        }
+        pool.returnObject(clazz, codec);
+        return result;
+    }
+
+    private static <C> C borrow(GenericKeyedObjectPool<Class<?>, C> pool, Class<?> clazz) throws JAXBException {
+        try {
+            return pool.borrowObject(clazz);
+        } catch (JAXBException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <C> void invalidate(GenericKeyedObjectPool<Class<?>, C> pool, Class<?> clazz, C codec) {
+        try {
+            pool.invalidateObject(clazz, codec);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Statistics getMarshallerStatistics() {
+        return new Statistics(marshallers);
+    }
+
+    public Statistics getUnmarshallerStatistics() {
+        return new Statistics(unmarshallers);
+    }
+
+    /**
+     * Snapshot of pool usage. A hit is a borrow served by an idle instance, a miss one that had
+     * to create a new instance.
+     */
+    public static final class Statistics {
+
+        private final long borrowed;
+        private final long created;
+        private final int active;
+        private final long meanWaitMillis;
+        private final long maxWaitMillis;
+
+        private Statistics(GenericKeyedObjectPool<?, ?> pool) {
+            this.borrowed = pool.getBorrowedCount();
+            this.created = pool.getCreatedCount();
+            this.active = pool.getNumActive();
+            this.meanWaitMillis = pool.getMeanBorrowWaitTimeMillis();
+            this.maxWaitMillis = pool.getMaxBorrowWaitTimeMillis();
+        }
+
+        public long getHits() {
+            return borrowed - created;
+        }
+
+        public long getMisses() {
+            return created;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public long getMeanWaitMillis() {
+            return meanWaitMillis;
+        }
+
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + getHits() + ", misses=" + getMisses() + ", active=" + active
+                    + ", meanWaitMillis=" + meanWaitMillis + ", maxWaitMillis=" + maxWaitMillis;
+        }
+
+    }
+
+}
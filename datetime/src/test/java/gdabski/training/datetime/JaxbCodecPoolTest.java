@@ -0,0 +1,121 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.standard.Bean;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.UnmarshalException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.getXmlDatatypeFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JaxbCodecPoolTest {
+
+    private final JaxbCodecPool pool = new JaxbCodecPool(newContext(), 2);
+
+    private static JAXBContext newContext() {
+        try {
+            return JAXBContext.newInstance(Bean.class, ImprovedBean.class);
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Bean bean() {
+        Bean bean = new Bean();
+        bean.setDate(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29"));
+        bean.setTime(getXmlDatatypeFactory().newXMLGregorianCalendar("20:00:21.123456789"));
+        bean.setDatetime(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29T20:00:21.123456789+02:00"));
+        return bean;
+    }
+
+    private String marshal(Object object) throws JAXBException {
+        return pool.withMarshaller(object.getClass(), marshaller -> {
+            StringWriter writer = new StringWriter();
+            marshaller.marshal(object, writer);
+            return writer.toString();
+        });
+    }
+
+    private <T> T unmarshal(String xml, Class<T> clazz) throws JAXBException {
+        return pool.withUnmarshaller(clazz, unmarshaller ->
+                unmarshaller.unmarshal(new StreamSource(new StringReader(xml)), clazz).getValue());
+    }
+
+    @Test
+    void reusesInstancesPerClass() throws JAXBException {
+        Marshaller first = pool.withMarshaller(Bean.class, marshaller -> marshaller);
+        Marshaller second = pool.withMarshaller(Bean.class, marshaller -> marshaller);
+        Marshaller other = pool.withMarshaller(ImprovedBean.class, marshaller -> marshaller);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(1, pool.getMarshallerStatistics().getHits());
+        assertEquals(2, pool.getMarshallerStatistics().getMisses());
+        assertEquals(0, pool.getMarshallerStatistics().getActive());
+    }
+
+    @Test
+    void roundTripsLikeFreshInstances() throws JAXBException {
+        Bean bean = bean();
+
+        String xml = marshal(bean);
+        ImprovedBean improved = unmarshal(xml, ImprovedBean.class);
+        Bean copy = unmarshal(marshal(improved), Bean.class);
+
+        assertEquals(bean, copy);
+        assertEquals(marshal(bean), xml);
+    }
+
+    @Test
+    void keepsDefaultValidationEventHandlerAndDiscardsFailedInstances() throws JAXBException {
+        Unmarshaller used = pool.withUnmarshaller(ImprovedBean.class, unmarshaller -> unmarshaller);
+
+        assertThrows(UnmarshalException.class, () -> unmarshal("<bean><date>not a date</date></bean>", ImprovedBean.class));
+
+        Unmarshaller next = pool.withUnmarshaller(ImprovedBean.class, unmarshaller -> unmarshaller);
+        assertNotSame(used, next);
+        assertEquals(2, pool.getUnmarshallerStatistics().getMisses());
+
+        assertThrows(AssertionError.class, () -> pool.withUnmarshaller(ImprovedBean.class, unmarshaller -> {
+            throw new AssertionError();
+        }));
+        assertNotSame(next, pool.withUnmarshaller(ImprovedBean.class, unmarshaller -> unmarshaller));
+        assertEquals(3, pool.getUnmarshallerStatistics().getMisses());
+    }
+
+    @Test
+    void staysWithinBoundUnderConcurrentUse() throws Exception {
+        String xml = marshal(bean());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Bean>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> unmarshal(xml, Bean.class)));
+            }
+            for (Future<Bean> future : futures) {
+                assertEquals(bean(), future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(200, pool.getUnmarshallerStatistics().getHits() + pool.getUnmarshallerStatistics().getMisses());
+        assertEquals(2, pool.getUnmarshallerStatistics().getMisses());
+    }
+
+}
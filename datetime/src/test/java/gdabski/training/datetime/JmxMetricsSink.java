@@ -0,0 +1,42 @@
+package gdabski.training.datetime;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registers each timer as an MXBean named {@code gdabski.training.datetime:type=DateTimeMetrics,name=<timer>},
+ * read live from then on; exporting again registers only timers created since.
+ */
+public final class JmxMetricsSink implements MetricsSink {
+
+    static final String DOMAIN = "gdabski.training.datetime";
+
+    private final MBeanServer server;
+
+    public JmxMetricsSink(MBeanServer server) {
+        this.server = server;
+    }
+
+    @Override
+    public void export(DateTimeMetrics metrics) {
+        for (DateTimeMetrics.Timer timer : metrics.getTimers()) {
+            try {
+                ObjectName name = objectName(timer.getName());
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(timer, name);
+                }
+            } catch (InstanceAlreadyExistsException e) {
+                // registered concurrently
+            } catch (JMException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    static ObjectName objectName(String timer) throws JMException {
+        return new ObjectName(DOMAIN + ":type=DateTimeMetrics,name=" + ObjectName.quote(timer));
+    }
+
+}
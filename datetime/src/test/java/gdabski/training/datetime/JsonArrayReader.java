@@ -0,0 +1,86 @@
+package gdabski.training.datetime;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the elements of a top-level JSON array one at a time, binding each with the given
+ * {@link ObjectReader}. Does not close the underlying source.
+ */
+public final class JsonArrayReader<T> implements Iterator<T>, AutoCloseable {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private JsonToken next;
+
+    JsonArrayReader(JsonParser parser, ObjectReader reader) {
+        this.parser = parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        this.reader = reader;
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array, got " + parser.currentToken());
+            }
+        } catch (IOException e) {
+            try {
+                parser.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = parser.nextToken();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (next == null) {
+                throw new UncheckedIOException(new JsonParseException(parser, "Unexpected end of JSON array"));
+            }
+        }
+        return next != JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        next = null;
+        try {
+            return reader.readValue(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
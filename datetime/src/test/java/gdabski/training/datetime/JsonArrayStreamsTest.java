@@ -0,0 +1,113 @@
+package gdabski.training.datetime;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonArrayStreamsTest {
+
+    private static final List<ZoneId> zones = List.of(ZoneId.of("Europe/Warsaw"), ZoneId.of("America/Chicago"),
+            ZoneId.of("Asia/Tokyo"), ZoneOffset.ofHours(-6), ZoneOffset.UTC);
+
+    private static List<ZonedDateTime> zonedDateTimes() {
+        ZonedDateTime start = LocalDateTime.of(2021, Month.MARCH, 27, 23, 30).atZone(ZoneId.of("Europe/Warsaw"));
+        return IntStream.range(0, 10_000)
+                .mapToObj(i -> start.plusMinutes(17L * i).withZoneSameInstant(zones.get(i % zones.size())))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void roundTripsZonedDateTimesPreservingZones() {
+        List<ZonedDateTime> values = zonedDateTimes();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonArrayWriter writer = serializeToJsonArray(output)) {
+            values.forEach(writer);
+        }
+
+        assertEquals(serializeToJson(values), output.toString(StandardCharsets.UTF_8));
+        try (Stream<ZonedDateTime> stream = deserializeFromJsonArray(
+                new ByteArrayInputStream(output.toByteArray()), ZonedDateTime.class)) {
+            assertEquals(values, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void roundTripsOtherTypesThroughCharacterStreams() {
+        List<OffsetDateTime> offsetDateTimes = List.of(OffsetDateTime.of(2020, 12, 30, 14, 25, 31, 0, ZoneOffset.of("+04:00")));
+        List<Instant> instants = List.of(Instant.parse("2020-10-09T22:11:33Z"), Instant.ofEpochSecond(0, 1));
+        StringWriter output = new StringWriter();
+        try (JsonArrayWriter writer = serializeToJsonArray(output)) {
+            offsetDateTimes.forEach(writer);
+        }
+
+        try (Stream<OffsetDateTime> stream = deserializeFromJsonArray(new StringReader(output.toString()), OffsetDateTime.class)) {
+            assertEquals(offsetDateTimes, stream.collect(Collectors.toList()));
+        }
+        try (Stream<Instant> stream = deserializeFromJsonArray(new StringReader(serializeToJson(instants)), Instant.class)) {
+            assertEquals(instants, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void keepsSingleValueSemanticsForShiftedOffsets() {
+        ZonedDateTime zonedDateTime = LocalDate.of(2038, Month.DECEMBER, 29).atStartOfDay(ZoneId.of("Europe/Warsaw"));
+        String serialized = serializeToJson(zonedDateTime);
+        String shifted = serialized.replace("+01:00", "+02:00");
+
+        try (Stream<ZonedDateTime> stream = deserializeFromJsonArray(
+                new StringReader("[" + serialized + "," + shifted + "]"), ZonedDateTime.class)) {
+            List<ZonedDateTime> values = stream.collect(Collectors.toList());
+
+            assertEquals(deserializeFromJson(serialized, ZonedDateTime.class), values.get(0));
+            assertEquals(deserializeFromJson(shifted, ZonedDateTime.class), values.get(1));
+            assertNotEquals(zonedDateTime.toInstant(), values.get(1).toInstant());
+        }
+    }
+
+    @Test
+    void readsLazilyAndRejectsNonArrays() throws IOException {
+        String truncated = "[\"2020-10-09T22:11:33Z\",\"2020-10-09T22:11:34Z\",\"2020-10-";
+
+        try (Stream<Instant> stream = deserializeFromJsonArray(new StringReader(truncated), Instant.class)) {
+            assertEquals(List.of(Instant.parse("2020-10-09T22:11:33Z"), Instant.parse("2020-10-09T22:11:34Z")),
+                    stream.limit(2).collect(Collectors.toList()));
+        }
+        try (Stream<Instant> stream = deserializeFromJsonArray(new StringReader(truncated), Instant.class)) {
+            assertThrows(UncheckedIOException.class, () -> stream.collect(Collectors.toList()));
+        }
+        assertThrows(UncheckedIOException.class,
+                () -> deserializeFromJsonArray(new StringReader("\"2020-10-09T22:11:33Z\""), Instant.class));
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonParser parser = mapper.createParser("{}");
+        assertThrows(UncheckedIOException.class, () -> new JsonArrayReader<>(parser, mapper.readerFor(Instant.class)));
+        assertTrue(parser.isClosed());
+    }
+
+}
@@ -0,0 +1,56 @@
+package gdabski.training.datetime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Push-based sink writing each accepted value as the next element of a top-level JSON array.
+ * {@link #close()} ends the array but does not close the underlying target.
+ */
+public final class JsonArrayWriter implements Consumer<Object>, AutoCloseable {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    JsonArrayWriter(JsonGenerator generator, ObjectWriter writer) {
+        this.generator = generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.writer = writer;
+        try {
+            generator.writeStartArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void accept(Object value) {
+        try {
+            writer.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            generator.writeEndArray();
+            generator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package gdabski.training.datetime;
+
+import java.time.LocalDate;
+
+/**
+ * A {@link LocalDate} parsed from its {@code xs:date} form on first access.
+ */
+public final class LazyLocalDate extends LazyTemporal<LocalDate> {
+
+    private LazyLocalDate(String lexical, LocalDate value) {
+        super(lexical, value);
+    }
+
+    public static LazyLocalDate of(LocalDate value) {
+        return new LazyLocalDate(null, value);
+    }
+
+    public static LazyLocalDate ofLexical(String lexical) {
+        return new LazyLocalDate(lexical, null);
+    }
+
+    @Override
+    LocalDate parse(String lexical) {
+        return XmlSchemaTemporals.parseDate(lexical);
+    }
+
+}
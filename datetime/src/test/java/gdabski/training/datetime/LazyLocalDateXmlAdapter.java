@@ -0,0 +1,21 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+
+/**
+ * Keeps the {@code xs:date} lexical form for {@link LazyLocalDate} to parse on first access, and writes values as
+ * {@link LocalDateXmlAdapter} does.
+ */
+public final class LazyLocalDateXmlAdapter extends XmlAdapter<String, LazyLocalDate> {
+
+    @Override
+    public LazyLocalDate unmarshal(String value) {
+        return value == null ? null : LazyLocalDate.ofLexical(value);
+    }
+
+    @Override
+    public String marshal(LazyLocalDate value) {
+        return value == null ? null : XmlSchemaTemporals.formatDate(value.get());
+    }
+
+}
@@ -0,0 +1,27 @@
+package gdabski.training.datetime;
+
+import java.time.LocalTime;
+
+/**
+ * A {@link LocalTime} parsed from its {@code xs:time} form on first access.
+ */
+public final class LazyLocalTime extends LazyTemporal<LocalTime> {
+
+    private LazyLocalTime(String lexical, LocalTime value) {
+        super(lexical, value);
+    }
+
+    public static LazyLocalTime of(LocalTime value) {
+        return new LazyLocalTime(null, value);
+    }
+
+    public static LazyLocalTime ofLexical(String lexical) {
+        return new LazyLocalTime(lexical, null);
+    }
+
+    @Override
+    LocalTime parse(String lexical) {
+        return XmlSchemaTemporals.parseTime(lexical);
+    }
+
+}
@@ -0,0 +1,21 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+
+/**
+ * Keeps the {@code xs:time} lexical form for {@link LazyLocalTime} to parse on first access, and writes values as
+ * {@link LocalTimeXmlAdapter} does.
+ */
+public final class LazyLocalTimeXmlAdapter extends XmlAdapter<String, LazyLocalTime> {
+
+    @Override
+    public LazyLocalTime unmarshal(String value) {
+        return value == null ? null : LazyLocalTime.ofLexical(value);
+    }
+
+    @Override
+    public String marshal(LazyLocalTime value) {
+        return value == null ? null : XmlSchemaTemporals.formatTime(value.get());
+    }
+
+}
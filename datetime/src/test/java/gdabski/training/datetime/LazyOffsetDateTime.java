@@ -0,0 +1,27 @@
+package gdabski.training.datetime;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An {@link OffsetDateTime} parsed from its {@code xs:dateTime} form on first access.
+ */
+public final class LazyOffsetDateTime extends LazyTemporal<OffsetDateTime> {
+
+    private LazyOffsetDateTime(String lexical, OffsetDateTime value) {
+        super(lexical, value);
+    }
+
+    public static LazyOffsetDateTime of(OffsetDateTime value) {
+        return new LazyOffsetDateTime(null, value);
+    }
+
+    public static LazyOffsetDateTime ofLexical(String lexical) {
+        return new LazyOffsetDateTime(lexical, null);
+    }
+
+    @Override
+    OffsetDateTime parse(String lexical) {
+        return XmlSchemaTemporals.parseDateTime(lexical);
+    }
+
+}
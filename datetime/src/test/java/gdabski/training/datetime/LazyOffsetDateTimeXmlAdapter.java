@@ -0,0 +1,21 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+
+/**
+ * Keeps the {@code xs:dateTime} lexical form for {@link LazyOffsetDateTime} to parse on first access, and
+ * writes values as {@link OffsetDateTimeXmlAdapter} does.
+ */
+public final class LazyOffsetDateTimeXmlAdapter extends XmlAdapter<String, LazyOffsetDateTime> {
+
+    @Override
+    public LazyOffsetDateTime unmarshal(String value) {
+        return value == null ? null : LazyOffsetDateTime.ofLexical(value);
+    }
+
+    @Override
+    public String marshal(LazyOffsetDateTime value) {
+        return value == null ? null : XmlSchemaTemporals.formatDateTime(value.get());
+    }
+
+}
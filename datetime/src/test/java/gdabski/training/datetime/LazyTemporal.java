@@ -0,0 +1,63 @@
+package gdabski.training.datetime;
+
+import java.time.DateTimeException;
+import java.time.temporal.Temporal;
+
+/**
+ * A temporal read from its XML Schema lexical form on first access rather than on unmarshalling, for
+ * consumers that read few of the fields of a bean. Values are compared, hashed and printed as parsed,
+ * so beans of lazy values behave under the generated {@code equals}, {@code hashCode} and
+ * {@code toString} as the eager ones, parsing what those methods touch.
+ * <p>
+ * Safe to share between threads: the parsed value is immutable and published through a volatile field,
+ * so threads racing on first access may each parse the text, to equal values.
+ */
+public abstract class LazyTemporal<T extends Temporal> {
+
+    private final String lexical;
+    private volatile T value;
+
+    LazyTemporal(String lexical, T value) {
+        if (lexical == null && value == null) {
+            throw new NullPointerException("Neither text nor value");
+        }
+        this.lexical = lexical;
+        this.value = value;
+    }
+
+    /**
+     * @throws DateTimeException if the text this value was read from is not valid
+     */
+    public final T get() {
+        T value = this.value;
+        if (value == null) {
+            value = parse(lexical);
+            this.value = value;
+        }
+        return value;
+    }
+
+    public final boolean isParsed() {
+        return value != null;
+    }
+
+    abstract T parse(String lexical);
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return get().equals(((LazyTemporal<?>) o).get());
+    }
+
+    @Override
+    public final int hashCode() {
+        return get().hashCode();
+    }
+
+    @Override
+    public final String toString() {
+        return get().toString();
+    }
+
+}
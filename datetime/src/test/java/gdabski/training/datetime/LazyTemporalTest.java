@@ -0,0 +1,119 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.lazy.LazyImprovedBean;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyTemporalTest {
+
+    private static final String XML = "<bean><date>2020-12-29</date><time>20:00:21.123456789</time>"
+            + "<datetime>2020-12-29T20:00:21.123456789+02:00</datetime></bean>";
+
+    @Test
+    void parsesFieldsOnFirstAccess() {
+        LazyImprovedBean bean = deserializeFromXml(XML, LazyImprovedBean.class);
+        assertFalse(bean.getDate().isParsed());
+        assertFalse(bean.getDatetime().isParsed());
+
+        assertEquals(LocalDate.of(2020, 12, 29), bean.getDate().get());
+        assertTrue(bean.getDate().isParsed());
+        assertFalse(bean.getTime().isParsed());
+        assertFalse(bean.getDatetime().isParsed());
+        assertEquals(OffsetDateTime.of(2020, 12, 29, 20, 0, 21, 123_456_789, ZoneOffset.ofHours(2)),
+                bean.getDatetime().get());
+    }
+
+    @Test
+    void readsAndWritesAsImprovedBean() {
+        SplittableRandom random = new SplittableRandom(20);
+        for (int i = 0; i < 5_000; i++) {
+            ImprovedBean improved = new ImprovedBean();
+            improved.setDate(LocalDate.ofEpochDay(random.nextLong(-1_000_000, 1_000_000)));
+            improved.setTime(LocalTime.ofNanoOfDay(random.nextLong(LocalTime.MAX.toNanoOfDay() + 1)));
+            improved.setDatetime(OffsetDateTime.of(improved.getDate().atTime(improved.getTime()),
+                    ZoneOffset.ofTotalSeconds(random.nextInt(-18 * 60, 18 * 60 + 1) * 60)));
+            String xml = serializeToXml(improved);
+
+            LazyImprovedBean lazy = deserializeFromXml(xml, LazyImprovedBean.class);
+            assertEquals(improved.getDate(), lazy.getDate().get());
+            assertEquals(improved.getTime(), lazy.getTime().get());
+            assertEquals(improved.getDatetime(), lazy.getDatetime().get());
+            assertEquals(xml, serializeToXml(lazy));
+        }
+    }
+
+    @Test
+    void comparesParsedValues() {
+        LazyImprovedBean parsed = deserializeFromXml(XML, LazyImprovedBean.class);
+        parsed.getTime().get();
+        LazyImprovedBean unparsed = deserializeFromXml(XML.replace("20:00:21.123456789<", "20:00:21.1234567890<"),
+                LazyImprovedBean.class);
+        LazyImprovedBean built = new LazyImprovedBean();
+        built.setDate(LazyLocalDate.of(LocalDate.of(2020, 12, 29)));
+        built.setTime(LazyLocalTime.of(LocalTime.of(20, 0, 21, 123_456_789)));
+        built.setDatetime(LazyOffsetDateTime.of(OffsetDateTime.parse("2020-12-29T20:00:21.123456789+02:00")));
+
+        assertEquals(parsed, unparsed);
+        assertEquals(parsed.hashCode(), unparsed.hashCode());
+        assertEquals(built, parsed);
+        assertEquals(built.hashCode(), parsed.hashCode());
+        assertEquals(built.toString().replaceAll("@\\w+", ""), unparsed.toString().replaceAll("@\\w+", ""));
+        assertTrue(unparsed.toString().contains("date=2020-12-29"), unparsed.toString());
+
+        unparsed.setDatetime(LazyOffsetDateTime.ofLexical("2020-12-29T20:00:21.123456789+01:00"));
+        assertNotEquals(parsed, unparsed);
+        assertNotEquals(LazyLocalDate.of(LocalDate.of(2020, 12, 29)), parsed.getDatetime());
+    }
+
+    @Test
+    void failsOnAccessToInvalidField() {
+        LazyImprovedBean bean = deserializeFromXml(XML.replace("2020-12-29<", "not a date<"), LazyImprovedBean.class);
+        assertEquals(LocalTime.of(20, 0, 21, 123_456_789), bean.getTime().get());
+        assertThrows(DateTimeException.class, () -> bean.getDate().get());
+        assertThrows(DateTimeException.class, bean::hashCode);
+        assertNull(deserializeFromXml("<bean/>", LazyImprovedBean.class).getDate());
+        assertThrows(NullPointerException.class, () -> LazyLocalDate.of(null));
+    }
+
+    @Test
+    void publishesParsedValueToAllThreads() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            LazyOffsetDateTime value = LazyOffsetDateTime.ofLexical("2020-12-29T20:00:21.123456789+02:00");
+            CountDownLatch start = new CountDownLatch(1);
+            CompletableFuture<?>[] readers = new CompletableFuture<?>[4];
+            for (int j = 0; j < readers.length; j++) {
+                readers[j] = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return value.get();
+                });
+            }
+            start.countDown();
+            for (CompletableFuture<?> reader : readers) {
+                assertEquals(value.get(), reader.get());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,327 @@
+package gdabski.training.datetime;
+
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.getXmlDatatypeFactory;
+
+/**
+ * Conversions between {@link Date}, {@link Calendar}, the {@code java.sql} types, {@link XMLGregorianCalendar}
+ * and JSR-310 types, without constructing a {@link Calendar} or a formatter per call and without locks.
+ * Results match the legacy conversions ({@code Timestamp.valueOf}, {@code java.sql.Date.toLocalDate} etc.),
+ * which use the JVM default time zone; within DST gaps and overlaps, before 1900 or the first transition
+ * of the zone and after 2037, where the legacy calendar may disagree with JSR-310 zone rules, the legacy
+ * conversions are called. {@link TimeZone} and {@link ZoneId} lookups are cached by id. {@code null}
+ * converts to {@code null}.
+ */
+public final class LegacyDateTimeConversions {
+
+    private static final long LEGACY_TRANSITIONS_START_EPOCH_SECOND = LocalDateTime.of(1900, 1, 1, 0, 0)
+            .toEpochSecond(ZoneOffset.UTC);
+    private static final long LEGACY_TRANSITIONS_END_EPOCH_SECOND = LocalDateTime.of(2038, 1, 1, 0, 0)
+            .toEpochSecond(ZoneOffset.UTC) - CalendarMath.SECONDS_PER_DAY;
+    private static final LocalDate TIME_EPOCH = LocalDate.of(1970, 1, 1);
+
+    private static final Map<String, ZoneId> zoneIds = new ConcurrentHashMap<>();
+    private static final Map<ZoneId, TimeZone> timeZones = new ConcurrentHashMap<>();
+    private static final Map<ZoneId, Long> fastPathStarts = new ConcurrentHashMap<>();
+
+    private LegacyDateTimeConversions() {}
+
+    /**
+     * Same as {@link TimeZone#toZoneId()}, cached by the time zone id.
+     */
+    public static ZoneId toZoneId(TimeZone timeZone) {
+        ZoneId zoneId = zoneIds.get(timeZone.getID());
+        if (zoneId == null) {
+            zoneId = zoneIds.computeIfAbsent(timeZone.getID(), id -> timeZone.toZoneId());
+        }
+        return zoneId;
+    }
+
+    /**
+     * Same as {@link TimeZone#getTimeZone(ZoneId)}, which synchronizes on every call; returns a copy of a
+     * cached instance, since {@link TimeZone} is mutable.
+     */
+    public static TimeZone toTimeZone(ZoneId zoneId) {
+        TimeZone timeZone = timeZones.get(zoneId);
+        if (timeZone == null) {
+            timeZone = timeZones.computeIfAbsent(zoneId, TimeZone::getTimeZone);
+        }
+        return (TimeZone) timeZone.clone();
+    }
+
+    private static ZoneId defaultZone() {
+        return toZoneId(TimeZone.getDefault());
+    }
+
+    /**
+     * @return whether JSR-310 zone rules agree with the legacy calendar at the (local) epoch-second, with
+     * a day of margin: from 1900, before which legacy time zones drop transitions (and well after the
+     * Gregorian cutover), and the first transition of the zone, before which JSR-310 uses local mean
+     * time, until 2037, after which legacy time zones only repeat a simplified last rule
+     */
+    private static boolean isFastPath(long epochSecond, ZoneId zone) {
+        return epochSecond < LEGACY_TRANSITIONS_END_EPOCH_SECOND && epochSecond >= fastPathStart(zone);
+    }
+
+    private static long fastPathStart(ZoneId zone) {
+        Long start = fastPathStarts.get(zone);
+        if (start == null) {
+            start = fastPathStarts.computeIfAbsent(zone, z -> {
+                List<ZoneOffsetTransition> transitions = z.getRules().getTransitions();
+                long firstTransition = transitions.isEmpty() ? Long.MIN_VALUE : transitions.get(0).toEpochSecond();
+                return Math.max(LEGACY_TRANSITIONS_START_EPOCH_SECOND, firstTransition) + CalendarMath.SECONDS_PER_DAY;
+            });
+        }
+        return start;
+    }
+
+    /**
+     * Unlike {@link Date#toInstant()}, supports {@code java.sql.Date} and {@code Time}, and keeps the
+     * nanoseconds of a {@link Timestamp}.
+     */
+    public static Instant toInstant(Date date) {
+        if (date == null) {
+            return null;
+        }
+        if (date instanceof Timestamp) {
+            return ((Timestamp) date).toInstant();
+        }
+        return Instant.ofEpochMilli(date.getTime());
+    }
+
+    public static Date toDate(Instant instant) {
+        return instant == null ? null : new Date(instant.toEpochMilli());
+    }
+
+    public static Timestamp toTimestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    /**
+     * Same as {@link Timestamp#valueOf(LocalDateTime)}.
+     */
+    public static Timestamp toTimestamp(LocalDateTime localDateTime) {
+        if (localDateTime == null) {
+            return null;
+        }
+        ZoneOffset offset = uniqueOffset(localDateTime);
+        if (offset == null) {
+            return Timestamp.valueOf(localDateTime);
+        }
+        Timestamp timestamp = new Timestamp(localDateTime.toEpochSecond(offset) * 1000);
+        timestamp.setNanos(localDateTime.getNano());
+        return timestamp;
+    }
+
+    /**
+     * Same as {@link java.sql.Date#valueOf(LocalDate)}.
+     */
+    public static java.sql.Date toSqlDate(LocalDate localDate) {
+        if (localDate == null) {
+            return null;
+        }
+        LocalDateTime midnight = localDate.atStartOfDay();
+        ZoneOffset offset = uniqueOffset(midnight);
+        return offset == null ? java.sql.Date.valueOf(localDate)
+                : new java.sql.Date(midnight.toEpochSecond(offset) * 1000);
+    }
+
+    /**
+     * Same as {@link Time#valueOf(LocalTime)}, dropping fractions of a second.
+     */
+    public static Time toSqlTime(LocalTime localTime) {
+        if (localTime == null) {
+            return null;
+        }
+        LocalDateTime onEpochDay = localTime.withNano(0).atDate(TIME_EPOCH);
+        ZoneOffset offset = uniqueOffset(onEpochDay);
+        return offset == null ? Time.valueOf(localTime) : new Time(onEpochDay.toEpochSecond(offset) * 1000);
+    }
+
+    /**
+     * @return offset of the local date-time in the default zone, or {@code null} if there is not exactly
+     * one or the legacy calendar may disagree
+     */
+    private static ZoneOffset uniqueOffset(LocalDateTime localDateTime) {
+        ZoneId zone = defaultZone();
+        if (!isFastPath(localDateTime.toEpochSecond(ZoneOffset.UTC), zone)) {
+            return null;
+        }
+        ZoneRules rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            return rules.getOffset(Instant.EPOCH);
+        }
+        List<ZoneOffset> offsets = rules.getValidOffsets(localDateTime);
+        return offsets.size() == 1 ? offsets.get(0) : null;
+    }
+
+    /**
+     * Same as {@link Timestamp#toLocalDateTime()} for timestamps, and as if a {@link Timestamp} with
+     * no nanoseconds beyond milliseconds for other dates.
+     */
+    public static LocalDateTime toLocalDateTime(Date date) {
+        if (date == null) {
+            return null;
+        }
+        long millis = date.getTime();
+        int nano = date instanceof Timestamp ? ((Timestamp) date).getNanos() : Math.floorMod(millis, 1000) * 1_000_000;
+        long epochSecond = Math.floorDiv(millis, 1000);
+        ZoneId zone = defaultZone();
+        if (!isFastPath(epochSecond, zone)) {
+            Timestamp timestamp = new Timestamp(millis);
+            timestamp.setNanos(nano);
+            return timestamp.toLocalDateTime();
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, nano,
+                zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)));
+    }
+
+    /**
+     * Same as {@link java.sql.Date#toLocalDate()}, for any {@link Date}.
+     */
+    public static LocalDate toLocalDate(Date date) {
+        LocalDateTime localDateTime = toLocalDateTime(date);
+        return localDateTime == null ? null : localDateTime.toLocalDate();
+    }
+
+    /**
+     * Same as {@link Time#toLocalTime()}, for any {@link Date}: fractions of a second are dropped.
+     */
+    public static LocalTime toLocalTime(Date date) {
+        LocalDateTime localDateTime = toLocalDateTime(date);
+        return localDateTime == null ? null : localDateTime.toLocalTime().withNano(0);
+    }
+
+    /**
+     * Same as {@link GregorianCalendar#toZonedDateTime()}, for any {@link Calendar}.
+     */
+    public static ZonedDateTime toZonedDateTime(Calendar calendar) {
+        return calendar == null ? null : ZonedDateTime.ofInstant(Instant.ofEpochMilli(calendar.getTimeInMillis()),
+                toZoneId(calendar.getTimeZone()));
+    }
+
+    /**
+     * Same as {@link GregorianCalendar#from(ZonedDateTime)}: a proleptic Gregorian calendar with ISO
+     * week rules.
+     */
+    public static GregorianCalendar toCalendar(ZonedDateTime zonedDateTime) {
+        if (zonedDateTime == null) {
+            return null;
+        }
+        GregorianCalendar calendar = new GregorianCalendar(toTimeZone(zonedDateTime.getZone()));
+        calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+        calendar.setFirstDayOfWeek(Calendar.MONDAY);
+        calendar.setMinimalDaysInFirstWeek(4);
+        calendar.setTimeInMillis(Math.addExact(Math.multiplyExact(zonedDateTime.toEpochSecond(), 1000),
+                zonedDateTime.getNano() / 1_000_000));
+        return calendar;
+    }
+
+    public static LocalDate toLocalDate(XMLGregorianCalendar calendar) {
+        return calendar == null ? null : LocalDate.of(calendar.getYear(), calendar.getMonth(), calendar.getDay());
+    }
+
+    /**
+     * Ignores the time zone, if any; {@code 24:00:00} converts to midnight.
+     */
+    public static LocalTime toLocalTime(XMLGregorianCalendar calendar) {
+        if (calendar == null) {
+            return null;
+        }
+        return calendar.getHour() == 24 ? LocalTime.MIDNIGHT
+                : LocalTime.of(calendar.getHour(), calendar.getMinute(), calendar.getSecond(), nanoOfSecond(calendar));
+    }
+
+    /**
+     * Ignores the time zone, if any; {@code 24:00:00} converts to midnight of the following day.
+     */
+    public static LocalDateTime toLocalDateTime(XMLGregorianCalendar calendar) {
+        if (calendar == null) {
+            return null;
+        }
+        LocalDate date = toLocalDate(calendar);
+        return calendar.getHour() == 24 ? date.plusDays(1).atStartOfDay()
+                : LocalDateTime.of(date, toLocalTime(calendar));
+    }
+
+    /**
+     * @throws DateTimeException if the calendar has no time zone
+     */
+    public static OffsetDateTime toOffsetDateTime(XMLGregorianCalendar calendar) {
+        if (calendar == null) {
+            return null;
+        }
+        if (calendar.getTimezone() == DatatypeConstants.FIELD_UNDEFINED) {
+            throw new DateTimeException("No offset in " + calendar);
+        }
+        return OffsetDateTime.of(toLocalDateTime(calendar), ZoneOffset.ofTotalSeconds(calendar.getTimezone() * 60));
+    }
+
+    private static int nanoOfSecond(XMLGregorianCalendar calendar) {
+        BigDecimal fraction = calendar.getFractionalSecond();
+        return fraction == null ? 0 : fraction.movePointRight(9).intValue();
+    }
+
+    public static XMLGregorianCalendar toXmlDate(LocalDate date) {
+        return date == null ? null : getXmlDatatypeFactory().newXMLGregorianCalendarDate(date.getYear(),
+                date.getMonthValue(), date.getDayOfMonth(), DatatypeConstants.FIELD_UNDEFINED);
+    }
+
+    public static XMLGregorianCalendar toXmlTime(LocalTime time) {
+        return time == null ? null : getXmlDatatypeFactory().newXMLGregorianCalendarTime(time.getHour(),
+                time.getMinute(), time.getSecond(), fraction(time.getNano()), DatatypeConstants.FIELD_UNDEFINED);
+    }
+
+    public static XMLGregorianCalendar toXmlDateTime(LocalDateTime dateTime) {
+        return dateTime == null ? null : toXmlDateTime(dateTime, DatatypeConstants.FIELD_UNDEFINED);
+    }
+
+    /**
+     * @throws DateTimeException if the offset has seconds, which XML cannot represent
+     */
+    public static XMLGregorianCalendar toXmlDateTime(OffsetDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        int offsetSeconds = dateTime.getOffset().getTotalSeconds();
+        if (offsetSeconds % 60 != 0) {
+            throw new DateTimeException("Offset not representable in XML: " + dateTime.getOffset());
+        }
+        return toXmlDateTime(dateTime.toLocalDateTime(), offsetSeconds / 60);
+    }
+
+    private static XMLGregorianCalendar toXmlDateTime(LocalDateTime dateTime, int timezone) {
+        return getXmlDatatypeFactory().newXMLGregorianCalendar(BigInteger.valueOf(dateTime.getYear()),
+                dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(), dateTime.getMinute(),
+                dateTime.getSecond(), fraction(dateTime.getNano()), timezone);
+    }
+
+    private static BigDecimal fraction(int nano) {
+        return nano == 0 ? null : BigDecimal.valueOf(nano, 9).stripTrailingZeros();
+    }
+
+}
@@ -0,0 +1,205 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.getXmlDatatypeFactory;
+import static gdabski.training.datetime.LegacyDateTimeConversions.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LegacyDateTimeConversionsTest {
+
+    private static final List<ZoneId> ZONES = List.of("Europe/Warsaw", "America/Sao_Paulo", "Australia/Lord_Howe",
+            "America/St_Johns", "Asia/Kolkata", "Pacific/Apia", "Africa/Casablanca", "UTC").stream()
+            .map(ZoneId::of).collect(Collectors.toList());
+
+    private static final long MIN_EPOCH_DAY = LocalDate.of(1000, 1, 1).toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.of(2200, 1, 1).toEpochDay();
+
+    private final SplittableRandom random = new SplittableRandom(20201231);
+    private TimeZone defaultTimeZone;
+
+    @BeforeEach
+    void setUp() {
+        defaultTimeZone = TimeZone.getDefault();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    private LocalDateTime randomLocalDateTime() {
+        return LocalDateTime.of(LocalDate.ofEpochDay(random.nextLong(MIN_EPOCH_DAY, MAX_EPOCH_DAY)),
+                LocalTime.ofNanoOfDay(random.nextLong(CalendarMath.NANOS_PER_DAY)));
+    }
+
+    /**
+     * Random local date-times plus the local date-times around every transition of the zone since 1900.
+     */
+    private List<LocalDateTime> localDateTimes(ZoneId zone) {
+        List<LocalDateTime> values = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            values.add(randomLocalDateTime());
+        }
+        ZoneOffsetTransition transition = zone.getRules().nextTransition(Instant.parse("1900-01-01T00:00:00Z"));
+        while (transition != null && transition.getInstant().isBefore(Instant.parse("2100-01-01T00:00:00Z"))) {
+            for (int minutes = -90; minutes <= 90; minutes += 15) {
+                values.add(transition.getDateTimeBefore().plusMinutes(minutes).withNano(random.nextInt(1_000_000_000)));
+            }
+            transition = zone.getRules().nextTransition(transition.getInstant());
+        }
+        return values;
+    }
+
+    @Test
+    void matchesLegacyConversionsInDefaultZone() {
+        for (ZoneId zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            for (LocalDateTime value : localDateTimes(zone)) {
+                Timestamp timestamp = Timestamp.valueOf(value);
+                assertEquals(timestamp, toTimestamp(value), () -> zone + " " + value);
+                assertEquals(timestamp.toLocalDateTime(), toLocalDateTime(timestamp), () -> zone + " " + value);
+
+                java.sql.Date date = java.sql.Date.valueOf(value.toLocalDate());
+                assertEquals(date.getTime(), toSqlDate(value.toLocalDate()).getTime(), () -> zone + " " + value);
+                assertEquals(date.toLocalDate(), toLocalDate(date), () -> zone + " " + value);
+                assertEquals(new java.sql.Date(timestamp.getTime()).toLocalDate(), toLocalDate(timestamp));
+
+                Time time = Time.valueOf(value.toLocalTime());
+                assertEquals(time.getTime(), toSqlTime(value.toLocalTime()).getTime(), () -> zone + " " + value);
+                assertEquals(time.toLocalTime(), toLocalTime(time), () -> zone + " " + value);
+                assertEquals(new Time(timestamp.getTime()).toLocalTime(), toLocalTime(timestamp));
+            }
+        }
+    }
+
+    @Test
+    void preservesJavaSqlTypesSemantics() {
+        Instant instant = Instant.ofEpochMilli(System.currentTimeMillis());
+        Date javaUtilDate = toDate(instant);
+        Date javaSqlTimestamp = toTimestamp(instant);
+        Date javaSqlDate = toSqlDate(toLocalDate(javaUtilDate));
+        Date javaSqlTime = toSqlTime(toLocalTime(javaUtilDate));
+
+        assertEquals(javaUtilDate, javaSqlTimestamp);
+        assertNotEquals(javaSqlTimestamp, javaUtilDate);
+        assertEquals(java.sql.Date.valueOf(toLocalDate(javaUtilDate)), javaSqlDate);
+        assertEquals(Time.valueOf(toLocalTime(javaUtilDate)), javaSqlTime);
+
+        assertEquals(instant, toInstant(javaSqlTimestamp));
+        assertEquals(Instant.ofEpochMilli(javaSqlDate.getTime()), toInstant(javaSqlDate));
+        assertEquals(Instant.ofEpochMilli(javaSqlTime.getTime()), toInstant(javaSqlTime));
+        Timestamp withNanos = Timestamp.from(instant.plusNanos(123_456));
+        assertEquals(instant.plusNanos(123_456), toInstant(withNanos));
+        assertNull(toInstant(null));
+    }
+
+    @Test
+    void convertsXmlGregorianCalendarByFields() {
+        XMLGregorianCalendar calendar = getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29T20:00:21.123456789+02:00");
+
+        OffsetDateTime expected = OffsetDateTime.parse("2020-12-29T20:00:21.123456789+02:00");
+        assertEquals(expected, toOffsetDateTime(calendar));
+        assertEquals(expected.toLocalDateTime(), toLocalDateTime(calendar));
+        assertEquals(calendar, toXmlDateTime(expected));
+        assertEquals(calendar.toGregorianCalendar().toZonedDateTime().toOffsetDateTime(),
+                toOffsetDateTime(calendar).withNano(123_000_000));
+
+        assertEquals(LocalDate.of(2020, 12, 29), toLocalDate(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29")));
+        assertEquals(LocalTime.of(20, 0, 21, 123456789),
+                toLocalTime(getXmlDatatypeFactory().newXMLGregorianCalendar("20:00:21.123456789")));
+        assertEquals(getXmlDatatypeFactory().newXMLGregorianCalendar("20:00:21.123456789"),
+                toXmlTime(LocalTime.of(20, 0, 21, 123456789)));
+        assertEquals(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29T20:00:21"),
+                toXmlDateTime(LocalDateTime.of(2020, 12, 29, 20, 0, 21)));
+        assertEquals(LocalDateTime.of(2020, 12, 30, 0, 0),
+                toLocalDateTime(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29T24:00:00")));
+    }
+
+    @Test
+    void convertsCalendars() {
+        for (ZoneId zone : ZONES) {
+            for (int i = 0; i < 1000; i++) {
+                ZonedDateTime value = randomLocalDateTime().atZone(zone);
+                GregorianCalendar calendar = GregorianCalendar.from(value);
+                assertEquals(calendar, toCalendar(value));
+                assertEquals(calendar.toZonedDateTime(), toZonedDateTime(calendar));
+            }
+        }
+    }
+
+    @Test
+    void cachesTimeZonesDefensively() {
+        ZoneId zone = ZoneId.of("Europe/Warsaw");
+        TimeZone first = toTimeZone(zone);
+        first.setRawOffset(0);
+        TimeZone second = toTimeZone(zone);
+
+        assertNotSame(first, second);
+        assertEquals(TimeZone.getTimeZone(zone), second);
+        assertEquals(TimeZone.getTimeZone("GMT+02:00"), toTimeZone(ZoneOffset.ofHours(2)));
+        assertEquals(zone, toZoneId(TimeZone.getTimeZone("Europe/Warsaw")));
+    }
+
+    @Test
+    void isThreadSafe() throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Warsaw"));
+        List<LocalDateTime> values = localDateTimes(ZoneId.of("Europe/Warsaw"));
+        List<Timestamp> expected = values.stream().map(Timestamp::valueOf).collect(Collectors.toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 5; round++) {
+                        for (int i = 0; i < values.size(); i++) {
+                            int index = (i * 7 + offset) % values.size();
+                            Timestamp timestamp = toTimestamp(values.get(index));
+                            assertEquals(expected.get(index), timestamp);
+                            assertEquals(expected.get(index).toLocalDateTime(), toLocalDateTime(timestamp));
+                            ZoneId zone = ZONES.get((index + offset) % ZONES.size());
+                            assertEquals(zone, toZoneId(toTimeZone(zone)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package gdabski.training.datetime;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * {@link LocalDate}s as an {@code int} epoch-day, 4 bytes per value. Dates more than about 5.8 million
+ * years away from 1970 are rejected.
+ */
+public final class LocalDateColumn extends TemporalColumn<LocalDate> {
+
+    private LocalDateColumn(int initialCapacity, boolean offHeap) {
+        super(Integer.BYTES, initialCapacity, offHeap);
+    }
+
+    public static LocalDateColumn onHeap(int initialCapacity) {
+        return new LocalDateColumn(initialCapacity, false);
+    }
+
+    public static LocalDateColumn offHeap(int initialCapacity) {
+        return new LocalDateColumn(initialCapacity, true);
+    }
+
+    public int getEpochDay(long index) {
+        return segment(index).getInt(offset(index));
+    }
+
+    @Override
+    protected void write(ByteBuffer buffer, int offset, LocalDate value) {
+        buffer.putInt(offset, Math.toIntExact(value.toEpochDay()));
+    }
+
+    @Override
+    protected LocalDate read(ByteBuffer buffer, int offset) {
+        return LocalDate.ofEpochDay(buffer.getInt(offset));
+    }
+
+    @Override
+    protected int compare(ByteBuffer buffer, int offset, LocalDate value) {
+        return Long.compare(buffer.getInt(offset), value.toEpochDay());
+    }
+
+}
@@ -0,0 +1,74 @@
+package gdabski.training.datetime;
+
+import org.threeten.extra.LocalDateRange;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Immutable index of values by {@link LocalDateRange}, the counterpart of {@link IntervalIndex}, with the
+ * semantics of {@link LocalDateRange#contains(LocalDate)}, {@link LocalDateRange#overlaps(LocalDateRange)}
+ * and {@link LocalDateRange#encloses(LocalDateRange)}. Ranges built with {@link LocalDateRange#ofClosed}
+ * are end-inclusive only in how they are created, so index the same as their end-exclusive equivalents.
+ */
+public final class LocalDateRangeIndex<V> {
+
+    private final LongIntervalTree<V> tree;
+
+    private LocalDateRangeIndex(LongIntervalTree<V> tree) {
+        this.tree = tree;
+    }
+
+    public static LocalDateRangeIndex<LocalDateRange> of(Collection<LocalDateRange> ranges) {
+        return of(ranges, Function.identity());
+    }
+
+    public static <V> LocalDateRangeIndex<V> of(Collection<? extends V> values,
+                                                Function<? super V, LocalDateRange> rangeOf) {
+        long[] starts = new long[values.size()];
+        long[] ends = new long[values.size()];
+        Object[] array = values.toArray();
+        for (int i = 0; i < array.length; i++) {
+            @SuppressWarnings("unchecked")
+            LocalDateRange range = rangeOf.apply((V) array[i]);
+            starts[i] = range.getStart().toEpochDay();
+            ends[i] = endKey(range);
+        }
+        return new LocalDateRangeIndex<>(LongIntervalTree.build(starts, ends, array));
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    public List<V> containing(LocalDate date) {
+        List<V> values = new ArrayList<>();
+        forEachContaining(date, values::add);
+        return values;
+    }
+
+    public void forEachContaining(LocalDate date, Consumer<? super V> action) {
+        tree.stab(date.toEpochDay(), position -> action.accept(tree.value(position)));
+    }
+
+    public List<V> overlapping(LocalDateRange range) {
+        List<V> values = new ArrayList<>();
+        tree.overlapping(range.getStart().toEpochDay(), endKey(range), position -> values.add(tree.value(position)));
+        return values;
+    }
+
+    public List<V> enclosing(LocalDateRange range) {
+        List<V> values = new ArrayList<>();
+        tree.enclosing(range.getStart().toEpochDay(), endKey(range), position -> values.add(tree.value(position)));
+        return values;
+    }
+
+    private static long endKey(LocalDateRange range) {
+        return range.isUnboundedEnd() ? Long.MAX_VALUE : range.getEnd().toEpochDay();
+    }
+
+}
@@ -0,0 +1,40 @@
+package gdabski.training.datetime;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * {@link LocalDateTime}s as epoch-second (as if at UTC) and nano-of-second, 12 bytes per value.
+ */
+public final class LocalDateTimeColumn extends TemporalColumn<LocalDateTime> {
+
+    private LocalDateTimeColumn(int initialCapacity, boolean offHeap) {
+        super(Long.BYTES + Integer.BYTES, initialCapacity, offHeap);
+    }
+
+    public static LocalDateTimeColumn onHeap(int initialCapacity) {
+        return new LocalDateTimeColumn(initialCapacity, false);
+    }
+
+    public static LocalDateTimeColumn offHeap(int initialCapacity) {
+        return new LocalDateTimeColumn(initialCapacity, true);
+    }
+
+    @Override
+    protected void write(ByteBuffer buffer, int offset, LocalDateTime value) {
+        buffer.putLong(offset, value.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(offset + Long.BYTES, value.getNano());
+    }
+
+    @Override
+    protected LocalDateTime read(ByteBuffer buffer, int offset) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(offset), buffer.getInt(offset + Long.BYTES), ZoneOffset.UTC);
+    }
+
+    @Override
+    protected int compare(ByteBuffer buffer, int offset, LocalDateTime value) {
+        return compareSecondsAndNanos(buffer, offset, value.toEpochSecond(ZoneOffset.UTC), value.getNano());
+    }
+
+}
@@ -0,0 +1,22 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.LocalDate;
+
+/**
+ * Maps the {@code xs:date} lexical form to {@link LocalDate} with the scanner of {@link XmlSchemaTemporals},
+ * as a faster replacement for the threeten-jaxb adapter.
+ */
+public final class LocalDateXmlAdapter extends XmlAdapter<String, LocalDate> {
+
+    @Override
+    public LocalDate unmarshal(String value) {
+        return value == null ? null : XmlSchemaTemporals.parseDate(value);
+    }
+
+    @Override
+    public String marshal(LocalDate value) {
+        return value == null ? null : XmlSchemaTemporals.formatDate(value);
+    }
+
+}
@@ -0,0 +1,93 @@
+package gdabski.training.datetime;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * The current date, date-time and offset in the zone of a clock, as {@link LocalDate#now(Clock)},
+ * {@link LocalDateTime#now(Clock)} and the zone rules give them, but consulting the rules only when the
+ * clock leaves the span of the last answer: the day and offset it was in, up to midnight or the next
+ * offset transition, whichever comes first. Thread-safe.
+ */
+public final class LocalNow {
+
+    private final Clock clock;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private volatile Span span = new Span(0, 0, ZoneOffset.UTC, LocalDate.EPOCH);
+
+    public LocalNow(Clock clock) {
+        this.clock = clock;
+        this.zone = clock.getZone();
+        this.rules = zone.getRules();
+    }
+
+    public LocalDate date() {
+        return span(Math.floorDiv(clock.millis(), 1_000)).date;
+    }
+
+    public LocalDateTime dateTime() {
+        Instant instant = clock.instant();
+        Span span = span(instant.getEpochSecond());
+        return LocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), span.offset);
+    }
+
+    public ZoneOffset offset() {
+        return span(Math.floorDiv(clock.millis(), 1_000)).offset;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    private Span span(long epochSecond) {
+        Span span = this.span;
+        if (epochSecond < span.from || epochSecond >= span.until) {
+            span = this.span = resolve(epochSecond);
+        }
+        return span;
+    }
+
+    private Span resolve(long epochSecond) {
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        ZoneOffset offset = rules.getOffset(instant);
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond + offset.getTotalSeconds(), 86_400));
+        long from = date.atStartOfDay(zone).toEpochSecond();
+        long until = date.plusDays(1).atStartOfDay(zone).toEpochSecond();
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        if (previous != null) {
+            from = Math.max(from, previous.toEpochSecond());
+        }
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        if (next != null) {
+            until = Math.min(until, next.toEpochSecond());
+        }
+        return new Span(from, until, offset, date);
+    }
+
+    /**
+     * Seconds from {@code from} inclusive to {@code until} exclusive on one date at one offset.
+     */
+    private static final class Span {
+
+        final long from;
+        final long until;
+        final ZoneOffset offset;
+        final LocalDate date;
+
+        Span(long from, long until, ZoneOffset offset, LocalDate date) {
+            this.from = from;
+            this.until = until;
+            this.offset = offset;
+            this.date = date;
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.LocalTime;
+
+/**
+ * Maps the {@code xs:time} lexical form to {@link LocalTime} with the scanner of {@link XmlSchemaTemporals},
+ * as a faster replacement for the threeten-jaxb adapter.
+ */
+public final class LocalTimeXmlAdapter extends XmlAdapter<String, LocalTime> {
+
+    @Override
+    public LocalTime unmarshal(String value) {
+        return value == null ? null : XmlSchemaTemporals.parseTime(value);
+    }
+
+    @Override
+    public String marshal(LocalTime value) {
+        return value == null ? null : XmlSchemaTemporals.formatTime(value);
+    }
+
+}
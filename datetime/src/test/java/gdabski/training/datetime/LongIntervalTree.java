@@ -0,0 +1,263 @@
+package gdabski.training.datetime;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable augmented interval tree over half-open {@code [start, end)} intervals of {@code long}s, where
+ * an end of {@link Long#MAX_VALUE} is unbounded and includes {@link Long#MAX_VALUE} itself. Intervals are
+ * kept in arrays sorted by start, the middle of each range being the root of the tree over that range,
+ * with the greatest end within the range; queries report positions in the arrays, in ascending order.
+ * Queries take O(log n + k) for k reported intervals, since subtrees ending too early or starting too late
+ * are skipped.
+ */
+final class LongIntervalTree<V> {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final Object[] values;
+
+    private LongIntervalTree(long[] starts, long[] ends, Object[] values) {
+        this.starts = starts;
+        this.ends = ends;
+        this.values = values;
+        this.maxEnds = new long[starts.length];
+        computeMaxEnds(0, starts.length);
+    }
+
+    /**
+     * Builds a tree over the given arrays, which it keeps if already sorted by start, then end, and copies
+     * in that order otherwise.
+     */
+    static <V> LongIntervalTree<V> build(long[] starts, long[] ends, Object[] values) {
+        int size = starts.length;
+        if (ends.length != size || values.length != size) {
+            throw new IllegalArgumentException("Arrays of different lengths");
+        }
+        for (int i = 0; i < size; i++) {
+            if (ends[i] < starts[i]) {
+                throw new IllegalArgumentException("End before start: " + starts[i] + ", " + ends[i]);
+            }
+        }
+        if (!isSorted(starts, ends)) {
+            starts = starts.clone();
+            ends = ends.clone();
+            int[] order = new int[size];
+            Arrays.setAll(order, i -> i);
+            sort(starts, ends, order, new long[size], new long[size], new int[size], 0, size);
+            Object[] sortedValues = new Object[size];
+            for (int i = 0; i < size; i++) {
+                sortedValues[i] = values[order[i]];
+            }
+            values = sortedValues;
+        }
+        return new LongIntervalTree<>(starts, ends, values);
+    }
+
+    /**
+     * Merges two trees, leaving out the positions set in {@code removedA} and {@code removedB}.
+     */
+    static <V> LongIntervalTree<V> merge(LongIntervalTree<V> a, BitSet removedA, LongIntervalTree<V> b, BitSet removedB) {
+        int size = a.size() - removedA.cardinality() + b.size() - removedB.cardinality();
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        Object[] values = new Object[size];
+        int i = removedA.nextClearBit(0);
+        int j = removedB.nextClearBit(0);
+        for (int k = 0; k < size; k++) {
+            boolean takeA = j >= b.size() || i < a.size() && compare(a.starts[i], a.ends[i], b.starts[j], b.ends[j]) <= 0;
+            LongIntervalTree<V> source = takeA ? a : b;
+            int position = takeA ? i : j;
+            starts[k] = source.starts[position];
+            ends[k] = source.ends[position];
+            values[k] = source.values[position];
+            if (takeA) {
+                i = removedA.nextClearBit(i + 1);
+            } else {
+                j = removedB.nextClearBit(j + 1);
+            }
+        }
+        return new LongIntervalTree<>(starts, ends, values);
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    V value(int position) {
+        return (V) values[position];
+    }
+
+    /**
+     * Reports the intervals containing {@code point}.
+     */
+    void stab(long point, IntConsumer positions) {
+        stab(point, 0, starts.length, positions);
+    }
+
+    private void stab(long point, int from, int to, IntConsumer positions) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (maxEnds[middle] <= point && maxEnds[middle] != Long.MAX_VALUE) {
+                return;
+            }
+            stab(point, from, middle, positions);
+            if (starts[middle] > point) {
+                return;
+            }
+            if (ends[middle] > point || ends[middle] == Long.MAX_VALUE) {
+                positions.accept(middle);
+            }
+            from = middle + 1;
+        }
+    }
+
+    /**
+     * Reports the intervals overlapping {@code [from, to)}, as in {@code Interval.overlaps}: sharing some
+     * point, or equal.
+     */
+    void overlapping(long from, long to, IntConsumer positions) {
+        overlapping(from, to, 0, starts.length, positions);
+    }
+
+    private void overlapping(long queryFrom, long queryTo, int from, int to, IntConsumer positions) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (maxEnds[middle] < queryFrom) {
+                return;
+            }
+            overlapping(queryFrom, queryTo, from, middle, positions);
+            if (starts[middle] > queryTo) {
+                return;
+            }
+            if (starts[middle] < queryTo && ends[middle] > queryFrom
+                    || starts[middle] == queryFrom && ends[middle] == queryTo) {
+                positions.accept(middle);
+            }
+            from = middle + 1;
+        }
+    }
+
+    /**
+     * Reports the intervals enclosing {@code [from, to)}.
+     */
+    void enclosing(long from, long to, IntConsumer positions) {
+        enclosing(from, to, 0, starts.length, positions);
+    }
+
+    private void enclosing(long queryFrom, long queryTo, int from, int to, IntConsumer positions) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (maxEnds[middle] < queryTo) {
+                return;
+            }
+            enclosing(queryFrom, queryTo, from, middle, positions);
+            if (starts[middle] > queryFrom) {
+                return;
+            }
+            if (ends[middle] >= queryTo) {
+                positions.accept(middle);
+            }
+            from = middle + 1;
+        }
+    }
+
+    /**
+     * @return the first position of the given interval and value at or after {@code from}, or -1
+     */
+    int indexOf(long start, long end, Object value, int from) {
+        int position = firstStart(start, from);
+        for (; position < starts.length && starts[position] == start; position++) {
+            if (ends[position] == end && Objects.equals(value, values[position])) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private int firstStart(long start, int from) {
+        int low = from;
+        int high = starts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < start) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return Math.max(low, from);
+    }
+
+    private long computeMaxEnds(int from, int to) {
+        if (from >= to) {
+            return Long.MIN_VALUE;
+        }
+        int middle = (from + to) >>> 1;
+        long maxEnd = Math.max(ends[middle], Math.max(computeMaxEnds(from, middle), computeMaxEnds(middle + 1, to)));
+        maxEnds[middle] = maxEnd;
+        return maxEnd;
+    }
+
+    private static int compare(long startA, long endA, long startB, long endB) {
+        int result = Long.compare(startA, startB);
+        return result != 0 ? result : Long.compare(endA, endB);
+    }
+
+    private static boolean isSorted(long[] starts, long[] ends) {
+        for (int i = 1; i < starts.length; i++) {
+            if (compare(starts[i - 1], ends[i - 1], starts[i], ends[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stable merge sort by start, then end, moving the positions along with the keys rather than sorting
+     * positions by keys looked up through them, which scatters memory accesses.
+     */
+    private static void sort(long[] starts, long[] ends, int[] order,
+                             long[] startBuffer, long[] endBuffer, int[] orderBuffer, int from, int to) {
+        if (to - from <= 32) {
+            for (int i = from + 1; i < to; i++) {
+                long start = starts[i];
+                long end = ends[i];
+                int position = order[i];
+                int j = i - 1;
+                for (; j >= from && compare(starts[j], ends[j], start, end) > 0; j--) {
+                    starts[j + 1] = starts[j];
+                    ends[j + 1] = ends[j];
+                    order[j + 1] = order[j];
+                }
+                starts[j + 1] = start;
+                ends[j + 1] = end;
+                order[j + 1] = position;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(starts, ends, order, startBuffer, endBuffer, orderBuffer, from, middle);
+        sort(starts, ends, order, startBuffer, endBuffer, orderBuffer, middle, to);
+        if (compare(starts[middle - 1], ends[middle - 1], starts[middle], ends[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(starts, from, startBuffer, from, to - from);
+        System.arraycopy(ends, from, endBuffer, from, to - from);
+        System.arraycopy(order, from, orderBuffer, from, to - from);
+        int i = from;
+        int j = middle;
+        for (int k = from; k < to; k++) {
+            boolean left = j >= to || i < middle && compare(startBuffer[i], endBuffer[i], startBuffer[j], endBuffer[j]) <= 0;
+            int source = left ? i++ : j++;
+            starts[k] = startBuffer[source];
+            ends[k] = endBuffer[source];
+            order[k] = orderBuffer[source];
+        }
+    }
+
+}
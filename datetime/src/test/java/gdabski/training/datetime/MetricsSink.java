@@ -0,0 +1,11 @@
+package gdabski.training.datetime;
+
+/**
+ * Where {@link DateTimeMetrics} are published; called on demand, by the application or its scheduler.
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+    void export(DateTimeMetrics metrics);
+
+}
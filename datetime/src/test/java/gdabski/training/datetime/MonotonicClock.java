@@ -0,0 +1,56 @@
+package gdabski.training.datetime;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.function.LongSupplier;
+
+/**
+ * A clock counting {@link System#nanoTime()} from an instant read off a wall clock on creation: nanosecond
+ * resolution, and never going backwards when the wall clock is stepped back. In exchange it drifts from
+ * the wall clock, by as much as the wall clock is adjusted after creation; create a new one to re-anchor.
+ * {@link #withZone} views share the anchor.
+ */
+public final class MonotonicClock extends Clock {
+
+    private final Instant anchor;
+    private final long anchorNanos;
+    private final LongSupplier nanoTime;
+    private final ZoneId zone;
+
+    public MonotonicClock(Clock wallClock) {
+        this(wallClock, System::nanoTime);
+    }
+
+    MonotonicClock(Clock wallClock, LongSupplier nanoTime) {
+        this(wallClock.instant(), nanoTime.getAsLong(), nanoTime, wallClock.getZone());
+    }
+
+    private MonotonicClock(Instant anchor, long anchorNanos, LongSupplier nanoTime, ZoneId zone) {
+        this.anchor = anchor;
+        this.anchorNanos = anchorNanos;
+        this.nanoTime = nanoTime;
+        this.zone = zone;
+    }
+
+    @Override
+    public Instant instant() {
+        return anchor.plusNanos(nanoTime.getAsLong() - anchorNanos);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new MonotonicClock(anchor, anchorNanos, nanoTime, zone);
+    }
+
+    @Override
+    public String toString() {
+        return "MonotonicClock[" + anchor + "," + zone + "]";
+    }
+
+}
@@ -0,0 +1,46 @@
+package gdabski.training.datetime;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * {@link OffsetDateTime}s as epoch-second, nano-of-second and offset seconds, 16 bytes per value.
+ * Searches order values by instant.
+ */
+public final class OffsetDateTimeColumn extends TemporalColumn<OffsetDateTime> {
+
+    private static final int OFFSET = Long.BYTES + Integer.BYTES;
+
+    private OffsetDateTimeColumn(int initialCapacity, boolean offHeap) {
+        super(OFFSET + Integer.BYTES, initialCapacity, offHeap);
+    }
+
+    public static OffsetDateTimeColumn onHeap(int initialCapacity) {
+        return new OffsetDateTimeColumn(initialCapacity, false);
+    }
+
+    public static OffsetDateTimeColumn offHeap(int initialCapacity) {
+        return new OffsetDateTimeColumn(initialCapacity, true);
+    }
+
+    @Override
+    protected void write(ByteBuffer buffer, int offset, OffsetDateTime value) {
+        buffer.putLong(offset, value.toEpochSecond());
+        buffer.putInt(offset + Long.BYTES, value.getNano());
+        buffer.putInt(offset + OFFSET, value.getOffset().getTotalSeconds());
+    }
+
+    @Override
+    protected OffsetDateTime read(ByteBuffer buffer, int offset) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(buffer.getLong(offset), buffer.getInt(offset + Long.BYTES)),
+                ZoneOffset.ofTotalSeconds(buffer.getInt(offset + OFFSET)));
+    }
+
+    @Override
+    protected int compare(ByteBuffer buffer, int offset, OffsetDateTime value) {
+        return compareSecondsAndNanos(buffer, offset, value.toEpochSecond(), value.getNano());
+    }
+
+}
@@ -0,0 +1,22 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.OffsetDateTime;
+
+/**
+ * Maps the {@code xs:dateTime} lexical form to {@link OffsetDateTime} with the scanner of {@link XmlSchemaTemporals},
+ * as a faster replacement for the threeten-jaxb adapter.
+ */
+public final class OffsetDateTimeXmlAdapter extends XmlAdapter<String, OffsetDateTime> {
+
+    @Override
+    public OffsetDateTime unmarshal(String value) {
+        return value == null ? null : XmlSchemaTemporals.parseDateTime(value);
+    }
+
+    @Override
+    public String marshal(OffsetDateTime value) {
+        return value == null ? null : XmlSchemaTemporals.formatDateTime(value);
+    }
+
+}
@@ -0,0 +1,164 @@
+package gdabski.training.datetime;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Converts a sequence of values in chunks on a pool of workers and hands the results to the caller's
+ * consumer in input order. The caller's thread reads the input, submits chunks and writes the results of
+ * the oldest chunk once {@code maxInFlight} chunks are unwritten, so at most that many chunks are held
+ * in memory and a slow consumer slows down the reading.
+ * <p>
+ * Converters are not expected to be thread-safe: each is used by one worker at a time and kept for the
+ * next chunk, so there are at most as many as chunks in flight, usually as many as workers.
+ */
+public final class OrderedBatchConverter<I, O> implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final Supplier<? extends Function<? super I, ? extends O>> converterFactory;
+    private final Queue<Function<? super I, ? extends O>> idleConverters = new ConcurrentLinkedQueue<>();
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Converts on a pool of its own of {@code parallelism} threads, shut down by {@link #close()}, keeping
+     * twice as many chunks in flight.
+     */
+    public OrderedBatchConverter(Supplier<? extends Function<? super I, ? extends O>> converterFactory,
+                                 int parallelism, int chunkSize) {
+        this(converterFactory, chunkSize, 2 * parallelism, null, workerExecutor(parallelism));
+    }
+
+    /**
+     * Converts on the given executor, e.g. a {@code ForkJoinPool} or a virtual thread per task executor.
+     */
+    public OrderedBatchConverter(Supplier<? extends Function<? super I, ? extends O>> converterFactory,
+                                 int chunkSize, int maxInFlight, Executor executor) {
+        this(converterFactory, chunkSize, maxInFlight, executor, null);
+    }
+
+    private OrderedBatchConverter(Supplier<? extends Function<? super I, ? extends O>> converterFactory,
+                                  int chunkSize, int maxInFlight, Executor executor, ExecutorService ownedExecutor) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Chunks in flight must be positive: " + maxInFlight);
+        }
+        this.converterFactory = converterFactory;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+        this.executor = executor != null ? executor : ownedExecutor;
+        this.ownedExecutor = ownedExecutor;
+    }
+
+    private static ExecutorService workerExecutor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + threads);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "datetime-convert-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Converts every input value, passing the results to the output on the caller's thread in input order.
+     * If a conversion or the output fails, chunks not yet started are skipped and the failure is rethrown,
+     * unchecked exceptions as they are.
+     *
+     * @return the number of values converted
+     */
+    public long convert(Iterator<? extends I> input, Consumer<? super O> output) {
+        Deque<CompletableFuture<List<O>>> inFlight = new ArrayDeque<>(maxInFlight);
+        long count = 0;
+        try {
+            while (input.hasNext()) {
+                List<I> chunk = new ArrayList<>(chunkSize);
+                while (chunk.size() < chunkSize && input.hasNext()) {
+                    chunk.add(input.next());
+                }
+                if (inFlight.size() == maxInFlight) {
+                    count += write(inFlight.removeFirst(), output);
+                }
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> convert(chunk), executor));
+            }
+            while (!inFlight.isEmpty()) {
+                count += write(inFlight.removeFirst(), output);
+            }
+            return count;
+        } finally {
+            inFlight.forEach(future -> future.cancel(false));
+        }
+    }
+
+    private List<O> convert(List<I> chunk) {
+        Function<? super I, ? extends O> converter = idleConverters.poll();
+        if (converter == null) {
+            converter = converterFactory.get();
+        }
+        List<O> results = new ArrayList<>(chunk.size());
+        for (I value : chunk) {
+            results.add(converter.apply(value));
+        }
+        idleConverters.add(converter); // not returned after a failure, its state being unknown
+        return results;
+    }
+
+    private static <O> int write(CompletableFuture<List<O>> future, Consumer<? super O> output) {
+        List<O> results;
+        try {
+            results = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        results.forEach(output);
+        return results.size();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Shuts down the executor created by this converter, if any.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToJson;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderedBatchConverterTest {
+
+    private static final List<Integer> INPUT = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+
+    /**
+     * Squares values, now and then after a pause, so that chunks complete out of order.
+     */
+    private static Function<Integer, Long> unevenSquare() {
+        SplittableRandom random = new SplittableRandom(22);
+        return value -> {
+            if (random.nextInt(100) == 0) {
+                LockSupport.parkNanos(random.nextLong(1_000_000));
+            }
+            return (long) value * value;
+        };
+    }
+
+    private static List<Long> squares() {
+        return INPUT.stream().map(value -> (long) value * value).collect(Collectors.toList());
+    }
+
+    @Test
+    void keepsInputOrder() {
+        List<Long> output = new ArrayList<>();
+        try (OrderedBatchConverter<Integer, Long> converter = new OrderedBatchConverter<>(
+                OrderedBatchConverterTest::unevenSquare, 4, 7)) {
+            assertEquals(INPUT.size(), converter.convert(INPUT.iterator(), output::add));
+        }
+        assertEquals(squares(), output);
+
+        output.clear();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try (OrderedBatchConverter<Integer, Long> converter = new OrderedBatchConverter<>(
+                OrderedBatchConverterTest::unevenSquare, 100, 5, pool)) {
+            converter.convert(INPUT.iterator(), output::add);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(squares(), output);
+    }
+
+    @Test
+    void boundsValuesInFlightAndConverters() {
+        AtomicInteger converted = new AtomicInteger();
+        AtomicInteger converters = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        try (OrderedBatchConverter<Integer, Integer> converter = new OrderedBatchConverter<>(() -> {
+            converters.incrementAndGet();
+            return value -> {
+                converted.incrementAndGet();
+                return value;
+            };
+        }, 3, 10)) {
+            converter.convert(INPUT.iterator(), value -> {
+                if (value % 1_000 == 0) {
+                    LockSupport.parkNanos(1_000_000); // a slow consumer
+                }
+                assertTrue(converted.get() - written.getAndIncrement() <= 6 * 10);
+            });
+        }
+        assertEquals(INPUT.size(), written.get());
+        assertTrue(converters.get() <= 6, converters + " converters");
+    }
+
+    @Test
+    void stopsAtFirstFailure() {
+        IllegalArgumentException failure = new IllegalArgumentException();
+        AtomicInteger converted = new AtomicInteger();
+        List<Integer> output = new ArrayList<>();
+        try (OrderedBatchConverter<Integer, Integer> converter = new OrderedBatchConverter<>(() -> value -> {
+            converted.incrementAndGet();
+            if (value == 5_000) {
+                throw failure;
+            }
+            return value;
+        }, 2, 10)) {
+            assertSame(failure, assertThrows(IllegalArgumentException.class,
+                    () -> converter.convert(INPUT.iterator(), output::add)));
+        }
+        assertTrue(output.size() <= 5_000 && output.equals(INPUT.subList(0, output.size())));
+        assertTrue(converted.get() < 5_000 + 4 * 10, converted + " converted");
+    }
+
+    @Test
+    void convertsXmlLinesAsDeserializeThenSerialize() {
+        List<String> xml = IntStream.range(0, 2_000).mapToObj(XmlBeanStreamsTest::improvedBean)
+                .map(DateTimeTypesUtils::serializeToXml).collect(Collectors.toList());
+        StringWriter json = new StringWriter();
+        try (OrderedBatchConverter<String, String> converter = new OrderedBatchConverter<>(
+                () -> DateTimeTypesUtils.xmlToJsonConverter(ImprovedBean.class), 4, 16)) {
+            assertEquals(xml.size(), XmlToJsonBatch.convert(converter,
+                    new BufferedReader(new StringReader(String.join("\n", xml) + "\n\n")), json));
+        }
+        String expected = xml.stream().map(document -> serializeToJson(deserializeFromXml(document, ImprovedBean.class)))
+                .map(document -> document + "\n").collect(Collectors.joining());
+        assertEquals(expected, json.toString());
+        assertTrue(serializeToXml(XmlBeanStreamsTest.improvedBean(0)).indexOf('\n') < 0);
+    }
+
+}
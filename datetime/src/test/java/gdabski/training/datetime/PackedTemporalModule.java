@@ -0,0 +1,371 @@
+package gdabski.training.datetime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Serializers and deserializers writing JSR-310 values as numbers instead of ISO-8601 text, for binary
+ * formats such as Smile, where a small number takes a byte or a few:
+ * <ul>
+ * <li>{@link LocalDate} as its epoch day, {@link LocalTime} as its nano of day,</li>
+ * <li>{@link Instant} and {@link LocalDateTime} (taken at UTC) as {@code [epochSecond, nano]},</li>
+ * <li>{@link OffsetDateTime} as {@code [epochSecond, nano, offsetSeconds]},</li>
+ * <li>{@link ZonedDateTime} as {@code [epochSecond, nano, zone]}, where the zone is its {@link ZoneRegistry}
+ * code if it is a region id listed in the registry's append-only dictionary, and its id otherwise.</li>
+ * </ul>
+ * Date-times are read back at the instant written, so a {@link ZonedDateTime} comes back with the same
+ * zone and offset however its local time is ambiguous. Zone codes mean the same zone whatever the time zone
+ * database, though a JVM whose database lacks the zone cannot read it back; codes outside the dictionary
+ * are rejected.
+ */
+public final class PackedTemporalModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public PackedTemporalModule(ZoneRegistry registry) {
+        super(PackedTemporalModule.class.getSimpleName());
+        addSerializer(LocalDate.class, new LocalDateSerializer());
+        addSerializer(LocalTime.class, new LocalTimeSerializer());
+        addSerializer(Instant.class, new InstantSerializer());
+        addSerializer(LocalDateTime.class, new LocalDateTimeSerializer());
+        addSerializer(OffsetDateTime.class, new OffsetDateTimeSerializer());
+        addSerializer(ZonedDateTime.class, new ZonedDateTimeSerializer(registry));
+        addDeserializer(LocalDate.class, new LocalDateDeserializer());
+        addDeserializer(LocalTime.class, new LocalTimeDeserializer());
+        addDeserializer(Instant.class, new InstantDeserializer());
+        addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer());
+        addDeserializer(OffsetDateTime.class, new OffsetDateTimeDeserializer());
+        addDeserializer(ZonedDateTime.class, new ZonedDateTimeDeserializer(registry));
+    }
+
+    private static final class LocalDateSerializer extends StdSerializer<LocalDate> {
+
+        private static final long serialVersionUID = 1L;
+
+        LocalDateSerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeNumber(value.toEpochDay());
+        }
+
+    }
+
+    private static final class LocalTimeSerializer extends StdSerializer<LocalTime> {
+
+        private static final long serialVersionUID = 1L;
+
+        LocalTimeSerializer() {
+            super(LocalTime.class);
+        }
+
+        @Override
+        public void serialize(LocalTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeNumber(value.toNanoOfDay());
+        }
+
+    }
+
+    private static final class InstantSerializer extends StdSerializer<Instant> {
+
+        private static final long serialVersionUID = 1L;
+
+        InstantSerializer() {
+            super(Instant.class);
+        }
+
+        @Override
+        public void serialize(Instant value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartArray();
+            generator.writeNumber(value.getEpochSecond());
+            generator.writeNumber(value.getNano());
+            generator.writeEndArray();
+        }
+
+    }
+
+    private static final class LocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+        private static final long serialVersionUID = 1L;
+
+        LocalDateTimeSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartArray();
+            generator.writeNumber(value.toEpochSecond(ZoneOffset.UTC));
+            generator.writeNumber(value.getNano());
+            generator.writeEndArray();
+        }
+
+    }
+
+    private static final class OffsetDateTimeSerializer extends StdSerializer<OffsetDateTime> {
+
+        private static final long serialVersionUID = 1L;
+
+        OffsetDateTimeSerializer() {
+            super(OffsetDateTime.class);
+        }
+
+        @Override
+        public void serialize(OffsetDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartArray();
+            generator.writeNumber(value.toEpochSecond());
+            generator.writeNumber(value.getNano());
+            generator.writeNumber(value.getOffset().getTotalSeconds());
+            generator.writeEndArray();
+        }
+
+    }
+
+    private static final class ZonedDateTimeSerializer extends StdSerializer<ZonedDateTime> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ZoneRegistry registry;
+
+        ZonedDateTimeSerializer(ZoneRegistry registry) {
+            super(ZonedDateTime.class);
+            this.registry = registry;
+        }
+
+        @Override
+        public void serialize(ZonedDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartArray();
+            generator.writeNumber(value.toEpochSecond());
+            generator.writeNumber(value.getNano());
+            int code = value.getZone() instanceof ZoneOffset ? -1 : registry.code(value.getZone());
+            if (code >= 0 && code < registry.dictionarySize()) {
+                generator.writeNumber(code);
+            } else {
+                generator.writeString(value.getZone().getId());
+            }
+            generator.writeEndArray();
+        }
+
+    }
+
+    /**
+     * Reports values out of range, unknown zones and tokens out of place as mapping errors.
+     */
+    private abstract static class PackedDeserializer<T> extends StdDeserializer<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        PackedDeserializer(Class<T> type) {
+            super(type);
+        }
+
+        @Override
+        public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            try {
+                return read(parser, context);
+            } catch (DateTimeException e) {
+                throw context.instantiationException(handledType(), e);
+            }
+        }
+
+        abstract T read(JsonParser parser, DeserializationContext context) throws IOException;
+
+        @SuppressWarnings("unchecked")
+        T unexpected(JsonParser parser, DeserializationContext context) throws IOException {
+            return (T) context.handleUnexpectedToken(handledType(), parser);
+        }
+
+        long nextLong(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.nextToken() != JsonToken.VALUE_NUMBER_INT) {
+                context.reportWrongTokenException(this, JsonToken.VALUE_NUMBER_INT, "Expected packed %s",
+                        handledType().getSimpleName());
+            }
+            return parser.getLongValue();
+        }
+
+        int nextInt(JsonParser parser, DeserializationContext context) throws IOException {
+            long value = nextLong(parser, context);
+            if (value != (int) value) {
+                throw new DateTimeException("Value out of range: " + value);
+            }
+            return (int) value;
+        }
+
+        T end(T value, JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                context.reportWrongTokenException(this, JsonToken.END_ARRAY, "Expected end of packed %s",
+                        handledType().getSimpleName());
+            }
+            return value;
+        }
+
+    }
+
+    private static final class LocalDateDeserializer extends PackedDeserializer<LocalDate> {
+
+        private static final long serialVersionUID = 1L;
+
+        LocalDateDeserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        LocalDate read(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return unexpected(parser, context);
+            }
+            return LocalDate.ofEpochDay(parser.getLongValue());
+        }
+
+    }
+
+    private static final class LocalTimeDeserializer extends PackedDeserializer<LocalTime> {
+
+        private static final long serialVersionUID = 1L;
+
+        LocalTimeDeserializer() {
+            super(LocalTime.class);
+        }
+
+        @Override
+        LocalTime read(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return unexpected(parser, context);
+            }
+            return LocalTime.ofNanoOfDay(parser.getLongValue());
+        }
+
+    }
+
+    private static final class InstantDeserializer extends PackedDeserializer<Instant> {
+
+        private static final long serialVersionUID = 1L;
+
+        InstantDeserializer() {
+            super(Instant.class);
+        }
+
+        @Override
+        Instant read(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return unexpected(parser, context);
+            }
+            long epochSecond = nextLong(parser, context);
+            int nano = nextInt(parser, context);
+            return end(Instant.ofEpochSecond(epochSecond, nano), parser, context);
+        }
+
+    }
+
+    private static final class LocalDateTimeDeserializer extends PackedDeserializer<LocalDateTime> {
+
+        private static final long serialVersionUID = 1L;
+
+        LocalDateTimeDeserializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        LocalDateTime read(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return unexpected(parser, context);
+            }
+            long epochSecond = nextLong(parser, context);
+            int nano = nextInt(parser, context);
+            return end(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC), parser, context);
+        }
+
+    }
+
+    private static final class OffsetDateTimeDeserializer extends PackedDeserializer<OffsetDateTime> {
+
+        private static final long serialVersionUID = 1L;
+
+        OffsetDateTimeDeserializer() {
+            super(OffsetDateTime.class);
+        }
+
+        @Override
+        OffsetDateTime read(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return unexpected(parser, context);
+            }
+            long epochSecond = nextLong(parser, context);
+            int nano = nextInt(parser, context);
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(nextInt(parser, context));
+            return end(OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset), parser, context);
+        }
+
+    }
+
+    private static final class ZonedDateTimeDeserializer extends PackedDeserializer<ZonedDateTime> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ZoneRegistry registry;
+
+        ZonedDateTimeDeserializer(ZoneRegistry registry) {
+            super(ZonedDateTime.class);
+            this.registry = registry;
+        }
+
+        @Override
+        ZonedDateTime read(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return unexpected(parser, context);
+            }
+            long epochSecond = nextLong(parser, context);
+            int nano = nextInt(parser, context);
+            ZoneId zone;
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                zone = zone(parser.getIntValue());
+            } else if (token == JsonToken.VALUE_STRING) {
+                zone = registry.zoneId(parser.getText());
+            } else {
+                context.reportWrongTokenException(this, JsonToken.VALUE_NUMBER_INT, "Expected zone of packed %s",
+                        handledType().getSimpleName());
+                return null;
+            }
+            return end(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), zone), parser, context);
+        }
+
+        /**
+         * Only codes of the registry's dictionary are written; others depend on this JVM's time zone
+         * database, so they could only come from a corrupt or foreign payload.
+         */
+        private ZoneId zone(int code) {
+            if (code < 0 || code >= registry.dictionarySize()) {
+                throw new DateTimeException("Zone code out of dictionary: " + code);
+            }
+            return registry.zone(code);
+        }
+
+    }
+
+}
@@ -0,0 +1,136 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromJson;
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromSmile;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToJson;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToSmile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedTemporalModuleTest {
+
+    private static <T> T roundTrip(T value, Class<T> type) {
+        return deserializeFromSmile(serializeToSmile(value), type);
+    }
+
+    @Test
+    void roundTripsEveryType() {
+        for (ZonedDateTime value : IsoTemporalModuleTest.corpus()) {
+            assertEquals(value, roundTrip(value, ZonedDateTime.class));
+            assertEquals(value.toOffsetDateTime(), roundTrip(value.toOffsetDateTime(), OffsetDateTime.class));
+            assertEquals(value.toInstant(), roundTrip(value.toInstant(), Instant.class));
+            assertEquals(value.toLocalDateTime(), roundTrip(value.toLocalDateTime(), LocalDateTime.class));
+            assertEquals(value.toLocalDate(), roundTrip(value.toLocalDate(), LocalDate.class));
+            assertEquals(value.toLocalTime(), roundTrip(value.toLocalTime(), LocalTime.class));
+        }
+        ImprovedBean bean = XmlBeanStreamsTest.improvedBean(0);
+        assertEquals(bean, roundTrip(bean, ImprovedBean.class));
+    }
+
+    /**
+     * The instant is written rather than the local time, so neither an ambiguous local time nor a shift of
+     * the zone's offset, as in {@code demonstrateZonedDateTimeCornerCasesWhenSerializing}, changes it.
+     */
+    @Test
+    void keepsZonesAndOffsetsAsJsonDoes() {
+        ZoneId warsaw = ZoneId.of("Europe/Warsaw");
+        List<ZonedDateTime> values = List.of(LocalDate.of(2038, Month.DECEMBER, 29).atStartOfDay(warsaw),
+                ZonedDateTime.of(2021, 10, 31, 2, 30, 0, 0, warsaw),
+                ZonedDateTime.of(2021, 10, 31, 2, 30, 0, 0, warsaw).withLaterOffsetAtOverlap(),
+                ZonedDateTime.of(2021, 3, 28, 2, 30, 0, 0, warsaw),
+                ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(-3)),
+                ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC+01:00")));
+        for (ZonedDateTime value : values) {
+            assertEquals(value, roundTrip(value, ZonedDateTime.class));
+            assertEquals(deserializeFromJson(serializeToJson(value), ZonedDateTime.class),
+                    roundTrip(value, ZonedDateTime.class));
+        }
+        assertNotEquals(values.get(1), values.get(2));
+    }
+
+    @Test
+    void writesRegionCodesAndOtherZoneIds() {
+        String region = new String(serializeToSmile(ZonedDateTime.now(ZoneId.of("Europe/Warsaw"))),
+                StandardCharsets.ISO_8859_1);
+        String offset = new String(serializeToSmile(ZonedDateTime.now(ZoneId.of("UTC+01:00"))),
+                StandardCharsets.ISO_8859_1);
+        assertTrue(!region.contains("Warsaw") && offset.contains("UTC+01:00"));
+        assertTrue(DateTimeTypesUtils.getZoneRegistry().dictionarySize() > 500);
+    }
+
+    /**
+     * Fails if the code of a zone changes, which would make data written before read back in another zone.
+     */
+    @Test
+    void keepsEncodingOfZones() {
+        ZonedDateTime value = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneId.of("Europe/Warsaw"));
+        byte[] smile = serializeToSmile(value);
+
+        assertEquals("3a290a01f824177d653fa0c0240f8af9", hex(smile));
+        assertEquals(value, deserializeFromSmile(smile, ZonedDateTime.class));
+    }
+
+    @Test
+    void rejectsZoneCodesOutOfDictionary() {
+        ZoneRegistry registry = DateTimeTypesUtils.getZoneRegistry();
+        int warsaw = registry.code(ZoneId.of("Europe/Warsaw"));
+        ZonedDateTime value = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneId.of("Europe/Warsaw"));
+
+        assertEquals(value, deserializeFromSmile(serializeToSmile(new long[]{value.toEpochSecond(), 0, warsaw}),
+                ZonedDateTime.class));
+        for (long code : new long[]{-1, registry.dictionarySize(), registry.code(ZoneOffset.UTC), registry.size()}) {
+            assertThrows(UncheckedIOException.class,
+                    () -> deserializeFromSmile(serializeToSmile(new long[]{0, 0, code}), ZonedDateTime.class),
+                    () -> Long.toString(code));
+        }
+    }
+
+    @Test
+    void isSmallerThanJson() {
+        ZonedDateTime value = ZonedDateTime.of(2021, 10, 31, 2, 30, 0, 123_000_000, ZoneId.of("Europe/Warsaw"));
+        assertTrue(serializeToSmile(value).length * 2 < serializeToJson(value).length());
+        ImprovedBean bean = XmlBeanStreamsTest.improvedBean(0);
+        assertTrue(serializeToSmile(bean).length < serializeToJson(bean).length());
+    }
+
+    @Test
+    void rejectsOtherForms() {
+        assertThrows(UncheckedIOException.class,
+                () -> deserializeFromSmile(serializeToSmile("2021-01-01T00:00:00Z"), Instant.class));
+        assertThrows(UncheckedIOException.class,
+                () -> deserializeFromSmile(serializeToSmile(new long[]{1, 2, 3}), Instant.class));
+        assertThrows(UncheckedIOException.class,
+                () -> deserializeFromSmile(serializeToSmile(new long[]{1, 2, 100_000}), ZonedDateTime.class));
+        assertThrows(UncheckedIOException.class,
+                () -> deserializeFromSmile(serializeToSmile(new long[]{1, 2, 19 * 3_600}), OffsetDateTime.class));
+        assertThrows(UncheckedIOException.class,
+                () -> deserializeFromSmile(serializeToSmile(new long[]{1, 1L << 40}), Instant.class));
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+}
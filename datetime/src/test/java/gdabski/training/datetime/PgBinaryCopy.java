@@ -0,0 +1,98 @@
+package gdabski.training.datetime;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+
+/**
+ * Encodes {@link TemporalRow}s in the PostgreSQL binary {@code COPY} format, without going through
+ * {@code java.sql.Timestamp} and the JVM default time zone. Timestamps are microseconds and dates days
+ * since 2000-01-01; nanoseconds are rounded half up to microseconds. The {@code MIN} and {@code MAX}
+ * constants map to {@code -infinity} and {@code infinity}, as in the driver.
+ */
+final class PgBinaryCopy {
+
+    private static final byte[] SIGNATURE = "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+    private static final long POSTGRES_EPOCH_SECOND = LocalDateTime.of(2000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long POSTGRES_EPOCH_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final short FIELDS = 3;
+    private static final short TRAILER = -1;
+    private static final int NULL = -1;
+
+    private PgBinaryCopy() {}
+
+    static long write(OutputStream output, Iterator<TemporalRow> rows) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.write(SIGNATURE);
+        data.writeInt(0);
+        data.writeInt(0);
+        long count = 0;
+        while (rows.hasNext()) {
+            TemporalRow row = rows.next();
+            data.writeShort(FIELDS);
+            if (row.getTimestamp() == null) {
+                data.writeInt(NULL);
+            } else {
+                data.writeInt(Long.BYTES);
+                data.writeLong(encodeTimestamp(row.getTimestamp()));
+            }
+            if (row.getTimestamptz() == null) {
+                data.writeInt(NULL);
+            } else {
+                data.writeInt(Long.BYTES);
+                data.writeLong(encodeTimestamptz(row.getTimestamptz()));
+            }
+            if (row.getDate() == null) {
+                data.writeInt(NULL);
+            } else {
+                data.writeInt(Integer.BYTES);
+                data.writeInt(encodeDate(row.getDate()));
+            }
+            count++;
+        }
+        data.writeShort(TRAILER);
+        data.flush();
+        return count;
+    }
+
+    static long encodeTimestamp(LocalDateTime timestamp) {
+        if (timestamp.equals(LocalDateTime.MAX)) {
+            return Long.MAX_VALUE;
+        }
+        if (timestamp.equals(LocalDateTime.MIN)) {
+            return Long.MIN_VALUE;
+        }
+        return toPostgresMicros(timestamp.toEpochSecond(ZoneOffset.UTC), timestamp.getNano());
+    }
+
+    static long encodeTimestamptz(OffsetDateTime timestamptz) {
+        if (timestamptz.equals(OffsetDateTime.MAX)) {
+            return Long.MAX_VALUE;
+        }
+        if (timestamptz.equals(OffsetDateTime.MIN)) {
+            return Long.MIN_VALUE;
+        }
+        return toPostgresMicros(timestamptz.toEpochSecond(), timestamptz.getNano());
+    }
+
+    static int encodeDate(LocalDate date) {
+        if (date.equals(LocalDate.MAX)) {
+            return Integer.MAX_VALUE;
+        }
+        if (date.equals(LocalDate.MIN)) {
+            return Integer.MIN_VALUE;
+        }
+        return Math.toIntExact(date.toEpochDay() - POSTGRES_EPOCH_DAY);
+    }
+
+    private static long toPostgresMicros(long epochSecond, int nano) {
+        return Math.addExact(Math.multiplyExact(epochSecond - POSTGRES_EPOCH_SECOND, 1_000_000L), (nano + 500) / 1000);
+    }
+
+}
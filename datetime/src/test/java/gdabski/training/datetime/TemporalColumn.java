@@ -0,0 +1,183 @@
+package gdabski.training.datetime;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Append-only column of temporal values stored as fixed-width primitive records in {@link ByteBuffer}
+ * segments of {@code 2^20} records, either on-heap (backed by a {@code byte[]}) or off-heap (direct). The
+ * first segment grows until it is full; after that, whole segments are added, so no buffer outgrows the
+ * {@code int} range and values are indexed by {@code long}. JSR-310 objects are only materialised by
+ * {@link #get(long)}.
+ * <br><br>
+ * {@link #lowerBound} and {@link #upperBound} binary search the column and assume values were appended
+ * in ascending order.
+ */
+public abstract class TemporalColumn<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int SEGMENT_SHIFT = 20;
+
+    private final int recordSize;
+    private final boolean offHeap;
+    private final int segmentShift;
+    private final long segmentMask;
+    private ByteBuffer[] segments = new ByteBuffer[0];
+    private long capacity;
+    private long size;
+
+    protected TemporalColumn(int recordSize, int initialCapacity, boolean offHeap) {
+        this(recordSize, initialCapacity, offHeap, SEGMENT_SHIFT);
+    }
+
+    TemporalColumn(int recordSize, long initialCapacity, boolean offHeap, int segmentShift) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        }
+        this.recordSize = recordSize;
+        this.offHeap = offHeap;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        ensureCapacity(Math.max(initialCapacity, DEFAULT_CAPACITY));
+    }
+
+    private ByteBuffer allocate(int records) {
+        int bytes = Math.multiplyExact(records, recordSize);
+        ByteBuffer allocated = offHeap ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes);
+        return allocated.order(ByteOrder.nativeOrder());
+    }
+
+    private void ensureCapacity(long capacity) {
+        if (capacity <= this.capacity) {
+            return;
+        }
+        int segmentRecords = 1 << segmentShift;
+        if (segments.length == 0) {
+            segments = new ByteBuffer[]{allocate((int) Math.min(capacity, segmentRecords))};
+        } else if (segments.length == 1 && this.capacity < segmentRecords) {
+            long grown = Math.min(Math.max(capacity, this.capacity + (this.capacity >> 1)), segmentRecords);
+            ByteBuffer first = allocate((int) grown);
+            first.put(segments[0].duplicate().clear().limit((int) size * recordSize));
+            segments[0] = first;
+        }
+        int count = Math.toIntExact((capacity + segmentRecords - 1) >>> segmentShift);
+        if (count > segments.length) {
+            int added = segments.length;
+            segments = Arrays.copyOf(segments, count);
+            for (; added < count; added++) {
+                segments[added] = allocate(segmentRecords);
+            }
+        }
+        this.capacity = segments.length > 1 ? (long) segments.length << segmentShift
+                : segments[0].capacity() / recordSize;
+    }
+
+    public final void append(T value) {
+        ensureCapacity(size + 1);
+        write(segment(size), position(size), value);
+        size++;
+    }
+
+    public final void appendAll(Collection<? extends T> values) {
+        ensureCapacity(Math.addExact(size, values.size()));
+        for (T value : values) {
+            write(segment(size), position(size), value);
+            size++;
+        }
+    }
+
+    public final T get(long index) {
+        return read(segment(index), offset(index));
+    }
+
+    public final long size() {
+        return size;
+    }
+
+    public final boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public final int bytesPerValue() {
+        return recordSize;
+    }
+
+    /**
+     * @return bytes reserved for records, including spare capacity
+     */
+    public final long capacityBytes() {
+        return capacity * recordSize;
+    }
+
+    /**
+     * @return index of the first value not less than the given one, or {@link #size()}
+     */
+    public final long lowerBound(T value) {
+        long low = 0;
+        long high = size;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (compare(segment(middle), position(middle), value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return index of the first value greater than the given one, or {@link #size()}
+     */
+    public final long upperBound(T value) {
+        long low = 0;
+        long high = size;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (compare(segment(middle), position(middle), value) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return offset of the record at the index within its {@link #segment}
+     */
+    protected final int offset(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return position(index);
+    }
+
+    /**
+     * @return the buffer holding the record at the index
+     */
+    protected final ByteBuffer segment(long index) {
+        return segments[(int) (index >>> segmentShift)];
+    }
+
+    private int position(long index) {
+        return (int) (index & segmentMask) * recordSize;
+    }
+
+    protected abstract void write(ByteBuffer buffer, int offset, T value);
+
+    protected abstract T read(ByteBuffer buffer, int offset);
+
+    /**
+     * Compares the stored value at the offset with the given one, in the column's search order.
+     */
+    protected abstract int compare(ByteBuffer buffer, int offset, T value);
+
+    static int compareSecondsAndNanos(ByteBuffer buffer, int offset, long epochSecond, int nano) {
+        int result = Long.compare(buffer.getLong(offset), epochSecond);
+        return result != 0 ? result : Integer.compare(buffer.getInt(offset + Long.BYTES), nano);
+    }
+
+}
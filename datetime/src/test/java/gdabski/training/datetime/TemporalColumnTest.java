@@ -0,0 +1,178 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TemporalColumnTest {
+
+    private static final int COUNT = 10_000;
+    private static final List<ZoneId> ZONES = List.of(ZoneId.of("Europe/Warsaw"), ZoneId.of("America/New_York"),
+            ZoneId.of("Asia/Kolkata"), ZoneOffset.UTC, ZoneOffset.ofHoursMinutes(-9, -30));
+
+    private final SplittableRandom random = new SplittableRandom(20201230);
+
+    private Instant randomInstant() {
+        return Instant.ofEpochSecond(random.nextLong(-62_000_000_000L, 253_000_000_000L), random.nextInt(1_000_000_000));
+    }
+
+    private ZoneId randomZone() {
+        return ZONES.get(random.nextInt(ZONES.size()));
+    }
+
+    private <T> void verify(TemporalColumn<T> column, Comparator<? super T> order, IntFunction<T> values) {
+        List<T> expected = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            expected.add(values.apply(i));
+        }
+        expected.sort(order);
+        column.appendAll(expected.subList(0, COUNT / 2));
+        expected.subList(COUNT / 2, COUNT).forEach(column::append);
+
+        assertEquals(COUNT, column.size());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(expected.get(i), column.get(i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            T key = random.nextBoolean() ? expected.get(random.nextInt(COUNT)) : values.apply(i);
+            assertEquals(lowerBound(expected, key, order), column.lowerBound(key));
+            assertEquals(upperBound(expected, key, order), column.upperBound(key));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(COUNT));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(-1));
+    }
+
+    private static <T> int lowerBound(List<T> sorted, T key, Comparator<? super T> order) {
+        int index = 0;
+        while (index < sorted.size() && order.compare(sorted.get(index), key) < 0) {
+            index++;
+        }
+        return index;
+    }
+
+    private static <T> int upperBound(List<T> sorted, T key, Comparator<? super T> order) {
+        int index = lowerBound(sorted, key, order);
+        while (index < sorted.size() && order.compare(sorted.get(index), key) == 0) {
+            index++;
+        }
+        return index;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void roundTripsInstants(boolean offHeap) {
+        InstantColumn column = offHeap ? InstantColumn.offHeap(0) : InstantColumn.onHeap(0);
+        verify(column, Comparator.naturalOrder(), i -> randomInstant());
+        assertEquals(column.get(7).getEpochSecond(), column.getEpochSecond(7));
+        assertEquals(column.get(7).getNano(), column.getNano(7));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void roundTripsLocalDateTimes(boolean offHeap) {
+        LocalDateTimeColumn column = offHeap ? LocalDateTimeColumn.offHeap(100) : LocalDateTimeColumn.onHeap(100);
+        verify(column, Comparator.naturalOrder(), i -> LocalDateTime.ofInstant(randomInstant(), ZoneOffset.UTC));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void roundTripsLocalDates(boolean offHeap) {
+        LocalDateColumn column = offHeap ? LocalDateColumn.offHeap(COUNT) : LocalDateColumn.onHeap(COUNT);
+        verify(column, Comparator.naturalOrder(), i -> LocalDate.ofEpochDay(random.nextInt(-800_000, 3_000_000)));
+        assertEquals(column.get(3).toEpochDay(), column.getEpochDay(3));
+        assertThrows(ArithmeticException.class, () -> column.append(LocalDate.MAX));
+        assertEquals(COUNT, column.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void roundTripsOffsetDateTimes(boolean offHeap) {
+        OffsetDateTimeColumn column = offHeap ? OffsetDateTimeColumn.offHeap(1) : OffsetDateTimeColumn.onHeap(1);
+        verify(column, OffsetDateTime.timeLineOrder(),
+                i -> OffsetDateTime.ofInstant(randomInstant(), randomZone()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void roundTripsZonedDateTimes(boolean offHeap) {
+        ZonedDateTimeColumn column = offHeap ? ZonedDateTimeColumn.offHeap(0) : ZonedDateTimeColumn.onHeap(0);
+        verify(column, Comparator.comparing(ZonedDateTime::toInstant),
+                i -> ZonedDateTime.ofInstant(randomInstant(), randomZone()));
+        assertEquals(ZONES.size(), column.getZones().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void keepsLaterOffsetInOverlap(boolean offHeap) {
+        ZonedDateTimeColumn column = offHeap ? ZonedDateTimeColumn.offHeap(0) : ZonedDateTimeColumn.onHeap(0);
+        ZonedDateTime earlier = ZonedDateTime.of(2020, 10, 25, 2, 30, 0, 0, ZoneId.of("Europe/Warsaw"));
+        ZonedDateTime later = earlier.withLaterOffsetAtOverlap();
+        column.appendAll(List.of(earlier, later));
+
+        assertEquals(earlier, column.get(0));
+        assertEquals(later, column.get(1));
+        assertEquals(1, column.lowerBound(later));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void spansSegments(boolean offHeap) {
+        SegmentedColumn column = new SegmentedColumn(offHeap);
+        assertEquals(16 * Long.BYTES, column.capacityBytes());
+        verify(column, Comparator.naturalOrder(), i -> random.nextLong());
+        assertEquals(COUNT * Long.BYTES, column.capacityBytes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void searchesEmptyColumn(boolean offHeap) {
+        InstantColumn column = offHeap ? InstantColumn.offHeap(0) : InstantColumn.onHeap(0);
+        assertEquals(0, column.lowerBound(Instant.EPOCH));
+        assertEquals(0, column.upperBound(Instant.EPOCH));
+        assertEquals(offHeap, column.isOffHeap());
+        assertEquals(12, column.bytesPerValue());
+    }
+
+    /**
+     * Plain {@code long}s in segments of 16, so that a few thousand values span hundreds of them.
+     */
+    private static final class SegmentedColumn extends TemporalColumn<Long> {
+
+        SegmentedColumn(boolean offHeap) {
+            super(Long.BYTES, 0, offHeap, 4);
+        }
+
+        @Override
+        protected void write(ByteBuffer buffer, int offset, Long value) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        protected Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+
+        @Override
+        protected int compare(ByteBuffer buffer, int offset, Long value) {
+            return Long.compare(buffer.getLong(offset), value);
+        }
+
+    }
+
+}
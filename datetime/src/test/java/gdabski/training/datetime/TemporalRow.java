@@ -0,0 +1,60 @@
+package gdabski.training.datetime;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * Row of the {@code datetime} table: {@code timestamp}, {@code timestamptz} and {@code date} columns,
+ * any of which may be {@code null}.
+ */
+public final class TemporalRow {
+
+    private final LocalDateTime timestamp;
+    private final OffsetDateTime timestamptz;
+    private final LocalDate date;
+
+    public TemporalRow(LocalDateTime timestamp, OffsetDateTime timestamptz, LocalDate date) {
+        this.timestamp = timestamp;
+        this.timestamptz = timestamptz;
+        this.date = date;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public OffsetDateTime getTimestamptz() {
+        return timestamptz;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof TemporalRow)) {
+            return false;
+        }
+        TemporalRow that = (TemporalRow) object;
+        return Objects.equals(timestamp, that.timestamp)
+                && Objects.equals(timestamptz, that.timestamptz)
+                && Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestamp, timestamptz, date);
+    }
+
+    @Override
+    public String toString() {
+        return "TemporalRow[timestamp=" + timestamp + ", timestamptz=" + timestamptz + ", date=" + date + "]";
+    }
+
+}
@@ -0,0 +1,95 @@
+package gdabski.training.datetime;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Bulk loads {@link TemporalRow}s into a table with {@code timestamp}, {@code timestamptz} and
+ * {@code date} columns, either with JDBC batches of {@code setObject} inserts or, on PostgreSQL, with
+ * binary {@code COPY}. Transactions are left to the caller; with auto-commit on, every batch commits
+ * on its own. For batches, pgjdbc additionally benefits from {@code reWriteBatchedInserts=true}.
+ */
+public final class TemporalRowWriter {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+    private static final int COPY_BUFFER_SIZE = 65536;
+
+    private final String table;
+    private final int batchSize;
+
+    public TemporalRowWriter(String table, int batchSize) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.table = table;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return number of rows inserted
+     */
+    public long insert(Connection connection, Stream<TemporalRow> rows) throws SQLException {
+        long count = 0;
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + table +
+                " (timestamp, timestamptz, date) VALUES (?, ?, ?)")) {
+            Iterator<TemporalRow> iterator = rows.iterator();
+            int batched = 0;
+            while (iterator.hasNext()) {
+                TemporalRow row = iterator.next();
+                statement.setObject(1, row.getTimestamp());
+                statement.setObject(2, row.getTimestamptz());
+                statement.setObject(3, row.getDate());
+                statement.addBatch();
+                count++;
+                if (++batched == batchSize) {
+                    statement.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched > 0) {
+                statement.executeBatch();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Loads rows with PostgreSQL binary {@code COPY}, which ignores the batch size.
+     *
+     * @return number of rows copied
+     */
+    public long copy(Connection connection, Stream<TemporalRow> rows) throws SQLException {
+        PGCopyOutputStream output = new PGCopyOutputStream(connection.unwrap(PGConnection.class), "COPY " + table +
+                " (timestamp, timestamptz, date) FROM STDIN (FORMAT binary)", COPY_BUFFER_SIZE);
+        try {
+            PgBinaryCopy.write(output, rows.iterator());
+        } catch (IOException e) {
+            cancel(output);
+            throw new SQLException("COPY into " + table + " failed", e);
+        } catch (RuntimeException e) {
+            cancel(output);
+            throw e;
+        }
+        return output.endCopy();
+    }
+
+    private static void cancel(PGCopyOutputStream output) throws SQLException {
+        if (output.isActive()) {
+            output.cancelCopy();
+        }
+    }
+
+}
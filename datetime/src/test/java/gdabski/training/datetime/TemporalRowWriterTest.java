@@ -0,0 +1,170 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.insertRows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TemporalRowWriterTest {
+
+    private TimeZone defaultTimeZone;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        defaultTimeZone = TimeZone.getDefault();
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE datetime (timestamp timestamp, " +
+                    "timestamptz timestamp with time zone, date date)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        TimeZone.setDefault(defaultTimeZone);
+        connection.close();
+    }
+
+    private static List<TemporalRow> rows(int count) {
+        LocalDateTime start = LocalDateTime.of(2020, 3, 29, 1, 0, 0, 123456000);
+        return IntStream.range(0, count)
+                .mapToObj(i -> start.plusMinutes(7L * i))
+                .map(timestamp -> new TemporalRow(timestamp, timestamp.atOffset(ZoneOffset.ofHours(4)),
+                        timestamp.toLocalDate()))
+                .collect(Collectors.toList());
+    }
+
+    private List<TemporalRow> select() throws SQLException {
+        List<TemporalRow> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT timestamp, timestamptz, date FROM datetime " +
+                     "ORDER BY timestamp")) {
+            while (resultSet.next()) {
+                rows.add(new TemporalRow(resultSet.getObject("timestamp", LocalDateTime.class),
+                        resultSet.getObject("timestamptz", OffsetDateTime.class),
+                        resultSet.getObject("date", LocalDate.class)));
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void insertsInBatches() throws SQLException {
+        List<TemporalRow> rows = rows(2500);
+
+        assertEquals(2500, new TemporalRowWriter("datetime", 1000).insert(connection, rows.stream()));
+        assertEquals(rows, select());
+    }
+
+    @Test
+    void insertsNulls() throws SQLException {
+        TemporalRow empty = new TemporalRow(null, null, null);
+
+        assertEquals(1, insertRows(connection, List.of(empty).stream()));
+        assertEquals(List.of(empty), select());
+    }
+
+    /**
+     * Warsaw skips 02:00-03:00 on 2020-03-29, which {@code java.sql.Timestamp} would shift; neither the
+     * zone at insert time nor the zone at read time may change the values.
+     */
+    @Test
+    void isIndependentOfDefaultTimeZone() throws SQLException {
+        List<TemporalRow> rows = rows(40);
+        TimeZone.setDefault(TimeZone.getTimeZone(ZoneId.of("Europe/Warsaw")));
+        insertRows(connection, rows.stream());
+
+        TimeZone.setDefault(TimeZone.getTimeZone(ZoneOffset.ofHours(-6)));
+        assertEquals(rows, select());
+        TimeZone.setDefault(TimeZone.getTimeZone(ZoneId.of("Pacific/Kiritimati")));
+        assertEquals(rows, select());
+    }
+
+    @Test
+    void rejectsInvalidTableNames() {
+        assertThrows(IllegalArgumentException.class, () -> new TemporalRowWriter("datetime; DROP TABLE x", 10));
+        assertThrows(IllegalArgumentException.class, () -> new TemporalRowWriter("datetime", 0));
+        new TemporalRowWriter("pg_temp.datetime", 1);
+    }
+
+    @Test
+    void encodesPostgresEpoch() {
+        TimeZone.setDefault(TimeZone.getTimeZone(ZoneOffset.ofHours(-9)));
+
+        assertEquals(0, PgBinaryCopy.encodeTimestamp(LocalDateTime.of(2000, 1, 1, 0, 0)));
+        assertEquals(0, PgBinaryCopy.encodeTimestamptz(OffsetDateTime.of(2000, 1, 1, 2, 0, 0, 0, ZoneOffset.ofHours(2))));
+        assertEquals(0, PgBinaryCopy.encodeDate(LocalDate.of(2000, 1, 1)));
+        assertEquals(662_653_531_000_000L, PgBinaryCopy.encodeTimestamp(LocalDateTime.of(2020, 12, 30, 14, 25, 31)));
+        assertEquals(662_639_131_000_000L,
+                PgBinaryCopy.encodeTimestamptz(OffsetDateTime.of(2020, 12, 30, 14, 25, 31, 0, ZoneOffset.ofHours(4))));
+        assertEquals(7669, PgBinaryCopy.encodeDate(LocalDate.of(2020, 12, 30)));
+        assertEquals(-1, PgBinaryCopy.encodeDate(LocalDate.of(1999, 12, 31)));
+        assertEquals(-946_684_800_000_000L, PgBinaryCopy.encodeTimestamp(LocalDateTime.of(1970, 1, 1, 0, 0)));
+    }
+
+    @Test
+    void roundsNanosHalfUp() {
+        LocalDateTime epoch = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+        assertEquals(0, PgBinaryCopy.encodeTimestamp(epoch.plusNanos(499)));
+        assertEquals(1, PgBinaryCopy.encodeTimestamp(epoch.plusNanos(500)));
+        assertEquals(1_000_000, PgBinaryCopy.encodeTimestamp(epoch.plusNanos(999_999_500)));
+        assertEquals(0, PgBinaryCopy.encodeTimestamp(epoch.minusNanos(500)));
+        assertEquals(-1, PgBinaryCopy.encodeTimestamp(epoch.minusNanos(501)));
+    }
+
+    @Test
+    void encodesInfinity() {
+        assertEquals(Long.MAX_VALUE, PgBinaryCopy.encodeTimestamp(LocalDateTime.MAX));
+        assertEquals(Long.MIN_VALUE, PgBinaryCopy.encodeTimestamptz(OffsetDateTime.MIN));
+        assertEquals(Integer.MAX_VALUE, PgBinaryCopy.encodeDate(LocalDate.MAX));
+    }
+
+    @Test
+    void writesCopyStream() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TemporalRow row = new TemporalRow(LocalDateTime.of(2000, 1, 1, 0, 0, 1), null, LocalDate.of(2000, 1, 2));
+        assertEquals(1, PgBinaryCopy.write(output, List.of(row).iterator()));
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+        byte[] signature = new byte[11];
+        input.readFully(signature);
+        assertArrayEquals(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0}, signature);
+        assertEquals(0, input.readInt());
+        assertEquals(0, input.readInt());
+        assertEquals(3, input.readShort());
+        assertEquals(8, input.readInt());
+        assertEquals(1_000_000, input.readLong());
+        assertEquals(-1, input.readInt());
+        assertEquals(4, input.readInt());
+        assertEquals(1, input.readInt());
+        assertEquals(-1, input.readShort());
+        assertEquals(-1, input.read());
+    }
+
+}
@@ -0,0 +1,28 @@
+package gdabski.training.datetime;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one line per timer, as given by {@link DateTimeMetrics.Timer#toString()}.
+ */
+public final class TextMetricsSink implements MetricsSink {
+
+    private final Appendable output;
+
+    public TextMetricsSink(Appendable output) {
+        this.output = output;
+    }
+
+    @Override
+    public void export(DateTimeMetrics metrics) {
+        try {
+            for (DateTimeMetrics.Timer timer : metrics.getTimers()) {
+                output.append(timer.toString()).append(System.lineSeparator());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
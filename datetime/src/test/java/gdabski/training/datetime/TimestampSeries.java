@@ -0,0 +1,119 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.standard.Bean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromJsonArray;
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXmlStream;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToJsonArray;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXmlStream;
+
+/**
+ * Binary file format for series of {@code bean} values, written by {@link TimestampSeriesWriter} and
+ * memory-mapped by {@link TimestampSeriesReader}. All numbers are little-endian.
+ * <pre>
+ * header  (32 B): int magic, short version, short flags, int record size, int index interval,
+ *                 long record count, long footer position
+ * records (32 B): long datetime epoch-nanos, long time nano-of-day, int date epoch-day,
+ *                 int datetime offset seconds, int zone id, int reserved
+ * footer:         int zone count, zones as (short length, UTF-8 id),
+ *                 int index size, long epoch-nanos of every index-interval-th record
+ * </pre>
+ * Absent values are stored as {@link #NO_EPOCH_NANOS}, {@link #NO_NANO_OF_DAY}, {@link #NO_EPOCH_DAY}
+ * and {@link #NO_ZONE}. Epoch-nanos limit datetimes to years 1677-2262, and files are limited to 2 GiB,
+ * about 67M records.
+ */
+public final class TimestampSeries {
+
+    static final int MAGIC = 0x53525354;
+    static final short VERSION = 1;
+    static final short FLAG_SORTED = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 32;
+    static final int INDEX_INTERVAL = 1024;
+    static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+
+    static final int EPOCH_NANOS = 0;
+    static final int NANO_OF_DAY = 8;
+    static final int EPOCH_DAY = 16;
+    static final int OFFSET_SECONDS = 20;
+    static final int ZONE = 24;
+
+    public static final long NO_EPOCH_NANOS = Long.MIN_VALUE;
+    public static final long NO_NANO_OF_DAY = -1;
+    public static final int NO_EPOCH_DAY = Integer.MIN_VALUE;
+    public static final int NO_ZONE = -1;
+
+    private TimestampSeries() {}
+
+    /**
+     * Converts a JSON array of {@link ImprovedBean}s to a new series file.
+     */
+    public static long fromJson(InputStream json, Path file) {
+        try (Stream<ImprovedBean> beans = deserializeFromJsonArray(json, ImprovedBean.class);
+             TimestampSeriesWriter writer = TimestampSeriesWriter.create(file)) {
+            beans.forEach(writer::append);
+            return writer.size();
+        }
+    }
+
+    /**
+     * Converts an XML document of {@link ImprovedBean} or {@link Bean} elements to a new series file.
+     */
+    public static long fromXml(InputStream xml, Class<?> beanClass, Path file) {
+        try (Stream<?> beans = deserializeFromXmlStream(xml, beanClass);
+             TimestampSeriesWriter writer = TimestampSeriesWriter.create(file)) {
+            beans.forEach(bean -> {
+                if (bean instanceof Bean) {
+                    writer.append((Bean) bean);
+                } else {
+                    writer.append((ImprovedBean) bean);
+                }
+            });
+            return writer.size();
+        }
+    }
+
+    /**
+     * Writes a series file as a JSON array of {@link ImprovedBean}s.
+     */
+    public static void toJson(Path file, OutputStream json) {
+        TimestampSeriesReader reader = TimestampSeriesReader.open(file);
+        try (JsonArrayWriter writer = serializeToJsonArray(json)) {
+            for (int i = 0; i < reader.size(); i++) {
+                writer.accept(reader.getImprovedBean(i));
+            }
+        }
+    }
+
+    /**
+     * Writes a series file as an XML document of {@link ImprovedBean} or {@link Bean} elements.
+     */
+    public static void toXml(Path file, Class<?> beanClass, OutputStream xml) {
+        boolean standard = beanClass == Bean.class;
+        TimestampSeriesReader reader = TimestampSeriesReader.open(file);
+        try (XmlBeanWriter writer = serializeToXmlStream(xml)) {
+            for (int i = 0; i < reader.size(); i++) {
+                writer.write(standard ? reader.getBean(i) : reader.getImprovedBean(i));
+            }
+        }
+    }
+
+    static long toEpochNanos(long epochSecond, int nano) {
+        return Math.addExact(Math.multiplyExact(epochSecond, CalendarMath.NANOS_PER_SECOND), nano);
+    }
+
+    static void checkIo(boolean condition, String message) {
+        if (!condition) {
+            throw new UncheckedIOException(new IOException(message));
+        }
+    }
+
+}
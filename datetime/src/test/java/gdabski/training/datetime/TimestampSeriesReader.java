@@ -0,0 +1,237 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.standard.Bean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static gdabski.training.datetime.LegacyDateTimeConversions.toXmlDate;
+import static gdabski.training.datetime.LegacyDateTimeConversions.toXmlDateTime;
+import static gdabski.training.datetime.LegacyDateTimeConversions.toXmlTime;
+import static gdabski.training.datetime.TimestampSeries.EPOCH_DAY;
+import static gdabski.training.datetime.TimestampSeries.EPOCH_NANOS;
+import static gdabski.training.datetime.TimestampSeries.FLAG_SORTED;
+import static gdabski.training.datetime.TimestampSeries.HEADER_SIZE;
+import static gdabski.training.datetime.TimestampSeries.INDEX_INTERVAL;
+import static gdabski.training.datetime.TimestampSeries.MAGIC;
+import static gdabski.training.datetime.TimestampSeries.MAX_FILE_SIZE;
+import static gdabski.training.datetime.TimestampSeries.NANO_OF_DAY;
+import static gdabski.training.datetime.TimestampSeries.NO_EPOCH_DAY;
+import static gdabski.training.datetime.TimestampSeries.NO_EPOCH_NANOS;
+import static gdabski.training.datetime.TimestampSeries.NO_NANO_OF_DAY;
+import static gdabski.training.datetime.TimestampSeries.NO_ZONE;
+import static gdabski.training.datetime.TimestampSeries.OFFSET_SECONDS;
+import static gdabski.training.datetime.TimestampSeries.RECORD_SIZE;
+import static gdabski.training.datetime.TimestampSeries.VERSION;
+import static gdabski.training.datetime.TimestampSeries.ZONE;
+import static gdabski.training.datetime.TimestampSeries.checkIo;
+
+/**
+ * Reads {@link TimestampSeries} files through a read-only {@link MappedByteBuffer}. The primitive
+ * accessors read straight from the mapping without allocating; the object accessors materialise
+ * JSR-310 values and beans on demand. Files are limited to 2 GiB. The file is
+ * closed once mapped and the mapping is released when the reader is garbage collected.
+ */
+public final class TimestampSeriesReader {
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final boolean sorted;
+    private final ZoneId[] zones;
+    private final long[] index;
+
+    private TimestampSeriesReader(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        checkIo(buffer.getInt(0) == MAGIC, "Not a timestamp series file");
+        checkIo(buffer.getShort(4) == VERSION, "Unsupported version " + buffer.getShort(4));
+        sorted = (buffer.getShort(6) & FLAG_SORTED) != 0;
+        checkIo(buffer.getInt(8) == RECORD_SIZE && buffer.getInt(12) == INDEX_INTERVAL, "Unsupported layout");
+        long count = buffer.getLong(16);
+        long footerPosition = buffer.getLong(24);
+        checkIo(count >= 0 && footerPosition == HEADER_SIZE + count * RECORD_SIZE && footerPosition <= buffer.capacity(),
+                "Corrupt header");
+        size = (int) count;
+
+        ByteBuffer footer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).position((int) footerPosition);
+        zones = new ZoneId[footer.getInt()];
+        for (int i = 0; i < zones.length; i++) {
+            byte[] id = new byte[footer.getShort()];
+            footer.get(id);
+            zones[i] = ZoneId.of(new String(id, StandardCharsets.UTF_8));
+        }
+        index = new long[footer.getInt()];
+        checkIo(index.length == (size + INDEX_INTERVAL - 1) / INDEX_INTERVAL, "Corrupt index");
+        footer.asLongBuffer().get(index);
+    }
+
+    public static TimestampSeriesReader open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            checkIo(fileSize >= HEADER_SIZE && fileSize <= MAX_FILE_SIZE, "Unsupported file size " + fileSize);
+            return new TimestampSeriesReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return whether records were appended in non-decreasing datetime order, which {@link #seek} requires
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    List<ZoneId> getZones() {
+        return List.of(zones);
+    }
+
+    long[] getIndex() {
+        return index.clone();
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    /**
+     * @return datetime as nanoseconds since the epoch, or {@link TimestampSeries#NO_EPOCH_NANOS}
+     */
+    public long getEpochNanos(int index) {
+        return buffer.getLong(offset(index) + EPOCH_NANOS);
+    }
+
+    /**
+     * @return time as nano-of-day, or {@link TimestampSeries#NO_NANO_OF_DAY}
+     */
+    public long getNanoOfDay(int index) {
+        return buffer.getLong(offset(index) + NANO_OF_DAY);
+    }
+
+    /**
+     * @return date as epoch-day, or {@link TimestampSeries#NO_EPOCH_DAY}
+     */
+    public int getEpochDay(int index) {
+        return buffer.getInt(offset(index) + EPOCH_DAY);
+    }
+
+    public int getOffsetSeconds(int index) {
+        return buffer.getInt(offset(index) + OFFSET_SECONDS);
+    }
+
+    public LocalDate getDate(int index) {
+        int epochDay = getEpochDay(index);
+        return epochDay == NO_EPOCH_DAY ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public LocalTime getTime(int index) {
+        long nanoOfDay = getNanoOfDay(index);
+        return nanoOfDay == NO_NANO_OF_DAY ? null : LocalTime.ofNanoOfDay(nanoOfDay);
+    }
+
+    public OffsetDateTime getDatetime(int index) {
+        long epochNanos = getEpochNanos(index);
+        return epochNanos == NO_EPOCH_NANOS ? null : OffsetDateTime.ofInstant(toInstant(epochNanos),
+                ZoneOffset.ofTotalSeconds(getOffsetSeconds(index)));
+    }
+
+    /**
+     * @return datetime in the zone it was written with, or in its offset
+     */
+    public ZonedDateTime getZonedDatetime(int index) {
+        long epochNanos = getEpochNanos(index);
+        if (epochNanos == NO_EPOCH_NANOS) {
+            return null;
+        }
+        int zone = buffer.getInt(offset(index) + ZONE);
+        return ZonedDateTime.ofInstant(toInstant(epochNanos),
+                zone == NO_ZONE ? ZoneOffset.ofTotalSeconds(getOffsetSeconds(index)) : zones[zone]);
+    }
+
+    private static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, CalendarMath.NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, CalendarMath.NANOS_PER_SECOND));
+    }
+
+    public ImprovedBean getImprovedBean(int index) {
+        ImprovedBean bean = new ImprovedBean();
+        bean.setDate(getDate(index));
+        bean.setTime(getTime(index));
+        bean.setDatetime(getDatetime(index));
+        return bean;
+    }
+
+    public Bean getBean(int index) {
+        Bean bean = new Bean();
+        bean.setDate(toXmlDate(getDate(index)));
+        bean.setTime(toXmlTime(getTime(index)));
+        bean.setDatetime(toXmlDateTime(getDatetime(index)));
+        return bean;
+    }
+
+    /**
+     * Finds the first record whose datetime is not before the given instant, using the footer index
+     * to narrow the search to a single block of records.
+     *
+     * @return index of the record, or {@link #size()} if there is none
+     * @throws IllegalStateException if the records are not sorted
+     */
+    public int seek(Instant instant) {
+        if (!sorted) {
+            throw new IllegalStateException("Records not sorted by datetime");
+        }
+        long target;
+        try {
+            target = TimestampSeries.toEpochNanos(instant.getEpochSecond(), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? 0 : size;
+        }
+        int low = 0;
+        int high = index.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (index[middle] < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int block = Math.max(low - 1, 0);
+        low = block * INDEX_INTERVAL;
+        high = Math.min(size, low + INDEX_INTERVAL);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (buffer.getLong(HEADER_SIZE + middle * RECORD_SIZE + EPOCH_NANOS) < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,230 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.standard.Bean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.*;
+import static gdabski.training.datetime.XmlBeanStreamsTest.improvedBean;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimestampSeriesTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<ImprovedBean> improvedBeans(int from, int to) {
+        return IntStream.range(from, to).mapToObj(XmlBeanStreamsTest::improvedBean).collect(Collectors.toList());
+    }
+
+    private static List<ImprovedBean> read(TimestampSeriesReader reader) {
+        return IntStream.range(0, reader.size()).mapToObj(reader::getImprovedBean).collect(Collectors.toList());
+    }
+
+    private Path write(List<ImprovedBean> beans) {
+        Path file = directory.resolve("series.bin");
+        try (TimestampSeriesWriter writer = TimestampSeriesWriter.create(file)) {
+            beans.forEach(writer::append);
+        }
+        return file;
+    }
+
+    @Test
+    void roundTripsImprovedBeans() {
+        List<ImprovedBean> beans = improvedBeans(0, 5000);
+        TimestampSeriesReader reader = TimestampSeriesReader.open(write(beans));
+
+        assertEquals(beans, read(reader));
+        assertTrue(reader.isSorted());
+        assertEquals(beans.get(42).getDate().toEpochDay(), reader.getEpochDay(42));
+        assertEquals(beans.get(42).getTime().toNanoOfDay(), reader.getNanoOfDay(42));
+        assertEquals(7200, reader.getOffsetSeconds(42));
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.getEpochNanos(5000));
+    }
+
+    @Test
+    void roundTripsMissingValues() {
+        ImprovedBean empty = new ImprovedBean();
+        ImprovedBean before = improvedBean(0);
+        before.setDatetime(OffsetDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHoursMinutes(-3, -30)));
+        TimestampSeriesReader reader = TimestampSeriesReader.open(write(List.of(empty, before)));
+
+        assertEquals(List.of(empty, before), read(reader));
+        assertEquals(TimestampSeries.NO_EPOCH_NANOS, reader.getEpochNanos(0));
+        assertNull(reader.getDatetime(0));
+    }
+
+    @Test
+    void appendsToExistingFile() {
+        Path file = write(improvedBeans(0, 1500));
+        try (TimestampSeriesWriter writer = TimestampSeriesWriter.append(file)) {
+            improvedBeans(1500, 3000).forEach(writer::append);
+        }
+        TimestampSeriesReader reader = TimestampSeriesReader.open(file);
+
+        assertEquals(improvedBeans(0, 3000), read(reader));
+        assertTrue(reader.isSorted());
+        assertEquals(2000, reader.seek(improvedBean(2000).getDatetime().toInstant()));
+    }
+
+    @Test
+    void keepsZones() {
+        Path file = directory.resolve("zoned.bin");
+        ZoneId warsaw = ZoneId.of("Europe/Warsaw");
+        ZonedDateTime overlap = ZonedDateTime.of(2020, 10, 25, 2, 30, 0, 0, warsaw).withLaterOffsetAtOverlap();
+        try (TimestampSeriesWriter writer = TimestampSeriesWriter.create(file)) {
+            writer.append(null, null, overlap);
+            writer.append(null, null, overlap.withZoneSameInstant(ZoneOffset.UTC));
+        }
+        try (TimestampSeriesWriter writer = TimestampSeriesWriter.append(file)) {
+            writer.append(null, null, overlap.withZoneSameInstant(ZoneId.of("America/New_York")));
+            writer.append(null, null, overlap.plusHours(1));
+        }
+        TimestampSeriesReader reader = TimestampSeriesReader.open(file);
+
+        assertEquals(overlap, reader.getZonedDatetime(0));
+        assertEquals(overlap.withZoneSameInstant(ZoneOffset.UTC), reader.getZonedDatetime(1));
+        assertEquals(overlap.withZoneSameInstant(ZoneId.of("America/New_York")), reader.getZonedDatetime(2));
+        assertEquals(overlap.plusHours(1), reader.getZonedDatetime(3));
+        assertEquals(overlap.toOffsetDateTime(), reader.getDatetime(0));
+        assertEquals(List.of(warsaw, ZoneId.of("America/New_York")), reader.getZones());
+    }
+
+    /**
+     * Header, ten records and a footer of no zones and one index entry take 368 bytes; a zone takes 15 more.
+     */
+    @Test
+    void rejectsRecordsBeyondMaxFileSize() throws IOException {
+        Path file = directory.resolve("limited.bin");
+        ZonedDateTime value = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        try (TimestampSeriesWriter writer = TimestampSeriesWriter.create(file, 380)) {
+            for (int i = 0; i < 9; i++) {
+                writer.append(null, null, value.plusSeconds(i));
+            }
+            assertThrows(IllegalStateException.class,
+                    () -> writer.append(null, null, value.withZoneSameInstant(ZoneId.of("Europe/Warsaw"))));
+            writer.append(null, null, value.plusSeconds(9));
+            assertThrows(IllegalStateException.class, () -> writer.append(null, null, value.plusSeconds(10)));
+            assertEquals(10, writer.size());
+        }
+        TimestampSeriesReader reader = TimestampSeriesReader.open(file);
+
+        assertEquals(368, Files.size(file));
+        assertEquals(10, reader.size());
+        assertEquals(value.plusSeconds(9), reader.getZonedDatetime(9));
+        assertEquals(List.of(), reader.getZones());
+    }
+
+    @Test
+    void seeksByTime() {
+        List<ImprovedBean> beans = improvedBeans(0, 10_000);
+        TimestampSeriesReader reader = TimestampSeriesReader.open(write(beans));
+
+        for (int i = 0; i < beans.size(); i += 97) {
+            Instant instant = beans.get(i).getDatetime().toInstant();
+            assertEquals(i, reader.seek(instant));
+            assertEquals(i + 1, reader.seek(instant.plusNanos(1)));
+        }
+        assertEquals(0, reader.seek(Instant.MIN));
+        assertEquals(0, reader.seek(Instant.EPOCH));
+        assertEquals(beans.size(), reader.seek(Instant.MAX));
+    }
+
+    @Test
+    void refusesToSeekUnsortedRecords() {
+        List<ImprovedBean> beans = improvedBeans(0, 10);
+        beans.add(improvedBean(0));
+        TimestampSeriesReader reader = TimestampSeriesReader.open(write(beans));
+
+        assertFalse(reader.isSorted());
+        assertThrows(IllegalStateException.class, () -> reader.seek(Instant.EPOCH));
+    }
+
+    @Test
+    void rejectsForeignFiles() throws IOException {
+        Path file = directory.resolve("foreign.bin");
+        Files.write(file, new byte[64]);
+        assertThrows(UncheckedIOException.class, () -> TimestampSeriesReader.open(file));
+        Files.write(file, new byte[8]);
+        assertThrows(UncheckedIOException.class, () -> TimestampSeriesReader.open(file));
+    }
+
+    @Test
+    void convertsJson() {
+        List<ImprovedBean> beans = improvedBeans(0, 100);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (JsonArrayWriter writer = serializeToJsonArray(json)) {
+            beans.forEach(writer);
+        }
+        Path file = directory.resolve("json.bin");
+
+        assertEquals(100, TimestampSeries.fromJson(new ByteArrayInputStream(json.toByteArray()), file));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TimestampSeries.toJson(file, output);
+        assertEquals(json.toString(), output.toString());
+    }
+
+    @Test
+    void convertsXml() {
+        List<ImprovedBean> beans = improvedBeans(0, 100);
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        try (XmlBeanWriter writer = serializeToXmlStream(xml)) {
+            beans.forEach(writer::write);
+        }
+        Path file = directory.resolve("xml.bin");
+        assertEquals(100, TimestampSeries.fromXml(new ByteArrayInputStream(xml.toByteArray()), Bean.class, file));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TimestampSeries.toXml(file, ImprovedBean.class, output);
+        assertEquals(xml.toString(), output.toString());
+
+        output.reset();
+        TimestampSeries.toXml(file, Bean.class, output);
+        List<Bean> standard = deserializeFromXmlStream(new ByteArrayInputStream(output.toByteArray()), Bean.class)
+                .collect(Collectors.toList());
+        List<Bean> expected = deserializeFromXmlStream(new ByteArrayInputStream(xml.toByteArray()), Bean.class)
+                .collect(Collectors.toList());
+        assertEquals(expected, standard);
+    }
+
+    @Test
+    void convertsStandardBeanFields() {
+        Bean bean = new Bean();
+        bean.setDate(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29"));
+        bean.setTime(getXmlDatatypeFactory().newXMLGregorianCalendar("20:00:21.123456789"));
+        bean.setDatetime(getXmlDatatypeFactory().newXMLGregorianCalendar("2020-12-29T20:00:21.123456789+02:00"));
+        Path file = directory.resolve("standard.bin");
+        try (TimestampSeriesWriter writer = TimestampSeriesWriter.create(file)) {
+            writer.append(bean);
+        }
+        TimestampSeriesReader reader = TimestampSeriesReader.open(file);
+
+        assertEquals(LocalDate.of(2020, 12, 29), reader.getDate(0));
+        assertEquals(LocalTime.of(20, 0, 21, 123456789), reader.getTime(0));
+        assertEquals(OffsetDateTime.parse("2020-12-29T20:00:21.123456789+02:00"), reader.getDatetime(0));
+        assertEquals(bean, reader.getBean(0));
+    }
+
+}
@@ -0,0 +1,256 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.standard.Bean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gdabski.training.datetime.LegacyDateTimeConversions.toLocalDate;
+import static gdabski.training.datetime.LegacyDateTimeConversions.toLocalTime;
+import static gdabski.training.datetime.LegacyDateTimeConversions.toOffsetDateTime;
+import static gdabski.training.datetime.TimestampSeries.FLAG_SORTED;
+import static gdabski.training.datetime.TimestampSeries.HEADER_SIZE;
+import static gdabski.training.datetime.TimestampSeries.INDEX_INTERVAL;
+import static gdabski.training.datetime.TimestampSeries.MAGIC;
+import static gdabski.training.datetime.TimestampSeries.MAX_FILE_SIZE;
+import static gdabski.training.datetime.TimestampSeries.NO_EPOCH_DAY;
+import static gdabski.training.datetime.TimestampSeries.NO_EPOCH_NANOS;
+import static gdabski.training.datetime.TimestampSeries.NO_NANO_OF_DAY;
+import static gdabski.training.datetime.TimestampSeries.NO_ZONE;
+import static gdabski.training.datetime.TimestampSeries.RECORD_SIZE;
+import static gdabski.training.datetime.TimestampSeries.VERSION;
+import static gdabski.training.datetime.TimestampSeries.toEpochNanos;
+
+/**
+ * Writes {@link TimestampSeries} files through a {@link FileChannel}, buffering records in memory.
+ * Appending to an existing file overwrites its footer, which is written again, together with the
+ * header, on {@link #close()}; a file is not readable until then. A record that would take the file,
+ * footer included, past the 2 GiB that {@link TimestampSeriesReader} maps is rejected with an
+ * {@link IllegalStateException}, and the records before it can still be closed into a readable file.
+ */
+public final class TimestampSeriesWriter implements AutoCloseable {
+
+    private static final int BUFFERED_RECORDS = 2048;
+
+    private final FileChannel channel;
+    private final long maxFileSize;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFERED_RECORDS * RECORD_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private final List<ZoneId> zones = new ArrayList<>();
+    private final Map<ZoneId, Integer> zoneIds = new HashMap<>();
+    private long[] index = new long[16];
+    private int indexSize;
+    private long zoneBytes;
+    private long size;
+    private long lastEpochNanos = Long.MIN_VALUE;
+    private boolean sorted = true;
+    private long position = HEADER_SIZE;
+
+    private TimestampSeriesWriter(FileChannel channel, long maxFileSize) {
+        this.channel = channel;
+        this.maxFileSize = maxFileSize;
+    }
+
+    public static TimestampSeriesWriter create(Path file) {
+        return create(file, MAX_FILE_SIZE);
+    }
+
+    static TimestampSeriesWriter create(Path file, long maxFileSize) {
+        try {
+            return new TimestampSeriesWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE),
+                    maxFileSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens an existing series file to add records at its end.
+     */
+    public static TimestampSeriesWriter append(Path file) {
+        TimestampSeriesReader reader = TimestampSeriesReader.open(file);
+        List<ZoneId> zones = reader.getZones();
+        long[] index = reader.getIndex();
+        int size = reader.size();
+
+        TimestampSeriesWriter writer;
+        try {
+            writer = new TimestampSeriesWriter(FileChannel.open(file, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE), MAX_FILE_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        zones.forEach(writer::zoneId);
+        writer.index = Arrays.copyOf(index, Math.max(index.length, 16));
+        writer.indexSize = index.length;
+        writer.size = size;
+        writer.lastEpochNanos = size == 0 ? Long.MIN_VALUE : reader.getEpochNanos(size - 1);
+        writer.sorted = reader.isSorted();
+        writer.position = HEADER_SIZE + size * RECORD_SIZE;
+        return writer;
+    }
+
+    public void append(ImprovedBean bean) {
+        append(bean.getDate(), bean.getTime(), bean.getDatetime());
+    }
+
+    public void append(Bean bean) {
+        append(toLocalDate(bean.getDate()), toLocalTime(bean.getTime()), toOffsetDateTime(bean.getDatetime()));
+    }
+
+    public void append(LocalDate date, LocalTime time, OffsetDateTime datetime) {
+        if (datetime == null) {
+            append(date, time, NO_EPOCH_NANOS, 0, null);
+        } else {
+            append(date, time, toEpochNanos(datetime.toEpochSecond(), datetime.getNano()),
+                    datetime.getOffset().getTotalSeconds(), null);
+        }
+    }
+
+    /**
+     * Appends a record keeping the zone of the datetime, stored in the file's zone dictionary.
+     */
+    public void append(LocalDate date, LocalTime time, ZonedDateTime datetime) {
+        ZoneId zone = datetime.getZone() instanceof ZoneOffset ? null : datetime.getZone();
+        append(date, time, toEpochNanos(datetime.toEpochSecond(), datetime.getNano()),
+                datetime.getOffset().getTotalSeconds(), zone);
+    }
+
+    /**
+     * @param zone the zone to store in the dictionary, or {@code null} to keep only the offset
+     */
+    private void append(LocalDate date, LocalTime time, long epochNanos, int offsetSeconds, ZoneId zone) {
+        int epochDay = date == null ? NO_EPOCH_DAY : Math.toIntExact(date.toEpochDay());
+        checkFileSize(zone);
+        int zoneId = zone == null ? NO_ZONE : zoneId(zone);
+        if (size % INDEX_INTERVAL == 0) {
+            if (indexSize == index.length) {
+                index = Arrays.copyOf(index, indexSize * 2);
+            }
+            index[indexSize++] = epochNanos;
+        }
+        sorted &= epochNanos >= lastEpochNanos;
+        lastEpochNanos = epochNanos;
+
+        buffer.putLong(epochNanos)
+                .putLong(time == null ? NO_NANO_OF_DAY : time.toNanoOfDay())
+                .putInt(epochDay)
+                .putInt(offsetSeconds)
+                .putInt(zoneId)
+                .putInt(0);
+        size++;
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Rejects the next record, with the given zone, if the file would no longer fit in
+     * {@code maxFileSize} once the footer is written.
+     */
+    private void checkFileSize(ZoneId zone) {
+        long footerSize = Integer.BYTES + zoneBytes + Integer.BYTES
+                + (long) (indexSize + (size % INDEX_INTERVAL == 0 ? 1 : 0)) * Long.BYTES;
+        if (zone != null && !zoneIds.containsKey(zone)) {
+            footerSize += Short.BYTES + zone.getId().getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (HEADER_SIZE + (size + 1) * RECORD_SIZE + footerSize > maxFileSize) {
+            throw new IllegalStateException("Timestamp series file would exceed " + maxFileSize + " bytes after "
+                    + size + " records");
+        }
+    }
+
+    private int zoneId(ZoneId zone) {
+        return zoneIds.computeIfAbsent(zone, z -> {
+            zones.add(z);
+            zoneBytes += Short.BYTES + z.getId().getBytes(StandardCharsets.UTF_8).length;
+            return zones.size() - 1;
+        });
+    }
+
+    public long size() {
+        return size;
+    }
+
+    private void flushBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() {
+        try (channel) {
+            flushBuffer();
+            long footerPosition = position;
+            writeFooter();
+            channel.truncate(position);
+            writeHeader(footerPosition);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeFooter() {
+        buffer.putInt(zones.size());
+        for (ZoneId zone : zones) {
+            byte[] id = zone.getId().getBytes(StandardCharsets.UTF_8);
+            ensureRemaining(Short.BYTES + id.length);
+            buffer.putShort((short) id.length).put(id);
+        }
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(indexSize);
+        for (int i = 0; i < indexSize; i++) {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(index[i]);
+        }
+        flushBuffer();
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void writeHeader(long footerPosition) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort(sorted ? FLAG_SORTED : 0)
+                .putInt(RECORD_SIZE)
+                .putInt(INDEX_INTERVAL)
+                .putLong(size)
+                .putLong(footerPosition)
+                .flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pulls consecutive root elements of a JAXB class (e.g. {@code bean}) out of an arbitrarily large document,
+ * wherever they are nested, unmarshalling one at a time. Does not close the underlying {@link InputStream}.
+ */
+public final class XmlBeanReader<T> implements Iterator<T>, AutoCloseable {
+
+    private static final XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+
+    static {
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final Unmarshaller unmarshaller;
+    private final XMLStreamReader reader;
+    private final Class<T> clazz;
+    private final String elementName;
+
+    XmlBeanReader(Unmarshaller unmarshaller, InputStream input, Class<T> clazz) {
+        XmlRootElement rootElement = clazz.getAnnotation(XmlRootElement.class);
+        if (rootElement == null) {
+            throw new IllegalArgumentException(clazz + " is not annotated with @XmlRootElement");
+        }
+        this.unmarshaller = unmarshaller;
+        this.clazz = clazz;
+        this.elementName = rootElement.name();
+        try {
+            this.reader = xmlInputFactory.createXMLStreamReader(input);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (reader.getEventType() != XMLStreamConstants.START_ELEMENT
+                    || !elementName.equals(reader.getLocalName())) {
+                if (!reader.hasNext()) {
+                    return false;
+                }
+                reader.next();
+            }
+            return true;
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return unmarshaller.unmarshal(reader, clazz).getValue();
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import gdabski.training.datetime.standard.Bean;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XmlBeanStreamsTest {
+
+    static ImprovedBean improvedBean(int i) {
+        ImprovedBean bean = new ImprovedBean();
+        bean.setDate(LocalDate.of(2020, 12, 29).plusDays(i));
+        bean.setTime(LocalTime.of(20, 0, 21, 123456789).plusSeconds(i));
+        bean.setDatetime(OffsetDateTime.of(2020, 12, 29, 20, 0, 21, 123456789, ZoneOffset.ofHours(2)).plusMinutes(i));
+        return bean;
+    }
+
+    private static byte[] write(List<?> beans) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (XmlBeanWriter writer = serializeToXmlStream(output)) {
+            beans.forEach(writer::write);
+        }
+        return output.toByteArray();
+    }
+
+    @Test
+    void roundTripsBatchAsEitherBeanType() {
+        List<ImprovedBean> beans = IntStream.range(0, 5_000).mapToObj(XmlBeanStreamsTest::improvedBean)
+                .collect(Collectors.toList());
+        byte[] xml = write(beans);
+
+        try (Stream<ImprovedBean> stream = deserializeFromXmlStream(new ByteArrayInputStream(xml), ImprovedBean.class)) {
+            assertEquals(beans, stream.collect(Collectors.toList()));
+        }
+        try (Stream<Bean> stream = deserializeFromXmlStream(new ByteArrayInputStream(xml), Bean.class)) {
+            List<Bean> expected = beans.stream().map(bean -> deserializeFromXml(serializeToXml(bean), Bean.class))
+                    .collect(Collectors.toList());
+            assertEquals(expected, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void findsBeansAnywhereInTheDocument() {
+        String xml = "<?xml version=\"1.0\"?><export><!-- comment --><batch>"
+                + "<bean><date>2020-12-29</date><time>20:00:21</time><datetime>2020-12-29T20:00:21+02:00</datetime></bean>"
+                + "</batch><other/><batch>\n"
+                + "<bean><date>2020-12-30</date><time>20:00:22</time><datetime>2020-12-30T20:00:22Z</datetime></bean>"
+                + "</batch></export>";
+
+        try (Stream<ImprovedBean> stream = deserializeFromXmlStream(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), ImprovedBean.class)) {
+            List<LocalDate> dates = stream.map(ImprovedBean::getDate).collect(Collectors.toList());
+            assertEquals(List.of(LocalDate.of(2020, 12, 29), LocalDate.of(2020, 12, 30)), dates);
+        }
+    }
+
+    @Test
+    void readsLazily() {
+        byte[] complete = write(List.of(improvedBean(0), improvedBean(1)));
+        byte[] truncated = Arrays.copyOf(complete, complete.length - "</beans>".length());
+        Supplier<InputStream> input = () -> new SequenceInputStream(new ByteArrayInputStream(truncated),
+                new ByteArrayInputStream("<bean><date>broken".getBytes(StandardCharsets.UTF_8)));
+
+        try (Stream<ImprovedBean> stream = deserializeFromXmlStream(input.get(), ImprovedBean.class)) {
+            assertEquals(List.of(improvedBean(0), improvedBean(1)), stream.limit(2).collect(Collectors.toList()));
+        }
+        try (Stream<ImprovedBean> stream = deserializeFromXmlStream(input.get(), ImprovedBean.class)) {
+            assertThrows(IllegalStateException.class, () -> stream.collect(Collectors.toList()));
+        }
+    }
+
+}
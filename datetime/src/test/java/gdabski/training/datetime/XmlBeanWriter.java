@@ -0,0 +1,64 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Appends JAXB root elements (e.g. {@code bean}) to a single document as they come, under a wrapping
+ * root element. {@link #close()} completes the document but does not close the underlying
+ * {@link OutputStream}.
+ */
+public final class XmlBeanWriter implements AutoCloseable {
+
+    public static final String DEFAULT_ROOT_ELEMENT = "beans";
+
+    private static final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+
+    private final Marshaller marshaller;
+    private final XMLStreamWriter writer;
+
+    XmlBeanWriter(Marshaller marshaller, OutputStream output, String rootElement) {
+        this.marshaller = marshaller;
+        try {
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            writer = xmlOutputFactory.createXMLStreamWriter(output, StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement(rootElement);
+        } catch (JAXBException | XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void write(Object bean) {
+        try {
+            marshaller.marshal(bean, writer);
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
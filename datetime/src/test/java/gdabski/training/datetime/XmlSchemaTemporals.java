@@ -0,0 +1,302 @@
+package gdabski.training.datetime;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Scanners and printers for the lexical forms of {@code xs:date}, {@code xs:time} and {@code xs:dateTime}
+ * working directly on characters. Parsing accepts what the ISO formatters of the threeten-jaxb adapters
+ * accept, and more: surrounding whitespace, fractions of a second beyond nanoseconds (truncated), a time
+ * zone on times (ignored) and {@code 24:00:00} (midnight, of the following day for date-times). Like them,
+ * parsing rejects date-times without a time zone, which are local and have no offset to assume. Printing
+ * matches {@link DateTimeFormatter#ISO_LOCAL_DATE}, {@link DateTimeFormatter#ISO_LOCAL_TIME} and
+ * {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}, which it falls back to for years outside 0-9999 and
+ * offsets with seconds; both forms are accepted back, though the XML schema has neither a {@code +} year
+ * sign nor offset seconds.
+ */
+final class XmlSchemaTemporals {
+
+    private XmlSchemaTemporals() {}
+
+    static LocalDate parseDate(CharSequence text) {
+        Scanner scanner = new Scanner(text);
+        LocalDate date = scanner.date();
+        scanner.zone();
+        scanner.end();
+        return date;
+    }
+
+    static LocalTime parseTime(CharSequence text) {
+        Scanner scanner = new Scanner(text);
+        LocalTime time = scanner.time();
+        scanner.zone();
+        scanner.end();
+        return time;
+    }
+
+    static OffsetDateTime parseDateTime(CharSequence text) {
+        Scanner scanner = new Scanner(text);
+        LocalDate date = scanner.date();
+        scanner.expect('T');
+        LocalTime time = scanner.time();
+        if (scanner.endOfDay) {
+            date = date.plusDays(1);
+        }
+        ZoneOffset offset = scanner.zone();
+        if (offset == null) {
+            throw scanner.error("Missing time zone");
+        }
+        scanner.end();
+        return OffsetDateTime.of(date, time, offset);
+    }
+
+    static String formatDate(LocalDate date) {
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            return DateTimeFormatter.ISO_LOCAL_DATE.format(date);
+        }
+        char[] chars = new char[10];
+        printDate(date, chars);
+        return new String(chars);
+    }
+
+    static String formatTime(LocalTime time) {
+        char[] chars = new char[18];
+        return new String(chars, 0, printTime(time, chars, 0));
+    }
+
+    static String formatDateTime(OffsetDateTime dateTime) {
+        int offsetSeconds = dateTime.getOffset().getTotalSeconds();
+        if (dateTime.getYear() < 0 || dateTime.getYear() > 9999 || offsetSeconds % 60 != 0) {
+            return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime);
+        }
+        LocalDateTime local = dateTime.toLocalDateTime();
+        char[] chars = new char[35];
+        printDate(local.toLocalDate(), chars);
+        chars[10] = 'T';
+        int position = printTime(local.toLocalTime(), chars, 11);
+        if (offsetSeconds == 0) {
+            chars[position++] = 'Z';
+        } else {
+            int minutes = Math.abs(offsetSeconds) / 60;
+            chars[position] = offsetSeconds < 0 ? '-' : '+';
+            printTwoDigits(minutes / 60, chars, position + 1);
+            chars[position + 3] = ':';
+            printTwoDigits(minutes % 60, chars, position + 4);
+            position += 6;
+        }
+        return new String(chars, 0, position);
+    }
+
+    static void printDate(LocalDate date, char[] chars) {
+        int year = date.getYear();
+        printTwoDigits(year / 100, chars, 0);
+        printTwoDigits(year % 100, chars, 2);
+        chars[4] = '-';
+        printTwoDigits(date.getMonthValue(), chars, 5);
+        chars[7] = '-';
+        printTwoDigits(date.getDayOfMonth(), chars, 8);
+    }
+
+    static int printTime(LocalTime time, char[] chars, int offset) {
+        printTwoDigits(time.getHour(), chars, offset);
+        chars[offset + 2] = ':';
+        printTwoDigits(time.getMinute(), chars, offset + 3);
+        chars[offset + 5] = ':';
+        printTwoDigits(time.getSecond(), chars, offset + 6);
+        int position = offset + 8;
+        int nano = time.getNano();
+        if (nano != 0) {
+            chars[position++] = '.';
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            for (int i = digits - 1; i >= 0; i--) {
+                chars[position + i] = (char) ('0' + nano % 10);
+                nano /= 10;
+            }
+            position += digits;
+        }
+        return position;
+    }
+
+    static void printTwoDigits(int value, char[] chars, int offset) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static final class Scanner {
+
+        private final CharSequence text;
+        private int position;
+        private final int end;
+        boolean endOfDay;
+
+        Scanner(CharSequence text) {
+            this.text = text;
+            int start = 0;
+            int end = text.length();
+            while (start < end && isWhitespace(text.charAt(start))) {
+                start++;
+            }
+            while (end > start && isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+            this.position = start;
+            this.end = end;
+        }
+
+        private static boolean isWhitespace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+        }
+
+        LocalDate date() {
+            char sign = peek();
+            if (sign == '-' || sign == '+') {
+                position++;
+            }
+            int start = position;
+            int year = 0;
+            while (position < end && isDigit(text.charAt(position))) {
+                if (position - start == 9) {
+                    throw error("Year too long");
+                }
+                year = year * 10 + text.charAt(position++) - '0';
+            }
+            if (position - start < 4 || position - start > 4 && text.charAt(start) == '0'
+                    || sign == '+' && position - start == 4) {
+                throw error("Invalid year");
+            }
+            expect('-');
+            int month = digits(2);
+            expect('-');
+            int day = digits(2);
+            try {
+                return LocalDate.of(sign == '-' ? -year : year, month, day);
+            } catch (DateTimeException e) {
+                throw new DateTimeParseException(e.getMessage(), text, start, e);
+            }
+        }
+
+        LocalTime time() {
+            int start = position;
+            int hour = digits(2);
+            expect(':');
+            int minute = digits(2);
+            int second = 0;
+            int nano = 0;
+            if (peek() == ':') {
+                position++;
+                second = digits(2);
+                if (peek() == '.') {
+                    position++;
+                    int digits = 0;
+                    while (position < end && isDigit(text.charAt(position))) {
+                        if (digits < 9) {
+                            nano = nano * 10 + text.charAt(position) - '0';
+                        }
+                        digits++;
+                        position++;
+                    }
+                    if (digits == 0) {
+                        throw error("Missing fraction digits");
+                    }
+                    for (int i = digits; i < 9; i++) {
+                        nano *= 10;
+                    }
+                }
+            }
+            if (hour == 24 && minute == 0 && second == 0 && nano == 0) {
+                endOfDay = true;
+                return LocalTime.MIDNIGHT;
+            }
+            try {
+                return LocalTime.of(hour, minute, second, nano);
+            } catch (DateTimeException e) {
+                throw new DateTimeParseException(e.getMessage(), text, start, e);
+            }
+        }
+
+        /**
+         * @return the time zone, or {@code null} at the end of the text
+         */
+        ZoneOffset zone() {
+            if (position == end) {
+                return null;
+            }
+            char sign = text.charAt(position);
+            if (sign == 'Z') {
+                position++;
+                return ZoneOffset.UTC;
+            }
+            if (sign != '+' && sign != '-') {
+                throw error("Invalid time zone");
+            }
+            int start = position++;
+            int hours = digits(2);
+            expect(':');
+            int minutes = digits(2);
+            int seconds = 0;
+            if (peek() == ':') {
+                position++;
+                seconds = digits(2);
+            }
+            try {
+                return sign == '-' ? ZoneOffset.ofHoursMinutesSeconds(-hours, -minutes, -seconds)
+                        : ZoneOffset.ofHoursMinutesSeconds(hours, minutes, seconds);
+            } catch (DateTimeException e) {
+                throw new DateTimeParseException(e.getMessage(), text, start, e);
+            }
+        }
+
+        void end() {
+            if (position != end) {
+                throw error("Unexpected text");
+            }
+        }
+
+        void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            position++;
+        }
+
+        private int digits(int count) {
+            if (end - position < count) {
+                throw error("Expected " + count + " digits");
+            }
+            int value = 0;
+            for (int i = 0; i < count; i++) {
+                char c = text.charAt(position);
+                if (!isDigit(c)) {
+                    throw error("Expected digit");
+                }
+                value = value * 10 + c - '0';
+                position++;
+            }
+            return value;
+        }
+
+        private char peek() {
+            return position < end ? text.charAt(position) : '\0';
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private DateTimeParseException error(String message) {
+            return new DateTimeParseException(message + " at index " + position + ": " + text, text, position);
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.SplittableRandom;
+
+import static gdabski.training.datetime.DateTimeTypesUtils.deserializeFromXml;
+import static gdabski.training.datetime.DateTimeTypesUtils.serializeToXml;
+import static gdabski.training.datetime.XmlSchemaTemporals.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XmlSchemaTemporalsTest {
+
+    private static final LocalDateTime MIN = LocalDateTime.of(-20000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX = LocalDateTime.of(20000, 12, 31, 23, 59, 59, 999_999_999);
+
+    @Test
+    void matchesIsoFormatters() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 100_000; i++) {
+            LocalDateTime local = randomDateTime(random);
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(
+                    random.nextInt(-18 * 60, 18 * 60 + 1) * (i % 100 == 0 ? 1 : 60));
+            OffsetDateTime dateTime = OffsetDateTime.of(local, offset);
+
+            String date = DateTimeFormatter.ISO_LOCAL_DATE.format(local);
+            String time = DateTimeFormatter.ISO_LOCAL_TIME.format(local);
+            String offsetDateTime = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime);
+            assertEquals(date, formatDate(local.toLocalDate()));
+            assertEquals(time, formatTime(local.toLocalTime()));
+            assertEquals(offsetDateTime, formatDateTime(dateTime));
+            assertEquals(local.toLocalDate(), parseDate(date));
+            assertEquals(local.toLocalTime(), parseTime(time));
+            assertEquals(dateTime, parseDateTime(offsetDateTime));
+        }
+    }
+
+    private static LocalDateTime randomDateTime(SplittableRandom random) {
+        long second = random.nextLong(MIN.toEpochSecond(ZoneOffset.UTC), MAX.toEpochSecond(ZoneOffset.UTC));
+        int nano;
+        switch (random.nextInt(4)) {
+            case 0: nano = 0; break;
+            case 1: nano = random.nextInt(1000) * 1_000_000; break;
+            case 2: nano = random.nextInt(1_000_000) * 1000; break;
+            default: nano = random.nextInt(1_000_000_000);
+        }
+        return LocalDateTime.ofEpochSecond(second, nano, ZoneOffset.UTC);
+    }
+
+    @Test
+    void parsesLenientForms() {
+        assertEquals(LocalDate.of(2020, 12, 29), parseDate(" 2020-12-29+02:00\n"));
+        assertEquals(LocalDate.of(-44, 3, 15), parseDate("-0044-03-15Z"));
+        assertEquals(LocalDate.of(12020, 12, 29), parseDate("12020-12-29"));
+        assertEquals(LocalTime.of(20, 0, 21, 123456789), parseTime("20:00:21.1234567891234-05:00"));
+        assertEquals(LocalTime.of(20, 0), parseTime("20:00"));
+        assertEquals(LocalTime.MIDNIGHT, parseTime("24:00:00.000"));
+        assertEquals(OffsetDateTime.of(2020, 12, 30, 0, 0, 0, 0, ZoneOffset.ofHours(-14)),
+                parseDateTime("2020-12-29T24:00:00-14:00"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2020-12-2", "2020-12-29T", "020-12-29", "02020-12-29", "2020-13-01", "2020-02-30",
+            "+2020-12-29", "2020-12-29+2:00", "2020-12-29+19:00", "2020-12-29x"})
+    void rejectsInvalidDates(String text) {
+        assertThrows(DateTimeParseException.class, () -> parseDate(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"20", "20:0", "20:00:21.", "25:00", "24:00:01", "24:00:00.1", "20:60", "20:00:21,5",
+            "2020-12-29T20:00"})
+    void rejectsInvalidTimes(String text) {
+        assertThrows(DateTimeParseException.class, () -> parseTime(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2020-12-29T20:00:21", " 2020-12-29T20:00:21.5 ", "2020-12-29T24:00:00", "2020-12-29"})
+    void rejectsDateTimesWithoutTimeZone(String text) {
+        assertThrows(DateTimeParseException.class, () -> parseDateTime(text));
+    }
+
+    /**
+     * A date-time without a zone is local, and assuming an offset for it would change its instant with the
+     * default time zone, so it is rejected where the zone should start.
+     */
+    @Test
+    void reportsMissingTimeZone() {
+        DateTimeParseException e = assertThrows(DateTimeParseException.class,
+                () -> new OffsetDateTimeXmlAdapter().unmarshal("2020-12-29T20:00:21.5"));
+
+        assertEquals(21, e.getErrorIndex());
+        assertEquals("Missing time zone at index 21: 2020-12-29T20:00:21.5", e.getMessage());
+        assertThrows(IllegalStateException.class, () -> deserializeFromXml(
+                "<bean><datetime>2020-12-29T20:00:21</datetime></bean>", ImprovedBean.class));
+    }
+
+    @Test
+    void adaptersPassNulls() {
+        assertNull(new LocalDateXmlAdapter().unmarshal(null));
+        assertNull(new LocalTimeXmlAdapter().marshal(null));
+        assertNull(new OffsetDateTimeXmlAdapter().unmarshal(null));
+    }
+
+    @Test
+    void bindsImprovedBeanLikeThreetenAdapters() throws JAXBException {
+        String xml = "<bean><date>2020-12-29</date><time>20:00:21.123456789</time>"
+                + "<datetime>2020-12-29T20:00:21.123456789+02:00</datetime></bean>";
+        ImprovedBean bean = deserializeFromXml(xml, ImprovedBean.class);
+        JAXBContext threetenContext = JAXBContext.newInstance(gdabski.training.datetime.threeten.ImprovedBean.class);
+        gdabski.training.datetime.threeten.ImprovedBean threeten = threetenContext.createUnmarshaller()
+                .unmarshal(new StreamSource(new StringReader(xml)),
+                        gdabski.training.datetime.threeten.ImprovedBean.class)
+                .getValue();
+
+        assertEquals(threeten.getDate(), bean.getDate());
+        assertEquals(threeten.getTime(), bean.getTime());
+        assertEquals(threeten.getDatetime(), bean.getDatetime());
+        StringWriter threetenXml = new StringWriter();
+        threetenContext.createMarshaller().marshal(threeten, threetenXml);
+        assertEquals(threetenXml.toString(), serializeToXml(bean));
+    }
+
+}
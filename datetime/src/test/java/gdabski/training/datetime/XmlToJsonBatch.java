@@ -0,0 +1,94 @@
+package gdabski.training.datetime;
+
+import gdabski.training.datetime.improved.ImprovedBean;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Iterator;
+
+/**
+ * Converts XML documents, one per line, to JSON documents, one per line in the same order, with an
+ * {@link OrderedBatchConverter}. Elements are read as {@link ImprovedBean}s unless another JAXB class is
+ * given, so that dates and times are written as the {@code JavaTimeModule} does. Run with
+ * {@code java -cp datetime-benchmarks/target/benchmarks.jar gdabski.training.datetime.XmlToJsonBatch
+ * [--parallelism n] [--chunk-size n] [--class name] [input|- [output|-]]}; the count and rate go to
+ * standard error.
+ * <br><br>
+ * As in the benchmark forks, JAXB RI's optimized accessors are off unless told otherwise, their
+ * generation failing on Java 11 and later.
+ */
+public final class XmlToJsonBatch {
+
+    private static final String NO_OPTIMIZE = "com.sun.xml.bind.v2.bytecode.ClassTailor.noOptimize";
+
+    private XmlToJsonBatch() {
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        if (System.getProperty(NO_OPTIMIZE) == null) {
+            System.setProperty(NO_OPTIMIZE, "true");
+        }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int chunkSize = OrderedBatchConverter.DEFAULT_CHUNK_SIZE;
+        Class<?> clazz = ImprovedBean.class;
+        int i = 0;
+        for (; i < args.length && args[i].startsWith("--"); i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value of " + args[i]);
+            }
+            switch (args[i]) {
+                case "--parallelism":
+                    parallelism = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--chunk-size":
+                    chunkSize = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--class":
+                    clazz = Class.forName(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Usage: XmlToJsonBatch [--parallelism n] [--chunk-size n] " +
+                            "[--class name] [input|- [output|-]]");
+            }
+        }
+        String input = i < args.length ? args[i] : "-";
+        String output = i + 1 < args.length ? args[i + 1] : "-";
+
+        Class<?> beanClass = clazz;
+        long start = System.nanoTime();
+        long count;
+        try (BufferedReader reader = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(input));
+             Writer writer = output.equals("-")
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Paths.get(output));
+             OrderedBatchConverter<String, String> converter = new OrderedBatchConverter<>(
+                     () -> DateTimeTypesUtils.xmlToJsonConverter(beanClass), parallelism, chunkSize)) {
+            count = convert(converter, reader, writer);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("%d documents in %.3f s, %.0f/s%n", count, seconds, count / seconds);
+    }
+
+    static long convert(OrderedBatchConverter<String, String> converter, BufferedReader reader, Writer writer) {
+        Iterator<String> lines = reader.lines().filter(line -> !line.isBlank()).iterator();
+        return converter.convert(lines, json -> {
+            try {
+                writer.write(json);
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+}
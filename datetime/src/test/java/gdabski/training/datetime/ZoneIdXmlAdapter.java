@@ -0,0 +1,22 @@
+package gdabski.training.datetime;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.ZoneId;
+
+/**
+ * Maps zone ids, such as {@code Europe/Warsaw} or {@code +04:00}, to {@link ZoneId}s interned by the
+ * {@link ZoneRegistry} of {@link DateTimeTypesUtils}.
+ */
+public final class ZoneIdXmlAdapter extends XmlAdapter<String, ZoneId> {
+
+    @Override
+    public ZoneId unmarshal(String value) {
+        return value == null ? null : DateTimeTypesUtils.getZoneRegistry().zoneId(value.trim());
+    }
+
+    @Override
+    public String marshal(ZoneId value) {
+        return value == null ? null : value.getId();
+    }
+
+}
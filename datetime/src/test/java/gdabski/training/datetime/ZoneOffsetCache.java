@@ -0,0 +1,304 @@
+package gdabski.training.datetime;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offset lookups by zone, answered from transitions precomputed for a range of years. {@link ZoneRules}
+ * build transitions past the last explicit one of a zone from its rules through a map lookup, and compare
+ * {@link LocalDateTime} objects for local lookups. Results match {@link ZoneRules} and
+ * {@link ZonedDateTime#of(LocalDateTime, ZoneId)}: a local date-time in a gap is moved forward by the length
+ * of the gap, and one in an overlap gets the earlier offset unless the later one is asked for. Outside the
+ * range of years, {@link ZoneRules} are used.
+ * <p>
+ * Results are {@link OffsetDateTime}s rather than {@link ZonedDateTime}s, since every factory of the latter
+ * consults the zone rules again. Thread-safe; tables are built on first use of a zone and kept.
+ */
+public final class ZoneOffsetCache {
+
+    public static final int DEFAULT_FROM_YEAR = 1970;
+    public static final int DEFAULT_TO_YEAR = 2100;
+
+    private static final int MAX_OFFSET_SECONDS = 18 * 60 * 60;
+
+    private final long rangeStart;
+    private final long rangeEnd;
+    private final Map<String, ZoneId> zoneIds = new ConcurrentHashMap<>();
+    private final Map<ZoneId, Table> tables = new ConcurrentHashMap<>();
+
+    public ZoneOffsetCache(int fromYear, int toYear) {
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("Empty range of years: " + fromYear + "-" + toYear);
+        }
+        this.rangeStart = LocalDate.of(fromYear, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        this.rangeEnd = LocalDate.of(toYear, 12, 31).plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Same as {@link ZoneId#of(String)}, cached by id.
+     */
+    public ZoneId zoneId(String id) {
+        ZoneId zoneId = zoneIds.get(id);
+        if (zoneId == null) {
+            zoneId = zoneIds.computeIfAbsent(id, ZoneId::of);
+        }
+        return zoneId;
+    }
+
+    /**
+     * Same as {@code zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond))}.
+     */
+    public ZoneOffset getOffset(ZoneId zone, long epochSecond) {
+        if (epochSecond < rangeStart || epochSecond >= rangeEnd) {
+            return zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+        }
+        Table table = table(zone);
+        return table.offsets[table.floorTransition(epochSecond) + 1];
+    }
+
+    public ZoneOffset getOffset(ZoneId zone, Instant instant) {
+        return getOffset(zone, instant.getEpochSecond());
+    }
+
+    /**
+     * Same as {@code instant.atZone(zone).toOffsetDateTime()}.
+     */
+    public OffsetDateTime toOffsetDateTime(Instant instant, ZoneId zone) {
+        return OffsetDateTime.ofInstant(instant, getOffset(zone, instant.getEpochSecond()));
+    }
+
+    /**
+     * Same as {@code ZonedDateTime.of(localDateTime, zone).toOffsetDateTime()}.
+     */
+    public OffsetDateTime toOffsetDateTime(LocalDateTime localDateTime, ZoneId zone) {
+        return toOffsetDateTime(localDateTime, zone, false);
+    }
+
+    /**
+     * Same as {@code ZonedDateTime.of(localDateTime, zone)}, followed by
+     * {@link ZonedDateTime#withLaterOffsetAtOverlap()} if {@code laterOffsetAtOverlap}, and
+     * {@link ZonedDateTime#toOffsetDateTime()}.
+     */
+    public OffsetDateTime toOffsetDateTime(LocalDateTime localDateTime, ZoneId zone, boolean laterOffsetAtOverlap) {
+        long local = localDateTime.toEpochSecond(ZoneOffset.UTC);
+        Table table = local - MAX_OFFSET_SECONDS < rangeStart || local + MAX_OFFSET_SECONDS >= rangeEnd
+                ? null : table(zone);
+        if (table == null || table.localStarts == null) {
+            ZonedDateTime zoned = ZonedDateTime.of(localDateTime, zone);
+            return (laterOffsetAtOverlap ? zoned.withLaterOffsetAtOverlap() : zoned).toOffsetDateTime();
+        }
+        int index = table.floorLocalStart(local);
+        if (index >= 0 && local < table.localEnds[index]) {
+            ZoneOffset before = table.offsets[index];
+            ZoneOffset after = table.offsets[index + 1];
+            if (after.getTotalSeconds() > before.getTotalSeconds()) {
+                return OffsetDateTime.of(localDateTime.plusSeconds(after.getTotalSeconds() - before.getTotalSeconds()),
+                        after);
+            }
+            return OffsetDateTime.of(localDateTime, laterOffsetAtOverlap ? after : before);
+        }
+        return OffsetDateTime.of(localDateTime, table.offsets[index + 1]);
+    }
+
+    /**
+     * Same as {@code ZonedDateTime.ofLocal(localDateTime, zone, preferredOffset).toEpochSecond()}, for the
+     * local date-time at {@code localEpochSecond}: the preferred offset decides overlaps, as when a
+     * {@link ZonedDateTime} is moved by a date-based amount.
+     */
+    public long toEpochSecond(long localEpochSecond, ZoneId zone, ZoneOffset preferredOffset) {
+        Table table = localEpochSecond - MAX_OFFSET_SECONDS < rangeStart
+                || localEpochSecond + MAX_OFFSET_SECONDS >= rangeEnd ? null : table(zone);
+        if (table == null || table.localStarts == null) {
+            return ZonedDateTime.ofLocal(LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC), zone,
+                    preferredOffset).toEpochSecond();
+        }
+        int index = table.floorLocalStart(localEpochSecond);
+        if (index >= 0 && localEpochSecond < table.localEnds[index]) {
+            ZoneOffset before = table.offsets[index];
+            ZoneOffset after = table.offsets[index + 1];
+            if (after.getTotalSeconds() > before.getTotalSeconds()) {
+                return localEpochSecond - before.getTotalSeconds();
+            }
+            return localEpochSecond - (after.equals(preferredOffset) ? after : before).getTotalSeconds();
+        }
+        return localEpochSecond - table.offsets[index + 1].getTotalSeconds();
+    }
+
+    /**
+     * @return the epoch second of the last transition not after {@code epochSecond}, or {@link Long#MIN_VALUE}
+     */
+    long floorTransition(ZoneId zone, long epochSecond) {
+        if (epochSecond >= rangeStart && epochSecond < rangeEnd) {
+            Table table = table(zone);
+            int index = table.floorTransition(epochSecond);
+            if (index >= 0) {
+                return table.transitions[index];
+            }
+        }
+        ZoneOffsetTransition transition = zone.getRules().previousTransition(Instant.ofEpochSecond(epochSecond + 1));
+        return transition == null ? Long.MIN_VALUE : transition.toEpochSecond();
+    }
+
+    /**
+     * @return the epoch second of the first transition after {@code epochSecond}, or {@link Long#MAX_VALUE}
+     */
+    long higherTransition(ZoneId zone, long epochSecond) {
+        if (epochSecond >= rangeStart && epochSecond < rangeEnd) {
+            Table table = table(zone);
+            int index = table.floorTransition(epochSecond) + 1;
+            if (index < table.transitions.length) {
+                return table.transitions[index];
+            }
+        }
+        ZoneOffsetTransition transition = zone.getRules().nextTransition(Instant.ofEpochSecond(epochSecond));
+        return transition == null ? Long.MAX_VALUE : transition.toEpochSecond();
+    }
+
+    /**
+     * Same as {@code localDate.atStartOfDay(zone).toOffsetDateTime()}.
+     */
+    public OffsetDateTime atStartOfDay(LocalDate localDate, ZoneId zone) {
+        return toOffsetDateTime(localDate.atStartOfDay(), zone, false);
+    }
+
+    /**
+     * Same as {@code ZonedDateTime.of(localDateTime, zone).toInstant()}.
+     */
+    public Instant toInstant(LocalDateTime localDateTime, ZoneId zone) {
+        return toOffsetDateTime(localDateTime, zone, false).toInstant();
+    }
+
+    private Table table(ZoneId zone) {
+        Table table = tables.get(zone);
+        if (table == null) {
+            table = tables.computeIfAbsent(zone, this::build);
+        }
+        return table;
+    }
+
+    private Table build(ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        Instant start = Instant.ofEpochSecond(rangeStart);
+        int count = 0;
+        long[] transitions = new long[16];
+        ZoneOffset[] offsets = new ZoneOffset[17];
+        offsets[0] = rules.getOffset(start);
+        if (!rules.isFixedOffset()) {
+            for (ZoneOffsetTransition transition = rules.nextTransition(start);
+                 transition != null && transition.toEpochSecond() < rangeEnd;
+                 transition = rules.nextTransition(transition.getInstant())) {
+                if (count == transitions.length) {
+                    transitions = Arrays.copyOf(transitions, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2 + 1);
+                }
+                transitions[count++] = transition.toEpochSecond();
+                offsets[count] = transition.getOffsetAfter();
+            }
+        }
+        return new Table(Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1), rangeStart, rangeEnd);
+    }
+
+    /**
+     * Transitions of a zone, with each span of {@code 2^shift} seconds from the start of the range mapped to
+     * the number of transitions before it, so a lookup is a load and a short forward scan, rather than a
+     * binary search that mispredicts about every other branch.
+     */
+    private static final class Table {
+
+        private static final int MIN_SHIFT = 20;
+        private static final int MAX_BUCKETS = 1 << 16;
+
+        /** Epoch seconds of the transitions. */
+        final long[] transitions;
+        /** Offsets before the first transition and after each one. */
+        final ZoneOffset[] offsets;
+        /**
+         * Local epoch seconds at which the gap or overlap of each transition starts and ends, or {@code null}
+         * where these would not be sorted, which no zone has at the time of writing.
+         */
+        final long[] localStarts;
+        final long[] localEnds;
+
+        private final long base;
+        private final int shift;
+        private final int[] transitionBuckets;
+        private final int[] localStartBuckets;
+
+        Table(long[] transitions, ZoneOffset[] offsets, long rangeStart, long rangeEnd) {
+            this.transitions = transitions;
+            this.offsets = offsets;
+            long[] localStarts = new long[transitions.length];
+            long[] localEnds = new long[transitions.length];
+            for (int i = 0; i < transitions.length; i++) {
+                long before = transitions[i] + offsets[i].getTotalSeconds();
+                long after = transitions[i] + offsets[i + 1].getTotalSeconds();
+                localStarts[i] = Math.min(before, after);
+                localEnds[i] = Math.max(before, after);
+                if (i > 0 && localStarts[i] < localEnds[i - 1]) {
+                    localStarts = null;
+                    localEnds = null;
+                    break;
+                }
+            }
+            this.localStarts = localStarts;
+            this.localEnds = localEnds;
+
+            int shift = MIN_SHIFT;
+            while ((rangeEnd - rangeStart) >> shift >= MAX_BUCKETS) {
+                shift++;
+            }
+            this.base = rangeStart;
+            this.shift = shift;
+            this.transitionBuckets = buckets(transitions, (int) ((rangeEnd - rangeStart) >> shift) + 1);
+            this.localStartBuckets = localStarts == null ? null : buckets(localStarts, transitionBuckets.length);
+        }
+
+        private int[] buckets(long[] sorted, int count) {
+            int[] buckets = new int[count];
+            int index = 0;
+            for (int bucket = 0; bucket < count; bucket++) {
+                long bucketStart = base + ((long) bucket << shift);
+                while (index < sorted.length && sorted[index] < bucketStart) {
+                    index++;
+                }
+                buckets[bucket] = index;
+            }
+            return buckets;
+        }
+
+        /**
+         * @return the index of the last transition not after {@code epochSecond}, within the range, or -1
+         */
+        int floorTransition(long epochSecond) {
+            return floor(transitions, transitionBuckets, epochSecond);
+        }
+
+        /**
+         * @return the index of the last gap or overlap starting not after {@code localEpochSecond}, within the
+         * range, or -1
+         */
+        int floorLocalStart(long localEpochSecond) {
+            return floor(localStarts, localStartBuckets, localEpochSecond);
+        }
+
+        private int floor(long[] sorted, int[] buckets, long key) {
+            int index = buckets[(int) ((key - base) >> shift)];
+            while (index < sorted.length && sorted[index] <= key) {
+                index++;
+            }
+            return index - 1;
+        }
+
+    }
+
+}
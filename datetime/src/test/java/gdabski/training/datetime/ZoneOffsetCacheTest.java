@@ -0,0 +1,146 @@
+package gdabski.training.datetime;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZoneOffsetCacheTest {
+
+    private static final ZoneId WARSAW = ZoneId.of("Europe/Warsaw");
+
+    private final ZoneOffsetCache cache = new ZoneOffsetCache(1900, 2100);
+
+    @Test
+    void resolvesGapsAndOverlapsLikeZonedDateTime() {
+        assertEquals(OffsetDateTime.parse("2021-03-28T03:30+02:00"),
+                cache.toOffsetDateTime(LocalDateTime.parse("2021-03-28T02:30:00"), WARSAW));
+        assertEquals(OffsetDateTime.parse("2021-10-31T02:30+02:00"),
+                cache.toOffsetDateTime(LocalDateTime.parse("2021-10-31T02:30:00"), WARSAW));
+        assertEquals(OffsetDateTime.parse("2021-10-31T02:30+01:00"),
+                cache.toOffsetDateTime(LocalDateTime.parse("2021-10-31T02:30:00"), WARSAW, true));
+        assertEquals(OffsetDateTime.parse("2038-12-29T00:00+01:00"),
+                cache.atStartOfDay(LocalDate.of(2038, 12, 29), WARSAW));
+    }
+
+    @Test
+    void matchesZoneRulesAroundEveryTransitionOfEveryZone() {
+        Instant start = Instant.parse("1900-01-01T00:00:00Z");
+        Instant end = Instant.parse("2101-01-01T00:00:00Z");
+        for (String id : ZoneId.getAvailableZoneIds()) {
+            ZoneId zone = ZoneId.of(id);
+            ZoneRules rules = zone.getRules();
+            for (ZoneOffsetTransition transition = rules.nextTransition(start);
+                 transition != null && transition.getInstant().isBefore(end);
+                 transition = rules.nextTransition(transition.getInstant())) {
+                long epochSecond = transition.toEpochSecond();
+                for (long second = epochSecond - 1; second <= epochSecond + 1; second++) {
+                    assertOffset(zone, Instant.ofEpochSecond(second));
+                }
+                LocalDateTime before = transition.getDateTimeBefore();
+                LocalDateTime after = transition.getDateTimeAfter();
+                for (LocalDateTime local : new LocalDateTime[]{before.minusNanos(1), before, before.plusNanos(1),
+                        after.minusNanos(1), after, after.plusNanos(1), before.plus(transition.getDuration().dividedBy(2))}) {
+                    assertLocal(zone, local);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesZoneRulesWithinAndOutsideRange() {
+        SplittableRandom random = new SplittableRandom(12);
+        long from = LocalDateTime.of(1850, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long to = LocalDateTime.of(2150, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        ZoneId[] zones = ZoneId.getAvailableZoneIds().stream().sorted().map(ZoneId::of).toArray(ZoneId[]::new);
+        for (int i = 0; i < 200_000; i++) {
+            ZoneId zone = i % 10 == 0 ? ZoneOffset.ofHours(random.nextInt(-18, 19)) : zones[random.nextInt(zones.length)];
+            long second = random.nextLong(from, to);
+            int nano = random.nextInt(1_000_000_000);
+            assertOffset(zone, Instant.ofEpochSecond(second, nano));
+            assertLocal(zone, LocalDateTime.ofEpochSecond(second, nano, ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Lookups start from the bucket of about 12 days, or longer over long ranges, holding the key; checks
+     * each side of every bucket boundary of a one-year range, its edges, and every transition over a range
+     * long enough for many transitions to share a bucket.
+     */
+    @Test
+    void matchesZoneRulesAtBucketBoundariesAndRangeEdges() {
+        ZoneId[] zones = {WARSAW, ZoneId.of("Australia/Lord_Howe"), ZoneId.of("America/Sao_Paulo"),
+                ZoneId.of("Asia/Kolkata"), ZoneOffset.ofHours(5)};
+        ZoneOffsetCache year = new ZoneOffsetCache(2021, 2021);
+        long start = LocalDate.of(2021, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long end = LocalDate.of(2022, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        for (ZoneId zone : zones) {
+            for (long boundary = start; boundary < end + (1 << 20); boundary += 1 << 20) {
+                for (long second : new long[]{boundary - 1, boundary, Math.min(boundary, end) - 1, end}) {
+                    assertOffset(year, zone, Instant.ofEpochSecond(second));
+                    assertLocal(year, zone, LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC));
+                }
+            }
+        }
+
+        ZoneOffsetCache wide = new ZoneOffsetCache(1, 9999);
+        for (ZoneId zone : zones) {
+            ZoneRules rules = zone.getRules();
+            for (ZoneOffsetTransition transition = rules.nextTransition(Instant.parse("0001-01-01T00:00:00Z"));
+                 transition != null && transition.getInstant().isBefore(Instant.parse("4000-01-01T00:00:00Z"));
+                 transition = rules.nextTransition(transition.getInstant())) {
+                for (long second = transition.toEpochSecond() - 1; second <= transition.toEpochSecond() + 1; second++) {
+                    assertOffset(wide, zone, Instant.ofEpochSecond(second));
+                }
+                assertLocal(wide, zone, transition.getDateTimeBefore());
+                assertLocal(wide, zone, transition.getDateTimeAfter().minusNanos(1));
+            }
+        }
+    }
+
+    private void assertOffset(ZoneId zone, Instant instant) {
+        assertOffset(cache, zone, instant);
+    }
+
+    private static void assertOffset(ZoneOffsetCache cache, ZoneId zone, Instant instant) {
+        assertEquals(zone.getRules().getOffset(instant), cache.getOffset(zone, instant), () -> zone + " " + instant);
+        assertEquals(instant.atZone(zone).toOffsetDateTime(), cache.toOffsetDateTime(instant, zone));
+    }
+
+    private void assertLocal(ZoneId zone, LocalDateTime local) {
+        assertLocal(cache, zone, local);
+    }
+
+    private static void assertLocal(ZoneOffsetCache cache, ZoneId zone, LocalDateTime local) {
+        ZonedDateTime expected = ZonedDateTime.of(local, zone);
+        assertEquals(expected.toOffsetDateTime(), cache.toOffsetDateTime(local, zone), () -> zone + " " + local);
+        assertEquals(expected.withLaterOffsetAtOverlap().toOffsetDateTime(), cache.toOffsetDateTime(local, zone, true),
+                () -> zone + " " + local);
+        assertEquals(expected.toInstant(), cache.toInstant(local, zone));
+        long localEpochSecond = local.toEpochSecond(ZoneOffset.UTC);
+        for (ZoneOffset preferred : new ZoneOffset[]{expected.getOffset(), expected.withLaterOffsetAtOverlap().getOffset()}) {
+            assertEquals(ZonedDateTime.ofLocal(local.withNano(0), zone, preferred).toEpochSecond(),
+                    cache.toEpochSecond(localEpochSecond, zone, preferred), () -> zone + " " + local + " " + preferred);
+        }
+    }
+
+    @Test
+    void cachesZoneIds() {
+        assertSame(cache.zoneId("Europe/Warsaw"), cache.zoneId("Europe/Warsaw"));
+        assertEquals(ZoneId.of("+02:00"), cache.zoneId("+02:00"));
+        assertThrows(IllegalArgumentException.class, () -> new ZoneOffsetCache(2000, 1999));
+    }
+
+}
@@ -0,0 +1,213 @@
+package gdabski.training.datetime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Interns zone ids and offsets: resolves their text, or part of a longer text, without allocating, and
+ * numbers them with small codes. The registry is fixed on creation. Region ids are numbered first as listed
+ * in {@value #DICTIONARY}, which is only ever appended to, so their codes mean the same zone in every
+ * version; ids listed but unknown to this JVM's time zone database keep their codes unused. Available ids
+ * not listed follow, in sorted order, then the offsets in whole quarter hours from {@code -18:00} to
+ * {@code +18:00}. Any other text, such as an alias ({@code +00:00}, {@code +04}) or an offset with seconds,
+ * is resolved by {@link ZoneId#of(String)} each time and never registered, so that the registry cannot
+ * grow with its input.
+ * <p>
+ * Lookups read an open-addressing table keyed by the text, which is never modified after creation.
+ */
+public final class ZoneRegistry {
+
+    static final String DICTIONARY = "/datetime/zone-codes.txt";
+
+    private static final int OFFSET_STEP_SECONDS = 15 * 60;
+
+    private final Entry[] table;
+    private final ZoneId[] zones;
+    private final int dictionarySize;
+
+    public ZoneRegistry() {
+        Set<String> available = ZoneId.getAvailableZoneIds();
+        List<String> dictionary = dictionary();
+        List<ZoneId> zones = new ArrayList<>();
+        for (String id : dictionary) {
+            zones.add(available.contains(id) ? ZoneId.of(id) : null);
+        }
+        dictionarySize = zones.size();
+        Set<String> listed = new HashSet<>(dictionary);
+        available.stream().filter(id -> !listed.contains(id)).sorted().map(ZoneId::of).forEach(zones::add);
+        for (int seconds = -ZoneOffset.MAX.getTotalSeconds(); seconds <= ZoneOffset.MAX.getTotalSeconds();
+                seconds += OFFSET_STEP_SECONDS) {
+            zones.add(ZoneOffset.ofTotalSeconds(seconds));
+        }
+        this.zones = zones.toArray(new ZoneId[0]);
+        table = new Entry[Integer.highestOneBit(this.zones.length * 2 - 1) << 1];
+        for (int code = 0; code < this.zones.length; code++) {
+            if (this.zones[code] != null) {
+                insert(table, new Entry(this.zones[code].getId(), this.zones[code], code));
+            }
+        }
+    }
+
+    /**
+     * @return the region ids of {@value #DICTIONARY}, in order of their codes
+     */
+    static List<String> dictionary() {
+        InputStream stream = ZoneRegistry.class.getResourceAsStream(DICTIONARY);
+        if (stream == null) {
+            throw new IllegalStateException("Missing " + DICTIONARY);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Same as {@link ZoneId#of(String)}, interned if registered.
+     */
+    public ZoneId zoneId(CharSequence text) {
+        return zoneId(text, 0, text.length());
+    }
+
+    /**
+     * Resolves the characters from {@code start} inclusive to {@code end} exclusive as by
+     * {@link ZoneId#of(String)}.
+     *
+     * @throws DateTimeException if they are not a zone id
+     */
+    public ZoneId zoneId(CharSequence text, int start, int end) {
+        boolean whole = text instanceof String && start == 0 && end == text.length();
+        Entry entry = find(table, text, start, end, whole ? text.hashCode() : hash(text, start, end));
+        return entry != null ? entry.zone : ZoneId.of(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * Same as {@link ZoneOffset#of(String)}, interned if registered.
+     */
+    public ZoneOffset zoneOffset(CharSequence text) {
+        return zoneOffset(text, 0, text.length());
+    }
+
+    public ZoneOffset zoneOffset(CharSequence text, int start, int end) {
+        char first = start < end ? text.charAt(start) : 0;
+        if (first == '+' || first == '-' || first == 'Z' && end - start == 1) {
+            return (ZoneOffset) zoneId(text, start, end);
+        }
+        throw new DateTimeException("Invalid ID for ZoneOffset, invalid format: " + text.subSequence(start, end));
+    }
+
+    /**
+     * @return the code of the zone, or -1 if it is not registered
+     */
+    public int code(ZoneId zone) {
+        String id = zone.getId();
+        Entry entry = find(table, id, 0, id.length(), id.hashCode());
+        return entry != null ? entry.code : -1;
+    }
+
+    /**
+     * @throws DateTimeException if no zone has the code, or its zone is unknown to this JVM
+     */
+    public ZoneId zone(int code) {
+        if (code < 0 || code >= zones.length || zones[code] == null) {
+            throw new DateTimeException("Unknown zone code: " + code);
+        }
+        return zones[code];
+    }
+
+    /**
+     * @return the number of region ids listed in {@value #DICTIONARY}; codes below it mean the same zone in
+     * every version, others only between JVMs with the same time zone database
+     */
+    public int dictionarySize() {
+        return dictionarySize;
+    }
+
+    /**
+     * @return the number of codes assigned
+     */
+    public int size() {
+        return zones.length;
+    }
+
+    private static void insert(Entry[] table, Entry entry) {
+        int mask = table.length - 1;
+        int index = mix(entry.hash) & mask;
+        while (table[index] != null) {
+            index = index + 1 & mask;
+        }
+        table[index] = entry;
+    }
+
+    private static Entry find(Entry[] table, CharSequence text, int start, int end, int hash) {
+        int mask = table.length - 1;
+        for (int index = mix(hash) & mask; ; index = index + 1 & mask) {
+            Entry entry = table[index];
+            if (entry == null || entry.hash == hash && entry.matches(text, start, end)) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link String#hashCode()} of the characters.
+     */
+    private static int hash(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ hash >>> 16;
+    }
+
+    private static final class Entry {
+
+        final String id;
+        final ZoneId zone;
+        final int code;
+        final int hash;
+
+        Entry(String id, ZoneId zone, int code) {
+            this.id = id;
+            this.zone = zone;
+            this.code = code;
+            this.hash = id.hashCode();
+        }
+
+        boolean matches(CharSequence text, int start, int end) {
+            if (text instanceof String && start == 0 && end == text.length()) {
+                return id.equals(text);
+            }
+            if (end - start != id.length()) {
+                return false;
+            }
+            for (int i = 0; i < id.length(); i++) {
+                if (id.charAt(i) != text.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package gdabski.training.datetime;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Deserializers of {@link ZoneId} and {@link ZoneOffset} strings that resolve zones with a
+ * {@link ZoneRegistry} instead of parsing them anew. Zone ids of {@link ZonedDateTime} strings are resolved
+ * with the registry by {@link IsoTemporalModule}.
+ */
+public final class ZoneRegistryModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public ZoneRegistryModule(ZoneRegistry registry) {
+        super(ZoneRegistryModule.class.getSimpleName());
+        addDeserializer(ZoneId.class, new ZoneIdDeserializer(registry));
+        addDeserializer(ZoneOffset.class, new ZoneOffsetDeserializer(registry));
+    }
+
+    private abstract static class TextDeserializer<T> extends StdScalarDeserializer<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        final transient ZoneRegistry registry;
+
+        TextDeserializer(Class<T> type, ZoneRegistry registry) {
+            super(type);
+            this.registry = registry;
+        }
+
+        @Override
+        public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.getCurrentToken() != JsonToken.VALUE_STRING) {
+                return fallback(parser, context);
+            }
+            CharBuffer text = CharBuffer.wrap(parser.getTextCharacters());
+            int start = parser.getTextOffset();
+            int end = start + parser.getTextLength();
+            while (start < end && Character.isWhitespace(text.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+            if (start == end) {
+                return null;
+            }
+            try {
+                T value = parse(text, start, end, context);
+                return value != null ? value : fallback(parser, context);
+            } catch (DateTimeException e) {
+                throw context.weirdStringException(text.subSequence(start, end).toString(), handledType(),
+                        e.getMessage());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T fallback(JsonParser parser, DeserializationContext context) throws IOException {
+            return (T) context.handleUnexpectedToken(handledType(), parser);
+        }
+
+        /**
+         * @return the value, or {@code null} to leave the string to {@link #fallback}
+         */
+        abstract T parse(CharBuffer text, int start, int end, DeserializationContext context);
+
+    }
+
+    private static final class ZoneIdDeserializer extends TextDeserializer<ZoneId> {
+
+        private static final long serialVersionUID = 1L;
+
+        ZoneIdDeserializer(ZoneRegistry registry) {
+            super(ZoneId.class, registry);
+        }
+
+        @Override
+        ZoneId parse(CharBuffer text, int start, int end, DeserializationContext context) {
+            return registry.zoneId(text, start, end);
+        }
+
+    }
+
+    private static final class ZoneOffsetDeserializer extends TextDeserializer<ZoneOffset> {
+
+        private static final long serialVersionUID = 1L;
+
+        ZoneOffsetDeserializer(ZoneRegistry registry) {
+            super(ZoneOffset.class, registry);
+        }
+
+        @Override
+        ZoneOffset parse(CharBuffer text, int start, int end, DeserializationContext context) {
+            return registry.zoneOffset(text, start, end);
+        }
+
+    }
+
+}
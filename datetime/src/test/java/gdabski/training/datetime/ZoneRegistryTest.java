@@ -0,0 +1,166 @@
+package gdabski.training.datetime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZoneRegistryTest {
+
+    private final ZoneRegistry registry = new ZoneRegistry();
+
+    @Test
+    void numbersDictionaryThenOtherRegionsThenOffsets() {
+        List<String> dictionary = ZoneRegistry.dictionary();
+        Set<String> available = ZoneId.getAvailableZoneIds();
+        for (int code = 0; code < dictionary.size(); code++) {
+            String id = dictionary.get(code);
+            if (available.contains(id)) {
+                ZoneId zone = registry.zone(code);
+                assertEquals(id, zone.getId());
+                assertEquals(code, registry.code(zone));
+                assertSame(zone, registry.zoneId(id));
+            } else {
+                int unused = code;
+                assertThrows(DateTimeException.class, () -> registry.zone(unused));
+            }
+        }
+        for (String id : available) {
+            assertEquals(id, registry.zone(registry.code(ZoneId.of(id))).getId());
+        }
+        assertEquals(dictionary.size(), registry.dictionarySize());
+        assertEquals(ZoneOffset.MIN, registry.zone(registry.size() - 145));
+        assertEquals(ZoneOffset.MAX, registry.zone(registry.size() - 1));
+        assertThrows(DateTimeException.class, () -> registry.zone(registry.size()));
+    }
+
+    /**
+     * Fails if a code of the dictionary changes: ids may only be appended to it.
+     */
+    @Test
+    void keepsDictionaryCodes() {
+        List<String> dictionary = ZoneRegistry.dictionary();
+        CRC32 checksum = new CRC32();
+        checksum.update(String.join("\n", dictionary.subList(0, 603)).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3037453543L, checksum.getValue());
+        assertEquals(0, dictionary.indexOf("Africa/Abidjan"));
+        assertEquals(485, dictionary.indexOf("Europe/Warsaw"));
+        assertEquals(598, dictionary.indexOf("UTC"));
+        assertEquals(dictionary.size(), Set.copyOf(dictionary).size());
+    }
+
+    @Test
+    void internsOffsetsAndAliases() {
+        ZoneOffset offset = registry.zoneOffset("+04:00");
+        assertSame(offset, registry.zoneOffset("[+04:00]", 1, 7));
+        assertSame(offset, registry.zoneId("+04:00"));
+        assertEquals(ZoneOffset.ofHours(4), offset);
+        assertEquals(registry.code(offset), registry.code(ZoneOffset.ofHours(4)));
+
+        assertSame(ZoneOffset.UTC, registry.zoneOffset("+00:00"));
+        assertEquals(registry.code(ZoneOffset.UTC), registry.code(registry.zoneId("+00:00")));
+        assertEquals(ZoneOffset.ofHoursMinutesSeconds(5, 30, 15), registry.zoneOffset("+053015"));
+        assertEquals(ZoneId.of("UTC+01:00"), registry.zoneId("UTC+01:00"));
+
+        assertThrows(DateTimeException.class, () -> registry.zoneOffset("Europe/Warsaw"));
+        assertThrows(DateTimeException.class, () -> registry.zoneOffset(""));
+        assertThrows(DateTimeException.class, () -> registry.zoneId("Europe/Nowhere"));
+        assertThrows(DateTimeException.class, () -> registry.zoneId("+25:00"));
+    }
+
+    @Test
+    void resolvesOtherZonesWithoutRegistering() {
+        int size = registry.size();
+        SplittableRandom random = new SplittableRandom(18);
+        for (int i = 0; i < 10_000; i++) {
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(random.nextInt(-64_800, 64_801));
+            assertEquals(offset, registry.zoneOffset(offset.getId()));
+            assertEquals(ZoneId.ofOffset("GMT", offset), registry.zoneId("GMT" + offset.getId()));
+        }
+        ZoneId zone = registry.zoneId("GMT+02:00");
+
+        assertEquals(ZoneId.of("GMT+02:00"), zone);
+        assertEquals(-1, registry.code(zone));
+        assertEquals(size, registry.size());
+    }
+
+    @Test
+    void deserializesJsonLikeJavaTimeModule() throws JsonProcessingException {
+        ObjectMapper plain = mapper();
+        ObjectMapper interned = mapper().registerModule(new ZoneRegistryModule(registry))
+                .registerModule(new IsoTemporalModule(registry));
+        ZoneId[] zones = {ZoneId.of("Europe/Warsaw"), ZoneId.of("America/Chicago"), ZoneOffset.UTC,
+                ZoneOffset.ofHours(-6), ZoneOffset.ofHoursMinutesSeconds(1, 2, 3), ZoneId.of("UTC")};
+        SplittableRandom random = new SplittableRandom(18);
+        for (int i = 0; i < 10_000; i++) {
+            ZoneId zone = zones[random.nextInt(zones.length)];
+            Instant instant = Instant.ofEpochSecond(random.nextLong(-5_000_000_000L, 5_000_000_000L),
+                    random.nextInt(4) == 0 ? 0 : random.nextInt(1_000_000_000));
+            String json = plain.writeValueAsString(new ZonedEvent(instant.atZone(zone), zone));
+            ZonedEvent expected = plain.readValue(json, ZonedEvent.class);
+            ZonedEvent actual = interned.readValue(json, ZonedEvent.class);
+            assertEquals(expected.dateTime, actual.dateTime, json);
+            assertEquals(expected.zone, actual.zone, json);
+        }
+        for (String json : new String[]{"\"2021-03-28T02:30+01:00[Europe/Warsaw]\"", "\"2021-10-31T02:30:00+01:00\"",
+                "\" 2021-10-31T02:30:00.5+02:00[Europe/Warsaw] \"", "1609339531.5", "\"\""}) {
+            assertEquals(plain.readValue(json, ZonedDateTime.class), interned.readValue(json, ZonedDateTime.class), json);
+        }
+        assertEquals(ZoneOffset.ofHours(4), interned.readValue("\"+04:00\"", ZoneOffset.class));
+        assertNull(interned.readValue("null", ZoneId.class));
+        assertThrows(JsonProcessingException.class, () -> interned.readValue("\"Europe/Nowhere\"", ZoneId.class));
+        assertThrows(JsonProcessingException.class,
+                () -> interned.readValue("\"2021-01-01T00:00:00Z[Europe/Nowhere]\"", ZonedDateTime.class));
+    }
+
+    @Test
+    void resolvesXmlZoneIds() {
+        ZoneIdXmlAdapter adapter = new ZoneIdXmlAdapter();
+        assertSame(DateTimeTypesUtils.getZoneRegistry().zoneId("Europe/Warsaw"), adapter.unmarshal(" Europe/Warsaw "));
+        assertEquals("+04:00", adapter.marshal(adapter.unmarshal("+04:00")));
+        assertNull(adapter.unmarshal(null));
+    }
+
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+        mapper.enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID);
+        return mapper;
+    }
+
+    static final class ZonedEvent {
+
+        public ZonedDateTime dateTime;
+        public ZoneId zone;
+
+        ZonedEvent() {}
+
+        ZonedEvent(ZonedDateTime dateTime, ZoneId zone) {
+            this.dateTime = dateTime;
+            this.zone = zone;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package gdabski.training.datetime;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ZonedDateTime}s as epoch-second, nano-of-second and a {@code short} id into a per-column zone
+ * dictionary, 14 bytes per value. The offset is not stored: the instant and zone determine it, also
+ * within an overlap, as long as the zone rules do not change in between. Searches order values by instant.
+ */
+public final class ZonedDateTimeColumn extends TemporalColumn<ZonedDateTime> {
+
+    private static final int ZONE = Long.BYTES + Integer.BYTES;
+    private static final int MAX_ZONES = 1 << Short.SIZE;
+
+    private final List<ZoneId> zones = new ArrayList<>();
+    private final Map<ZoneId, Integer> zoneIds = new HashMap<>();
+
+    private ZonedDateTimeColumn(int initialCapacity, boolean offHeap) {
+        super(ZONE + Short.BYTES, initialCapacity, offHeap);
+    }
+
+    public static ZonedDateTimeColumn onHeap(int initialCapacity) {
+        return new ZonedDateTimeColumn(initialCapacity, false);
+    }
+
+    public static ZonedDateTimeColumn offHeap(int initialCapacity) {
+        return new ZonedDateTimeColumn(initialCapacity, true);
+    }
+
+    public List<ZoneId> getZones() {
+        return List.copyOf(zones);
+    }
+
+    @Override
+    protected void write(ByteBuffer buffer, int offset, ZonedDateTime value) {
+        buffer.putLong(offset, value.toEpochSecond());
+        buffer.putInt(offset + Long.BYTES, value.getNano());
+        buffer.putShort(offset + ZONE, (short) zoneId(value.getZone()));
+    }
+
+    private int zoneId(ZoneId zone) {
+        Integer id = zoneIds.get(zone);
+        if (id == null) {
+            if (zones.size() == MAX_ZONES) {
+                throw new IllegalStateException("Zone dictionary full, cannot add " + zone);
+            }
+            id = zones.size();
+            zones.add(zone);
+            zoneIds.put(zone, id);
+        }
+        return id;
+    }
+
+    @Override
+    protected ZonedDateTime read(ByteBuffer buffer, int offset) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(buffer.getLong(offset), buffer.getInt(offset + Long.BYTES)),
+                zones.get(Short.toUnsignedInt(buffer.getShort(offset + ZONE))));
+    }
+
+    @Override
+    protected int compare(ByteBuffer buffer, int offset, ZonedDateTime value) {
+        return compareSecondsAndNanos(buffer, offset, value.toEpochSecond(), value.getNano());
+    }
+
+}
@@ -0,0 +1,58 @@
+package gdabski.training.datetime.codegen;
+
+import gdabski.training.datetime.codegen.BinaryCodecGenerator.Field;
+import gdabski.training.datetime.codegen.BinaryCodecGenerator.FieldType;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryCodecGeneratorTest {
+
+    private static Document schema(String xml) throws ParserConfigurationException, IOException, SAXException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+    }
+
+    private static List<FieldType> types(Document schema) {
+        return BinaryCodecGenerator.fields(schema, "bean").stream().map(field -> field.type)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void resolvesSchemaTypesByNamespace() throws ParserConfigurationException, IOException, SAXException {
+        Document prefixed = schema("<s:schema xmlns:s='http://www.w3.org/2001/XMLSchema'><s:element name='bean'>"
+                + "<s:complexType><s:sequence><s:element name='date' type='s:date'/>"
+                + "<s:element name='count' type='s:int' minOccurs='0'/></s:sequence></s:complexType>"
+                + "</s:element></s:schema>");
+        Document unprefixed = schema("<schema xmlns='http://www.w3.org/2001/XMLSchema'><element name='bean'>"
+                + "<complexType><sequence><element name='datetime' type='dateTime'/></sequence></complexType>"
+                + "</element></schema>");
+        List<Field> fields = BinaryCodecGenerator.fields(prefixed, "bean");
+
+        assertEquals(List.of(FieldType.DATE, FieldType.INT), types(prefixed));
+        assertEquals(List.of(false, true), List.of(fields.get(0).optional, fields.get(1).optional));
+        assertEquals(List.of(FieldType.DATE_TIME), types(unprefixed));
+    }
+
+    @Test
+    void rejectsTypesOutsideSchemaNamespace() throws ParserConfigurationException, IOException, SAXException {
+        Document schema = schema("<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' xmlns:t='urn:types'>"
+                + "<xs:element name='bean'><xs:complexType><xs:sequence><xs:element name='date' type='t:date'/>"
+                + "</xs:sequence></xs:complexType></xs:element></xs:schema>");
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodecGenerator.fields(schema, "bean"));
+    }
+
+}